@@ -1,3 +1,4 @@
+import net.ltgt.gradle.errorprone.errorprone
 import org.gradle.api.tasks.testing.logging.TestExceptionFormat
 import org.gradle.api.tasks.testing.logging.TestLogEvent
 import org.openapitools.generator.gradle.plugin.tasks.GenerateTask
@@ -30,6 +31,7 @@ plugins {
     alias(libs.plugins.githubrelease)
     alias(libs.plugins.hivemq.license)
     alias(libs.plugins.versions)
+    alias(libs.plugins.jmh)
 
     // Code Quality Plugins
     alias(libs.plugins.spotbugs)
@@ -144,6 +146,12 @@ dependencies {
     implementation(libs.netty.commons)
     implementation(libs.netty.handler)
     implementation(libs.netty.transport)
+    implementation(libs.netty.transport.classes.epoll)
+    implementation(libs.netty.transport.classes.io.uring)
+    runtimeOnly(variantOf(libs.netty.transport.native.epoll) { classifier("linux-x86_64") })
+    runtimeOnly(variantOf(libs.netty.transport.native.epoll) { classifier("linux-aarch_64") })
+    runtimeOnly(variantOf(libs.netty.transport.native.io.uring) { classifier("linux-x86_64") })
+    runtimeOnly(variantOf(libs.netty.transport.native.io.uring) { classifier("linux-aarch_64") })
 
     // logging
     implementation(libs.slf4j.api)
@@ -199,6 +207,7 @@ dependencies {
     implementation(libs.jersey.hk2)
     implementation(libs.jersey.media.json.jackson)
     implementation(libs.jersey.media.multipart)
+    implementation(libs.jersey.media.sse)
 
     // Jackson
     implementation(libs.jackson.jaxrs.json.provider)
@@ -326,6 +335,39 @@ tasks.test {
     }
 }
 
+// ******************** benchmarks ********************
+
+// benchmarks live in src/jmh/java and may use the test fixtures (e.g. util.TestMqttDecoder)
+configurations.jmhImplementation {
+    extendsFrom(configurations.testImplementation.get())
+}
+configurations.jmhRuntimeOnly {
+    extendsFrom(configurations.testRuntimeOnly.get())
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    includeTests.set(true)
+    // compare runs between commits with e.g. https://jmh.morethan.io or the JMH JSON tooling
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    // run a subset with e.g. ./gradlew jmh -PjmhIncludes=LocalTopicTreeBenchmark
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+    jvmArgsAppend.addAll(
+        "--add-opens",
+        "java.base/java.nio=ALL-UNNAMED",
+        "--add-opens",
+        "java.base/sun.nio.ch=ALL-UNNAMED",
+        "--add-exports",
+        "java.base/jdk.internal.misc=ALL-UNNAMED"
+    )
+}
+
+// JMH generates code that does not follow the NullAway / ErrorProne rules of the production code
+tasks.withType<JavaCompile>().matching { it.name.contains("jmh", ignoreCase = true) }.configureEach {
+    options.errorprone.isEnabled.set(false)
+}
+
 // ******************** OpenAPI ********************
 val buildDirectory = layout.buildDirectory.get()
 tasks.register<GenerateTask>("genJaxRs") {
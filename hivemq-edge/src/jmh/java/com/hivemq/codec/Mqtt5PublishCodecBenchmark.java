@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.hivemq.bootstrap.ClientConnection;
+import com.hivemq.mqtt.message.Message;
+import com.hivemq.mqtt.message.ProtocolVersion;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.mqtt5.Mqtt5UserProperties;
+import com.hivemq.mqtt.message.mqtt5.MqttUserProperty;
+import com.hivemq.mqtt.message.publish.PUBLISH;
+import com.hivemq.mqtt.message.publish.PUBLISHFactory;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import util.TestMqttDecoder;
+import util.encoder.TestMessageEncoder;
+
+/**
+ * Measures the encoding of an MQTT 5 PUBLISH and a round trip through the encoder and the decoder, both running in
+ * the same channel handlers that are used for client connections.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Mqtt5PublishCodecBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+
+    @Param({"0", "5"})
+    public int userProperties;
+
+    private EmbeddedChannel encoderChannel;
+    private EmbeddedChannel decoderChannel;
+    private PUBLISH publish;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        encoderChannel = createChannel(new EmbeddedChannel(new TestMessageEncoder()));
+        decoderChannel = createChannel(new EmbeddedChannel(TestMqttDecoder.create()));
+
+        final ImmutableList.Builder<MqttUserProperty> properties = ImmutableList.builder();
+        for (int i = 0; i < userProperties; i++) {
+            properties.add(new MqttUserProperty("key" + i, "value" + i));
+        }
+        publish = new PUBLISHFactory.Mqtt5Builder()
+                .withQoS(QoS.AT_LEAST_ONCE)
+                .withOnwardQos(QoS.AT_LEAST_ONCE)
+                .withTopic("site/1/line/2/machine/3/value")
+                .withPayload("x".repeat(payloadSize).getBytes(UTF_8))
+                .withPacketIdentifier(1)
+                .withUserProperties(Mqtt5UserProperties.of(properties.build()))
+                .withHivemqId("hivemqId")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoderChannel.finishAndReleaseAll();
+        decoderChannel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public int encode() {
+        final ByteBuf encoded = encode(publish);
+        try {
+            return encoded.readableBytes();
+        } finally {
+            encoded.release();
+        }
+    }
+
+    @Benchmark
+    public Message encodeDecode() {
+        decoderChannel.writeInbound(encode(publish));
+        return decoderChannel.readInbound();
+    }
+
+    private ByteBuf encode(final PUBLISH message) {
+        encoderChannel.writeOutbound(message);
+        return encoderChannel.readOutbound();
+    }
+
+    private static EmbeddedChannel createChannel(final EmbeddedChannel channel) {
+        final ClientConnection clientConnection = new ClientConnection(channel, null);
+        clientConnection.setProtocolVersion(ProtocolVersion.MQTTv5);
+        clientConnection.setClientId("clientId");
+        channel.attr(ClientConnection.CHANNEL_ATTRIBUTE_NAME).set(clientConnection);
+        return channel;
+    }
+}
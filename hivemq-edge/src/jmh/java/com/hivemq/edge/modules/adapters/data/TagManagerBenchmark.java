@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.data;
+
+import com.hivemq.adapter.sdk.api.data.DataPoint;
+import com.hivemq.protocols.northbound.SingleTagConsumer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures feeding the data points of a poll into the {@link TagManager}, both through the name based
+ * {@link TagManager#feed(List)} and through a resolved {@link TagHandle}. Every tag has a number of consumers that
+ * only remember the last data point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TagManagerBenchmark {
+
+    private static final String ADAPTER_ID = "adapter";
+
+    @Param({"1", "100"})
+    public int tags;
+
+    @Param({"1", "4"})
+    public int consumersPerTag;
+
+    private TagManager tagManager;
+    private List<DataPoint> dataPoints;
+    private List<TagHandle> handles;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tagManager = new TagManager();
+        dataPoints = new ArrayList<>(tags);
+        handles = new ArrayList<>(tags);
+        for (int i = 0; i < tags; i++) {
+            final String tagName = "tag-" + i;
+            for (int c = 0; c < consumersPerTag; c++) {
+                tagManager.addConsumer(new LastValueConsumer(tagName));
+            }
+            dataPoints.add(new DataPointImpl(tagName, i, ADAPTER_ID));
+            handles.add(tagManager.resolve(ADAPTER_ID, tagName));
+        }
+    }
+
+    @Benchmark
+    public void feed() {
+        tagManager.feed(dataPoints);
+    }
+
+    @Benchmark
+    public void feedResolvedHandles() {
+        for (int i = 0; i < handles.size(); i++) {
+            handles.get(i).feed(dataPoints.get(i));
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void feed_concurrent() {
+        tagManager.feed(dataPoints);
+    }
+
+    private static final class LastValueConsumer implements SingleTagConsumer {
+
+        private final String tagName;
+        // written without synchronization on purpose, the benchmark only needs the write to not be eliminated
+        private DataPoint lastValue;
+
+        private LastValueConsumer(final String tagName) {
+            this.tagName = tagName;
+        }
+
+        @Override
+        public void accept(final DataPoint dataPoint) {
+            lastValue = dataPoint;
+        }
+
+        @Override
+        public String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public String getScope() {
+            return ADAPTER_ID;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.mqtt.topic.tree;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hivemq.metrics.MetricsHolder;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.subscribe.Topic;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the lookup of the subscribers of a topic in a topic tree with a large number of subscriptions.
+ * <p>
+ * The subscriptions follow the {@code site/<s>/line/<l>/machine/<m>/value} layout of typical Edge deployments, the
+ * given percentage of them is replaced by a single-level ({@code site/<s>/line/+/machine/<m>/value}) or a multi-level
+ * ({@code site/<s>/line/<l>/#}) wildcard subscription.
+ * <p>
+ * The {@code findWhileSubscribing} group measures the lookups while another thread keeps subscribing and unsubscribing
+ * in the same segments, i.e. the contention between lookups and modifications of the tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalTopicTreeBenchmark {
+
+    private static final int SITES = 100;
+    private static final int LINES = 100;
+    private static final int TOPIC_COUNT = 1024;
+    private static final String CHURN_CLIENT = "churn-client";
+
+    @Param({"10000", "100000", "1000000"})
+    public int subscriptions;
+
+    @Param({"0", "10", "50"})
+    public int wildcardPercentage;
+
+    private LocalTopicTree topicTree;
+    private String[] topics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        topicTree = new LocalTopicTree(new MetricsHolder(new MetricRegistry()));
+        final Random random = new Random(42);
+        for (int i = 0; i < subscriptions; i++) {
+            final int site = i % SITES;
+            final int line = (i / SITES) % LINES;
+            final int machine = i / (SITES * LINES);
+            final String filter;
+            if (random.nextInt(100) < wildcardPercentage) {
+                filter = random.nextBoolean()
+                        ? "site/" + site + "/line/+/machine/" + machine + "/value"
+                        : "site/" + site + "/line/" + line + "/#";
+            } else {
+                filter = "site/" + site + "/line/" + line + "/machine/" + machine + "/value";
+            }
+            topicTree.addTopic("client-" + i, new Topic(filter, QoS.AT_LEAST_ONCE), (byte) 0, null);
+        }
+
+        final int machines = Math.max(1, subscriptions / (SITES * LINES));
+        topics = new String[TOPIC_COUNT];
+        for (int i = 0; i < TOPIC_COUNT; i++) {
+            topics[i] = "site/" + random.nextInt(SITES) + "/line/" + random.nextInt(LINES) + "/machine/"
+                    + random.nextInt(machines) + "/value";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int index;
+
+        String next(final String[] topics) {
+            return topics[index++ & (TOPIC_COUNT - 1)];
+        }
+    }
+
+    @Benchmark
+    public TopicSubscribers findTopicSubscribers(final Cursor cursor) {
+        return topicTree.findTopicSubscribers(cursor.next(topics));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TopicSubscribers findTopicSubscribers_concurrent(final Cursor cursor) {
+        return topicTree.findTopicSubscribers(cursor.next(topics));
+    }
+
+    @Benchmark
+    @Group("findWhileSubscribing")
+    @GroupThreads(3)
+    public TopicSubscribers findWhileSubscribing_find(final Cursor cursor) {
+        return topicTree.findTopicSubscribers(cursor.next(topics));
+    }
+
+    @Benchmark
+    @Group("findWhileSubscribing")
+    @GroupThreads(1)
+    public void findWhileSubscribing_subscribe(final Cursor cursor) {
+        final String topic = cursor.next(topics);
+        topicTree.addTopic(CHURN_CLIENT, new Topic(topic, QoS.AT_MOST_ONCE), (byte) 0, null);
+        topicTree.removeSubscriber(CHURN_CLIENT, topic, null);
+    }
+}
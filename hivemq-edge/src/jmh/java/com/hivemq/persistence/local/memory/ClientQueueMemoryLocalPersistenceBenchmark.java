@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.memory;
+
+import static com.hivemq.configuration.service.InternalConfigurations.PERSISTENCE_BUCKET_COUNT;
+import static com.hivemq.configuration.service.MqttConfigurationService.QueuedMessagesStrategy.DISCARD;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
+import com.hivemq.configuration.service.impl.InternalConfigurationServiceImpl;
+import com.hivemq.logging.EventLog;
+import com.hivemq.metrics.MetricsHolder;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.dropping.MessageDroppedServiceImpl;
+import com.hivemq.mqtt.message.publish.PUBLISH;
+import com.hivemq.mqtt.message.publish.PUBLISHFactory;
+import com.hivemq.persistence.payload.PublishPayloadNoopPersistenceImpl;
+import com.hivemq.persistence.payload.PublishPayloadPersistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full add / readNew / remove cycle of a client queue in the in-memory persistence, i.e. the work the single
+ * writer does for every message that is queued and delivered to a client.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientQueueMemoryLocalPersistenceBenchmark {
+
+    private static final String QUEUE_ID = "client";
+    private static final int BUCKET_INDEX = 0;
+    private static final long MAX_QUEUED_MESSAGES = 1_000_000;
+    private static final long BYTES_LIMIT = Long.MAX_VALUE;
+
+    @Param({"1", "10", "100"})
+    public int batchSize;
+
+    @Param({"16", "1024"})
+    public int payloadSize;
+
+    private ClientQueueMemoryLocalPersistence persistence;
+    private List<PUBLISH> publishes;
+    private ImmutableIntArray packetIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final InternalConfigurationServiceImpl internalConfigurationService = new InternalConfigurationServiceImpl();
+        internalConfigurationService.set(PERSISTENCE_BUCKET_COUNT, "4");
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final PublishPayloadPersistence payloadPersistence = new PublishPayloadNoopPersistenceImpl();
+        persistence = new ClientQueueMemoryLocalPersistence(
+                payloadPersistence,
+                new MessageDroppedServiceImpl(new MetricsHolder(metricRegistry), new EventLog()),
+                metricRegistry,
+                internalConfigurationService);
+
+        final byte[] payload = "x".repeat(payloadSize).getBytes(UTF_8);
+        publishes = new ArrayList<>(batchSize);
+        final ImmutableIntArray.Builder packetIdsBuilder = ImmutableIntArray.builder(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            publishes.add(new PUBLISHFactory.Mqtt5Builder()
+                    .withQoS(QoS.AT_LEAST_ONCE)
+                    .withOnwardQos(QoS.AT_LEAST_ONCE)
+                    .withTopic("site/1/line/2/machine/" + i + "/value")
+                    .withPayload(payload)
+                    .withPublishId((long) i)
+                    .withHivemqId("hivemqId")
+                    .withPersistence(payloadPersistence)
+                    .build());
+            packetIdsBuilder.add(i + 1);
+        }
+        packetIds = packetIdsBuilder.build();
+    }
+
+    @Benchmark
+    public ImmutableList<PUBLISH> addReadNewRemove() {
+        persistence.add(QUEUE_ID, false, publishes, MAX_QUEUED_MESSAGES, DISCARD, false, BUCKET_INDEX);
+        final ImmutableList<PUBLISH> read = persistence.readNew(QUEUE_ID, false, packetIds, BYTES_LIMIT, BUCKET_INDEX);
+        for (final PUBLISH publish : read) {
+            persistence.remove(QUEUE_ID, publish.getPacketIdentifier(), BUCKET_INDEX);
+        }
+        return read;
+    }
+}
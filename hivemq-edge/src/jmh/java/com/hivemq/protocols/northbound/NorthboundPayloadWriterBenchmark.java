@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.northbound;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivemq.adapter.sdk.api.config.MqttUserProperty;
+import com.hivemq.adapter.sdk.api.data.DataPoint;
+import com.hivemq.edge.modules.adapters.data.DataPointImpl;
+import com.hivemq.persistence.mappings.NorthboundMapping;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversion of a data point into the JSON payload that the {@link NorthboundTagConsumer} publishes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NorthboundPayloadWriterBenchmark {
+
+    private static final String TAG_NAME = "machine-temperature";
+    private static final String JSON_VALUE =
+            "{\"temperature\":21.5,\"unit\":\"C\",\"status\":\"OK\",\"samples\":[21.4,21.5,21.6,21.5]}";
+
+    public enum ValueType {
+        NUMBER,
+        STRING,
+        JSON
+    }
+
+    @Param({"NUMBER", "STRING", "JSON"})
+    public ValueType valueType;
+
+    @Param({"false", "true"})
+    public boolean includeTagNameAndUserProperties;
+
+    private NorthboundPayloadWriter writer;
+    private DataPoint dataPoint;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final NorthboundMapping mapping = new NorthboundMapping(
+                TAG_NAME,
+                "site/1/line/2/machine/3/temperature",
+                1,
+                includeTagNameAndUserProperties,
+                true,
+                false,
+                includeTagNameAndUserProperties ? List.of(new MqttUserProperty("site", "1")) : List.of(),
+                null);
+        writer = new NorthboundPayloadWriter(mapping, new ObjectMapper());
+        dataPoint = switch (valueType) {
+            case NUMBER -> new DataPointImpl(TAG_NAME, 21.5, "adapter");
+            case STRING -> new DataPointImpl(TAG_NAME, "twenty-one and a half", "adapter");
+            case JSON -> new DataPointImpl(TAG_NAME, JSON_VALUE, "adapter", true);
+        };
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return writer.write(dataPoint);
+    }
+}
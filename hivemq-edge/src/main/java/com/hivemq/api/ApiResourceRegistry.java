@@ -26,6 +26,7 @@ import com.hivemq.api.error.CustomJsonMappingExceptionMapper;
 import com.hivemq.api.error.CustomJsonParseExceptionMapper;
 import com.hivemq.api.filter.JWTReissuanceFilterImpl;
 import com.hivemq.api.resources.GenericAPIHolder;
+import com.hivemq.api.resources.impl.EventStreamResource;
 import com.hivemq.api.resources.impl.RootResource;
 import com.hivemq.configuration.service.ApiConfigurationService;
 import com.hivemq.edge.api.AuthenticationApi;
@@ -80,6 +81,7 @@ public class ApiResourceRegistry extends ResourceConfig {
     private final @NotNull Lazy<FrontendApi> frontendApi;
     private final @NotNull Lazy<GatewayEndpointApi> gatewayApi;
     private final @NotNull Lazy<EventsApi> eventApi;
+    private final @NotNull Lazy<EventStreamResource> eventStreamResource;
     private final @NotNull Lazy<RootResource> rootResource;
     private final @NotNull Lazy<Set<IAuthenticationHandler>> authenticationHandlers;
     private final @NotNull Lazy<ITokenGenerator> tokenGenerator;
@@ -104,6 +106,7 @@ public class ApiResourceRegistry extends ResourceConfig {
             final @NotNull Lazy<FrontendApi> frontendApi,
             final @NotNull Lazy<GatewayEndpointApi> gatewayApi,
             final @NotNull Lazy<EventsApi> eventApi,
+            final @NotNull Lazy<EventStreamResource> eventStreamResource,
             final @NotNull Lazy<RootResource> rootResource,
             final @NotNull Lazy<Set<IAuthenticationHandler>> authenticationHandlers,
             final @NotNull Lazy<ITokenGenerator> tokenGenerator,
@@ -125,6 +128,7 @@ public class ApiResourceRegistry extends ResourceConfig {
         this.frontendApi = frontendApi;
         this.gatewayApi = gatewayApi;
         this.eventApi = eventApi;
+        this.eventStreamResource = eventStreamResource;
         this.rootResource = rootResource;
         this.authenticationHandlers = authenticationHandlers;
         this.tokenGenerator = tokenGenerator;
@@ -171,6 +175,8 @@ public class ApiResourceRegistry extends ResourceConfig {
         logger.trace("Initialized gatewayApi API resources");
         register(eventApi.get());
         logger.trace("Initialized event API resources");
+        register(eventStreamResource.get());
+        logger.trace("Initialized event stream API resources");
         register(samplingResourceLazy.get());
         logger.trace("Initialized sampling API resources");
         register(topicFilterApiLazy.get());
@@ -118,7 +118,7 @@ public class BridgeResourceImpl extends AbstractApi implements BridgesApi {
                 return ErrorResponseUtil.errorResponse(
                         new BridgeFailedSchemaValidationError(errorMessages.toErrorList()));
             } else {
-                final MqttBridge mqttBridge = unconvert(bridge);
+                final MqttBridge mqttBridge = unconvert(bridge, null);
                 configurationService.bridgeExtractor().addBridge(mqttBridge);
                 return Response.ok().build();
             }
@@ -252,7 +252,7 @@ public class BridgeResourceImpl extends AbstractApi implements BridgesApi {
             } else {
                 // -- Modify the configuration atomically
                 configurationService.bridgeExtractor().removeBridge(bridgeId);
-                final MqttBridge newBridgeConfig = unconvert(bridge);
+                final MqttBridge newBridgeConfig = unconvert(bridge, previousBridgeConfig);
                 configurationService.bridgeExtractor().addBridge(newBridgeConfig);
                 // -- Restart the new configuration on a new connection
                 bridgeService.restartBridge(bridgeId, newBridgeConfig);
@@ -381,9 +381,17 @@ public class BridgeResourceImpl extends AbstractApi implements BridgesApi {
         }
     }
 
-    private static MqttBridge unconvert(final @NotNull Bridge bridge) {
+    /**
+     * @param previousBridgeConfig the current config of the bridge on updates. The REST model has no compression
+     *                             settings, so they are taken over from it and not reset to their defaults.
+     */
+    private static MqttBridge unconvert(final @NotNull Bridge bridge, final @Nullable MqttBridge previousBridgeConfig) {
 
         final MqttBridge.Builder builder = new MqttBridge.Builder();
+        if (previousBridgeConfig != null) {
+            builder.withCompressionEnabled(previousBridgeConfig.isCompressionEnabled())
+                    .withCompressionThreshold(previousBridgeConfig.getCompressionThreshold());
+        }
         builder.withCleanStart(bridge.getCleanStart())
                 .withHost(bridge.getHost())
                 .withId(bridge.getId())
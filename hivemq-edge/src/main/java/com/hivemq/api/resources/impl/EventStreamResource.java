@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.api.resources.impl;
+
+import com.hivemq.adapter.sdk.api.events.model.Event;
+import com.hivemq.common.shutdown.HiveMQShutdownHook;
+import com.hivemq.common.shutdown.ShutdownHooks;
+import com.hivemq.edge.modules.api.events.EventListener;
+import com.hivemq.edge.modules.api.events.EventStore;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pushes every event stored from the time of the request on to the client as server-sent event, so clients do not
+ * need to poll the events resource. The events stored before are available from the events resource.
+ * <p>
+ * Every client has its own bounded queue that is drained by its own virtual thread, so a slow client never blocks the
+ * thread that fires an event nor any other client, and receives the events in the order they were stored. A client
+ * that falls behind by more than {@link #MAX_QUEUED_EVENTS} events or does not accept an event within
+ * {@link #SEND_TIMEOUT_SECONDS} is disconnected and has to reconnect and read the missed events from the events
+ * resource.
+ */
+@Path("/api/v1/management/events/stream")
+@Singleton
+public class EventStreamResource {
+
+    static final int MAX_QUEUED_EVENTS = 1_000;
+    static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(EventStreamResource.class);
+
+    private final @NotNull EventStore eventStore;
+    private final @NotNull ExecutorService sender =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("event-stream-", 0).factory());
+    private final @NotNull Set<SinkListener> listeners = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public EventStreamResource(final @NotNull EventStore eventStore, final @NotNull ShutdownHooks shutdownHooks) {
+        this.eventStore = eventStore;
+        shutdownHooks.add(new HiveMQShutdownHook() {
+            @Override
+            public @NotNull String name() {
+                return "EventStreamResource shutdown";
+            }
+
+            @Override
+            public void run() {
+                listeners.forEach(SinkListener::close);
+                sender.shutdownNow();
+            }
+        });
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RolesAllowed({"admin", "super", "user"})
+    public void streamEvents(final @Context @NotNull SseEventSink sink, final @Context @NotNull Sse sse) {
+        final SinkListener listener = new SinkListener(sink, sse);
+        listeners.add(listener);
+        // a comment opens the stream right away, otherwise the client waits for the first event
+        listener.enqueue(sse.newEventBuilder().comment("connected").build());
+        eventStore.addListener(listener);
+    }
+
+    private final class SinkListener implements EventListener {
+
+        private final @NotNull SseEventSink sink;
+        private final @NotNull Sse sse;
+        private final @NotNull Queue<OutboundSseEvent> queue = new ArrayBlockingQueue<>(MAX_QUEUED_EVENTS);
+        private final @NotNull AtomicBoolean draining = new AtomicBoolean();
+        private final @NotNull AtomicBoolean closed = new AtomicBoolean();
+        // the id of the last event sent on this stream, unlike the event timestamps it is unique
+        private final @NotNull AtomicLong sequence = new AtomicLong();
+
+        private SinkListener(final @NotNull SseEventSink sink, final @NotNull Sse sse) {
+            this.sink = sink;
+            this.sse = sse;
+        }
+
+        @Override
+        public void eventFired(final @NotNull Event event) {
+            enqueue(sse.newEventBuilder()
+                    .name("event")
+                    .id(String.valueOf(sequence.incrementAndGet()))
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(event)
+                    .build());
+        }
+
+        private void enqueue(final @NotNull OutboundSseEvent sseEvent) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(sseEvent)) {
+                log.debug("Closing event stream, the client fell behind by more than {} events", MAX_QUEUED_EVENTS);
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (final RejectedExecutionException e) {
+                    // shutting down
+                    close();
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                OutboundSseEvent sseEvent;
+                while ((sseEvent = queue.poll()) != null) {
+                    if (!send(sseEvent)) {
+                        close();
+                        return;
+                    }
+                }
+                draining.set(false);
+                // an event queued after the last poll but before the reset has not scheduled a drain
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private boolean send(final @NotNull OutboundSseEvent sseEvent) {
+            if (closed.get() || sink.isClosed()) {
+                return false;
+            }
+            try {
+                sink.send(sseEvent).toCompletableFuture().get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                return true;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (final ExecutionException | TimeoutException e) {
+                log.debug("Closing event stream, sending an event failed", e);
+                return false;
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            eventStore.removeListener(this);
+            listeners.remove(this);
+            queue.clear();
+            sink.close();
+        }
+    }
+}
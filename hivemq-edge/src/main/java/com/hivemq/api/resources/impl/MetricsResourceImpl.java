@@ -15,10 +15,14 @@
  */
 package com.hivemq.api.resources.impl;
 
-import com.codahale.metrics.Counter;
-import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.Counting;
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Sampling;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.hivemq.api.AbstractApi;
 import com.hivemq.api.errors.UrlParameterMissingError;
 import com.hivemq.api.model.ApiErrorMessages;
@@ -31,16 +35,36 @@ import com.hivemq.util.ErrorResponseUtil;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import jakarta.ws.rs.core.Response;
-import java.util.Iterator;
-import java.util.SortedMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
 /**
+ * Exposes the metrics of the registry. Counters and numeric gauges are sampled by their name. Timers and histograms
+ * are additionally listed with a suffix per statistic of their distribution, e.g. {@code [name].p99}. The statistics of
+ * timers are sampled in microseconds.
+ *
  * @author Simon L Johnson
  */
 @Singleton
 public class MetricsResourceImpl extends AbstractApi implements MetricsApi {
 
+    private static final @NotNull Map<String, ToDoubleFunction<Snapshot>> SNAPSHOT_STATISTICS =
+            ImmutableMap.<String, ToDoubleFunction<Snapshot>>builder()
+                    .put("min", Snapshot::getMin)
+                    .put("mean", Snapshot::getMean)
+                    .put("p50", Snapshot::getMedian)
+                    .put("p75", Snapshot::get75thPercentile)
+                    .put("p95", Snapshot::get95thPercentile)
+                    .put("p98", Snapshot::get98thPercentile)
+                    .put("p99", Snapshot::get99thPercentile)
+                    .put("p999", Snapshot::get999thPercentile)
+                    .put("max", Snapshot::getMax)
+                    .build();
+
     private final @NotNull MetricRegistry metricsRegistry;
 
     @Inject
@@ -52,9 +76,13 @@ public class MetricsResourceImpl extends AbstractApi implements MetricsApi {
     public Response getMetrics() {
         logger.trace("Metrics API obtaining metrics listing");
         final ImmutableList.Builder<Metric> builder = new ImmutableList.Builder<>();
-        final Iterator<String> itr = metricsRegistry.getMetrics().keySet().iterator();
-        while (itr.hasNext()) {
-            builder.add(new Metric(itr.next()));
+        for (final Map.Entry<String, com.codahale.metrics.Metric> entry : metricsRegistry.getMetrics().entrySet()) {
+            builder.add(new Metric(entry.getKey()));
+            if (entry.getValue() instanceof Sampling) {
+                for (final String statistic : SNAPSHOT_STATISTICS.keySet()) {
+                    builder.add(new Metric(entry.getKey() + "." + statistic));
+                }
+            }
         }
         return Response.ok(new MetricList(builder.build())).build();
     }
@@ -67,15 +95,41 @@ public class MetricsResourceImpl extends AbstractApi implements MetricsApi {
             return ErrorResponseUtil.errorResponse(new UrlParameterMissingError("metricName"));
         } else {
             logger.trace("Metrics API obtaining latest sample for {} at {}", metricName, System.currentTimeMillis());
-            final SortedMap<String, Counter> metrics = metricsRegistry.getCounters(MetricFilter.contains(metricName));
-            final Counter counter = metrics.get(metricName);
-            if (counter != null) {
-                final DataPoint dataPoint = new DataPoint(System.currentTimeMillis(), counter.getCount());
-                return Response.ok(dataPoint).build();
-            } else {
-                final DataPoint dataPoint = new DataPoint(System.currentTimeMillis(), 0L);
-                return Response.ok(dataPoint).build();
-            }
+            final Long value = sample(metricName);
+            final DataPoint dataPoint = new DataPoint(System.currentTimeMillis(), value != null ? value : 0L);
+            return Response.ok(dataPoint).build();
+        }
+    }
+
+    /**
+     * @return the current value of the metric, or null if the registry does not contain a metric of that name
+     */
+    @VisibleForTesting
+    @Nullable
+    Long sample(final @NotNull String metricName) {
+        final com.codahale.metrics.Metric metric = metricsRegistry.getMetrics().get(metricName);
+        if (metric instanceof final Counting counting) {
+            return counting.getCount();
+        }
+        if (metric instanceof final Gauge<?> gauge) {
+            return gauge.getValue() instanceof final Number number ? number.longValue() : null;
+        }
+        final int separator = metricName.lastIndexOf('.');
+        if (metric != null || separator < 0) {
+            return null;
+        }
+        final ToDoubleFunction<Snapshot> statistic = SNAPSHOT_STATISTICS.get(metricName.substring(separator + 1));
+        if (statistic == null) {
+            return null;
+        }
+        final com.codahale.metrics.Metric sampled =
+                metricsRegistry.getMetrics().get(metricName.substring(0, separator));
+        if (sampled instanceof final Timer timer) {
+            return TimeUnit.NANOSECONDS.toMicros((long) statistic.applyAsDouble(timer.getSnapshot()));
+        }
+        if (sampled instanceof final Sampling sampling) {
+            return (long) statistic.applyAsDouble(sampling.getSnapshot());
         }
+        return null;
     }
 }
@@ -905,7 +905,10 @@ public class ProtocolAdaptersResourceImpl extends AbstractApi implements Protoco
             final List<NorthboundMappingEntity> converted = northboundMappings.getItems().stream()
                     .map(mapping -> {
                         missingTags.add(mapping.getTagName());
-                        return NorthboundMappingEntity.fromApi(mapping);
+                        return NorthboundMappingEntity.fromApi(
+                                mapping,
+                                NorthboundMappingEntity.findFilter(
+                                        adapter.getNorthboundMappings(), mapping.getTagName(), mapping.getTopic()));
                     })
                     .toList();
             adapter.getTags().forEach(tag -> missingTags.remove(tag.getName()));
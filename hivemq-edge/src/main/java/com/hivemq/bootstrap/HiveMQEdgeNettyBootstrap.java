@@ -126,9 +126,7 @@ public class HiveMQEdgeNettyBootstrap {
                     "Starting MQTT TCP listener on address {} and port {}",
                     listener.getBindAddress(),
                     listener.getPort());
-            final ChannelFuture bind = b.bind(listener.getBindAddress(), listener.getPort());
-            connectionPersistence.addServerChannel(listener.getName(), bind.channel());
-            futures.add(new BindInformation(listener, bind));
+            futures.add(bind(b, listener));
         }
         return futures.build();
     }
@@ -148,9 +146,7 @@ public class HiveMQEdgeNettyBootstrap {
                     "Starting MQTT TLS TCP listener on address {} and port {}",
                     listener.getBindAddress(),
                     listener.getPort());
-            final ChannelFuture bind = b.bind(listener.getBindAddress(), listener.getPort());
-            connectionPersistence.addServerChannel(listener.getName(), bind.channel());
-            futures.add(new BindInformation(listener, bind));
+            futures.add(bind(b, listener));
         }
         return futures.build();
     }
@@ -170,9 +166,7 @@ public class HiveMQEdgeNettyBootstrap {
                     "Starting MQTT Websocket listener on address {} and port {}",
                     listener.getBindAddress(),
                     listener.getPort());
-            final ChannelFuture bind = b.bind(listener.getBindAddress(), listener.getPort());
-            connectionPersistence.addServerChannel(listener.getName(), bind.channel());
-            futures.add(new BindInformation(listener, bind));
+            futures.add(bind(b, listener));
         }
         return futures.build();
     }
@@ -192,13 +186,50 @@ public class HiveMQEdgeNettyBootstrap {
                     "Starting MQTT Websocket TLS listener on address {} and port {}",
                     listener.getBindAddress(),
                     listener.getPort());
-            final ChannelFuture bind = b.bind(listener.getBindAddress(), listener.getPort());
-            connectionPersistence.addServerChannel(listener.getName(), bind.channel());
-            futures.add(new BindInformation(listener, bind));
+            futures.add(bind(b, listener));
         }
         return futures.build();
     }
 
+    /**
+     * Binds the server channel of a listener. When several acceptor channels are configured, the additional channels
+     * are bound to the same address and port via SO_REUSEPORT once the first one is bound, so that a configured port
+     * of 0 resolves to the same ephemeral port for all of them. Only the first channel determines the startup result
+     * of the listener.
+     *
+     * @param b        the server bootstrap of the listener
+     * @param listener the listener to bind
+     * @return the bind information of the first server channel
+     */
+    private @NotNull BindInformation bind(final @NotNull ServerBootstrap b, final @NotNull Listener listener) {
+        final ChannelFuture bind = b.bind(listener.getBindAddress(), listener.getPort());
+        connectionPersistence.addServerChannel(listener.getName(), bind.channel());
+
+        final int acceptorChannels = nettyTcpConfiguration.getAcceptorChannels();
+        if (acceptorChannels > 1) {
+            bind.addListener((ChannelFutureListener) future -> {
+                if (!future.isSuccess()) {
+                    return;
+                }
+                final int port = ((InetSocketAddress) future.channel().localAddress()).getPort();
+                for (int i = 1; i < acceptorChannels; i++) {
+                    final ChannelFuture additionalBind = b.bind(listener.getBindAddress(), port);
+                    connectionPersistence.addServerChannel(listener.getName(), additionalBind.channel());
+                    additionalBind.addListener((ChannelFutureListener) additionalFuture -> {
+                        if (!additionalFuture.isSuccess()) {
+                            log.warn(
+                                    "Could not bind additional acceptor channel of listener '{}' on port {}: {}",
+                                    listener.getName(),
+                                    port,
+                                    additionalFuture.cause().getMessage());
+                        }
+                    });
+                }
+            });
+        }
+        return new BindInformation(listener, bind);
+    }
+
     /**
      * Creates an aggregated future which allows to wait for all futures at once
      *
@@ -234,6 +265,10 @@ public class HiveMQEdgeNettyBootstrap {
                 .childOption(ChannelOption.TCP_NODELAY, true)
                 .childOption(ChannelOption.SO_REUSEADDR, true)
                 .childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+        final ChannelOption<Boolean> reusePortOption = nettyTcpConfiguration.getReusePortOption();
+        if (reusePortOption != null) {
+            tcpBootstrap.option(reusePortOption, true);
+        }
         setAdvancedOptions(tcpBootstrap);
         return tcpBootstrap;
     }
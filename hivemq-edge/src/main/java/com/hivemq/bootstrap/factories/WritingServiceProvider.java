@@ -16,20 +16,16 @@
 package com.hivemq.bootstrap.factories;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
-import com.hivemq.adapter.sdk.api.writing.WritingProtocolAdapter;
 import com.hivemq.bootstrap.services.EdgeCoreFactoryService;
+import com.hivemq.common.shutdown.ShutdownHooks;
 import com.hivemq.mqtt.topic.tree.LocalTopicTree;
 import com.hivemq.persistence.SingleWriterService;
+import com.hivemq.persistence.clientqueue.InternalTopicFilterSubscriberFactory;
 import com.hivemq.protocols.InternalProtocolAdapterWritingService;
-import com.hivemq.protocols.InternalWritingContext;
+import com.hivemq.protocols.southbound.VanillaProtocolAdapterWritingService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 @Singleton
 public class WritingServiceProvider {
@@ -38,54 +34,30 @@ public class WritingServiceProvider {
     private final @NotNull ObjectMapper objectMapper;
     private final @NotNull LocalTopicTree localTopicTree;
     private final @NotNull SingleWriterService singleWriterService;
+    private final @NotNull InternalTopicFilterSubscriberFactory subscriberFactory;
+    private final @NotNull ShutdownHooks shutdownHooks;
 
     @Inject
     public WritingServiceProvider(
             final @NotNull EdgeCoreFactoryService edgeCoreFactoryService,
             final @NotNull ObjectMapper objectMapper,
             final @NotNull LocalTopicTree localTopicTree,
-            final @NotNull SingleWriterService singleWriterService) {
+            final @NotNull SingleWriterService singleWriterService,
+            final @NotNull InternalTopicFilterSubscriberFactory subscriberFactory,
+            final @NotNull ShutdownHooks shutdownHooks) {
         this.edgeCoreFactoryService = edgeCoreFactoryService;
         this.objectMapper = objectMapper;
         this.localTopicTree = localTopicTree;
         this.singleWriterService = singleWriterService;
+        this.subscriberFactory = subscriberFactory;
+        this.shutdownHooks = shutdownHooks;
     }
 
     public @NotNull InternalProtocolAdapterWritingService get() {
         final WritingServiceFactory writingServiceFactory = edgeCoreFactoryService.getWritingServiceFactory();
         if (writingServiceFactory == null) {
-            return new WritingServiceNoop();
+            return new VanillaProtocolAdapterWritingService(objectMapper, subscriberFactory, shutdownHooks);
         }
         return writingServiceFactory.build(objectMapper, localTopicTree, singleWriterService);
     }
-
-    public static class WritingServiceNoop implements InternalProtocolAdapterWritingService {
-
-        private static final @NotNull Logger log = LoggerFactory.getLogger(WritingServiceNoop.class);
-
-        @Override
-        public void addWritingChangedCallback(
-                final @NotNull InternalProtocolAdapterWritingService.WritingChangedCallback callback) {}
-
-        @Override
-        public boolean writingEnabled() {
-            return false;
-        }
-
-        @Override
-        public @NotNull CompletableFuture<Boolean> startWritingAsync(
-                final @NotNull WritingProtocolAdapter writingProtocolAdapter,
-                final @NotNull ProtocolAdapterMetricsService protocolAdapterMetricsService,
-                final @NotNull List<InternalWritingContext> southboundMappings) {
-            log.warn("No bidirectional module is currently installed. Writing to PLCs is currently not supported.");
-            return CompletableFuture.completedFuture(true);
-        }
-
-        @Override
-        public void stopWriting(
-                final @NotNull WritingProtocolAdapter writingProtocolAdapter,
-                final @NotNull List<InternalWritingContext> writingContexts) {
-            // NOOP as nothing was started.
-        }
-    }
 }
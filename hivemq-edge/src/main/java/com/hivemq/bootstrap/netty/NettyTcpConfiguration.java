@@ -15,12 +15,15 @@
  */
 package com.hivemq.bootstrap.netty;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.hivemq.extension.sdk.api.annotations.Immutable;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.ServerSocketChannel;
 import jakarta.inject.Singleton;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The configuration for Netty
@@ -37,18 +40,42 @@ public class NettyTcpConfiguration {
 
     private final EventLoopGroup childEventLoopGroup;
 
+    private final int acceptorChannels;
+
+    private final @Nullable ChannelOption<Boolean> reusePortOption;
+
     public NettyTcpConfiguration(
             final Class<? extends ServerSocketChannel> serverSocketChannelClass,
             final EventLoopGroup parentEventLoopGroup,
             final EventLoopGroup childEventLoopGroup) {
+        this(serverSocketChannelClass, parentEventLoopGroup, childEventLoopGroup, 1, null);
+    }
+
+    /**
+     * @param acceptorChannels the number of server channels bound to the port of each listener, must be 1 if no
+     *                         reuse port option is given
+     * @param reusePortOption  the option that lets several server channels bind the same port
+     */
+    public NettyTcpConfiguration(
+            final Class<? extends ServerSocketChannel> serverSocketChannelClass,
+            final EventLoopGroup parentEventLoopGroup,
+            final EventLoopGroup childEventLoopGroup,
+            final int acceptorChannels,
+            final @Nullable ChannelOption<Boolean> reusePortOption) {
 
         checkNotNull(serverSocketChannelClass, "Server Socket Channel Class must not be null");
         checkNotNull(parentEventLoopGroup, "Parent Event Loop Group must not be null");
         checkNotNull(childEventLoopGroup, "Child Event Loop Group must not be null");
+        checkArgument(acceptorChannels > 0, "Acceptor Channels must be greater than 0");
+        checkArgument(
+                acceptorChannels == 1 || reusePortOption != null,
+                "Several Acceptor Channels need an option to reuse the port");
 
         this.serverSocketChannelClass = serverSocketChannelClass;
         this.parentEventLoopGroup = parentEventLoopGroup;
         this.childEventLoopGroup = childEventLoopGroup;
+        this.acceptorChannels = acceptorChannels;
+        this.reusePortOption = reusePortOption;
     }
 
     public Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
@@ -62,4 +89,15 @@ public class NettyTcpConfiguration {
     public EventLoopGroup getChildEventLoopGroup() {
         return childEventLoopGroup;
     }
+
+    /**
+     * @return the number of server channels bound to the port of each listener
+     */
+    public int getAcceptorChannels() {
+        return acceptorChannels;
+    }
+
+    public @Nullable ChannelOption<Boolean> getReusePortOption() {
+        return reusePortOption;
+    }
 }
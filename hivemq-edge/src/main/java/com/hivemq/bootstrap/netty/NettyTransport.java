@@ -0,0 +1,193 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bootstrap.netty;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.unix.UnixChannelOption;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringServerSocketChannel;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The Netty transports the MQTT listeners can run on.
+ * <p>
+ * The native transports are only available on Linux with the matching native library on the class path. A configured
+ * transport that is not available falls back to NIO, so a configuration can be shared between gateways.
+ */
+public enum NettyTransport {
+
+    NIO("nio") {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        @Nullable Throwable unavailabilityCause() {
+            return null;
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public @NotNull EventLoopGroup createEventLoopGroup(
+                final int threads, final @NotNull ThreadFactory threadFactory) {
+            return new NioEventLoopGroup(threads, threadFactory);
+        }
+
+        @Override
+        public @NotNull Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return NioServerSocketChannel.class;
+        }
+    },
+
+    EPOLL("epoll") {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        @Nullable Throwable unavailabilityCause() {
+            return Epoll.unavailabilityCause();
+        }
+
+        @Override
+        public @NotNull EventLoopGroup createEventLoopGroup(
+                final int threads, final @NotNull ThreadFactory threadFactory) {
+            return new MultiThreadIoEventLoopGroup(threads, threadFactory, EpollIoHandler.newFactory());
+        }
+
+        @Override
+        public @NotNull Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return EpollServerSocketChannel.class;
+        }
+
+        @Override
+        public @Nullable ChannelOption<Boolean> getReusePortOption() {
+            return UnixChannelOption.SO_REUSEPORT;
+        }
+    },
+
+    IO_URING("io_uring") {
+        @Override
+        public boolean isAvailable() {
+            return IoUring.isAvailable();
+        }
+
+        @Override
+        @Nullable Throwable unavailabilityCause() {
+            return IoUring.unavailabilityCause();
+        }
+
+        @Override
+        public @NotNull EventLoopGroup createEventLoopGroup(
+                final int threads, final @NotNull ThreadFactory threadFactory) {
+            return new MultiThreadIoEventLoopGroup(threads, threadFactory, IoUringIoHandler.newFactory());
+        }
+
+        @Override
+        public @NotNull Class<? extends ServerSocketChannel> getServerSocketChannelClass() {
+            return IoUringServerSocketChannel.class;
+        }
+
+        @Override
+        public @Nullable ChannelOption<Boolean> getReusePortOption() {
+            return UnixChannelOption.SO_REUSEPORT;
+        }
+    };
+
+    public static final @NotNull String AUTO = "auto";
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(NettyTransport.class);
+
+    private final @NotNull String configName;
+
+    NettyTransport(final @NotNull String configName) {
+        this.configName = configName;
+    }
+
+    /**
+     * Resolves the configured transport to one that is available on this system.
+     * <p>
+     * {@value #AUTO} prefers epoll and uses NIO otherwise. io_uring is only used if it is configured explicitly, as
+     * it is disabled or restricted on many kernels. Unknown values are treated like {@value #AUTO}.
+     *
+     * @param configured the configured transport name, {@code null} for {@value #AUTO}
+     * @return the transport to use
+     */
+    public static @NotNull NettyTransport select(final @Nullable String configured) {
+        final String name = configured == null ? AUTO : configured.trim().toLowerCase(Locale.ROOT);
+        if (AUTO.equals(name)) {
+            return EPOLL.isAvailable() ? EPOLL : NIO;
+        }
+        for (final NettyTransport transport : values()) {
+            if (!transport.configName.equals(name)) {
+                continue;
+            }
+            if (transport.isAvailable()) {
+                return transport;
+            }
+            final Throwable cause = transport.unavailabilityCause();
+            log.warn(
+                    "Netty transport '{}' is not available on this system, falling back to NIO. Reason: {}",
+                    name,
+                    cause == null ? "unknown" : cause.getMessage());
+            return NIO;
+        }
+        log.warn("Unknown Netty transport '{}', expected one of auto, nio, epoll or io_uring. Using auto.", name);
+        return select(AUTO);
+    }
+
+    /**
+     * @return whether this transport can be used on this system
+     */
+    public abstract boolean isAvailable();
+
+    abstract @Nullable Throwable unavailabilityCause();
+
+    public abstract @NotNull EventLoopGroup createEventLoopGroup(int threads, @NotNull ThreadFactory threadFactory);
+
+    public abstract @NotNull Class<? extends ServerSocketChannel> getServerSocketChannelClass();
+
+    /**
+     * @return the option that lets several server channels bind the same port, {@code null} if this transport does
+     *         not support SO_REUSEPORT
+     */
+    public @Nullable ChannelOption<Boolean> getReusePortOption() {
+        return null;
+    }
+
+    /**
+     * @return the name of this transport in the configuration
+     */
+    public @NotNull String getConfigName() {
+        return configName;
+    }
+}
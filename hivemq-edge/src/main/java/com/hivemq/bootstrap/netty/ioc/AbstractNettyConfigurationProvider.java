@@ -18,34 +18,55 @@ package com.hivemq.bootstrap.netty.ioc;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hivemq.bootstrap.netty.NettyTransport;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import java.util.concurrent.ThreadFactory;
 import org.jetbrains.annotations.NotNull;
 
 public abstract class AbstractNettyConfigurationProvider {
 
     /**
-     * Creates the Parent Eventloop. Creates either a NIO Eventloop or a native Epoll Eventloop with a preference
-     * for native Epoll.
+     * Creates the Parent Eventloop with a single NIO thread.
      *
      * @return the Boss EventLoopGroup
      */
     @NotNull
     protected EventLoopGroup createParentEventLoop() {
-        return new NioEventLoopGroup(1, createThreadFactory("hivemq-eventloop-parent-%d"));
+        return createParentEventLoop(NettyTransport.NIO, 1);
     }
 
     /**
-     * Creates the Child Eventloop. Creates either a NIO Eventloop or a native Epoll Eventloop with a preference
-     * for native Epoll.
+     * Creates the Parent Eventloop for the given transport.
      *
+     * @param transport the transport of the channels registered with the eventloop
+     * @param threads   the number of threads, one per acceptor channel of a listener
      * @return the Boss EventLoopGroup
      */
     @NotNull
+    protected EventLoopGroup createParentEventLoop(final @NotNull NettyTransport transport, final int threads) {
+        return transport.createEventLoopGroup(threads, createThreadFactory("hivemq-eventloop-parent-%d"));
+    }
+
+    /**
+     * Creates the Child Eventloop with NIO.
+     *
+     * @return the Worker EventLoopGroup
+     */
+    @NotNull
     protected EventLoopGroup createChildEventLoop() {
+        return createChildEventLoop(NettyTransport.NIO);
+    }
+
+    /**
+     * Creates the Child Eventloop for the given transport.
+     *
+     * @param transport the transport of the channels registered with the eventloop
+     * @return the Worker EventLoopGroup
+     */
+    @NotNull
+    protected EventLoopGroup createChildEventLoop(final @NotNull NettyTransport transport) {
         // Default Netty Threads.
-        return new NioEventLoopGroup(0, createThreadFactory("hivemq-eventloop-child-%d"));
+        return transport.createEventLoopGroup(0, createThreadFactory("hivemq-eventloop-child-%d"));
     }
 
     /**
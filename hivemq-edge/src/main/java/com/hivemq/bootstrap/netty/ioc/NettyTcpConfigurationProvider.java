@@ -15,16 +15,27 @@
  */
 package com.hivemq.bootstrap.netty.ioc;
 
+import static com.hivemq.configuration.service.InternalConfigurations.LISTENER_ACCEPTOR_CHANNELS;
+import static com.hivemq.configuration.service.InternalConfigurations.LISTENER_TRANSPORT;
+
 import com.hivemq.bootstrap.netty.NettyTcpConfiguration;
+import com.hivemq.bootstrap.netty.NettyTransport;
+import com.hivemq.configuration.service.InternalConfigurationService;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This Provider creates the configuration for Netty.
+ * <p>
+ * The transport of the MQTT listeners is selected with the internal option {@code listener.transport}. If the
+ * selected transport supports SO_REUSEPORT, {@code listener.acceptor-channels} server channels share the port of each
+ * listener, each with its own parent eventloop thread.
  *
  * @author Dominik Obermaier
  */
@@ -32,16 +43,42 @@ import org.jetbrains.annotations.NotNull;
 public class NettyTcpConfigurationProvider extends AbstractNettyConfigurationProvider
         implements Provider<NettyTcpConfiguration> {
 
+    private static final @NotNull Logger log = LoggerFactory.getLogger(NettyTcpConfigurationProvider.class);
+
+    private final @NotNull InternalConfigurationService internalConfigurationService;
+
     @Inject
-    public NettyTcpConfigurationProvider() {}
+    public NettyTcpConfigurationProvider(final @NotNull InternalConfigurationService internalConfigurationService) {
+        this.internalConfigurationService = internalConfigurationService;
+    }
 
     @NotNull
     @Override
     public NettyTcpConfiguration get() {
 
-        final EventLoopGroup parentGroup = createParentEventLoop();
-        final EventLoopGroup childGroup = createChildEventLoop();
+        final NettyTransport transport = NettyTransport.select(internalConfigurationService.get(LISTENER_TRANSPORT));
+        final ChannelOption<Boolean> reusePortOption = transport.getReusePortOption();
+        int acceptorChannels = Math.max(1, internalConfigurationService.getInteger(LISTENER_ACCEPTOR_CHANNELS));
+        if (acceptorChannels > 1 && reusePortOption == null) {
+            log.warn(
+                    "Netty transport '{}' does not support SO_REUSEPORT, ignoring {} acceptor channels per listener.",
+                    transport.getConfigName(),
+                    acceptorChannels);
+            acceptorChannels = 1;
+        }
+        log.debug(
+                "Using Netty transport '{}' with {} acceptor channel(s) per listener",
+                transport.getConfigName(),
+                acceptorChannels);
+
+        final EventLoopGroup parentGroup = createParentEventLoop(transport, acceptorChannels);
+        final EventLoopGroup childGroup = createChildEventLoop(transport);
 
-        return new NettyTcpConfiguration(NioServerSocketChannel.class, parentGroup, childGroup);
+        return new NettyTcpConfiguration(
+                transport.getServerSocketChannelClass(),
+                parentGroup,
+                childGroup,
+                acceptorChannels,
+                acceptorChannels > 1 ? reusePortOption : null);
     }
 }
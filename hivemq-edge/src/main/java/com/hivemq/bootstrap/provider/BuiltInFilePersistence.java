@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bootstrap.provider;
+
+import static com.hivemq.configuration.service.InternalConfigurations.PERSISTENCE_BUILT_IN_FILE_CLIENT_QUEUE_ENABLED;
+
+import com.hivemq.configuration.service.InternalConfigurationService;
+import com.hivemq.exceptions.UnrecoverableException;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The check the persistence providers share when file persistence is configured but the commercial module provides no
+ * file persistence. Only the client queues are available as built-in file persistence, so this mixed mode is an
+ * explicit opt-in.
+ */
+final class BuiltInFilePersistence {
+
+    private static final Logger log = LoggerFactory.getLogger(BuiltInFilePersistence.class);
+
+    private BuiltInFilePersistence() {}
+
+    /**
+     * @throws UnrecoverableException if the built-in file client queue persistence is not enabled
+     */
+    static void checkEnabled(final @NotNull InternalConfigurationService internalConfigurationService) {
+        if (!internalConfigurationService.getBoolean(PERSISTENCE_BUILT_IN_FILE_CLIENT_QUEUE_ENABLED)) {
+            log.error(
+                    "File Persistence is specified in config.xml, but no provider for a file persistence is available. Check that the commercial module is present in the module folder and a valid license is present in the license folder, or set the internal option '{}' to keep only the client queues in files.",
+                    PERSISTENCE_BUILT_IN_FILE_CLIENT_QUEUE_ENABLED);
+            throw new UnrecoverableException();
+        }
+    }
+}
@@ -16,13 +16,14 @@
 package com.hivemq.bootstrap.provider;
 
 import com.hivemq.bootstrap.factories.ClientQueueLocalPersistenceFactory;
+import com.hivemq.configuration.service.InternalConfigurationService;
 import com.hivemq.configuration.service.PersistenceConfigurationService;
 import com.hivemq.configuration.service.PersistenceMode;
-import com.hivemq.exceptions.UnrecoverableException;
 import com.hivemq.extensions.core.PersistencesService;
 import com.hivemq.mqtt.message.dropping.MessageDroppedService;
 import com.hivemq.persistence.PersistenceStartup;
 import com.hivemq.persistence.clientqueue.ClientQueueLocalPersistence;
+import com.hivemq.persistence.local.file.ClientQueueFileLocalPersistenceFactory;
 import com.hivemq.persistence.local.memory.ClientQueueMemoryLocalPersistence;
 import com.hivemq.persistence.payload.PublishPayloadPersistence;
 import com.hivemq.util.LocalPersistenceFileUtil;
@@ -42,6 +43,8 @@ public class ClientQueueLocalPersistenceProvider {
     private final @NotNull MessageDroppedService messageDroppedService;
     private final @NotNull PersistenceStartup persistenceStartup;
     private final @NotNull PersistenceConfigurationService persistenceConfigurationService;
+    private final @NotNull InternalConfigurationService internalConfigurationService;
+    private final @NotNull ClientQueueFileLocalPersistenceFactory clientQueueFileLocalPersistenceFactory;
 
     @Inject
     ClientQueueLocalPersistenceProvider(
@@ -51,7 +54,9 @@ public class ClientQueueLocalPersistenceProvider {
             final @NotNull PublishPayloadPersistence payloadPersistence,
             final @NotNull MessageDroppedService messageDroppedService,
             final @NotNull PersistenceStartup persistenceStartup,
-            final @NotNull PersistenceConfigurationService persistenceConfigurationService) {
+            final @NotNull PersistenceConfigurationService persistenceConfigurationService,
+            final @NotNull ClientQueueFileLocalPersistenceFactory clientQueueFileLocalPersistenceFactory,
+            final @NotNull InternalConfigurationService internalConfigurationService) {
         this.persistencesService = persistencesService;
         this.clientQueueMemoryLocalPersistence = clientQueueMemoryLocalPersistence;
         this.localPersistenceFileUtil = localPersistenceFileUtil;
@@ -60,6 +65,8 @@ public class ClientQueueLocalPersistenceProvider {
         this.messageDroppedService = messageDroppedService;
         this.persistenceStartup = persistenceStartup;
         this.persistenceConfigurationService = persistenceConfigurationService;
+        this.internalConfigurationService = internalConfigurationService;
+        this.clientQueueFileLocalPersistenceFactory = clientQueueFileLocalPersistenceFactory;
     }
 
     public @NotNull ClientQueueLocalPersistence get() {
@@ -72,9 +79,10 @@ public class ClientQueueLocalPersistenceProvider {
         }
 
         if (persistenceFactory == null) {
-            log.error(
-                    "File Persistence is specified in config.xml, but no provider for a file persistence is available. Check that the commercial module is present in the module folder and a valid license is present in the license folder.");
-            throw new UnrecoverableException();
+            BuiltInFilePersistence.checkEnabled(internalConfigurationService);
+            log.debug("File Persistence is specified in config.xml, using the built-in client queue file persistence.");
+            return clientQueueFileLocalPersistenceFactory.buildClientSessionLocalPersistence(
+                    localPersistenceFileUtil, payloadPersistence, messageDroppedService, persistenceStartup);
         }
 
         return persistenceFactory.buildClientSessionLocalPersistence(
@@ -16,9 +16,9 @@
 package com.hivemq.bootstrap.provider;
 
 import com.hivemq.bootstrap.factories.ClientSessionLocalPersistenceFactory;
+import com.hivemq.configuration.service.InternalConfigurationService;
 import com.hivemq.configuration.service.PersistenceConfigurationService;
 import com.hivemq.configuration.service.PersistenceMode;
-import com.hivemq.exceptions.UnrecoverableException;
 import com.hivemq.extensions.core.PersistencesService;
 import com.hivemq.logging.EventLog;
 import com.hivemq.metrics.MetricsHolder;
@@ -44,6 +44,7 @@ public class ClientSessionLocalPersistenceProvider {
     private final @NotNull MetricsHolder metricsHolder;
     private final @NotNull PersistenceStartup persistenceStartup;
     private final @NotNull PersistenceConfigurationService persistenceConfigurationService;
+    private final @NotNull InternalConfigurationService internalConfigurationService;
 
     @Inject
     ClientSessionLocalPersistenceProvider(
@@ -54,7 +55,8 @@ public class ClientSessionLocalPersistenceProvider {
             final @NotNull EventLog eventLog,
             final @NotNull MetricsHolder metricsHolder,
             final @NotNull PersistenceStartup persistenceStartup,
-            final @NotNull PersistenceConfigurationService persistenceConfigurationService) {
+            final @NotNull PersistenceConfigurationService persistenceConfigurationService,
+            final @NotNull InternalConfigurationService internalConfigurationService) {
         this.persistencesService = persistencesService;
         this.clientSessionMemoryLocalPersistence = clientQueueMemoryLocalPersistence;
         this.localPersistenceFileUtil = localPersistenceFileUtil;
@@ -63,6 +65,7 @@ public class ClientSessionLocalPersistenceProvider {
         this.metricsHolder = metricsHolder;
         this.persistenceStartup = persistenceStartup;
         this.persistenceConfigurationService = persistenceConfigurationService;
+        this.internalConfigurationService = internalConfigurationService;
     }
 
     public @NotNull ClientSessionLocalPersistence get() {
@@ -75,9 +78,10 @@ public class ClientSessionLocalPersistenceProvider {
         }
 
         if (persistenceFactory == null) {
-            log.error(
-                    "File Persistence is specified in config.xml, but no provider for a file persistence is available. Check that the commercial module is present in the module folder and a valid license is present in the license folder.");
-            throw new UnrecoverableException();
+            BuiltInFilePersistence.checkEnabled(internalConfigurationService);
+            log.warn(
+                    "File Persistence is specified in config.xml, but no file persistence for client sessions is available. The client sessions are kept in memory.");
+            return clientSessionMemoryLocalPersistence;
         }
 
         return persistenceFactory.buildClientSessionLocalPersistence(
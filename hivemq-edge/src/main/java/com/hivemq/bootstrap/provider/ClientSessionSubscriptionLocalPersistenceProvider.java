@@ -16,9 +16,9 @@
 package com.hivemq.bootstrap.provider;
 
 import com.hivemq.bootstrap.factories.ClientSessionSubscriptionLocalPersistenceFactory;
+import com.hivemq.configuration.service.InternalConfigurationService;
 import com.hivemq.configuration.service.PersistenceConfigurationService;
 import com.hivemq.configuration.service.PersistenceMode;
-import com.hivemq.exceptions.UnrecoverableException;
 import com.hivemq.extensions.core.PersistencesService;
 import com.hivemq.persistence.PersistenceStartup;
 import com.hivemq.persistence.local.ClientSessionSubscriptionLocalPersistence;
@@ -41,6 +41,7 @@ public class ClientSessionSubscriptionLocalPersistenceProvider {
     private final @NotNull PublishPayloadPersistence payloadPersistence;
     private final @NotNull PersistenceStartup persistenceStartup;
     private final @NotNull PersistenceConfigurationService persistenceConfigurationService;
+    private final @NotNull InternalConfigurationService internalConfigurationService;
 
     @Inject
     ClientSessionSubscriptionLocalPersistenceProvider(
@@ -49,13 +50,15 @@ public class ClientSessionSubscriptionLocalPersistenceProvider {
             final @NotNull LocalPersistenceFileUtil localPersistenceFileUtil,
             final @NotNull PublishPayloadPersistence payloadPersistence,
             final @NotNull PersistenceStartup persistenceStartup,
-            final @NotNull PersistenceConfigurationService persistenceConfigurationService) {
+            final @NotNull PersistenceConfigurationService persistenceConfigurationService,
+            final @NotNull InternalConfigurationService internalConfigurationService) {
         this.persistencesService = persistencesService;
         this.clientSessionMemoryLocalPersistence = clientSessionMemoryLocalPersistence;
         this.localPersistenceFileUtil = localPersistenceFileUtil;
         this.payloadPersistence = payloadPersistence;
         this.persistenceStartup = persistenceStartup;
         this.persistenceConfigurationService = persistenceConfigurationService;
+        this.internalConfigurationService = internalConfigurationService;
     }
 
     public @NotNull ClientSessionSubscriptionLocalPersistence get() {
@@ -68,9 +71,10 @@ public class ClientSessionSubscriptionLocalPersistenceProvider {
         }
 
         if (persistenceFactory == null) {
-            log.error(
-                    "File Persistence is specified in config.xml, but no provider for a file persistence is available. Check that the commercial module is present in the module folder and a valid license is present in the license folder.");
-            throw new UnrecoverableException();
+            BuiltInFilePersistence.checkEnabled(internalConfigurationService);
+            log.warn(
+                    "File Persistence is specified in config.xml, but no file persistence for subscriptions is available. The subscriptions are kept in memory.");
+            return clientSessionMemoryLocalPersistence;
         }
 
         return persistenceFactory.buildClientSessionSubscriptionLocalPersistence(
@@ -18,9 +18,9 @@ package com.hivemq.bootstrap.provider;
 import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.hivemq.bootstrap.factories.PublishPayloadPersistenceFactory;
 import com.hivemq.configuration.info.SystemInformation;
+import com.hivemq.configuration.service.InternalConfigurationService;
 import com.hivemq.configuration.service.PersistenceConfigurationService;
 import com.hivemq.configuration.service.PersistenceMode;
-import com.hivemq.exceptions.UnrecoverableException;
 import com.hivemq.extensions.core.PersistencesService;
 import com.hivemq.metrics.MetricsHolder;
 import com.hivemq.mqtt.message.dropping.MessageDroppedService;
@@ -46,6 +46,7 @@ public class PublishPayloadPersistenceProvider {
     private final @NotNull PersistenceStartup persistenceStartup;
     private final @NotNull MetricsHolder metricsHolder;
     private final @NotNull PersistenceConfigurationService persistenceConfigurationService;
+    private final @NotNull InternalConfigurationService internalConfigurationService;
     private final @NotNull SystemInformation systemInformation;
 
     @Inject
@@ -58,7 +59,8 @@ public class PublishPayloadPersistenceProvider {
             final @NotNull PersistenceStartup persistenceStartup,
             final @NotNull MetricsHolder metricsHolder,
             final @NotNull PersistenceConfigurationService persistenceConfigurationService,
-            final @NotNull SystemInformation systemInformation) {
+            final @NotNull SystemInformation systemInformation,
+            final @NotNull InternalConfigurationService internalConfigurationService) {
         this.persistencesService = persistencesService;
         this.noopPersistence = noopPersistence;
         this.localPersistenceFileUtil = localPersistenceFileUtil;
@@ -67,6 +69,7 @@ public class PublishPayloadPersistenceProvider {
         this.persistenceStartup = persistenceStartup;
         this.metricsHolder = metricsHolder;
         this.persistenceConfigurationService = persistenceConfigurationService;
+        this.internalConfigurationService = internalConfigurationService;
         this.systemInformation = systemInformation;
     }
 
@@ -80,9 +83,10 @@ public class PublishPayloadPersistenceProvider {
         }
 
         if (persistenceFactory == null) {
-            log.error(
-                    "File Persistence is specified in config.xml, but no provider for a file persistence is available. Check that the commercial module is present in the module folder and a valid license is present in the license folder.");
-            throw new UnrecoverableException();
+            BuiltInFilePersistence.checkEnabled(internalConfigurationService);
+            log.warn(
+                    "File Persistence is specified in config.xml, but no file persistence for payloads is available. The payloads are kept in memory.");
+            return noopPersistence;
         }
 
         return persistenceFactory.buildPublishPayloadPersistence(
@@ -17,9 +17,9 @@ package com.hivemq.bootstrap.provider;
 
 import com.hivemq.bootstrap.factories.RetainedMessageLocalPersistenceFactory;
 import com.hivemq.configuration.info.SystemInformation;
+import com.hivemq.configuration.service.InternalConfigurationService;
 import com.hivemq.configuration.service.PersistenceConfigurationService;
 import com.hivemq.configuration.service.PersistenceMode;
-import com.hivemq.exceptions.UnrecoverableException;
 import com.hivemq.extensions.core.PersistencesService;
 import com.hivemq.persistence.PersistenceStartup;
 import com.hivemq.persistence.local.memory.RetainedMessageMemoryLocalPersistence;
@@ -42,6 +42,7 @@ public class RetainedMessageLocalPersistenceProvider {
     private final @NotNull PublishPayloadPersistence payloadPersistence;
     private final @NotNull PersistenceStartup persistenceStartup;
     private final @NotNull PersistenceConfigurationService persistenceConfigurationService;
+    private final @NotNull InternalConfigurationService internalConfigurationService;
     private final @NotNull SystemInformation systemInformation;
 
     @Inject
@@ -52,13 +53,15 @@ public class RetainedMessageLocalPersistenceProvider {
             final @NotNull PublishPayloadPersistence payloadPersistence,
             final @NotNull PersistenceStartup persistenceStartup,
             final @NotNull PersistenceConfigurationService persistenceConfigurationService,
-            final @NotNull SystemInformation systemInformation) {
+            final @NotNull SystemInformation systemInformation,
+            final @NotNull InternalConfigurationService internalConfigurationService) {
         this.persistencesService = persistencesService;
         this.retainedMessageMemoryLocalPersistence = retainedMessageMemoryLocalPersistence;
         this.localPersistenceFileUtil = localPersistenceFileUtil;
         this.payloadPersistence = payloadPersistence;
         this.persistenceStartup = persistenceStartup;
         this.persistenceConfigurationService = persistenceConfigurationService;
+        this.internalConfigurationService = internalConfigurationService;
         this.systemInformation = systemInformation;
     }
 
@@ -72,9 +75,10 @@ public class RetainedMessageLocalPersistenceProvider {
         }
 
         if (persistenceFactory == null) {
-            log.error(
-                    "File Persistence is specified in config.xml, but no provider for a file persistence is available. Check that the commercial module is present in the module folder and a valid license is present in the license folder.");
-            throw new UnrecoverableException();
+            BuiltInFilePersistence.checkEnabled(internalConfigurationService);
+            log.warn(
+                    "File Persistence is specified in config.xml, but no file persistence for retained messages is available. The retained messages are kept in memory.");
+            return retainedMessageMemoryLocalPersistence;
         }
 
         return persistenceFactory.buildRetainedMessageLocalPersistence(
@@ -25,4 +25,25 @@ public class BridgeConstants {
     public static final @NotNull String HMQ_BRIDGE_HOP_COUNT = "hmq-bridge-hop-count";
 
     public static final @NotNull String BRIDGE_NAME_TOPIC_REPLACEMENT_TOKEN = "bridge.name";
+
+    /**
+     * Special publish user property that marks a payload compressed by the bridge, the value is the compression
+     * algorithm.
+     */
+    public static final @NotNull String HMQ_BRIDGE_CONTENT_ENCODING = "hmq-bridge-content-encoding";
+
+    /**
+     * Special publish user property that holds the content type of a compressed payload before compression.
+     */
+    public static final @NotNull String HMQ_BRIDGE_ORIGINAL_CONTENT_TYPE = "hmq-bridge-original-content-type";
+
+    /**
+     * Special publish user property that is present if a compressed payload was UTF-8 before compression.
+     */
+    public static final @NotNull String HMQ_BRIDGE_ORIGINAL_UTF_8 = "hmq-bridge-original-utf-8";
+
+    /**
+     * Content type of payloads compressed by the bridge.
+     */
+    public static final @NotNull String BRIDGE_COMPRESSED_CONTENT_TYPE = "application/vnd.hivemq.bridge.deflate";
 }
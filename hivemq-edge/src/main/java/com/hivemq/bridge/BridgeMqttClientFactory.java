@@ -22,6 +22,7 @@ import com.hivemq.bridge.mqtt.BridgeInterceptorHandler;
 import com.hivemq.bridge.mqtt.BridgeMqttClient;
 import com.hivemq.configuration.HivemqId;
 import com.hivemq.configuration.info.SystemInformation;
+import com.hivemq.configuration.service.MqttConfigurationService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.jetbrains.annotations.NotNull;
@@ -34,6 +35,7 @@ public class BridgeMqttClientFactory {
     private final @NotNull SystemInformation systemInformation;
     private final @NotNull MetricRegistry metricRegistry;
     private final @NotNull EventService eventService;
+    private final @NotNull MqttConfigurationService mqttConfigurationService;
 
     @Inject
     public BridgeMqttClientFactory(
@@ -41,16 +43,24 @@ public class BridgeMqttClientFactory {
             final @NotNull HivemqId hivemqId,
             final @NotNull SystemInformation systemInformation,
             final @NotNull MetricRegistry metricRegistry,
-            final @NotNull EventService eventService) {
+            final @NotNull EventService eventService,
+            final @NotNull MqttConfigurationService mqttConfigurationService) {
         this.bridgeInterceptorHandler = bridgeInterceptorHandler;
         this.hivemqId = hivemqId;
         this.systemInformation = systemInformation;
         this.metricRegistry = metricRegistry;
         this.eventService = eventService;
+        this.mqttConfigurationService = mqttConfigurationService;
     }
 
     public @NotNull BridgeMqttClient createRemoteClient(final @NotNull MqttBridge bridge) {
         return new BridgeMqttClient(
-                systemInformation, bridge, bridgeInterceptorHandler, hivemqId, metricRegistry, eventService);
+                systemInformation,
+                bridge,
+                bridgeInterceptorHandler,
+                hivemqId,
+                metricRegistry,
+                eventService,
+                mqttConfigurationService);
     }
 }
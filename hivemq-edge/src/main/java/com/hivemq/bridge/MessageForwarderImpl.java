@@ -15,7 +15,6 @@
  */
 package com.hivemq.bridge;
 
-import static com.hivemq.configuration.service.InternalConfigurations.FORWARDER_POLL_THRESHOLD_MESSAGES;
 import static com.hivemq.configuration.service.InternalConfigurations.PUBLISH_POLL_BATCH_SIZE_BYTES;
 
 import com.google.common.collect.ImmutableList;
@@ -329,13 +328,14 @@ public class MessageForwarderImpl implements MessageForwarder {
                     final MqttForwarder forwarder = forwarders.get(forwarderId);
                     if (forwarder != null) {
                         final int inflightCount = forwarder.getInflightCount();
-                        if (inflightCount < FORWARDER_POLL_THRESHOLD_MESSAGES) {
+                        final int inflightWindow = forwarder.getInflightWindow();
+                        if (inflightCount < inflightWindow) {
                             if (log.isTraceEnabled()) {
                                 log.trace(
-                                        "Forwarder '{}' inflight count {} below threshold {}, triggering buffer check",
+                                        "Forwarder '{}' inflight count {} below window {}, triggering buffer check",
                                         forwarderId,
                                         inflightCount,
-                                        FORWARDER_POLL_THRESHOLD_MESSAGES);
+                                        inflightWindow);
                             }
                             checkBuffers();
                         }
@@ -492,25 +492,30 @@ public class MessageForwarderImpl implements MessageForwarder {
         final Set<String> forwarderNonEmptyQueue = queueIdsForForwarder.get(mqttForwarder.getId());
         if (forwarderNonEmptyQueue != null) {
             final int inflightCount = mqttForwarder.getInflightCount();
+            final int inflightWindow = mqttForwarder.getInflightWindow();
             if (log.isTraceEnabled()) {
                 log.trace(
-                        "Polling forwarder '{}' with {} inflight message(s), {} queue(s)",
+                        "Polling forwarder '{}' with {} inflight message(s), window {}, {} queue(s)",
                         mqttForwarder.getId(),
                         inflightCount,
+                        inflightWindow,
                         forwarderNonEmptyQueue.size());
             }
 
-            for (final String queueId : forwarderNonEmptyQueue) {
-                if (inflightCount <= FORWARDER_POLL_THRESHOLD_MESSAGES) {
-                    pollFuturesBuilder.add(pollForQueue(queueId, mqttForwarder));
-                } else {
-                    if (log.isTraceEnabled()) {
-                        log.trace(
-                                "Skipping poll for forwarder '{}', inflight count {} exceeds threshold {}",
-                                mqttForwarder.getId(),
-                                inflightCount,
-                                FORWARDER_POLL_THRESHOLD_MESSAGES);
-                    }
+            final int freeWindow = inflightWindow - inflightCount;
+            if (freeWindow > 0) {
+                // the free window is shared by the queues of the forwarder, so the batches do not overshoot it
+                final int batchSize = Math.max(1, freeWindow / forwarderNonEmptyQueue.size());
+                for (final String queueId : forwarderNonEmptyQueue) {
+                    pollFuturesBuilder.add(pollForQueue(queueId, mqttForwarder, batchSize));
+                }
+            } else {
+                if (log.isTraceEnabled()) {
+                    log.trace(
+                            "Skipping poll for forwarder '{}', inflight count {} reached window {}",
+                            mqttForwarder.getId(),
+                            inflightCount,
+                            inflightWindow);
                 }
             }
         } else {
@@ -523,19 +528,19 @@ public class MessageForwarderImpl implements MessageForwarder {
 
     @NotNull
     private ListenableFuture<Boolean> pollForQueue(
-            final @NotNull String queueId, final @NotNull MqttForwarder mqttForwarder) {
+            final @NotNull String queueId, final @NotNull MqttForwarder mqttForwarder, final int batchSize) {
         if (log.isTraceEnabled()) {
             log.trace(
                     "Polling queue '{}' for forwarder '{}', batchSize: {}, byteLimit: {}",
                     queueId,
                     mqttForwarder.getId(),
-                    FORWARDER_POLL_THRESHOLD_MESSAGES,
+                    batchSize,
                     PUBLISH_POLL_BATCH_SIZE_BYTES);
         }
         final var qPersistence = queuePersistence.get();
         if (qPersistence != null) {
             return Futures.transform(
-                    qPersistence.readShared(queueId, FORWARDER_POLL_THRESHOLD_MESSAGES, PUBLISH_POLL_BATCH_SIZE_BYTES),
+                    qPersistence.readShared(queueId, batchSize, PUBLISH_POLL_BATCH_SIZE_BYTES),
                     publishes -> {
                         if (publishes == null) {
                             if (log.isTraceEnabled()) {
@@ -25,6 +25,18 @@ public interface MqttForwarder {
 
     int getInflightCount();
 
+    /**
+     * @return the number of messages the forwarder currently accepts in flight. The window adapts to the latency and
+     *         the errors of the publishes to the remote broker.
+     */
+    int getInflightWindow();
+
+    /**
+     * Called when the remote client connected. Resets the inflight window to the share of this forwarder of the
+     * Receive Maximum the remote broker sent in its CONNACK.
+     */
+    void setRemoteReceiveMaximum(int receiveMaximum);
+
     void onMessage(@NotNull PUBLISH publish, @NotNull String queueId);
 
     void start();
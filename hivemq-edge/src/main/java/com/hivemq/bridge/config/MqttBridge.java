@@ -22,6 +22,8 @@ import org.jetbrains.annotations.Nullable;
 
 public class MqttBridge {
 
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 256;
+
     private final @NotNull String id;
     private final @NotNull String host;
     private final int port;
@@ -38,6 +40,8 @@ public class MqttBridge {
     private final boolean loopPreventionEnabled;
     private final int loopPreventionHopCount;
     private final boolean persist;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
 
     private MqttBridge(
             final @NotNull String id,
@@ -55,7 +59,9 @@ public class MqttBridge {
             final @NotNull List<LocalSubscription> localSubscriptions,
             final boolean loopPreventionEnabled,
             final int loopPreventionHopCount,
-            final boolean persist) {
+            final boolean persist,
+            final boolean compressionEnabled,
+            final int compressionThreshold) {
         this.id = id;
         this.host = host;
         this.port = port;
@@ -72,6 +78,8 @@ public class MqttBridge {
         this.loopPreventionEnabled = loopPreventionEnabled;
         this.loopPreventionHopCount = loopPreventionHopCount;
         this.persist = persist;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
     }
 
     public @NotNull String getId() {
@@ -138,6 +146,17 @@ public class MqttBridge {
         return persist;
     }
 
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * @return the payload size in bytes from which on forwarded payloads are compressed
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
     public static class Builder {
         private @Nullable String id;
         private @Nullable String host;
@@ -155,6 +174,8 @@ public class MqttBridge {
         private boolean loopPreventionEnabled = true;
         private int loopPreventionHopCount = 1;
         private boolean persist = true;
+        private boolean compressionEnabled = false;
+        private int compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD;
 
         public @NotNull Builder withId(@NotNull final String id) {
             this.id = id;
@@ -237,6 +258,16 @@ public class MqttBridge {
             return this;
         }
 
+        public @NotNull Builder withCompressionEnabled(final boolean compressionEnabled) {
+            this.compressionEnabled = compressionEnabled;
+            return this;
+        }
+
+        public @NotNull Builder withCompressionThreshold(final int compressionThreshold) {
+            this.compressionThreshold = compressionThreshold;
+            return this;
+        }
+
         public @NotNull MqttBridge build() {
             return new MqttBridge(
                     Objects.requireNonNull(id),
@@ -254,7 +285,9 @@ public class MqttBridge {
                     localSubscriptions,
                     loopPreventionEnabled,
                     loopPreventionHopCount,
-                    persist);
+                    persist,
+                    compressionEnabled,
+                    compressionThreshold);
         }
     }
 
@@ -285,6 +318,12 @@ public class MqttBridge {
         if (loopPreventionHopCount != that.loopPreventionHopCount) {
             return false;
         }
+        if (compressionEnabled != that.compressionEnabled) {
+            return false;
+        }
+        if (compressionThreshold != that.compressionThreshold) {
+            return false;
+        }
         if (!id.equals(that.id)) {
             return false;
         }
@@ -330,6 +369,8 @@ public class MqttBridge {
         result = 31 * result + Boolean.hashCode(loopPreventionEnabled);
         result = 31 * result + loopPreventionHopCount;
         result = 31 * result + Boolean.hashCode(persist);
+        result = 31 * result + Boolean.hashCode(compressionEnabled);
+        result = 31 * result + compressionThreshold;
 
         return result;
     }
@@ -369,6 +410,10 @@ public class MqttBridge {
                 + loopPreventionEnabled
                 + ", loopPreventionHopCount="
                 + loopPreventionHopCount
+                + ", compressionEnabled="
+                + compressionEnabled
+                + ", compressionThreshold="
+                + compressionThreshold
                 + '}';
     }
 }
@@ -20,7 +20,10 @@ import com.codahale.metrics.MetricRegistry;
 import com.hivemq.metrics.HiveMQMetrics;
 import dagger.internal.Preconditions;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
 import org.jetbrains.annotations.NotNull;
 
 public class PerBridgeMetrics {
@@ -36,6 +39,11 @@ public class PerBridgeMetrics {
     private final @NotNull Counter remotePublishExcludedCounter;
     private final @NotNull Counter loopPreventionForwardDropCounter;
     private final @NotNull Counter loopPreventionRemoteDropCounter;
+    private final @NotNull Counter publishForwardCompressedCounter;
+    private final @NotNull Counter compressionBytesSavedCounter;
+    private final @NotNull Counter compressionTimeMicrosCounter;
+    private final @NotNull Counter publishRemoteDecompressedCounter;
+    private final @NotNull Map<String, IntSupplier> inflightWindows = new ConcurrentHashMap<>();
     private final @NotNull Set<String> metricNames = new HashSet<>();
     private final @NotNull Object mutex = new Object();
 
@@ -66,6 +74,26 @@ public class PerBridgeMetrics {
 
         loopPreventionRemoteDropCounter =
                 createBridgeCounter(metricRegistry, bridgeName, "remote.publish.loop-hops-exceeded", "count");
+
+        publishForwardCompressedCounter =
+                createBridgeCounter(metricRegistry, bridgeName, "forward.publish.compressed", "count");
+
+        compressionBytesSavedCounter =
+                createBridgeCounter(metricRegistry, bridgeName, "forward.publish.compression.bytes-saved", "count");
+
+        compressionTimeMicrosCounter =
+                createBridgeCounter(metricRegistry, bridgeName, "forward.publish.compression.time-micros", "count");
+
+        publishRemoteDecompressedCounter =
+                createBridgeCounter(metricRegistry, bridgeName, "remote.publish.decompressed", "count");
+
+        final String inflightWindowName =
+                MetricRegistry.name(BRIDGE_PREFIX, bridgeName, "forward.publish.inflight-window", "count");
+        synchronized (mutex) {
+            metricNames.add(inflightWindowName);
+        }
+        metricRegistry.remove(inflightWindowName);
+        metricRegistry.registerGauge(inflightWindowName, this::getInflightWindow);
     }
 
     private Counter createBridgeCounter(final @NotNull MetricRegistry metricRegistry, final @NotNull String... names) {
@@ -116,6 +144,45 @@ public class PerBridgeMetrics {
         return loopPreventionRemoteDropCounter;
     }
 
+    public @NotNull Counter getPublishForwardCompressedCounter() {
+        return publishForwardCompressedCounter;
+    }
+
+    public @NotNull Counter getCompressionBytesSavedCounter() {
+        return compressionBytesSavedCounter;
+    }
+
+    /**
+     * @return the time spent compressing forwarded payloads in microseconds
+     */
+    public @NotNull Counter getCompressionTimeMicrosCounter() {
+        return compressionTimeMicrosCounter;
+    }
+
+    public @NotNull Counter getPublishRemoteDecompressedCounter() {
+        return publishRemoteDecompressedCounter;
+    }
+
+    /**
+     * @return the sum of the current inflight windows of the forwarders of the bridge, which never exceeds the Receive
+     *         Maximum of the remote broker unless the bridge has more forwarders than that
+     */
+    public int getInflightWindow() {
+        int inflightWindow = 0;
+        for (final IntSupplier forwarderInflightWindow : inflightWindows.values()) {
+            inflightWindow += forwarderInflightWindow.getAsInt();
+        }
+        return inflightWindow;
+    }
+
+    public void addInflightWindow(final @NotNull String forwarderId, final @NotNull IntSupplier inflightWindow) {
+        inflightWindows.put(forwarderId, inflightWindow);
+    }
+
+    public void removeInflightWindow(final @NotNull String forwarderId) {
+        inflightWindows.remove(forwarderId);
+    }
+
     public void clearAll(final @NotNull MetricRegistry metricRegistry) {
         Preconditions.checkNotNull(metricRegistry);
         synchronized (mutex) {
@@ -15,6 +15,7 @@
  */
 package com.hivemq.bridge.mqtt;
 
+import static com.hivemq.configuration.service.InternalConfigurations.FORWARDER_POLL_THRESHOLD_MESSAGES;
 import static com.hivemq.edge.HiveMQEdgeConstants.BRIDGE_MARKER_PROPERTY;
 import static com.hivemq.edge.HiveMQEdgeConstants.BRIDGE_MARKER_PROPERTY_VALUE;
 import static com.hivemq.edge.HiveMQEdgeConstants.CLIENT_AGENT_PROPERTY;
@@ -57,6 +58,7 @@ import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscription;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import com.hivemq.configuration.HivemqId;
 import com.hivemq.configuration.info.SystemInformation;
+import com.hivemq.configuration.service.MqttConfigurationService;
 import com.hivemq.edge.model.TypeIdentifierImpl;
 import com.hivemq.edge.modules.api.events.model.EventImpl;
 import com.hivemq.security.ssl.SslUtil;
@@ -97,6 +99,7 @@ public class BridgeMqttClient {
     private final @NotNull PerBridgeMetrics perBridgeMetrics;
     private final @NotNull EventService eventService;
     private final @NotNull MetricRegistry metricRegistry;
+    private final @NotNull MqttConfigurationService mqttConfigurationService;
     private final @NotNull AtomicBoolean connected;
     private final @NotNull AtomicReference<OperationState> operationState;
     private final @NotNull AtomicReference<SettableFuture<Void>> startFutureRef;
@@ -111,13 +114,15 @@ public class BridgeMqttClient {
             final @NotNull BridgeInterceptorHandler bridgeInterceptorHandler,
             final @NotNull HivemqId hivemqId,
             final @NotNull MetricRegistry metricRegistry,
-            final @NotNull EventService eventService) {
+            final @NotNull EventService eventService,
+            final @NotNull MqttConfigurationService mqttConfigurationService) {
         this.hivemqId = hivemqId;
         this.systemInformation = systemInformation;
         this.bridge = bridge;
         this.bridgeInterceptorHandler = bridgeInterceptorHandler;
         this.eventService = eventService;
         this.metricRegistry = metricRegistry;
+        this.mqttConfigurationService = mqttConfigurationService;
         this.mqtt5Client = createClient();
         this.perBridgeMetrics = new PerBridgeMetrics(bridge.getId(), metricRegistry);
         this.connected = new AtomicBoolean();
@@ -253,7 +258,8 @@ public class BridgeMqttClient {
                                                 bridge,
                                                 executorService,
                                                 hivemqId,
-                                                perBridgeMetrics))
+                                                perBridgeMetrics,
+                                                mqttConfigurationService.maxPacketSize()))
                                         .send());
                             }
                             CompletableFuture.allOf(subFutures.build().toArray(new CompletableFuture[0]))
@@ -484,6 +490,21 @@ public class BridgeMqttClient {
 
             final int forwarderCount = forwarders.size();
             if (forwarderCount > 0) {
+                // the send maximum of the connection is the Receive Maximum of the remote broker's CONNACK, limited
+                // by the send maximum of the client
+                final int receiveMaximum = mqtt5Client
+                        .getConfig()
+                        .getConnectionConfig()
+                        .map(connectionConfig -> connectionConfig.getRestrictionsForClient().getSendMaximum())
+                        .orElse(FORWARDER_POLL_THRESHOLD_MESSAGES);
+                // all forwarders publish over this connection, so they split its Receive Maximum
+                synchronized (forwarders) {
+                    final int count = forwarders.size();
+                    for (int i = 0; i < count; i++) {
+                        final int share = ForwarderInflightWindow.share(receiveMaximum, count, i);
+                        forwarders.get(i).setRemoteReceiveMaximum(share);
+                    }
+                }
                 if (isReconnection) {
                     if (log.isDebugEnabled()) {
                         log.debug(
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bridge.mqtt;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Deflate compression of the payloads that are sent over a bridge.
+ * <p>
+ * Deflaters and inflaters hold native memory and are expensive to create, so they are pooled and shared by all
+ * bridges. The pool only caps how many idle instances are kept; when it is empty a new instance is created.
+ */
+class BridgePayloadCompression {
+
+    static final @NotNull String DEFLATE = "deflate";
+
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final int INFLATE_BUFFER_SIZE = 8192;
+    private static final @NotNull BlockingQueue<Deflater> DEFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final @NotNull BlockingQueue<Inflater> INFLATERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private BridgePayloadCompression() {}
+
+    /**
+     * @return the compressed payload, or <code>null</code> if compressing does not make the payload smaller
+     */
+    static byte @Nullable [] compress(final byte @NotNull [] payload) {
+        if (payload.length < 2) {
+            return null;
+        }
+        Deflater deflater = DEFLATERS.poll();
+        if (deflater == null) {
+            // the payloads are compressed on the hot path of the forwarder, favour speed over the last few percent
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            // the output is only of use if it is smaller than the payload, so deflating stops at the payload size
+            final byte[] buffer = new byte[payload.length - 1];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            return deflater.finished() ? Arrays.copyOf(buffer, length) : null;
+        } finally {
+            deflater.reset();
+            if (!DEFLATERS.offer(deflater)) {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * @param maxSize the maximum size of the decompressed payload, inflating stops as soon as it is exceeded
+     * @throws DataFormatException if the payload is no valid deflate stream or would inflate beyond the maximum size
+     */
+    static byte @NotNull [] decompress(final byte @NotNull [] payload, final int maxSize) throws DataFormatException {
+        Inflater inflater = INFLATERS.poll();
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        try {
+            inflater.setInput(payload);
+            final ByteArrayOutputStream output =
+                    new ByteArrayOutputStream((int) Math.min(maxSize, payload.length * 4L));
+            final byte[] buffer = new byte[INFLATE_BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Compressed payload is truncated");
+                }
+                if (output.size() + length > maxSize) {
+                    throw new DataFormatException("Decompressed payload exceeds " + maxSize + " bytes");
+                }
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.reset();
+            if (!INFLATERS.offer(inflater)) {
+                inflater.end();
+            }
+        }
+    }
+}
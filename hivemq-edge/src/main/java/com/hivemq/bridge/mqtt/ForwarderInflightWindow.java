@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bridge.mqtt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The number of messages a forwarder may have in flight to the remote broker, adapted AIMD style.
+ * <p>
+ * The window is seeded with the Receive Maximum of the remote broker, which is also its upper limit. Every
+ * acknowledged publish is a latency sample. While the latency stays close to the lowest latency seen since the
+ * connection was established, the window grows by one per window of acknowledgements. When the latency rises above
+ * twice that baseline, i.e. messages queue up somewhere on the way, or when a publish fails, the window is halved. It
+ * is halved at most once per window of acknowledgements, so a single congestion event does not collapse the window.
+ * <p>
+ * All forwarders of a bridge publish over the same connection, so each of them is seeded with its
+ * {@link #share(int, int, int) share} of the Receive Maximum and the windows together never exceed it.
+ */
+public class ForwarderInflightWindow {
+
+    static final int MIN_WINDOW = 1;
+    // tolerance on top of the doubled baseline, so the jitter of links with sub-millisecond latency is no congestion
+    private static final long LATENCY_TOLERANCE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final int maxWindow;
+    private volatile int window;
+    private int limit;
+    private int acksSinceIncrease;
+    private int acksSinceDecrease;
+    private long baselineNanos = Long.MAX_VALUE;
+
+    /**
+     * @param initialWindow the window until the Receive Maximum of the remote broker is known
+     * @param maxWindow     the upper limit of the window regardless of the Receive Maximum of the remote broker
+     */
+    public ForwarderInflightWindow(final int initialWindow, final int maxWindow) {
+        this.maxWindow = Math.max(MIN_WINDOW, maxWindow);
+        this.limit = this.maxWindow;
+        this.window = clamp(initialWindow, this.maxWindow);
+    }
+
+    private static int clamp(final int value, final int limit) {
+        return Math.max(MIN_WINDOW, Math.min(value, limit));
+    }
+
+    /**
+     * Splits the Receive Maximum of a connection across its forwarders. The shares differ by at most one and every
+     * forwarder gets at least one message, so it never stalls.
+     *
+     * @param receiveMaximum the Receive Maximum of the remote broker
+     * @param forwarderCount the number of forwarders publishing over the connection
+     * @param forwarderIndex the index of the forwarder, from 0 to {@code forwarderCount - 1}
+     * @return the part of the Receive Maximum the forwarder may have in flight
+     */
+    public static int share(final int receiveMaximum, final int forwarderCount, final int forwarderIndex) {
+        final int share = receiveMaximum / forwarderCount;
+        final int remainder = receiveMaximum % forwarderCount;
+        return Math.max(MIN_WINDOW, forwarderIndex < remainder ? share + 1 : share);
+    }
+
+    /**
+     * Starts a new connection. The window is reset to the Receive Maximum of the remote broker and the latency
+     * baseline is measured again.
+     */
+    public synchronized void reset(final int receiveMaximum) {
+        limit = clamp(receiveMaximum, maxWindow);
+        window = limit;
+        acksSinceIncrease = 0;
+        acksSinceDecrease = 0;
+        baselineNanos = Long.MAX_VALUE;
+    }
+
+    public synchronized void onAcknowledged(final long latencyNanos) {
+        acksSinceDecrease++;
+        if (latencyNanos < baselineNanos) {
+            baselineNanos = latencyNanos;
+        }
+        if (latencyNanos > 2 * baselineNanos + LATENCY_TOLERANCE_NANOS) {
+            decrease();
+            return;
+        }
+        acksSinceIncrease++;
+        if (acksSinceIncrease >= window) {
+            acksSinceIncrease = 0;
+            window = Math.min(window + 1, limit);
+        }
+    }
+
+    public synchronized void onFailed() {
+        acksSinceDecrease++;
+        decrease();
+    }
+
+    private void decrease() {
+        if (acksSinceDecrease < window) {
+            return;
+        }
+        acksSinceDecrease = 0;
+        acksSinceIncrease = 0;
+        window = Math.max(MIN_WINDOW, window / 2);
+    }
+
+    /**
+     * @return the number of messages that may currently be in flight
+     */
+    public int get() {
+        return window;
+    }
+}
@@ -15,13 +15,20 @@
  */
 package com.hivemq.bridge.mqtt;
 
+import static com.hivemq.bridge.BridgeConstants.BRIDGE_COMPRESSED_CONTENT_TYPE;
+import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_CONTENT_ENCODING;
 import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_HOP_COUNT;
+import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_ORIGINAL_CONTENT_TYPE;
+import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_ORIGINAL_UTF_8;
+import static com.hivemq.configuration.service.InternalConfigurations.FORWARDER_MAX_INFLIGHT_WINDOW_MESSAGES;
+import static com.hivemq.configuration.service.InternalConfigurations.FORWARDER_POLL_THRESHOLD_MESSAGES;
 import static java.util.Objects.requireNonNull;
 import static java.util.Objects.requireNonNullElse;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.hivemq.bridge.BridgeConstants;
 import com.hivemq.bridge.MqttForwarder;
@@ -39,6 +46,7 @@ import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.common.topic.TopicFilterProcessor;
+import com.hivemq.common.topic.TopicTemplate;
 import com.hivemq.mqtt.message.QoS;
 import com.hivemq.mqtt.message.mqtt5.MqttUserProperty;
 import com.hivemq.mqtt.message.publish.PUBLISH;
@@ -67,7 +75,9 @@ public class RemoteMqttForwarder implements MqttForwarder {
     private final @NotNull BridgeMqttClient remoteMqttClient;
     private final @NotNull PerBridgeMetrics perBridgeMetrics;
     private final @NotNull BridgeInterceptorHandler bridgeInterceptorHandler;
+    private final @NotNull TopicTemplate destinationTemplate;
     private final AtomicInteger inflightCounter = new AtomicInteger(0);
+    private final @NotNull ForwarderInflightWindow inflightWindow;
     private final AtomicBoolean running = new AtomicBoolean(false);
     private final AtomicBoolean draining = new AtomicBoolean(false);
     private final ConcurrentLinkedQueue<BufferedPublishInformation> queue = new ConcurrentLinkedQueue<>();
@@ -91,6 +101,11 @@ public class RemoteMqttForwarder implements MqttForwarder {
         this.remoteMqttClient = remoteMqttClient;
         this.perBridgeMetrics = perBridgeMetrics;
         this.bridgeInterceptorHandler = bridgeInterceptorHandler;
+        this.inflightWindow = new ForwarderInflightWindow(
+                FORWARDER_POLL_THRESHOLD_MESSAGES, FORWARDER_MAX_INFLIGHT_WINDOW_MESSAGES.get());
+        this.destinationTemplate = TopicFilterProcessor.compile(
+                localSubscription.getDestination(),
+                Map.of(BridgeConstants.BRIDGE_NAME_TOPIC_REPLACEMENT_TOKEN, bridge.getId()));
     }
 
     private static @NotNull QoS convertQos(final int maxQos, final @NotNull QoS qos) {
@@ -106,6 +121,7 @@ public class RemoteMqttForwarder implements MqttForwarder {
     @Override
     public synchronized void start() {
         running.set(true);
+        perBridgeMetrics.addInflightWindow(id, inflightWindow::get);
         if (log.isDebugEnabled()) {
             log.debug("Forwarder '{}' started for bridge '{}'", id, bridge.getId());
         }
@@ -114,6 +130,7 @@ public class RemoteMqttForwarder implements MqttForwarder {
     @Override
     public synchronized void stop() {
         if (running.compareAndSet(true, false)) {
+            perBridgeMetrics.removeInflightWindow(id);
             final int queuedMessages = queue.size();
             final int outflightMessages = outflightQueue.size();
 
@@ -229,9 +246,11 @@ public class RemoteMqttForwarder implements MqttForwarder {
                 finishProcessing(originalQoS, publish.getUniqueId(), queueId);
                 return;
             }
-            Futures.addCallback(
+            final ListenableFuture<BridgeInterceptorHandler.InterceptorResult> interceptorFuture =
                     bridgeInterceptorHandler.interceptOrDelegateOutbound(
-                            convertedPublish, MoreExecutors.newDirectExecutorService(), bridge),
+                            convertedPublish, MoreExecutors.newDirectExecutorService(), bridge);
+            Futures.addCallback(
+                    interceptorFuture,
                     new FutureCallback<>() {
                         @Override
                         public void onSuccess(final @Nullable BridgeInterceptorHandler.InterceptorResult result) {
@@ -279,7 +298,8 @@ public class RemoteMqttForwarder implements MqttForwarder {
                             finishProcessing(originalQoS, publish.getUniqueId(), queueId);
                         }
                     },
-                    currentExecutorService);
+                    // without interceptors the result is already there, the hop to the executor is pure overhead
+                    interceptorFuture.isDone() ? MoreExecutors.directExecutor() : currentExecutorService);
         } catch (final Exception e) {
             handlePublishError(publish, e);
             finishProcessing(originalQoS, publish.getUniqueId(), queueId);
@@ -309,7 +329,7 @@ public class RemoteMqttForwarder implements MqttForwarder {
     }
 
     private @NotNull PUBLISH convertPublishAfterBridge(final @NotNull PUBLISH publish, final int hopCount) {
-        final MqttTopic modifiedTopic = convertTopic(localSubscription.getDestination(), publish.getTopic());
+        final MqttTopic modifiedTopic = MqttTopic.of(destinationTemplate.apply(publish.getTopic()));
         final QoS modifiedQoS = convertQos(localSubscription.getMaxQoS(), publish.getQoS());
         final PUBLISHFactory.Mqtt5Builder mqtt5Builder = new PUBLISHFactory.Mqtt5Builder();
         mqtt5Builder.fromPublish(publish);
@@ -343,7 +363,7 @@ public class RemoteMqttForwarder implements MqttForwarder {
         // marked as inflight when they were originally polled from persistence.
         sendBufferedMessages();
 
-        final long publishStartTime = log.isDebugEnabled() ? System.nanoTime() : 0;
+        final long publishStartTime = System.nanoTime();
         final Mqtt5Publish mqtt5Publish = convertPublishForClient(publish);
         final CompletableFuture<Mqtt5PublishResult> publishResult =
                 remoteMqttClient.getMqtt5Client().publish(mqtt5Publish);
@@ -352,14 +372,17 @@ public class RemoteMqttForwarder implements MqttForwarder {
         outflightQueue.add(outflightPublishInformation);
         publishResult.whenComplete((mqtt5PublishResult, throwable) -> {
             if (throwable != null) {
+                inflightWindow.onFailed();
                 handlePublishError(publish, throwable);
                 // On failure, reset the inflight marker so the message can be retried
                 // instead of being removed from persistence
                 finishProcessingWithRetry(originalUniqueId, queueId);
             } else {
+                final long durationNanos = System.nanoTime() - publishStartTime;
+                inflightWindow.onAcknowledged(durationNanos);
                 perBridgeMetrics.getPublishForwardSuccessCounter().inc();
                 if (log.isDebugEnabled()) {
-                    final long durationMicros = (System.nanoTime() - publishStartTime) / 1000;
+                    final long durationMicros = durationNanos / 1000;
                     log.debug(
                             "Successfully published message on topic '{}' to remote broker for bridge '{}' in {} μs",
                             publish.getTopic(),
@@ -386,7 +409,7 @@ public class RemoteMqttForwarder implements MqttForwarder {
         BufferedPublishInformation buffered = queue.poll();
         while (buffered != null && remoteMqttClient.isConnected()) {
             final BufferedPublishInformation current = buffered;
-            final long publishStartTime = log.isDebugEnabled() ? System.nanoTime() : 0;
+            final long publishStartTime = System.nanoTime();
             final Mqtt5Publish mqtt5Publish = convertPublishForClient(current.publish);
             final CompletableFuture<Mqtt5PublishResult> publishResult =
                     remoteMqttClient.getMqtt5Client().publish(mqtt5Publish);
@@ -395,12 +418,15 @@ public class RemoteMqttForwarder implements MqttForwarder {
             outflightQueue.add(outflightPublishInformation);
             publishResult.whenComplete((mqtt5PublishResult, throwable) -> {
                 if (throwable != null) {
+                    inflightWindow.onFailed();
                     handlePublishError(current.publish, throwable);
                     finishProcessingWithRetry(current.uniqueId, current.queueId);
                 } else {
+                    final long durationNanos = System.nanoTime() - publishStartTime;
+                    inflightWindow.onAcknowledged(durationNanos);
                     perBridgeMetrics.getPublishForwardSuccessCounter().inc();
                     if (log.isDebugEnabled()) {
-                        final long durationMicros = (System.nanoTime() - publishStartTime) / 1000;
+                        final long durationMicros = durationNanos / 1000;
                         log.debug(
                                 "Successfully published buffered message on topic '{}' to remote broker for bridge '{}' in {} μs",
                                 current.publish.getTopic(),
@@ -512,8 +538,9 @@ public class RemoteMqttForwarder implements MqttForwarder {
     private Mqtt5Publish convertPublishForClient(final @NotNull PUBLISH publish) {
         final Mqtt5PublishBuilder.Complete publishBuilder =
                 Mqtt5Publish.builder().topic(publish.getTopic());
+        final byte[] compressedPayload = compressPayload(publish.getPayload());
         publishBuilder
-                .payload(publish.getPayload())
+                .payload(compressedPayload != null ? compressedPayload : publish.getPayload())
                 .qos(requireNonNullElse(MqttQos.fromCode(publish.getQoS().getQosNumber()), MqttQos.AT_MOST_ONCE));
 
         if (publish.getMessageExpiryInterval() <= PUBLISH.MESSAGE_EXPIRY_INTERVAL_MAX) {
@@ -526,14 +553,17 @@ public class RemoteMqttForwarder implements MqttForwarder {
             publishBuilder.retain(false);
         }
 
-        if (publish.getContentType() != null) {
+        if (compressedPayload != null) {
+            publishBuilder.contentType(BRIDGE_COMPRESSED_CONTENT_TYPE);
+        } else if (publish.getContentType() != null) {
             publishBuilder.contentType(publish.getContentType());
         }
         if (publish.getCorrelationData() != null) {
             publishBuilder.correlationData(publish.getCorrelationData());
         }
 
-        if (publish.getPayloadFormatIndicator() != null) {
+        // a compressed payload is no UTF-8 anymore, the indicator is restored from a user property by the receiver
+        if (compressedPayload == null && publish.getPayloadFormatIndicator() != null) {
             final int payloadIndicatorCode = publish.getPayloadFormatIndicator().getCode();
             publishBuilder.payloadFormatIndicator(Mqtt5PayloadFormatIndicator.fromCode(payloadIndicatorCode));
         }
@@ -542,18 +572,22 @@ public class RemoteMqttForwarder implements MqttForwarder {
             publishBuilder.responseTopic(publish.getResponseTopic());
         }
 
-        publishBuilder.userProperties(convertUserPropertiesForClient(publish.getUserProperties()));
+        publishBuilder.userProperties(convertUserPropertiesForClient(publish, compressedPayload != null));
         return publishBuilder.build();
     }
 
-    private @NotNull MqttTopic convertTopic(final @Nullable String destination, final @NotNull String topic) {
-        if (destination == null || destination.equals(DEFAULT_DESTINATION_PATTERN)) {
-            return MqttTopic.of(topic);
+    private byte @Nullable [] compressPayload(final byte @Nullable [] payload) {
+        if (!bridge.isCompressionEnabled() || payload == null || payload.length < bridge.getCompressionThreshold()) {
+            return null;
         }
-        return TopicFilterProcessor.modifyTopic(
-                destination,
-                MqttTopic.of(topic),
-                Map.of(BridgeConstants.BRIDGE_NAME_TOPIC_REPLACEMENT_TOKEN, bridge.getId()));
+        final long compressionStartTime = System.nanoTime();
+        final byte[] compressedPayload = BridgePayloadCompression.compress(payload);
+        perBridgeMetrics.getCompressionTimeMicrosCounter().inc((System.nanoTime() - compressionStartTime) / 1000);
+        if (compressedPayload != null) {
+            perBridgeMetrics.getPublishForwardCompressedCounter().inc();
+            perBridgeMetrics.getCompressionBytesSavedCounter().inc(payload.length - compressedPayload.length);
+        }
+        return compressedPayload;
     }
 
     private void handlePublishError(final @NotNull PUBLISH publish, final @NotNull Throwable throwable) {
@@ -595,11 +629,21 @@ public class RemoteMqttForwarder implements MqttForwarder {
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
     private @NotNull Mqtt5UserProperties convertUserPropertiesForClient(
-            final @NotNull com.hivemq.mqtt.message.mqtt5.Mqtt5UserProperties userProperties) {
+            final @NotNull PUBLISH publish, final boolean compressed) {
         final Mqtt5UserPropertiesBuilder builder = Mqtt5UserProperties.builder();
-        for (final MqttUserProperty mqttUserProperty : userProperties.asList()) {
+        for (final MqttUserProperty mqttUserProperty : publish.getUserProperties().asList()) {
             builder.add(mqttUserProperty.getName(), mqttUserProperty.getValue());
         }
+        if (compressed) {
+            builder.add(HMQ_BRIDGE_CONTENT_ENCODING, BridgePayloadCompression.DEFLATE);
+            if (publish.getContentType() != null) {
+                builder.add(HMQ_BRIDGE_ORIGINAL_CONTENT_TYPE, publish.getContentType());
+            }
+            if (publish.getPayloadFormatIndicator()
+                    == com.hivemq.codec.encoder.mqtt5.Mqtt5PayloadFormatIndicator.UTF_8) {
+                builder.add(HMQ_BRIDGE_ORIGINAL_UTF_8, "true");
+            }
+        }
         return builder.build();
     }
 
@@ -688,6 +732,23 @@ public class RemoteMqttForwarder implements MqttForwarder {
         return inflightCounter.get();
     }
 
+    @Override
+    public int getInflightWindow() {
+        return inflightWindow.get();
+    }
+
+    @Override
+    public void setRemoteReceiveMaximum(final int receiveMaximum) {
+        inflightWindow.reset(receiveMaximum);
+        if (log.isDebugEnabled()) {
+            log.debug(
+                    "Forwarder '{}' on bridge '{}' starts with an inflight window of {} message(s)",
+                    id,
+                    bridge.getId(),
+                    inflightWindow.get());
+        }
+    }
+
     @Override
     public void setExecutorService(final @NotNull ExecutorService service) {
         executorService = service;
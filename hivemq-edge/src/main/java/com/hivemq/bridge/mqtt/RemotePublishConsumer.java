@@ -15,7 +15,10 @@
  */
 package com.hivemq.bridge.mqtt;
 
+import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_CONTENT_ENCODING;
 import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_HOP_COUNT;
+import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_ORIGINAL_CONTENT_TYPE;
+import static com.hivemq.bridge.BridgeConstants.HMQ_BRIDGE_ORIGINAL_UTF_8;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -28,6 +31,7 @@ import com.hivemq.bridge.metrics.PerBridgeMetrics;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.codec.encoder.mqtt5.Mqtt5PayloadFormatIndicator;
 import com.hivemq.common.topic.TopicFilterProcessor;
+import com.hivemq.common.topic.TopicTemplate;
 import com.hivemq.configuration.HivemqId;
 import com.hivemq.mqtt.message.QoS;
 import com.hivemq.mqtt.message.mqtt5.Mqtt5UserProperties;
@@ -43,7 +47,9 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +62,8 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
     private final @NotNull BridgeInterceptorHandler bridgeInterceptorHandler;
     private final @NotNull ExecutorService executorService;
     private final @NotNull PerBridgeMetrics perBridgeMetrics;
+    private final @NotNull TopicTemplate destinationTemplate;
+    private final int maxDecompressedPayloadSize;
 
     public RemotePublishConsumer(
             final @NotNull RemoteSubscription remoteSubscription,
@@ -63,13 +71,18 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
             final @NotNull MqttBridge bridge,
             final @NotNull ExecutorService executorService,
             final @NotNull HivemqId hivemqId,
-            final @NotNull PerBridgeMetrics perBridgeMetrics) {
+            final @NotNull PerBridgeMetrics perBridgeMetrics,
+            final int maxDecompressedPayloadSize) {
         this.remoteSubscription = remoteSubscription;
         this.bridgeInterceptorHandler = bridgeInterceptorHandler;
         this.bridge = bridge;
         this.executorService = executorService;
         this.hivemqId = hivemqId;
         this.perBridgeMetrics = perBridgeMetrics;
+        this.maxDecompressedPayloadSize = maxDecompressedPayloadSize;
+        this.destinationTemplate = TopicFilterProcessor.compile(
+                remoteSubscription.getDestination(),
+                Map.of(BridgeConstants.BRIDGE_NAME_TOPIC_REPLACEMENT_TOKEN, bridge.getId()));
     }
 
     private static int extractHopCount(final @NotNull MqttBridge bridge, final @NotNull Mqtt5Publish mqtt5Publish) {
@@ -92,32 +105,64 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
         }
     }
 
+    private static @Nullable String findUserProperty(
+            final @NotNull Mqtt5Publish mqtt5Publish, final @NotNull String name) {
+        for (final var userProperty : mqtt5Publish.getUserProperties().asList()) {
+            if (userProperty.getName().toString().equals(name)) {
+                return userProperty.getValue().toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return <code>true</code> if the payload was compressed by the forwarder of another bridge. Payloads are only
+     *         inflated by bridges that have compression enabled, otherwise the publish is passed on as it is.
+     */
+    private static boolean isCompressed(final @NotNull MqttBridge bridge, final @NotNull Mqtt5Publish mqtt5Publish) {
+        return bridge.isCompressionEnabled()
+                && BridgePayloadCompression.DEFLATE.equals(findUserProperty(mqtt5Publish, HMQ_BRIDGE_CONTENT_ENCODING));
+    }
+
     private static @NotNull PUBLISH convertPublish(
             final @NotNull String hivemqId,
             final @NotNull MqttBridge bridge,
             final @NotNull RemoteSubscription remoteSubscription,
+            final @NotNull TopicTemplate destinationTemplate,
             final @NotNull Mqtt5Publish mqtt5Publish,
-            final int hopCount) {
-        final Integer payloadFormatInidicatorCode = mqtt5Publish
-                .getPayloadFormatIndicator()
-                .map(com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator::getCode)
-                .orElse(null);
+            final int hopCount,
+            final boolean compressed,
+            final int maxDecompressedPayloadSize)
+            throws DataFormatException {
+        final Integer payloadFormatInidicatorCode;
+        final String contentType;
+        final byte[] payload;
+        if (compressed) {
+            // restore the publish as it was before the forwarder compressed it
+            payloadFormatInidicatorCode = findUserProperty(mqtt5Publish, HMQ_BRIDGE_ORIGINAL_UTF_8) != null
+                    ? Mqtt5PayloadFormatIndicator.UTF_8.getCode()
+                    : null;
+            contentType = findUserProperty(mqtt5Publish, HMQ_BRIDGE_ORIGINAL_CONTENT_TYPE);
+            payload = BridgePayloadCompression.decompress(mqtt5Publish.getPayloadAsBytes(), maxDecompressedPayloadSize);
+        } else {
+            payloadFormatInidicatorCode = mqtt5Publish
+                    .getPayloadFormatIndicator()
+                    .map(com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator::getCode)
+                    .orElse(null);
+            contentType = mqtt5Publish.getContentType().map(Object::toString).orElse(null);
+            payload = mqtt5Publish.getPayloadAsBytes();
+        }
         final QoS qos = Objects.requireNonNullElse(
                 QoS.valueOf(Math.min(mqtt5Publish.getQos().getCode(), remoteSubscription.getMaxQoS())),
                 QoS.AT_MOST_ONCE);
         return new PUBLISHFactory.Mqtt5Builder()
                 .withHivemqId(hivemqId)
-                .withTopic(TopicFilterProcessor.modifyTopic(
-                                remoteSubscription.getDestination(),
-                                mqtt5Publish.getTopic(),
-                                Map.of(BridgeConstants.BRIDGE_NAME_TOPIC_REPLACEMENT_TOKEN, bridge.getId()))
-                        .toString())
-                .withContentType(
-                        mqtt5Publish.getContentType().map(Object::toString).orElse(null))
+                .withTopic(destinationTemplate.apply(mqtt5Publish.getTopic()).toString())
+                .withContentType(contentType)
                 .withCorrelationData(Bytes.getBytesFromReadOnlyBuffer(mqtt5Publish.getCorrelationData()))
                 .withQoS(qos)
                 .withOnwardQos(qos)
-                .withPayload(mqtt5Publish.getPayloadAsBytes())
+                .withPayload(payload)
                 .withMessageExpiryInterval(
                         mqtt5Publish.getMessageExpiryInterval().orElse(PUBLISH.MESSAGE_EXPIRY_INTERVAL_NOT_SET))
                 .withPayloadFormatIndicator(
@@ -128,7 +173,8 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
                 .withResponseTopic(
                         mqtt5Publish.getResponseTopic().map(Object::toString).orElse(null))
                 .withUserProperties(
-                        convertUserProperties(bridge, remoteSubscription, mqtt5Publish.getUserProperties(), hopCount))
+                        convertUserProperties(
+                                bridge, remoteSubscription, mqtt5Publish.getUserProperties(), hopCount, compressed))
                 .build();
     }
 
@@ -136,7 +182,8 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
             final @NotNull MqttBridge bridge,
             final @NotNull RemoteSubscription remoteSubscription,
             final @NotNull com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperties userProperties,
-            final int hopCount) {
+            final int hopCount,
+            final boolean compressed) {
         if (userProperties.asList().isEmpty()
                 && remoteSubscription.getCustomUserProperties().isEmpty()) {
             if (bridge.isLoopPreventionEnabled()) {
@@ -149,6 +196,8 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
         final List<MqttUserProperty> filteredProps = userProperties.asList().stream()
                 .filter(mqtt5UserProperty ->
                         !mqtt5UserProperty.getName().toString().equals(HMQ_BRIDGE_HOP_COUNT))
+                .filter(mqtt5UserProperty -> !compressed
+                        || !isCompressionUserProperty(mqtt5UserProperty.getName().toString()))
                 .map(originalProp -> MqttUserProperty.of(
                         originalProp.getName().toString(),
                         originalProp.getValue().toString()))
@@ -162,6 +211,12 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
         return Mqtt5UserProperties.of(ImmutableList.copyOf(filteredProps));
     }
 
+    private static boolean isCompressionUserProperty(final @NotNull String name) {
+        return name.equals(HMQ_BRIDGE_CONTENT_ENCODING)
+                || name.equals(HMQ_BRIDGE_ORIGINAL_CONTENT_TYPE)
+                || name.equals(HMQ_BRIDGE_ORIGINAL_UTF_8);
+    }
+
     @Override
     public void accept(final @NotNull Mqtt5Publish mqtt5Publish) {
         try {
@@ -190,7 +245,19 @@ class RemotePublishConsumer implements Consumer<Mqtt5Publish> {
             }
 
             final long conversionStartTime = log.isDebugEnabled() ? System.nanoTime() : 0;
-            final PUBLISH publish = convertPublish(hivemqId.get(), bridge, remoteSubscription, mqtt5Publish, hopCount);
+            final boolean compressed = isCompressed(bridge, mqtt5Publish);
+            final PUBLISH publish = convertPublish(
+                    hivemqId.get(),
+                    bridge,
+                    remoteSubscription,
+                    destinationTemplate,
+                    mqtt5Publish,
+                    hopCount,
+                    compressed,
+                    maxDecompressedPayloadSize);
+            if (compressed) {
+                perBridgeMetrics.getPublishRemoteDecompressedCounter().inc();
+            }
 
             if (log.isDebugEnabled()) {
                 final long conversionMicros = (System.nanoTime() - conversionStartTime) / 1000;
@@ -82,50 +82,153 @@ public class TopicFilterProcessor {
                 level = replaceTokens(level, tokensAndValues);
             }
 
-            if (REGEX_ENV_VAR.matcher(level).find()) {
-                replaceEnvVar(level, outTopic);
-            } else if (REGEX_OUT_TOPIC.matcher(level).find()) {
-                outTopic.add(level.replaceAll(REGEX_OUT_TOPIC_REPLACER, "{"));
-
-            } else if (REGEX_VAR.matcher(level).find()) {
-                final int replacementInformationStart = level.indexOf('{') + "{".length();
-                final int replacementInformationEnd = level.indexOf('}', replacementInformationStart);
-                final String levelInsert = level.substring(replacementInformationStart, replacementInformationEnd);
-
-                if (levelInsert.contains("#") && levelInsert.length() == "#".length()) {
-                    replaceMultiWildcard(
-                            level, outTopic, inTopic, replacementInformationStart, replacementInformationEnd);
-
-                } else if (levelInsert.contains("-#")) {
-                    replaceMultiWildcardWithStart(
-                            level,
-                            outTopic,
-                            inTopic,
-                            levelInsert,
-                            replacementInformationStart,
-                            replacementInformationEnd);
-
-                } else if (levelInsert.contains("-")) {
-                    replaceMultilevel(
-                            level,
-                            outTopic,
-                            inTopic,
-                            levelInsert,
-                            replacementInformationStart,
-                            replacementInformationEnd);
-
-                } else if (REGEX_NUM.matcher(levelInsert).find()) {
-                    replaceSingleLevel(level, outTopic, inTopic, levelInsert);
-
-                } else {
-                    log.warn("Topic Filter Processor: Found definition {} that does not exist!", levelInsert);
+            applyLevel(level, outTopic, inTopic);
+        }
+        return MqttTopic.of(String.join("/", outTopic));
+    }
+
+    /**
+     * Compiles the destination pattern into a {@link TopicTemplate} that can be applied to many incoming topics
+     * without parsing the pattern again. The tokens and environment variables are resolved once during compilation.
+     *
+     * @param destination     the destination pattern, null or {@code {#}} keep the incoming topic
+     * @param tokensAndValues the values of the {@code ${token}} placeholders
+     * @return the compiled template
+     */
+    public static @NotNull TopicTemplate compile(
+            final @Nullable String destination, final @NotNull Map<String, String> tokensAndValues) {
+
+        if (destination == null || destination.isEmpty() || destination.equals(DEFAULT_DESTINATION_PATTERN)) {
+            return TopicTemplate.IDENTITY;
+        }
+        final String[] levels = destination.split("/", -1);
+        final List<TopicTemplate.Step> steps = new ArrayList<>(levels.length);
+        for (String level : levels) {
+            if (!tokensAndValues.isEmpty()) {
+                level = replaceTokens(level, tokensAndValues);
+            }
+            steps.add(compileLevel(level));
+        }
+        return new TopicTemplate(steps);
+    }
+
+    private static @NotNull TopicTemplate.Step compileLevel(final @NotNull String level) {
+        if (REGEX_ENV_VAR.matcher(level).find()) {
+            final List<String> outTopic = new ArrayList<>(1);
+            replaceEnvVar(level, outTopic);
+            return outTopic.isEmpty() ? TopicTemplate.skip() : TopicTemplate.literal(outTopic.get(0));
+        }
+        if (REGEX_OUT_TOPIC.matcher(level).find()) {
+            return TopicTemplate.literal(level.replaceAll(REGEX_OUT_TOPIC_REPLACER, "{"));
+        }
+        if (!REGEX_VAR.matcher(level).find()) {
+            return TopicTemplate.literal(level);
+        }
+
+        final int replacementInformationStart = level.indexOf('{') + "{".length();
+        final int replacementInformationEnd = level.indexOf('}', replacementInformationStart);
+        final String levelInsert = level.substring(replacementInformationStart, replacementInformationEnd);
+        final boolean surroundingContent =
+                replacementInformationStart != "{".length() || replacementInformationEnd != level.length() - 1;
+        try {
+            if (levelInsert.equals("#")) {
+                warnIfSurroundingContent(surroundingContent, level);
+                return TopicTemplate.wholeTopic();
+
+            } else if (levelInsert.contains("-#")) {
+                final int wildcardStartLevel = Integer.parseInt(levelInsert.substring(0, levelInsert.indexOf("-#")));
+                if (wildcardStartLevel < 1) {
+                    return TopicTemplate.interpreted(level);
+                }
+                warnIfSurroundingContent(surroundingContent, level);
+                return TopicTemplate.levelsFrom(wildcardStartLevel);
+
+            } else if (levelInsert.contains("-")) {
+                final int startLevel = Integer.parseInt(levelInsert.substring(0, levelInsert.indexOf("-")));
+                final int endLevel = Integer.parseInt(levelInsert.substring(levelInsert.indexOf("-") + "-".length()));
+                if (startLevel > endLevel) {
+                    log.warn(
+                            "Topic-Modifier: Topic levels {{}-{}} will never be inserted, because the start level is bigger than the end level!",
+                            startLevel,
+                            endLevel);
+                    return TopicTemplate.skip();
                 }
+                if (startLevel < 1) {
+                    return TopicTemplate.interpreted(level);
+                }
+                warnIfSurroundingContent(surroundingContent, level);
+                return TopicTemplate.levelRange(startLevel, endLevel);
+
+            } else if (REGEX_NUM.matcher(levelInsert).find()) {
+                final int replaceLevelIndex = Integer.parseInt(levelInsert);
+                if (replaceLevelIndex < 1 || !levelInsert.equals(Integer.toString(replaceLevelIndex))) {
+                    return TopicTemplate.interpreted(level);
+                }
+                return TopicTemplate.singleLevel(
+                        level.split(Pattern.quote("{" + replaceLevelIndex + "}"), -1), replaceLevelIndex);
 
             } else {
-                outTopic.add(level);
+                log.warn("Topic Filter Processor: Found definition {} that does not exist!", levelInsert);
+                return TopicTemplate.skip();
             }
+        } catch (final NumberFormatException e) {
+            // keep the behaviour of the interpreter for malformed definitions
+            return TopicTemplate.interpreted(level);
+        }
+    }
+
+    private static void warnIfSurroundingContent(final boolean surroundingContent, final @NotNull String level) {
+        if (surroundingContent) {
+            log.warn("Topic-Modifier: Leading or following content in \"{}\" is not allowed! Ignoring.", level);
+        }
+    }
+
+    /**
+     * Applies a single level of the destination pattern whose tokens are already replaced.
+     */
+    static void applyLevel(
+            final @NotNull String level, final @NotNull List<String> outTopic, final @NotNull MqttTopic inTopic) {
+
+        if (REGEX_ENV_VAR.matcher(level).find()) {
+            replaceEnvVar(level, outTopic);
+        } else if (REGEX_OUT_TOPIC.matcher(level).find()) {
+            outTopic.add(level.replaceAll(REGEX_OUT_TOPIC_REPLACER, "{"));
+
+        } else if (REGEX_VAR.matcher(level).find()) {
+            final int replacementInformationStart = level.indexOf('{') + "{".length();
+            final int replacementInformationEnd = level.indexOf('}', replacementInformationStart);
+            final String levelInsert = level.substring(replacementInformationStart, replacementInformationEnd);
+
+            if (levelInsert.contains("#") && levelInsert.length() == "#".length()) {
+                replaceMultiWildcard(level, outTopic, inTopic, replacementInformationStart, replacementInformationEnd);
+
+            } else if (levelInsert.contains("-#")) {
+                replaceMultiWildcardWithStart(
+                        level,
+                        outTopic,
+                        inTopic,
+                        levelInsert,
+                        replacementInformationStart,
+                        replacementInformationEnd);
+
+            } else if (levelInsert.contains("-")) {
+                replaceMultilevel(
+                        level,
+                        outTopic,
+                        inTopic,
+                        levelInsert,
+                        replacementInformationStart,
+                        replacementInformationEnd);
+
+            } else if (REGEX_NUM.matcher(levelInsert).find()) {
+                replaceSingleLevel(level, outTopic, inTopic, levelInsert);
+
+            } else {
+                log.warn("Topic Filter Processor: Found definition {} that does not exist!", levelInsert);
+            }
+        } else {
+            outTopic.add(level);
         }
-        return MqttTopic.of(String.join("/", outTopic));
     }
 
     private static void replaceEnvVar(final @NotNull String level, final @NotNull List<String> outTopic) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.common.topic;
+
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A destination pattern that was compiled by {@link TopicFilterProcessor#compile}.
+ * <p>
+ * The template consists of one step per level of the destination pattern: literal levels (with the tokens and
+ * environment variables already resolved) and slices of the incoming topic ({@code {#}}, {@code {n}},
+ * {@code {n-m}} and {@code {n-#}}). Applying it writes the destination topic in a single pass over the level
+ * offsets of the incoming topic and produces the same result as
+ * {@link TopicFilterProcessor#applyDestinationModifier}.
+ * <p>
+ * The template is immutable and can be used by multiple threads.
+ */
+public final class TopicTemplate {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(TopicTemplate.class);
+
+    static final @NotNull TopicTemplate IDENTITY = new TopicTemplate(List.of());
+
+    private final @NotNull Step @NotNull [] steps;
+    private final int literalLength;
+
+    TopicTemplate(final @NotNull List<Step> steps) {
+        this.steps = steps.toArray(new Step[0]);
+        int literalLength = 0;
+        for (final Step step : this.steps) {
+            if (step instanceof Literal literal) {
+                literalLength += literal.value.length() + 1;
+            }
+        }
+        this.literalLength = literalLength;
+    }
+
+    public @NotNull MqttTopic apply(final @NotNull MqttTopic inTopic) {
+        if (this == IDENTITY) {
+            return inTopic;
+        }
+        return MqttTopic.of(apply(inTopic.toString()));
+    }
+
+    public @NotNull String apply(final @NotNull String inTopic) {
+        if (this == IDENTITY) {
+            return inTopic;
+        }
+        final Input input = new Input(inTopic);
+        final StringBuilder out = new StringBuilder(literalLength + inTopic.length());
+        boolean first = true;
+        for (final Step step : steps) {
+            final int length = out.length();
+            if (!first) {
+                out.append('/');
+            }
+            if (step.append(out, input)) {
+                first = false;
+            } else {
+                // the step didn't add a level, so the separator is removed again
+                out.setLength(length);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * A single level of the destination pattern.
+     */
+    interface Step {
+
+        /**
+         * @return whether a level was appended
+         */
+        boolean append(@NotNull StringBuilder out, @NotNull Input input);
+    }
+
+    static @NotNull Step literal(final @NotNull String value) {
+        return new Literal(value);
+    }
+
+    static @NotNull Step skip() {
+        return (out, input) -> false;
+    }
+
+    static @NotNull Step wholeTopic() {
+        return (out, input) -> {
+            out.append(input.topic);
+            return true;
+        };
+    }
+
+    /**
+     * {@code {n-#}}: all levels of the incoming topic starting with the given one.
+     */
+    static @NotNull Step levelsFrom(final int startLevel) {
+        return (out, input) -> {
+            final int[] levelStarts = input.levelStarts();
+            final int levelCount = levelStarts.length - 1;
+            if (startLevel > levelCount || levelStarts[startLevel - 1] == input.topic.length()) {
+                log.warn(
+                        "Topic-Modifier: Could not insert topic levels from {{}-#}, because topic \"{}\" is too short! Skipping.",
+                        startLevel,
+                        input.topic);
+                return false;
+            }
+            out.append(input.topic, levelStarts[startLevel - 1], input.topic.length());
+            return true;
+        };
+    }
+
+    /**
+     * {@code {n-m}}: the levels of the incoming topic from the start to the end level (both inclusive).
+     */
+    static @NotNull Step levelRange(final int startLevel, final int endLevel) {
+        return (out, input) -> {
+            final int[] levelStarts = input.levelStarts();
+            final int levelCount = levelStarts.length - 1;
+            if (startLevel > levelCount) {
+                log.warn(
+                        "Topic-Modifier: Start level from {{}-{}} is bigger than the original topic \"{}\"! Skipping.",
+                        startLevel,
+                        endLevel,
+                        input.topic);
+                return false;
+            }
+            if (endLevel > levelCount) {
+                log.warn(
+                        "Topic-Modifier: End level from {{}-{}} is bigger than the original topic \"{}\"! Only adding existing levels.",
+                        startLevel,
+                        endLevel,
+                        input.topic);
+                out.append(input.topic, levelStarts[startLevel - 1], input.topic.length());
+            } else {
+                out.append(input.topic, levelStarts[startLevel - 1], levelStarts[endLevel] - 1);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * {@code {n}}: every occurrence of the placeholder in the level is replaced with the given level of the incoming
+     * topic.
+     *
+     * @param parts the content of the level around the placeholders
+     */
+    static @NotNull Step singleLevel(final @NotNull String @NotNull [] parts, final int level) {
+        final String emptyReplace = String.join("", parts);
+        return (out, input) -> {
+            final int[] levelStarts = input.levelStarts();
+            final int levelCount = levelStarts.length - 1;
+            if (level > levelCount) {
+                log.warn(
+                        "Topic-Modifier: Could not insert topic level from {{}}, because level index is bigger than topic's \"{}\" size.",
+                        level,
+                        input.topic);
+                if (emptyReplace.isEmpty()) {
+                    return false;
+                }
+                out.append(emptyReplace);
+                return true;
+            }
+            final int start = levelStarts[level - 1];
+            final int end = levelStarts[level] - 1;
+            out.append(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                out.append(input.topic, start, end).append(parts[i]);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Levels with a definition that is not supported by the compiled steps are interpreted for every topic by the
+     * {@link TopicFilterProcessor}.
+     */
+    static @NotNull Step interpreted(final @NotNull String level) {
+        return (out, input) -> {
+            final List<String> outTopic = new ArrayList<>(1);
+            TopicFilterProcessor.applyLevel(level, outTopic, MqttTopic.of(input.topic));
+            if (outTopic.isEmpty()) {
+                return false;
+            }
+            out.append(String.join("/", outTopic));
+            return true;
+        };
+    }
+
+    private static final class Literal implements Step {
+
+        private final @NotNull String value;
+
+        private Literal(final @NotNull String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean append(final @NotNull StringBuilder out, final @NotNull Input input) {
+            out.append(value);
+            return true;
+        }
+    }
+
+    /**
+     * The incoming topic with its level offsets, which are only calculated if a step needs them.
+     */
+    static final class Input {
+
+        private final @NotNull String topic;
+        private int @Nullable [] levelStarts;
+
+        private Input(final @NotNull String topic) {
+            this.topic = topic;
+        }
+
+        /**
+         * @return the start offsets of the levels, with the length of the topic + 1 as the start of a virtual
+         *         level after the last one, so level i ends at {@code levelStarts[i + 1] - 1}
+         */
+        private int @NotNull [] levelStarts() {
+            if (levelStarts == null) {
+                int levelCount = 1;
+                for (int i = 0; i < topic.length(); i++) {
+                    if (topic.charAt(i) == '/') {
+                        levelCount++;
+                    }
+                }
+                final int[] starts = new int[levelCount + 1];
+                int level = 1;
+                for (int i = 0; i < topic.length(); i++) {
+                    if (topic.charAt(i) == '/') {
+                        starts[level++] = i + 1;
+                    }
+                }
+                starts[levelCount] = topic.length() + 1;
+                levelStarts = starts;
+            }
+            return levelStarts;
+        }
+    }
+}
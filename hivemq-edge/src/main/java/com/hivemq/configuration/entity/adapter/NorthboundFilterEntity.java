@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.configuration.entity.adapter;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.hivemq.configuration.entity.EntityValidatable;
+import com.hivemq.persistence.mappings.NorthboundFilter;
+import jakarta.xml.bind.ValidationEvent;
+import jakarta.xml.bind.annotation.XmlElement;
+import java.util.List;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+public class NorthboundFilterEntity implements EntityValidatable {
+
+    @XmlElement(name = "mode", required = true)
+    private final @NotNull NorthboundFilter.Mode mode;
+
+    @XmlElement(name = "deadband", defaultValue = "0")
+    private final double deadband;
+
+    @XmlElement(name = "maxSilenceMillis", defaultValue = "0")
+    private final long maxSilenceMillis;
+
+    // no-arg constructor for JaxB
+    public NorthboundFilterEntity() {
+        mode = NorthboundFilter.Mode.ALWAYS;
+        deadband = 0;
+        maxSilenceMillis = 0;
+    }
+
+    public NorthboundFilterEntity(
+            @JsonProperty(value = "mode", required = true) final @NotNull NorthboundFilter.Mode mode,
+            @JsonProperty("deadband") final double deadband,
+            @JsonProperty("maxSilenceMillis") final long maxSilenceMillis) {
+        this.mode = mode;
+        this.deadband = deadband;
+        this.maxSilenceMillis = maxSilenceMillis;
+    }
+
+    public static @NotNull NorthboundFilterEntity fromPersistence(final @NotNull NorthboundFilter filter) {
+        return new NorthboundFilterEntity(filter.getMode(), filter.getDeadband(), filter.getMaxSilenceMillis());
+    }
+
+    public @NotNull NorthboundFilter.Mode getMode() {
+        return mode;
+    }
+
+    public double getDeadband() {
+        return deadband;
+    }
+
+    public long getMaxSilenceMillis() {
+        return maxSilenceMillis;
+    }
+
+    @Override
+    public void validate(final @NotNull List<ValidationEvent> validationEvents) {
+        EntityValidatable.notNull(validationEvents, mode, "mode");
+        EntityValidatable.notMatch(
+                validationEvents, () -> deadband >= 0, () -> "deadband " + deadband + " is negative");
+        EntityValidatable.notMatch(
+                validationEvents,
+                () -> maxSilenceMillis >= 0,
+                () -> "maxSilenceMillis " + maxSilenceMillis + " is negative");
+    }
+
+    public @NotNull NorthboundFilter toPersistence() {
+        return new NorthboundFilter(mode, deadband, maxSilenceMillis);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "NorthboundFilterEntity{" + "mode="
+                + mode
+                + ", deadband="
+                + deadband
+                + ", maxSilenceMillis="
+                + maxSilenceMillis
+                + '}';
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (o instanceof final NorthboundFilterEntity that) {
+            return mode == that.mode
+                    && Double.compare(deadband, that.deadband) == 0
+                    && maxSilenceMillis == that.maxSilenceMillis;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, deadband, maxSilenceMillis);
+    }
+}
@@ -19,6 +19,7 @@ import com.hivemq.adapter.sdk.api.config.MessageHandlingOptions;
 import com.hivemq.adapter.sdk.api.config.MqttUserProperty;
 import com.hivemq.configuration.entity.EntityValidatable;
 import com.hivemq.mqtt.message.QoS;
+import com.hivemq.persistence.mappings.NorthboundFilter;
 import com.hivemq.persistence.mappings.NorthboundMapping;
 import jakarta.xml.bind.ValidationEvent;
 import jakarta.xml.bind.annotation.XmlElement;
@@ -65,6 +66,9 @@ public class NorthboundMappingEntity implements EntityValidatable {
     @XmlElement(name = "messageExpiryInterval", required = true)
     private final @NotNull Long messageExpiryInterval;
 
+    @XmlElement(name = "filter")
+    private final @Nullable NorthboundFilterEntity filter;
+
     // no-arg constructor for JaxB
     @SuppressWarnings("NullAway.Init")
     public NorthboundMappingEntity() {
@@ -77,6 +81,7 @@ public class NorthboundMappingEntity implements EntityValidatable {
         userProperties = new ArrayList<>();
         messageExpiryInterval = Long.MAX_VALUE;
         messageHandlingOptions = NORTHBOUND_OPTS;
+        filter = null;
     }
 
     public NorthboundMappingEntity(
@@ -89,6 +94,30 @@ public class NorthboundMappingEntity implements EntityValidatable {
             final boolean includeMetadata,
             final @NotNull List<MqttUserPropertyEntity> userProperties,
             final @Nullable Long messageExpiryInterval) {
+        this(
+                tagName,
+                topic,
+                maxQoS,
+                ignore,
+                includeTagNames,
+                includeTimestamp,
+                includeMetadata,
+                userProperties,
+                messageExpiryInterval,
+                null);
+    }
+
+    public NorthboundMappingEntity(
+            final @NotNull String tagName,
+            final @NotNull String topic,
+            final int maxQoS,
+            final @Nullable MessageHandlingOptions ignore,
+            final boolean includeTagNames,
+            final boolean includeTimestamp,
+            final boolean includeMetadata,
+            final @NotNull List<MqttUserPropertyEntity> userProperties,
+            final @Nullable Long messageExpiryInterval,
+            final @Nullable NorthboundFilterEntity filter) {
         this.tagName = tagName;
         this.topic = topic;
         this.maxQoS = maxQoS;
@@ -100,6 +129,7 @@ public class NorthboundMappingEntity implements EntityValidatable {
         this.includeMetadata = includeMetadata;
         this.userProperties = userProperties;
         this.messageExpiryInterval = messageExpiryInterval != null ? messageExpiryInterval : Long.MAX_VALUE;
+        this.filter = filter;
     }
 
     public static @NotNull NorthboundMappingEntity fromPersistence(final @NotNull NorthboundMapping mapping) {
@@ -114,7 +144,10 @@ public class NorthboundMappingEntity implements EntityValidatable {
                 mapping.getUserProperties().stream()
                         .map(NorthboundMappingEntity::userProp)
                         .toList(),
-                mapping.getMessageExpiryInterval());
+                mapping.getMessageExpiryInterval(),
+                mapping.getFilter().getMode() != NorthboundFilter.Mode.ALWAYS
+                        ? NorthboundFilterEntity.fromPersistence(mapping.getFilter())
+                        : null);
     }
 
     private static @NotNull MqttUserPropertyEntity userProp(final @NotNull MqttUserProperty p) {
@@ -128,6 +161,18 @@ public class NorthboundMappingEntity implements EntityValidatable {
 
     public static @NotNull NorthboundMappingEntity fromApi(
             final @NotNull com.hivemq.edge.api.model.NorthboundMapping mapping) {
+        return fromApi(mapping, null);
+    }
+
+    /**
+     * The REST model of northbound mappings has no filter, so updates through the API pass the filter of the mapping
+     * they replace. Otherwise every update would drop the configured filter.
+     *
+     * @param filter the filter of the replaced mapping, see {@link #findFilter(List, String, String)}
+     */
+    public static @NotNull NorthboundMappingEntity fromApi(
+            final @NotNull com.hivemq.edge.api.model.NorthboundMapping mapping,
+            final @Nullable NorthboundFilterEntity filter) {
         return new NorthboundMappingEntity(
                 mapping.getTagName(),
                 mapping.getTopic(),
@@ -143,7 +188,33 @@ public class NorthboundMappingEntity implements EntityValidatable {
                 mapping.getUserProperties().stream()
                         .map(NorthboundMappingEntity::userProp)
                         .toList(),
-                mapping.getMessageExpiryInterval());
+                mapping.getMessageExpiryInterval(),
+                filter);
+    }
+
+    /**
+     * Finds the filter of the mapping that an updated mapping replaces. That is the mapping of the same tag to the
+     * same topic, or the only mapping of the tag if its topic was changed.
+     *
+     * @return the filter of the replaced mapping or <code>null</code> if there is none
+     */
+    public static @Nullable NorthboundFilterEntity findFilter(
+            final @NotNull List<NorthboundMappingEntity> previousMappings,
+            final @NotNull String tagName,
+            final @NotNull String topic) {
+        NorthboundMappingEntity sameTag = null;
+        int sameTagCount = 0;
+        for (final NorthboundMappingEntity previous : previousMappings) {
+            if (!previous.getTagName().equals(tagName)) {
+                continue;
+            }
+            if (previous.getTopic().equals(topic)) {
+                return previous.getFilter();
+            }
+            sameTag = previous;
+            sameTagCount++;
+        }
+        return sameTag != null && sameTagCount == 1 ? sameTag.getFilter() : null;
     }
 
     public @NotNull String getTagName() {
@@ -182,6 +253,10 @@ public class NorthboundMappingEntity implements EntityValidatable {
         return messageExpiryInterval;
     }
 
+    public @Nullable NorthboundFilterEntity getFilter() {
+        return filter;
+    }
+
     @Override
     public void validate(final @NotNull List<ValidationEvent> validationEvents) {
         EntityValidatable.notEmpty(validationEvents, topic, "topic");
@@ -197,6 +272,9 @@ public class NorthboundMappingEntity implements EntityValidatable {
                     () -> messageExpiryInterval > 0,
                     () -> "messageExpiryInterval " + messageExpiryInterval + " is not greater than 0");
         }
+        if (filter != null) {
+            filter.validate(validationEvents);
+        }
     }
 
     public @NotNull NorthboundMapping toPersistence() {
@@ -210,7 +288,8 @@ public class NorthboundMappingEntity implements EntityValidatable {
                 userProperties.stream()
                         .map(p -> new MqttUserProperty(p.getName(), p.getValue()))
                         .toList(),
-                messageExpiryInterval);
+                messageExpiryInterval,
+                filter != null ? filter.toPersistence() : null);
     }
 
     @Override
@@ -231,6 +310,8 @@ public class NorthboundMappingEntity implements EntityValidatable {
                 + userProperties
                 + ", messageExpiryInterval="
                 + messageExpiryInterval
+                + ", filter="
+                + filter
                 + '}';
     }
 
@@ -244,7 +325,8 @@ public class NorthboundMappingEntity implements EntityValidatable {
                     && Objects.equals(includeTagNames, that.includeTagNames)
                     && Objects.equals(includeTimestamp, that.includeTimestamp)
                     && Objects.equals(userProperties, that.userProperties)
-                    && Objects.equals(messageExpiryInterval, that.messageExpiryInterval);
+                    && Objects.equals(messageExpiryInterval, that.messageExpiryInterval)
+                    && Objects.equals(filter, that.filter);
         }
         return false;
     }
@@ -259,6 +341,7 @@ public class NorthboundMappingEntity implements EntityValidatable {
                 includeTagNames,
                 includeTimestamp,
                 userProperties,
-                messageExpiryInterval);
+                messageExpiryInterval,
+                filter);
     }
 }
@@ -19,6 +19,7 @@ import com.hivemq.adapter.sdk.api.config.MessageHandlingOptions;
 import com.hivemq.configuration.entity.EntityConverter;
 import com.hivemq.edge.api.model.NorthboundMapping;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class NorthboundMappingEntityConverter
         implements EntityConverter<NorthboundMapping, NorthboundMappingEntity> {
@@ -28,6 +29,14 @@ public final class NorthboundMappingEntityConverter
 
     @Override
     public @NotNull NorthboundMappingEntity toInternalEntity(final @NotNull NorthboundMapping entity) {
+        return toInternalEntity(entity, null);
+    }
+
+    /**
+     * @param filter the filter of the replaced mapping, as the REST model has no filter
+     */
+    public @NotNull NorthboundMappingEntity toInternalEntity(
+            final @NotNull NorthboundMapping entity, final @Nullable NorthboundFilterEntity filter) {
         return new NorthboundMappingEntity(
                 entity.getTagName(),
                 entity.getTopic(),
@@ -37,7 +46,8 @@ public final class NorthboundMappingEntityConverter
                 entity.getIncludeTimestamp(),
                 entity.getIncludeMetadata(),
                 MqttUserPropertyEntityConverter.INSTANCE.toInternalEntities(entity.getUserProperties()),
-                entity.getMessageExpiryInterval());
+                entity.getMessageExpiryInterval(),
+                filter);
     }
 
     @Override
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.configuration.entity.bridge;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import java.util.Objects;
+
+@SuppressWarnings({"FieldMayBeFinal", "FieldCanBeLocal"})
+@XmlRootElement(name = "compression")
+@XmlAccessorType(XmlAccessType.NONE)
+public class BridgeCompressionEntity {
+
+    @XmlElement(name = "enabled", defaultValue = "false")
+    private boolean enabled = false;
+
+    @XmlElement(name = "threshold", defaultValue = "256")
+    private int threshold = 256;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void setThreshold(final int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BridgeCompressionEntity that)) return false;
+        return isEnabled() == that.isEnabled() && getThreshold() == that.getThreshold();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(isEnabled(), getThreshold());
+    }
+}
@@ -52,6 +52,9 @@ public class MqttBridgeEntity {
     @XmlElement(name = "persist")
     private boolean persist = true;
 
+    @XmlElementRef(required = false)
+    private @NotNull BridgeCompressionEntity compression = new BridgeCompressionEntity();
+
     public @NotNull RemoteBrokerEntity getRemoteBroker() {
         return remoteBroker;
     }
@@ -100,6 +103,14 @@ public class MqttBridgeEntity {
         this.persist = persist;
     }
 
+    public @NotNull BridgeCompressionEntity getCompression() {
+        return compression;
+    }
+
+    public void setCompression(final BridgeCompressionEntity compression) {
+        this.compression = compression;
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -109,7 +120,8 @@ public class MqttBridgeEntity {
                 && Objects.equals(getRemoteBroker(), that.getRemoteBroker())
                 && Objects.equals(getRemoteSubscriptions(), that.getRemoteSubscriptions())
                 && Objects.equals(getForwardedTopics(), that.getForwardedTopics())
-                && Objects.equals(getLoopPrevention(), that.getLoopPrevention());
+                && Objects.equals(getLoopPrevention(), that.getLoopPrevention())
+                && Objects.equals(getCompression(), that.getCompression());
     }
 
     @Override
@@ -120,6 +132,7 @@ public class MqttBridgeEntity {
                 getRemoteSubscriptions(),
                 getForwardedTopics(),
                 getLoopPrevention(),
-                getPersist());
+                getPersist(),
+                getCompression());
     }
 }
@@ -24,6 +24,7 @@ import com.hivemq.bridge.config.MqttBridge;
 import com.hivemq.bridge.config.RemoteSubscription;
 import com.hivemq.configuration.entity.HiveMQConfigEntity;
 import com.hivemq.configuration.entity.bridge.BridgeAuthenticationEntity;
+import com.hivemq.configuration.entity.bridge.BridgeCompressionEntity;
 import com.hivemq.configuration.entity.bridge.BridgeMqttEntity;
 import com.hivemq.configuration.entity.bridge.BridgeTlsEntity;
 import com.hivemq.configuration.entity.bridge.BridgeWebsocketConfigurationEntity;
@@ -140,7 +141,10 @@ public class BridgeExtractor
                             .withLoopPreventionEnabled(
                                     bridgeConfig.getLoopPrevention().isEnabled())
                             .withLoopPreventionHopCount(
-                                    bridgeConfig.getLoopPrevention().getHopCountLimit());
+                                    bridgeConfig.getLoopPrevention().getHopCountLimit())
+                            .withCompressionEnabled(bridgeConfig.getCompression().isEnabled())
+                            .withCompressionThreshold(
+                                    Math.max(0, bridgeConfig.getCompression().getThreshold()));
 
                     if (bridgeConfig.getId() == null || bridgeConfig.getId().isBlank()) {
                         log.error("Bridge id cannot be empty");
@@ -377,6 +381,12 @@ public class BridgeExtractor
         entity.setLoopPrevention(loopPreventionEntity);
         entity.setPersist(from.isPersist());
 
+        // -- BridgeCompressionEntity
+        final BridgeCompressionEntity compressionEntity = new BridgeCompressionEntity();
+        compressionEntity.setEnabled(from.isCompressionEnabled());
+        compressionEntity.setThreshold(from.getCompressionThreshold());
+        entity.setCompression(compressionEntity);
+
         // -- ForwardedTopicEntity*
         if (from.getLocalSubscriptions() != null) {
             entity.setForwardedTopics(unconvertLocalSubscriptions(from.getLocalSubscriptions()));
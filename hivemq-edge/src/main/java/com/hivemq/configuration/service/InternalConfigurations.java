@@ -42,6 +42,9 @@ public class InternalConfigurations {
         defaultValuesMap.put(PERSISTENCE_BUCKET_COUNT, String.valueOf(AVAILABLE_PROCESSORS_TIMES_TWO));
         defaultValuesMap.put(FILE_SINGLE_WRITER_THREAD_POOL_SIZE, String.valueOf(AVAILABLE_PROCESSORS_TIMES_TWO));
         defaultValuesMap.put(MEMORY_SINGLE_WRITER_THREAD_POOL_SIZE, String.valueOf(AVAILABLE_PROCESSORS));
+        defaultValuesMap.put(PERSISTENCE_BUILT_IN_FILE_CLIENT_QUEUE_ENABLED, "false");
+        defaultValuesMap.put(LISTENER_TRANSPORT, "auto");
+        defaultValuesMap.put(LISTENER_ACCEPTOR_CHANNELS, "1");
         return defaultValuesMap;
     }
 
@@ -74,11 +77,37 @@ public class InternalConfigurations {
     public static final String PERSISTENCE_BUCKET_COUNT = "persistence.bucket.count";
     public static final String FILE_SINGLE_WRITER_THREAD_POOL_SIZE = "file_single_writer.thread_pool_size";
     public static final String MEMORY_SINGLE_WRITER_THREAD_POOL_SIZE = "memory_single_writer.thread_pool_size";
+    /**
+     * opt-in for file persistence without the commercial module: the client queues are stored with the built-in file
+     * persistence, while client sessions, subscriptions, retained messages and payloads are kept in memory
+     */
+    public static final String PERSISTENCE_BUILT_IN_FILE_CLIENT_QUEUE_ENABLED =
+            "persistence.built-in-file.client-queue.enabled";
 
     public static final @NotNull AtomicInteger SINGLE_WRITER_CREDITS_PER_EXECUTION = new AtomicInteger(65);
     public static final @NotNull AtomicInteger SINGLE_WRITER_INTERVAL_TO_CHECK_PENDING_TASKS_AND_SCHEDULE_MSEC =
             new AtomicInteger(500);
 
+    /**
+     * the size of a single memory-mapped segment file of the built-in client queue file persistence
+     */
+    public static final @NotNull AtomicInteger CLIENT_QUEUE_FILE_PERSISTENCE_SEGMENT_SIZE_BYTES =
+            new AtomicInteger(1024 * 1024 * 64); // 64Mb
+
+    /**
+     * the built-in client queue file persistence forces its records to the storage device after this many appends,
+     * 0 disables the limit
+     */
+    public static final @NotNull AtomicInteger CLIENT_QUEUE_FILE_PERSISTENCE_FORCE_EVERY_APPENDS = new AtomicInteger(0);
+
+    /**
+     * the built-in client queue file persistence forces its records to the storage device this long after the last
+     * force, records that were not forced yet are lost on a power loss, 0 only forces on segment roll, compaction and
+     * shutdown
+     */
+    public static final @NotNull AtomicInteger CLIENT_QUEUE_FILE_PERSISTENCE_FORCE_INTERVAL_MSEC =
+            new AtomicInteger(1000);
+
     public static final @NotNull AtomicInteger PERSISTENCE_CLOSE_RETRIES = new AtomicInteger(500);
     public static final @NotNull AtomicInteger PERSISTENCE_CLOSE_RETRY_INTERVAL_MSEC = new AtomicInteger(100);
 
@@ -280,19 +309,35 @@ public class InternalConfigurations {
     public static final int LISTENER_CLIENT_WRITE_BUFFER_HIGH_THRESHOLD_BYTES = 65536; // 64Kb
     public static final int LISTENER_CLIENT_WRITE_BUFFER_LOW_THRESHOLD_BYTES = 32768; // 32Kb
 
+    /**
+     * the Netty transport of the MQTT listeners: auto, nio, epoll or io_uring. Auto uses epoll where it is available
+     * and NIO otherwise, an unavailable native transport falls back to NIO.
+     */
+    public static final String LISTENER_TRANSPORT = "listener.transport";
+
+    /**
+     * the number of acceptor channels that share the port of each MQTT listener via SO_REUSEPORT, only applied with
+     * the epoll and io_uring transports
+     */
+    public static final String LISTENER_ACCEPTOR_CHANNELS = "listener.acceptor-channels";
+
     public static final int OUTGOING_BANDWIDTH_THROTTLING_DEFAULT_BYTES_PER_SEC = 0; // unlimited
 
     public static boolean EXPIRE_INFLIGHT_MESSAGES_ENABLED = false;
     public static boolean EXPIRE_INFLIGHT_PUBRELS_ENABLED = false;
 
     /**
-     * When this amount of in-flight messages is reached, the forwarder stops message polling.
-     * 32 is the default as the client will block the publish() call when more than 64 messages are outgoing (broken connection f.e.)
-     * This means that we might poll when 31 are outgoing and will poll 32 messages then => 31 + 32 = 63 < 64.
-     * This way the publish call should never block.
+     * The in-flight window of a forwarder until the remote broker sent its Receive Maximum. When this amount of
+     * in-flight messages is reached, the forwarder stops message polling.
      */
     public static final int FORWARDER_POLL_THRESHOLD_MESSAGES = 32;
 
+    /**
+     * The upper limit of the adaptive in-flight window of a forwarder, regardless of a larger Receive Maximum of the
+     * remote broker. Bounds the number of messages a forwarder holds in memory.
+     */
+    public static final @NotNull AtomicInteger FORWARDER_MAX_INFLIGHT_WINDOW_MESSAGES = new AtomicInteger(1024);
+
     /* ********************
      *       HTTP API     *
      **********************/
@@ -310,5 +355,7 @@ public class InternalConfigurations {
             new AtomicInteger(60 * 1000); // -- 60 Seconds
     public static final @NotNull AtomicInteger ADAPTER_RUNTIME_WATCHDOG_TIMEOUT_ERRORS_BEFORE_INTERRUPT =
             new AtomicInteger(10);
+    public static final @NotNull AtomicInteger ADAPTER_RUNTIME_MAX_CONCURRENT_POLLS_PER_ADAPTER =
+            new AtomicInteger(4);
     public static final @NotNull AtomicInteger EDGE_RUNTIME_MAX_EVENTS_IN_INMEMORY_LIST = new AtomicInteger(250);
 }
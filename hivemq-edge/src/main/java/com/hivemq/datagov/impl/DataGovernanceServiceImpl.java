@@ -15,10 +15,13 @@
  */
 package com.hivemq.datagov.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.JdkFutureAdapters;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
@@ -29,6 +32,7 @@ import com.hivemq.datagov.model.DataGovernancePolicy;
 import com.hivemq.datagov.model.DataGovernanceResult;
 import com.hivemq.datagov.model.impl.DataGoveranceResultImpl;
 import com.hivemq.datagov.model.impl.DataGovernanceDataImpl;
+import com.hivemq.metrics.HiveMQMetrics;
 import com.hivemq.mqtt.handler.publish.PublishingResult;
 import com.hivemq.mqtt.services.PrePublishProcessorService;
 import jakarta.inject.Inject;
@@ -36,33 +40,55 @@ import jakarta.inject.Singleton;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- *
+ * Runs the data governance policies for a publish and publishes the result.
+ * <p>
+ * The pipeline never blocks a thread while waiting: the policies are submitted as a task and the publish is chained
+ * onto the resulting future. Contexts which do not bring their own executor are executed on one of a fixed number of
+ * serial executors on top of the shared executor, chosen by the client id, so the publishes of one client are
+ * processed in order.
  */
 @Singleton
 public class DataGovernanceServiceImpl implements DataGovernanceService {
 
     private static final Logger log = LoggerFactory.getLogger(DataGovernanceServiceImpl.class);
 
+    @VisibleForTesting
+    static final int SERIAL_EXECUTOR_COUNT = 64;
+
     private final @NotNull PrePublishProcessorService prePublishProcessorService;
     private final @NotNull ListeningExecutorService executorService;
     private final @NotNull UnifiedNamespaceDataGovernancePolicy namespaceDataGovernancePolicy;
+    private final @NotNull Executor @NotNull [] serialExecutors;
+    private final @NotNull Timer policyTimer;
+    private final @NotNull AtomicInteger pendingPolicies = new AtomicInteger();
 
     @Inject
     public DataGovernanceServiceImpl(
             final @NotNull PrePublishProcessorService prePublishProcessorService,
             final @NotNull ExecutorService executorService,
-            final @NotNull UnifiedNamespaceDataGovernancePolicy namespaceDataGovernancePolicy) {
+            final @NotNull UnifiedNamespaceDataGovernancePolicy namespaceDataGovernancePolicy,
+            final @NotNull MetricRegistry metricRegistry) {
         this.prePublishProcessorService = prePublishProcessorService;
         this.executorService = MoreExecutors.listeningDecorator(executorService);
         this.namespaceDataGovernancePolicy = namespaceDataGovernancePolicy;
+        this.serialExecutors = new Executor[SERIAL_EXECUTOR_COUNT];
+        for (int i = 0; i < SERIAL_EXECUTOR_COUNT; i++) {
+            serialExecutors[i] = MoreExecutors.newSequentialExecutor(this.executorService);
+        }
+        this.policyTimer = metricRegistry.timer(HiveMQMetrics.DATA_GOVERNANCE_POLICY_TIME.name());
+        metricRegistry.remove(HiveMQMetrics.DATA_GOVERNANCE_POLICIES_PENDING.name());
+        metricRegistry.register(
+                HiveMQMetrics.DATA_GOVERNANCE_POLICIES_PENDING.name(), (Gauge<Integer>) pendingPolicies::get);
     }
 
     @Override
@@ -79,9 +105,17 @@ public class DataGovernanceServiceImpl implements DataGovernanceService {
 
         // -- If More Than 1 Policy Is Matched, Ensure All Are Run Serially On The Same Thread
         final PolicyExecution policyExecution = new PolicyExecution(context, List.of(namespaceDataGovernancePolicy));
-        final ExecutorService executorForContext = getExecutorForContext(context);
-        final Future<DataGovernanceResult> resultFuture = executorForContext.submit(policyExecution);
-        return JdkFutureAdapters.listenInPoolThread(resultFuture, executorForContext);
+        final long startNanos = System.nanoTime();
+        pendingPolicies.incrementAndGet();
+        final ListenableFuture<DataGovernanceResult> resultFuture =
+                Futures.submit(policyExecution, getPolicyExecutorForContext(context));
+        resultFuture.addListener(
+                () -> {
+                    pendingPolicies.decrementAndGet();
+                    policyTimer.update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                },
+                MoreExecutors.directExecutor());
+        return resultFuture;
     }
 
     @Override
@@ -90,7 +124,7 @@ public class DataGovernanceServiceImpl implements DataGovernanceService {
         Preconditions.checkNotNull(context.getInput(), "Data Governance Input Cannot Be <null>");
         final ListenableFuture<DataGovernanceResult> policyFuture = apply(context);
         final AsyncFunction<DataGovernanceResult, PublishingResult> async = result -> publish(context);
-        return Futures.transformAsync(policyFuture, async, getExecutorForContext(context));
+        return Futures.transformAsync(policyFuture, async, getPolicyExecutorForContext(context));
     }
 
     protected @NotNull ListenableFuture<PublishingResult> publish(final @NotNull DataGovernanceContext context) {
@@ -118,6 +152,19 @@ public class DataGovernanceServiceImpl implements DataGovernanceService {
         return context.getExecutorService() == null ? executorService : context.getExecutorService();
     }
 
+    protected @NotNull Executor getPolicyExecutorForContext(final @NotNull DataGovernanceContext context) {
+        if (context.getExecutorService() != null) {
+            return context.getExecutorService();
+        }
+        final int index = Math.floorMod(Objects.hashCode(context.getInput().getClientId()), serialExecutors.length);
+        return serialExecutors[index];
+    }
+
+    @VisibleForTesting
+    int getPendingPolicies() {
+        return pendingPolicies.get();
+    }
+
     static class PolicyExecution implements Callable<DataGovernanceResult> {
 
         private final @NotNull List<DataGovernancePolicy> policies;
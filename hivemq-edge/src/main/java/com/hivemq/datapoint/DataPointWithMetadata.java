@@ -15,34 +15,87 @@
  */
 package com.hivemq.datapoint;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.hivemq.adapter.sdk.api.data.DataPoint;
 import com.hivemq.adapter.sdk.api.datapoint.DataPointBuilder;
 import com.hivemq.adapter.sdk.api.tag.Tag;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.function.Function;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A data point created with the {@link DataPointBuilder} of the adapter SDK.
+ * <p>
+ * Scalar values are kept in primitive fields together with their {@link ValueType}, only structured values (objects
+ * and arrays), metadata and context are kept as JSON trees. The JSON representation of the data point is created on
+ * demand by {@link #getJsonNode()} and {@link #getTagValue()}. Serializers should use
+ * {@link #writeValue(JsonGenerator)} instead, which writes the value without creating any nodes.
+ */
+public class DataPointWithMetadata implements LatencyTrackedDataPoint {
+
+    public enum ValueType {
+        NULL,
+        BOOLEAN,
+        SHORT,
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        STRING,
+        BINARY,
+        BIG_DECIMAL,
+        BIG_INTEGER,
+        JSON
+    }
 
-public class DataPointWithMetadata implements DataPoint {
-    private final @NotNull ObjectNode jsonNode;
+    private final @NotNull String tagName;
     private final @NotNull String adapterID;
+    private final long timestamp;
+    private final @NotNull ValueType valueType;
+    private final long longValue;
+    private final double doubleValue;
+    // String, byte[], BigDecimal, BigInteger or JsonNode depending on the value type, null for primitives
+    private final @Nullable Object objectValue;
+    private final @Nullable JsonNode metadata;
+    private final @Nullable JsonNode context;
+    private final long creationNanos = System.nanoTime();
 
     public DataPointWithMetadata(final @NotNull ObjectNode jsonNode, final @NotNull String adapterID) {
-        this.jsonNode = jsonNode;
+        this.tagName = jsonNode.path("tagName").asText();
+        this.adapterID = adapterID;
+        this.timestamp = jsonNode.path("timestamp").asLong();
+        final JsonNode value = jsonNode.get("value");
+        this.valueType = value == null || value.isNull() ? ValueType.NULL : ValueType.JSON;
+        this.longValue = 0;
+        this.doubleValue = 0;
+        this.objectValue = valueType == ValueType.JSON ? value : null;
+        this.metadata = jsonNode.get("metadata");
+        this.context = jsonNode.get("context");
+    }
+
+    private DataPointWithMetadata(final @NotNull DataPointBuilderImpl<?> builder, final @NotNull String adapterID) {
+        this.tagName = builder.tagName;
         this.adapterID = adapterID;
+        this.timestamp = builder.timestamp;
+        this.valueType = builder.valueType;
+        this.longValue = builder.longValue;
+        this.doubleValue = builder.doubleValue;
+        this.objectValue = builder.objectValue;
+        this.metadata = builder.metadata;
+        this.context = builder.context;
     }
 
     public static <R> @NotNull DataPointBuilder<R> builder(
             final @NotNull Tag tag, final @NotNull Function<DataPointBuilder<R>, R> completer) {
-        final ObjectNode root = JsonNodeFactory.instance.objectNode();
-        root.put("tagName", tag.getName());
-        return new DataPointBuilderImpl<>(root, completer);
+        return new DataPointBuilderImpl<>(tag.getName(), completer);
     }
 
     @Override
@@ -50,160 +103,251 @@ public class DataPointWithMetadata implements DataPoint {
         return adapterID;
     }
 
+    /**
+     * @return the value as JSON node, for scalar values a new node is created on every call
+     */
     @Override
     public @NotNull JsonNode getTagValue() {
-        return jsonNode.get("value");
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+        return switch (valueType) {
+            case NULL -> factory.nullNode();
+            case BOOLEAN -> factory.booleanNode(longValue != 0);
+            case SHORT -> factory.numberNode((short) longValue);
+            case INT -> factory.numberNode((int) longValue);
+            case LONG -> factory.numberNode(longValue);
+            case FLOAT -> factory.numberNode((float) doubleValue);
+            case DOUBLE -> factory.numberNode(doubleValue);
+            case STRING -> factory.textNode((String) objectValue);
+            case BINARY -> factory.binaryNode((byte[]) objectValue);
+            case BIG_DECIMAL -> factory.numberNode((BigDecimal) objectValue);
+            case BIG_INTEGER -> factory.numberNode((BigInteger) objectValue);
+            case JSON -> (JsonNode) objectValue;
+        };
+    }
+
+    public @NotNull ValueType getValueType() {
+        return valueType;
+    }
+
+    /**
+     * @return the value if the value type is {@link ValueType#SHORT}, {@link ValueType#INT} or {@link ValueType#LONG},
+     *         1 or 0 for {@link ValueType#BOOLEAN}
+     */
+    public long getLongValue() {
+        return longValue;
+    }
+
+    /**
+     * @return the value if the value type is {@link ValueType#FLOAT} or {@link ValueType#DOUBLE}
+     */
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    /**
+     * Writes the value with the generator, scalar values are written from their primitive representation.
+     */
+    public void writeValue(final @NotNull JsonGenerator generator) throws IOException {
+        switch (valueType) {
+            case NULL -> generator.writeNull();
+            case BOOLEAN -> generator.writeBoolean(longValue != 0);
+            case SHORT, INT -> generator.writeNumber((int) longValue);
+            case LONG -> generator.writeNumber(longValue);
+            case FLOAT -> generator.writeNumber((float) doubleValue);
+            case DOUBLE -> generator.writeNumber(doubleValue);
+            case STRING -> generator.writeString((String) objectValue);
+            // rare types, written exactly like their JSON nodes
+            case BINARY, BIG_DECIMAL, BIG_INTEGER, JSON -> generator.writeTree(getTagValue());
+        }
+    }
+
+    @Override
+    public long getCreationNanos() {
+        return creationNanos;
     }
 
     public @NotNull Long getTimestamp() {
-        return jsonNode.get("timestamp").asLong();
+        return timestamp;
     }
 
     @Override
     public @NotNull String getTagName() {
-        return jsonNode.get("tagName").asText();
+        return tagName;
     }
 
     public @NotNull Optional<JsonNode> getMetadata() {
-        return Optional.ofNullable(jsonNode.get("metadata"));
+        return Optional.ofNullable(metadata);
     }
 
     public @NotNull Optional<JsonNode> getContext() {
-        return Optional.ofNullable(jsonNode.get("context"));
+        return Optional.ofNullable(context);
     }
 
+    /**
+     * @return a new JSON node with the tag name, the value, the metadata, the context and the timestamp of the data
+     *         point
+     */
     public @NotNull ObjectNode getJsonNode() {
-        return jsonNode;
+        final ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.put("tagName", tagName);
+        root.set("value", getTagValue());
+        if (metadata != null) {
+            root.set("metadata", metadata);
+        }
+        if (context != null) {
+            root.set("context", context);
+        }
+        root.put("timestamp", timestamp);
+        return root;
     }
 
     // --- Inner builder classes (shadow-node pattern) ---
 
     public static final class DataPointBuilderImpl<R> implements DataPointBuilder<R> {
-        private final @NotNull ObjectNode root;
+        private final @NotNull String tagName;
         private final @NotNull Function<DataPointBuilder<R>, R> completer;
-
-        DataPointBuilderImpl(
-                final @NotNull ObjectNode root, final @NotNull Function<DataPointBuilder<R>, R> completer) {
-            this.root = root;
+        private @NotNull ValueType valueType = ValueType.NULL;
+        private long longValue;
+        private double doubleValue;
+        private @Nullable Object objectValue;
+        private @Nullable JsonNode metadata;
+        private @Nullable JsonNode context;
+        private boolean hasTimestamp;
+        private long timestamp;
+
+        DataPointBuilderImpl(final @NotNull String tagName, final @NotNull Function<DataPointBuilder<R>, R> completer) {
+            this.tagName = tagName;
             this.completer = completer;
         }
 
+        private @NotNull DataPointBuilder<R> primitive(final @NotNull ValueType type, final long value) {
+            this.valueType = type;
+            this.longValue = value;
+            this.doubleValue = 0;
+            this.objectValue = null;
+            return this;
+        }
+
+        private @NotNull DataPointBuilder<R> primitive(final @NotNull ValueType type, final double value) {
+            this.valueType = type;
+            this.longValue = 0;
+            this.doubleValue = value;
+            this.objectValue = null;
+            return this;
+        }
+
+        private @NotNull DataPointBuilder<R> object(final @NotNull ValueType type, final @Nullable Object value) {
+            this.valueType = type;
+            this.longValue = 0;
+            this.doubleValue = 0;
+            this.objectValue = value;
+            return this;
+        }
+
         @Override
         public @NotNull DataPointBuilder<R> value(final boolean value) {
-            root.put("value", value);
-            return this;
+            return primitive(ValueType.BOOLEAN, value ? 1L : 0L);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final byte value) {
-            root.put("value", value);
-            return this;
+            // a byte has always been stored as short node
+            return primitive(ValueType.SHORT, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final short value) {
-            root.put("value", value);
-            return this;
+            return primitive(ValueType.SHORT, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final int value) {
-            root.put("value", value);
-            return this;
+            return primitive(ValueType.INT, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final long value) {
-            root.put("value", value);
-            return this;
+            return primitive(ValueType.LONG, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final float value) {
-            root.put("value", value);
-            return this;
+            return primitive(ValueType.FLOAT, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final double value) {
-            root.put("value", value);
-            return this;
+            return primitive(ValueType.DOUBLE, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final @NotNull String value) {
-            root.put("value", value);
-            return this;
+            return object(ValueType.STRING, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final byte @NotNull [] value) {
-            root.put("value", value);
-            return this;
+            return object(ValueType.BINARY, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final @NotNull BigDecimal value) {
-            root.put("value", value);
-            return this;
+            return object(ValueType.BIG_DECIMAL, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final @NotNull BigInteger value) {
-            root.set("value", JsonNodeFactory.instance.numberNode(value));
-            return this;
+            return object(ValueType.BIG_INTEGER, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> value(final @NotNull JsonNode value) {
-            root.set("value", value);
-            return this;
+            return value.isNull() ? valueNull() : object(ValueType.JSON, value);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> valueNull() {
-            root.putNull("value");
-            return this;
+            return object(ValueType.NULL, null);
         }
 
         @Override
         public @NotNull ObjectBuilder<DataPointBuilder<R>> startObjectValue() {
             final ObjectNode child = JsonNodeFactory.instance.objectNode();
-            root.set("value", child);
+            object(ValueType.JSON, child);
             return new ObjectBuilderImpl<>(this, child);
         }
 
         @Override
         public @NotNull ArrayBuilder<DataPointBuilder<R>> startArrayValue() {
             final ArrayNode child = JsonNodeFactory.instance.arrayNode();
-            root.set("value", child);
+            object(ValueType.JSON, child);
             return new ArrayBuilderImpl<>(this, child);
         }
 
         @Override
         public @NotNull ObjectBuilder<DataPointBuilder<R>> startObjectMetadata() {
             final ObjectNode child = JsonNodeFactory.instance.objectNode();
-            root.set("metadata", child);
+            metadata = child;
             return new ObjectBuilderImpl<>(this, child);
         }
 
         @Override
         public @NotNull ObjectBuilder<DataPointBuilder<R>> startObjectContext() {
             final ObjectNode child = JsonNodeFactory.instance.objectNode();
-            root.set("context", child);
+            context = child;
             return new ObjectBuilderImpl<>(this, child);
         }
 
         @Override
         public @NotNull DataPointBuilder<R> timestamp(final long epochMillis) {
-            root.put("timestamp", epochMillis);
+            hasTimestamp = true;
+            timestamp = epochMillis;
             return this;
         }
 
         @Override
         public @NotNull DataPointBuilder<R> timestamp(final @NotNull Instant instant) {
-            root.put("timestamp", instant.toEpochMilli());
-            return this;
+            return timestamp(instant.toEpochMilli());
         }
 
         @Override
@@ -211,11 +355,11 @@ public class DataPointWithMetadata implements DataPoint {
             return completer.apply(this);
         }
 
-        public @NotNull DataPointWithMetadata build(String adapterId) {
-            if (!root.has("timestamp")) {
-                root.put("timestamp", System.currentTimeMillis());
+        public @NotNull DataPointWithMetadata build(final @NotNull String adapterId) {
+            if (!hasTimestamp) {
+                timestamp(System.currentTimeMillis());
             }
-            return new DataPointWithMetadata(root, adapterId);
+            return new DataPointWithMetadata(this, adapterId);
         }
     }
 
@@ -440,6 +584,6 @@ public class DataPointWithMetadata implements DataPoint {
 
     @Override
     public String toString() {
-        return "DataPointWithMetadata{" + "jsonNode=" + jsonNode + '}';
+        return "DataPointWithMetadata{" + "jsonNode=" + getJsonNode() + '}';
     }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.datapoint;
+
+import com.hivemq.adapter.sdk.api.data.DataPoint;
+
+/**
+ * A {@link DataPoint} which knows when it was created, so the latency of the northbound pipeline can be measured for
+ * every adapter regardless of how it creates its data points.
+ */
+public interface LatencyTrackedDataPoint extends DataPoint {
+
+    /**
+     * @return the {@link System#nanoTime()} at which the data point was created. It is not part of the identity of the
+     *         data point.
+     */
+    long getCreationNanos();
+}
@@ -17,69 +17,146 @@ package com.hivemq.edge.impl.events;
 
 import com.hivemq.adapter.sdk.api.events.model.Event;
 import com.hivemq.configuration.service.InternalConfigurations;
+import com.hivemq.edge.modules.api.events.EventListener;
 import com.hivemq.edge.modules.api.events.EventStore;
-import com.hivemq.util.RollingList;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Stream;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Simple rolling list implementation optimized for fast writes but slow reads as requires sort on read. (Handled
- * out of lock).
+ * Ring buffer of the most recent events, ordered by the time they were stored.
+ * <p>
+ * Every event is stored with its sequence number and a search key, which is the highest event timestamp stored so far.
+ * The keys never decrease even if events arrive with slightly out of order timestamps, so a <code>since</code> query
+ * finds its first candidate with a binary search and a <code>limit</code> query stops as soon as no older event can
+ * make it into the result, neither copies nor sorts the whole buffer.
+ * <p>
+ * Reads do not lock at all. They detect slots that were overwritten while reading by the sequence number of the slot.
+ * Writes only hold the monitor for assigning the sequence number and the slot.
  */
 @Singleton
 public class InMemoryEventImpl implements EventStore {
-    private final @NotNull RollingList<Event> inMemoryEventList;
-    private final @NotNull ReadWriteLock lock;
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(InMemoryEventImpl.class);
+
+    private final int capacity;
+    private final @NotNull AtomicReferenceArray<Entry> ring;
+    private final @NotNull List<EventListener> listeners = new CopyOnWriteArrayList<>();
+    // the number of events stored so far, the sequence number of the next event
+    private volatile long published;
+    // guarded by this
+    private long lastKey = Long.MIN_VALUE;
 
     @Inject
     public InMemoryEventImpl() {
-        // optimize for quick write slow read (sort)
         this(InternalConfigurations.EDGE_RUNTIME_MAX_EVENTS_IN_INMEMORY_LIST.get());
     }
 
     public InMemoryEventImpl(final int max) {
-        inMemoryEventList = new RollingList<>(max);
-        lock = new ReentrantReadWriteLock();
+        capacity = Math.max(1, max);
+        ring = new AtomicReferenceArray<>(capacity);
     }
 
     @Override
     public void storeEvent(final @NotNull Event event) {
-        final Lock writeLock = lock.writeLock();
-        writeLock.lock();
-        try {
-            inMemoryEventList.add(event);
-        } finally {
-            writeLock.unlock();
+        synchronized (this) {
+            final long sequence = published;
+            lastKey = Math.max(lastKey, event.getTimestamp());
+            ring.set(slot(sequence), new Entry(sequence, lastKey, event));
+            published = sequence + 1;
+        }
+        for (final EventListener listener : listeners) {
+            try {
+                listener.eventFired(event);
+            } catch (final Exception e) {
+                log.warn("Event listener failed to process event", e);
+            }
         }
     }
 
+    /**
+     * @return the events ordered by their timestamp, newest first. Events with the same timestamp are in the order they
+     *         were stored.
+     */
     @Override
     public @NotNull List<Event> readEvents(final @Nullable Long since, final @Nullable Integer limit) {
-        final Lock readLock = lock.readLock();
-        final List<Event> events;
-        readLock.lock();
-        try {
-            events = new ArrayList<>(inMemoryEventList);
-        } finally {
-            readLock.unlock();
+        final long end = published;
+        final long start = since == null ? Math.max(0, end - capacity) : firstKeyAfter(since, end);
+        final int max = limit == null ? Integer.MAX_VALUE : Math.max(0, limit);
+        final List<Event> events = new ArrayList<>((int) Math.min(end - start, max));
+        // once the limit is reached, older events only make it into the result if their timestamp is not lower than
+        // the lowest one collected so far; their key is an upper bound for their timestamp and all older ones
+        long threshold = Long.MIN_VALUE;
+        for (long sequence = end - 1; sequence >= start && max > 0; sequence--) {
+            final Entry entry = entry(sequence);
+            if (entry == null || entry.key() < threshold) {
+                // overwritten by a concurrent write or too old, all older events are gone or too old as well
+                break;
+            }
+            final long timestamp = entry.event().getTimestamp();
+            if ((since == null || since < timestamp) && timestamp >= threshold) {
+                events.add(entry.event());
+                if (events.size() == max) {
+                    threshold = events.stream()
+                            .mapToLong(Event::getTimestamp)
+                            .min()
+                            .orElse(Long.MIN_VALUE);
+                }
+            }
         }
-        Stream<Event> stream =
-                events.stream().sorted(Comparator.comparing(Event::getTimestamp).reversed());
-        if (since != null) {
-            stream = stream.filter(event -> since < event.getTimestamp());
-        }
-        if (limit != null) {
-            stream = stream.limit(limit);
+        // the events are nearly sorted already, the stable sort keeps the store order of equal timestamps
+        Collections.reverse(events);
+        events.sort(Comparator.comparing(Event::getTimestamp).reversed());
+        return events.size() > max ? new ArrayList<>(events.subList(0, max)) : events;
+    }
+
+    @Override
+    public void addListener(final @NotNull EventListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(final @NotNull EventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the sequence number of the oldest stored event with a key greater than the timestamp. All events before
+     *         it have a timestamp not greater than their key, so they can not match the query.
+     */
+    private long firstKeyAfter(final long timestamp, final long end) {
+        long low = Math.max(0, end - capacity);
+        long high = end;
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            final Entry entry = entry(middle);
+            // an overwritten entry is older than every entry still in the buffer
+            if (entry == null || entry.key() <= timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
-        return stream.toList();
+        return low;
+    }
+
+    private @Nullable Entry entry(final long sequence) {
+        final Entry entry = ring.get(slot(sequence));
+        return entry != null && entry.sequence() == sequence ? entry : null;
+    }
+
+    private int slot(final long sequence) {
+        return (int) (sequence % capacity);
     }
+
+    private record Entry(long sequence, long key, @NotNull Event event) {}
 }
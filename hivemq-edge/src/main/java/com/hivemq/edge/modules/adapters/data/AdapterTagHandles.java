@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.data;
+
+import com.hivemq.adapter.sdk.api.data.DataPoint;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The {@link TagHandle}s of the tags of one adapter, resolved once when the adapter starts polling or streaming.
+ */
+public final class AdapterTagHandles {
+
+    private final @NotNull TagManager tagManager;
+    private final @NotNull String adapterId;
+    private final @NotNull Map<String, TagHandle> handles;
+
+    AdapterTagHandles(
+            final @NotNull TagManager tagManager,
+            final @NotNull String adapterId,
+            final @NotNull Map<String, TagHandle> handles) {
+        this.tagManager = tagManager;
+        this.adapterId = adapterId;
+        this.handles = Map.copyOf(handles);
+    }
+
+    /**
+     * @return the handle of the tag, a tag that is not configured for the adapter is resolved by the {@link TagManager}
+     */
+    public @NotNull TagHandle get(final @NotNull String tagName) {
+        final TagHandle handle = handles.get(tagName);
+        return handle != null ? handle : tagManager.resolve(adapterId, tagName);
+    }
+
+    public void feed(final @NotNull List<DataPoint> dataPoints) {
+        for (final DataPoint dataPoint : dataPoints) {
+            get(dataPoint.getTagName()).feed(dataPoint);
+        }
+    }
+}
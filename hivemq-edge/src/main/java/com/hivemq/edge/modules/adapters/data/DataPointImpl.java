@@ -15,15 +15,16 @@
  */
 package com.hivemq.edge.modules.adapters.data;
 
-import com.hivemq.adapter.sdk.api.data.DataPoint;
+import com.hivemq.datapoint.LatencyTrackedDataPoint;
 import java.util.Objects;
 import org.jetbrains.annotations.NotNull;
 
-public class DataPointImpl implements DataPoint {
+public class DataPointImpl implements LatencyTrackedDataPoint {
     private final @NotNull Object tagValue;
     private final @NotNull String tagName;
     private final boolean treatAsJson;
     private final String adapterId;
+    private final long creationNanos;
 
     public DataPointImpl(
             final @NotNull String tagName,
@@ -37,6 +38,7 @@ public class DataPointImpl implements DataPoint {
         this.tagValue = tagValue;
         this.treatAsJson = treatAsJson;
         this.adapterId = adapterId;
+        this.creationNanos = System.nanoTime();
     }
 
     public DataPointImpl(
@@ -58,6 +60,11 @@ public class DataPointImpl implements DataPoint {
         return adapterId;
     }
 
+    @Override
+    public long getCreationNanos() {
+        return creationNanos;
+    }
+
     @Override
     public boolean treatTagValueAsJson() {
         return treatAsJson;
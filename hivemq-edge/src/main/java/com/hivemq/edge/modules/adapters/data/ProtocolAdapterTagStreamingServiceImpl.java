@@ -27,26 +27,26 @@ import org.jetbrains.annotations.NotNull;
 public class ProtocolAdapterTagStreamingServiceImpl implements ProtocolAdapterTagStreamingService {
 
     private final @NotNull String adapterId;
-    private final @NotNull TagManager tagManager;
+    private final @NotNull AdapterTagHandles tagHandles;
     private final @NotNull Consumer<DataPointBuilder<?>> enricher;
 
     public ProtocolAdapterTagStreamingServiceImpl(
             final @NotNull String adapterId,
-            final @NotNull TagManager tagManager,
+            final @NotNull AdapterTagHandles tagHandles,
             final @NotNull Consumer<DataPointBuilder<?>> enricher) {
         this.adapterId = adapterId;
-        this.tagManager = tagManager;
+        this.tagHandles = tagHandles;
         this.enricher = enricher;
     }
 
     @Override
     public @NotNull DataPointListBuilder dataPointsPublisher() {
-        return new DataPointListBuilderImpl(adapterId, enricher, tagManager::feed);
+        return new DataPointListBuilderImpl(adapterId, enricher, tagHandles::feed);
     }
 
     @Override
     @Deprecated(since = "This API will be removed by 2026.10. Please migrate to the feed method without tagName.")
     public void feed(final @NotNull String tag, final @NotNull List<DataPoint> dataPoints) {
-        tagManager.feed(adapterId, dataPoints);
+        tagHandles.feed(dataPoints);
     }
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.data;
+
+import com.hivemq.adapter.sdk.api.data.DataPoint;
+import com.hivemq.protocols.northbound.SingleTagConsumer;
+import java.util.Arrays;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The resolved slot of a single tag of an adapter inside the {@link TagManager}.
+ * <p>
+ * A handle is created once per tag, so callers can resolve it once and feed data points without any further lookup.
+ * It stays valid until the adapter of the tag is removed from the {@link TagManager}. Feeding does not lock: the last
+ * value is a volatile field and the consumers are kept in a copy-on-write array, which is only replaced under the
+ * monitor of the handle when consumers are added or removed.
+ */
+public final class TagHandle {
+
+    private static final Logger log = LoggerFactory.getLogger(TagHandle.class);
+
+    private static final @NotNull SingleTagConsumer @NotNull [] NO_CONSUMERS = new SingleTagConsumer[0];
+
+    private final @NotNull String adapterId;
+    private final @NotNull String tagName;
+
+    private volatile @Nullable DataPoint lastValue;
+    private volatile @NotNull SingleTagConsumer @NotNull [] consumers = NO_CONSUMERS;
+    // guarded by this, a detached handle is only kept for its consumers and evicted with the last of them
+    private boolean detached;
+
+    TagHandle(final @NotNull String adapterId, final @NotNull String tagName, final boolean detached) {
+        this.adapterId = adapterId;
+        this.tagName = tagName;
+        this.detached = detached;
+    }
+
+    /**
+     * Stores the data point as the last value of the tag and hands it to all consumers of the tag.
+     */
+    public void feed(final @NotNull DataPoint dataPoint) {
+        // the last value is written before the consumers are read, see replayLastValue
+        lastValue = dataPoint;
+        for (final SingleTagConsumer consumer : consumers) {
+            try {
+                consumer.accept(dataPoint);
+            } catch (final Exception e) {
+                log.error("An error was thrown while processing tag {} with consumer {}", tagName, consumer, e);
+            }
+        }
+    }
+
+    public @NotNull String getAdapterId() {
+        return adapterId;
+    }
+
+    public @NotNull String getTagName() {
+        return tagName;
+    }
+
+    public @Nullable DataPoint getLastValue() {
+        return lastValue;
+    }
+
+    synchronized void addConsumer(final @NotNull SingleTagConsumer consumer) {
+        final SingleTagConsumer[] current = consumers;
+        final SingleTagConsumer[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = consumer;
+        consumers = updated;
+    }
+
+    /**
+     * Sends the last value of the tag to a consumer that was just added, if present.
+     * <p>
+     * A concurrent feed may hand its data point to the consumer while the last value is replayed. The replay is
+     * repeated until the last value did not change during it, so the consumer always ends on the latest value, at the
+     * cost of receiving a value twice in that case.
+     */
+    void replayLastValue(final @NotNull SingleTagConsumer consumer) {
+        DataPoint replayed = null;
+        DataPoint dataPoint = lastValue;
+        while (dataPoint != null && dataPoint != replayed) {
+            consumer.accept(dataPoint);
+            replayed = dataPoint;
+            dataPoint = lastValue;
+        }
+    }
+
+    /**
+     * @return {@code true} if the handle is detached and has no consumers left, so it can be evicted
+     */
+    synchronized boolean removeConsumer(final @NotNull SingleTagConsumer consumer) {
+        final SingleTagConsumer[] current = consumers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == consumer) {
+                if (current.length == 1) {
+                    consumers = NO_CONSUMERS;
+                    break;
+                }
+                final SingleTagConsumer[] updated = new SingleTagConsumer[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                consumers = updated;
+                break;
+            }
+        }
+        return detached && consumers.length == 0;
+    }
+
+    /**
+     * Detaches the handle from its adapter, which was removed. The last value is dropped, so it is not replayed to
+     * consumers of a later adapter with the same id.
+     *
+     * @return {@code true} if the handle has no consumers and can be evicted
+     */
+    synchronized boolean detach() {
+        lastValue = null;
+        detached = true;
+        return consumers.length == 0;
+    }
+
+    /**
+     * Attaches the handle to an adapter that feeds it, it is kept even without consumers.
+     */
+    synchronized void attach() {
+        detached = false;
+    }
+
+    int getConsumerCount() {
+        return consumers.length;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "TagHandle{adapterId='" + adapterId + "', tagName='" + tagName + "'}";
+    }
+}
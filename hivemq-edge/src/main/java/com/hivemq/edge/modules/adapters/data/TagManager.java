@@ -16,39 +16,77 @@
 package com.hivemq.edge.modules.adapters.data;
 
 import com.hivemq.adapter.sdk.api.data.DataPoint;
-import com.hivemq.configuration.entity.adapter.AdapterTag;
 import com.hivemq.protocols.northbound.SingleTagConsumer;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.jetbrains.annotations.NotNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+/**
+ * Hands the data points of the adapters to the consumers of their tags, through one {@link TagHandle} per tag.
+ * <p>
+ * The samplers and streaming services of an adapter resolve the handles of its tags once, see
+ * {@link #resolveAdapterTags(String, Collection)}, and feed them directly. The handles of an adapter are evicted when
+ * the adapter is removed, a handle that still has consumers of other components is evicted with the last of them.
+ */
 @Singleton
 public class TagManager {
 
-    private static final Logger log = LoggerFactory.getLogger(TagManager.class);
-
-    // TODO this is basically a memory leak. The problem is when shall we remove the last value?
-    // We would need to add a callback/logic to the lifecycle of tags
-    // is it intended that we might send very old data?
-    // perhaps it is good enough if we ensure that northbound mappings are created before tags as adapters are restarted
-    // on config change anyway
-    private final Map<AdapterTag, DataPoint> lastValueForTag = new ConcurrentHashMap<>();
-
-    private final ReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    // structural changes of the handles of an adapter run inside compute of its entry, reads do not lock
+    private final @NotNull ConcurrentHashMap<String, ConcurrentHashMap<String, TagHandle>> handles =
+            new ConcurrentHashMap<>();
 
     @Inject
     public TagManager() {}
 
-    private final @NotNull ConcurrentHashMap<AdapterTag, List<SingleTagConsumer>> consumers = new ConcurrentHashMap<>();
+    /**
+     * Resolves the handle of a tag. The handle is stable until the adapter is removed, so it can be kept and fed
+     * directly by the caller.
+     */
+    public @NotNull TagHandle resolve(final @NotNull String adapterId, final @NotNull String tagName) {
+        final ConcurrentHashMap<String, TagHandle> adapterHandles = handles.get(adapterId);
+        if (adapterHandles != null) {
+            final TagHandle handle = adapterHandles.get(tagName);
+            if (handle != null) {
+                return handle;
+            }
+        }
+        return computeHandle(adapterId, tagName, false);
+    }
+
+    /**
+     * Resolves the handles of the tags of an adapter when it starts polling or streaming. The handles are attached to
+     * the adapter, so they are kept until the adapter is removed, even if they have no consumers.
+     */
+    public @NotNull AdapterTagHandles resolveAdapterTags(
+            final @NotNull String adapterId, final @NotNull Collection<String> tagNames) {
+        final Map<String, TagHandle> adapterTagHandles = new HashMap<>();
+        for (final String tagName : tagNames) {
+            adapterTagHandles.put(tagName, computeHandle(adapterId, tagName, true));
+        }
+        return new AdapterTagHandles(this, adapterId, adapterTagHandles);
+    }
+
+    private @NotNull TagHandle computeHandle(
+            final @NotNull String adapterId, final @NotNull String tagName, final boolean attach) {
+        final TagHandle[] result = new TagHandle[1];
+        handles.compute(adapterId, (id, adapterHandles) -> {
+            final ConcurrentHashMap<String, TagHandle> current =
+                    adapterHandles != null ? adapterHandles : new ConcurrentHashMap<>();
+            final TagHandle handle = current.computeIfAbsent(tagName, name -> new TagHandle(id, name, false));
+            if (attach) {
+                handle.attach();
+            }
+            result[0] = handle;
+            return current;
+        });
+        return result[0];
+    }
 
     public void feed(@NotNull final String tag, @NotNull final List<DataPoint> dataPoints) {
         // This is still correct since every dataPoint contains the tagname it came from.
@@ -56,74 +94,44 @@ public class TagManager {
     }
 
     public void feed(final @NotNull List<DataPoint> dataPoints) {
-
-        final var readlock = readWriteLock.readLock();
-        readlock.lock();
-        try {
-            dataPoints.forEach(entry -> {
-                final String tagName = entry.getTagName();
-                final DataPoint tagDataPoint = entry;
-                final AdapterTag adapterTag = new AdapterTag(tagDataPoint.getAdapterId(), tagName);
-                lastValueForTag.put(adapterTag, tagDataPoint);
-                final var tagConsumers = consumers.get(adapterTag);
-                if (tagConsumers != null) {
-                    tagConsumers.forEach(consumer -> {
-                        try {
-                            consumer.accept(tagDataPoint);
-                        } catch (final Exception e) {
-                            log.error(
-                                    "An error was thrown while processing tag {} with consumer {}",
-                                    tagName,
-                                    consumer,
-                                    e);
-                        }
-                    });
-                }
-            });
-        } finally {
-            readlock.unlock();
+        for (final DataPoint dataPoint : dataPoints) {
+            resolve(dataPoint.getAdapterId(), dataPoint.getTagName()).feed(dataPoint);
         }
     }
 
     public void addConsumer(final @NotNull SingleTagConsumer consumer) {
-        final AdapterTag adapterTag =
-                new AdapterTag(Objects.requireNonNullElse(consumer.getScope(), ""), consumer.getTagName());
-        final var writeLock = readWriteLock.writeLock();
-        writeLock.lock();
-        try {
-            consumers.compute(adapterTag, (tag, current) -> {
-                if (current != null) {
-                    current.add(consumer);
-                    return current;
-                } else {
-                    final List<SingleTagConsumer> consumers = new ArrayList<>();
-                    consumers.add(consumer);
-                    return consumers;
-                }
-            });
-
-            // if there is a value present in the cache, we sent it to the consumer
-            final DataPoint dataPoint = lastValueForTag.get(adapterTag);
-            if (dataPoint != null) {
-                consumer.accept(dataPoint);
-            }
-        } finally {
-            writeLock.unlock();
-        }
+        final TagHandle[] result = new TagHandle[1];
+        handles.compute(Objects.requireNonNullElse(consumer.getScope(), ""), (id, adapterHandles) -> {
+            final ConcurrentHashMap<String, TagHandle> current =
+                    adapterHandles != null ? adapterHandles : new ConcurrentHashMap<>();
+            // a handle that is only created for a consumer is not fed by an adapter yet, so it is detached
+            final TagHandle handle =
+                    current.computeIfAbsent(consumer.getTagName(), name -> new TagHandle(id, name, true));
+            handle.addConsumer(consumer);
+            result[0] = handle;
+            return current;
+        });
+        // outside of compute, the consumer may be slow
+        result[0].replayLastValue(consumer);
     }
 
     public void removeConsumer(final @NotNull SingleTagConsumer consumer) {
-        final AdapterTag adapterTag =
-                new AdapterTag(Objects.requireNonNullElse(consumer.getScope(), ""), consumer.getTagName());
-        final var writeLock = readWriteLock.writeLock();
-        writeLock.lock();
-        try {
-            consumers.computeIfPresent(adapterTag, (tag, current) -> {
-                current.remove(consumer);
-                return current;
-            });
-        } finally {
-            writeLock.unlock();
-        }
+        handles.computeIfPresent(Objects.requireNonNullElse(consumer.getScope(), ""), (id, adapterHandles) -> {
+            adapterHandles.computeIfPresent(
+                    consumer.getTagName(), (name, handle) -> handle.removeConsumer(consumer) ? null : handle);
+            return adapterHandles.isEmpty() ? null : adapterHandles;
+        });
+    }
+
+    /**
+     * Evicts the handles of a removed adapter and their last values. The handles that still have consumers, e.g. of
+     * a data combining, are kept until their last consumer is removed, so they keep working for a later adapter with
+     * the same id.
+     */
+    public void removeAdapter(final @NotNull String adapterId) {
+        handles.computeIfPresent(adapterId, (id, adapterHandles) -> {
+            adapterHandles.values().removeIf(TagHandle::detach);
+            return adapterHandles.isEmpty() ? null : adapterHandles;
+        });
     }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.impl.polling;
+
+import static com.hivemq.protocols.ProtocolAdapterMetrics.PROTOCOL_ADAPTER_PREFIX;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hivemq.util.NanoTimeProvider;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the polls of a single protocol adapter on virtual threads.
+ * <p>
+ * The number of polls of the adapter that are executed at the same time is limited, further polls wait for a free
+ * permit on their own virtual thread. A slow or blocking device therefore only delays the polls of its own adapter.
+ * The time between the scheduling tick of a poll and the start of its execution is recorded as queue lag:
+ * <ul>
+ *     <li>{@code com.hivemq.edge.protocol-adapters.[type].[id].polling.queue-lag} - timer of the queue lag</li>
+ *     <li>{@code com.hivemq.edge.protocol-adapters.[type].[id].polling.queued} - polls waiting for a permit</li>
+ *     <li>{@code com.hivemq.edge.protocol-adapters.[type].[id].polling.running} - polls being executed</li>
+ * </ul>
+ */
+public class AdapterPollingExecutor {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(AdapterPollingExecutor.class);
+
+    private final @NotNull String adapterId;
+    private final int maxConcurrentPolls;
+    private final @NotNull MetricRegistry metricRegistry;
+    private final @NotNull NanoTimeProvider nanoTimeProvider;
+    private final @NotNull ExecutorService executorService;
+    private final @NotNull Semaphore permits;
+    private final @NotNull AtomicInteger queuedPolls = new AtomicInteger();
+    private final @NotNull Timer queueLagTimer;
+    private final @NotNull List<String> metricNames;
+
+    public AdapterPollingExecutor(
+            final @NotNull String adapterId,
+            final @NotNull String protocolId,
+            final int maxConcurrentPolls,
+            final @NotNull MetricRegistry metricRegistry,
+            final @NotNull NanoTimeProvider nanoTimeProvider) {
+        this.adapterId = adapterId;
+        this.maxConcurrentPolls = Math.max(1, maxConcurrentPolls);
+        this.metricRegistry = metricRegistry;
+        this.nanoTimeProvider = nanoTimeProvider;
+        this.executorService = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("adapter-polling-" + adapterId + "-", 0).factory());
+        this.permits = new Semaphore(this.maxConcurrentPolls);
+
+        final String prefix = PROTOCOL_ADAPTER_PREFIX + protocolId + "." + adapterId + ".polling.";
+        final String queueLagName = prefix + "queue-lag";
+        final String queuedName = prefix + "queued";
+        final String runningName = prefix + "running";
+        metricNames = List.of(queueLagName, queuedName, runningName);
+        metricNames.forEach(metricRegistry::remove);
+        queueLagTimer = metricRegistry.timer(queueLagName);
+        metricRegistry.registerGauge(queuedName, queuedPolls::get);
+        metricRegistry.registerGauge(runningName, () -> this.maxConcurrentPolls - permits.availablePermits());
+    }
+
+    /**
+     * Executes the poll on a virtual thread as soon as a permit of this adapter is available. The permit is held until
+     * the future returned by the poll completes.
+     *
+     * @param poll the poll to execute, must not throw
+     * @throws RejectedExecutionException if the executor was already shut down
+     */
+    public void execute(final @NotNull Supplier<CompletableFuture<?>> poll) {
+        final long tickNanos = nanoTimeProvider.nanoTime();
+        queuedPolls.incrementAndGet();
+        try {
+            executorService.execute(() -> runPoll(poll, tickNanos));
+        } catch (final RejectedExecutionException e) {
+            queuedPolls.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void runPoll(final @NotNull Supplier<CompletableFuture<?>> poll, final long tickNanos) {
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            // the executor is shut down, the adapter is not polled anymore
+            queuedPolls.decrementAndGet();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        queuedPolls.decrementAndGet();
+        queueLagTimer.update(nanoTimeProvider.nanoTime() - tickNanos, TimeUnit.NANOSECONDS);
+
+        final CompletableFuture<?> pollFuture;
+        try {
+            pollFuture = poll.get();
+        } catch (final Throwable t) {
+            permits.release();
+            log.warn("Unexpected error while polling protocol adapter '{}'.", adapterId, t);
+            return;
+        }
+        pollFuture.whenComplete((result, throwable) -> permits.release());
+    }
+
+    /**
+     * Interrupts the polls that are currently executed or waiting and removes the metrics of the adapter.
+     */
+    public void shutdown() {
+        executorService.shutdownNow();
+        metricNames.forEach(metricRegistry::remove);
+    }
+}
@@ -31,6 +31,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,9 +40,11 @@ import org.slf4j.LoggerFactory;
 public class PollingTask implements Runnable {
 
     private static final @NotNull Logger log = LoggerFactory.getLogger(PollingTask.class);
+    private static final long UNKNOWN = Long.MIN_VALUE;
 
     private final @NotNull ProtocolAdapterPollingSampler sampler;
     private final @NotNull ScheduledExecutorService scheduledExecutorService;
+    private final @Nullable AdapterPollingExecutor pollingExecutor;
     private final @NotNull EventService eventService;
     private final @NotNull NanoTimeProvider nanoTimeProvider;
     private final @NotNull AtomicInteger watchdogErrorCount;
@@ -49,14 +52,31 @@ public class PollingTask implements Runnable {
     private final @NotNull AtomicBoolean continueScheduling;
     private final @NotNull AtomicReference<ScheduledFuture<?>> currentScheduledFuture;
     private volatile long nanosOfLastPolling;
+    // the time the next poll is due, unknown for the first poll that is scheduled by the polling service
+    private volatile long nanosOfNextPoll = UNKNOWN;
 
     public PollingTask(
             final @NotNull ProtocolAdapterPollingSampler sampler,
             final @NotNull ScheduledExecutorService scheduledExecutorService,
             final @NotNull EventService eventService,
             final @NotNull NanoTimeProvider nanoTimeProvider) {
+        this(sampler, scheduledExecutorService, null, eventService, nanoTimeProvider);
+    }
+
+    /**
+     * @param scheduledExecutorService the executor for the scheduling ticks
+     * @param pollingExecutor          the executor of the adapter the polls are executed on, if null the polls are
+     *                                 executed directly in the scheduling tick
+     */
+    public PollingTask(
+            final @NotNull ProtocolAdapterPollingSampler sampler,
+            final @NotNull ScheduledExecutorService scheduledExecutorService,
+            final @Nullable AdapterPollingExecutor pollingExecutor,
+            final @NotNull EventService eventService,
+            final @NotNull NanoTimeProvider nanoTimeProvider) {
         this.sampler = sampler;
         this.scheduledExecutorService = scheduledExecutorService;
+        this.pollingExecutor = pollingExecutor;
         this.eventService = eventService;
         this.nanoTimeProvider = nanoTimeProvider;
         this.watchdogErrorCount = new AtomicInteger();
@@ -76,11 +96,30 @@ public class PollingTask implements Runnable {
 
     @Override
     public void run() {
+        nanosOfLastPolling = nanoTimeProvider.nanoTime();
+        if (!continueScheduling.get()) {
+            return;
+        }
+        final long dueNanos = nanosOfNextPoll;
+        if (pollingExecutor == null) {
+            poll(dueNanos);
+            return;
+        }
         try {
-            nanosOfLastPolling = nanoTimeProvider.nanoTime();
-            if (!continueScheduling.get()) {
-                return;
+            pollingExecutor.execute(() -> poll(dueNanos));
+        } catch (final RejectedExecutionException e) {
+            // the polling of the adapter was stopped in the meantime
+            if (continueScheduling.get()) {
+                handleExceptionDuringPolling(e);
             }
+        }
+    }
+
+    private @NotNull CompletableFuture<?> poll(final long dueNanos) {
+        if (dueNanos != UNKNOWN) {
+            sampler.getLatencyMetrics().recordScheduleLag(nanoTimeProvider.nanoTime() - dueNanos);
+        }
+        try {
             final CompletableFuture<?> localExecutionFuture = sampler.execute()
                     .orTimeout(
                             InternalConfigurations.ADAPTER_RUNTIME_JOB_EXECUTION_TIMEOUT_MILLIS.get(),
@@ -97,10 +136,12 @@ public class PollingTask implements Runnable {
                     }
                 }
             });
+            return localExecutionFuture;
         } catch (final Throwable t) {
             // the sampler shouldn't throw a exception, but better safe than sorry as we might to miss rescheduling the
             // task otherwise.
             handleExceptionDuringPolling(t);
+            return CompletableFuture.completedFuture(null);
         }
     }
 
@@ -182,7 +223,8 @@ public class PollingTask implements Runnable {
     }
 
     private void reschedule(final int errorCountTotal) {
-        final long pollDuration = TimeUnit.NANOSECONDS.toMillis(nanoTimeProvider.nanoTime() - nanosOfLastPolling);
+        final long nowNanos = nanoTimeProvider.nanoTime();
+        final long pollDuration = TimeUnit.NANOSECONDS.toMillis(nowNanos - nanosOfLastPolling);
         final long delayInMillis = sampler.getPeriod() - pollDuration;
         // a negative delay means that the last polling attempt took longer to be processed than the specified delay
         // between polls
@@ -201,13 +243,15 @@ public class PollingTask implements Runnable {
         }
 
         final long nonNegativeDelay = Math.max(0, delayInMillis);
+        final long effectiveDelay;
         if (errorCountTotal == 0) {
-            schedule(nonNegativeDelay);
+            effectiveDelay = nonNegativeDelay;
         } else {
             final long backoff = getBackoff(errorCountTotal);
-            final long effectiveDelay = Math.max(nonNegativeDelay, backoff);
-            schedule(effectiveDelay);
+            effectiveDelay = Math.max(nonNegativeDelay, backoff);
         }
+        nanosOfNextPoll = nowNanos + TimeUnit.MILLISECONDS.toNanos(effectiveDelay);
+        schedule(effectiveDelay);
     }
 
     @VisibleForTesting
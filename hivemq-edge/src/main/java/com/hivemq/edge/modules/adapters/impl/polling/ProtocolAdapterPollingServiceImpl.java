@@ -15,10 +15,12 @@
  */
 package com.hivemq.edge.modules.adapters.impl.polling;
 
+import com.codahale.metrics.MetricRegistry;
 import com.hivemq.adapter.sdk.api.ProtocolAdapter;
 import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.common.shutdown.HiveMQShutdownHook;
 import com.hivemq.common.shutdown.ShutdownHooks;
+import com.hivemq.configuration.service.InternalConfigurations;
 import com.hivemq.edge.modules.api.adapters.ProtocolAdapterPollingSampler;
 import com.hivemq.edge.modules.api.adapters.ProtocolAdapterPollingService;
 import com.hivemq.util.NanoTimeProvider;
@@ -33,6 +35,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Schedules the polling of the protocol adapters.
+ * <p>
+ * The shared scheduled executor is only used for the scheduling ticks. The polls themselves are executed on the virtual
+ * threads of an {@link AdapterPollingExecutor} per adapter, so blocking polls of one adapter can't delay the polls of
+ * other adapters.
+ *
  * @author Daniel Krüger
  */
 @Singleton
@@ -44,24 +52,36 @@ public class ProtocolAdapterPollingServiceImpl implements ProtocolAdapterPolling
     private final @NotNull ScheduledExecutorService scheduledExecutorService;
     private final @NotNull EventService eventService;
     private final @NotNull NanoTimeProvider nanoTimeProvider;
+    private final @NotNull MetricRegistry metricRegistry;
     private final @NotNull Map<ProtocolAdapterPollingSampler, PollingTask> samplerToTask = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, AdapterPollingExecutor> adapterIdToPollingExecutor = new ConcurrentHashMap<>();
 
     @Inject
     public ProtocolAdapterPollingServiceImpl(
             final @NotNull ScheduledExecutorService scheduledExecutorService,
             final @NotNull ShutdownHooks shutdownHooks,
             final @NotNull EventService eventService,
-            final @NotNull NanoTimeProvider nanoTimeProvider) {
+            final @NotNull NanoTimeProvider nanoTimeProvider,
+            final @NotNull MetricRegistry metricRegistry) {
         this.scheduledExecutorService = scheduledExecutorService;
         this.eventService = eventService;
         this.nanoTimeProvider = nanoTimeProvider;
+        this.metricRegistry = metricRegistry;
         shutdownHooks.add(new Shutdown());
     }
 
     @Override
     public void schedulePolling(final @NotNull ProtocolAdapterPollingSampler sampler) {
+        final AdapterPollingExecutor pollingExecutor = adapterIdToPollingExecutor.computeIfAbsent(
+                sampler.getAdapterId(),
+                adapterId -> new AdapterPollingExecutor(
+                        adapterId,
+                        sampler.getProtocolId(),
+                        InternalConfigurations.ADAPTER_RUNTIME_MAX_CONCURRENT_POLLS_PER_ADAPTER.get(),
+                        metricRegistry,
+                        nanoTimeProvider));
         final PollingTask pollingTask =
-                new PollingTask(sampler, scheduledExecutorService, eventService, nanoTimeProvider);
+                new PollingTask(sampler, scheduledExecutorService, pollingExecutor, eventService, nanoTimeProvider);
         scheduledExecutorService.schedule(pollingTask, sampler.getInitialDelay(), sampler.getUnit());
         samplerToTask.put(sampler, pollingTask);
     }
@@ -71,6 +91,10 @@ public class ProtocolAdapterPollingServiceImpl implements ProtocolAdapterPolling
         samplerToTask.keySet().stream()
                 .filter(p -> p.getAdapterId().equals(adapter.getId()))
                 .forEach(this::stopPolling);
+        final AdapterPollingExecutor pollingExecutor = adapterIdToPollingExecutor.remove(adapter.getId());
+        if (pollingExecutor != null) {
+            pollingExecutor.shutdown();
+        }
     }
 
     private void stopPolling(final @NotNull ProtocolAdapterPollingSampler sampler) {
@@ -82,6 +106,8 @@ public class ProtocolAdapterPollingServiceImpl implements ProtocolAdapterPolling
 
     public void stopAllPolling() {
         samplerToTask.keySet().forEach(this::stopPolling);
+        adapterIdToPollingExecutor.values().forEach(AdapterPollingExecutor::shutdown);
+        adapterIdToPollingExecutor.clear();
     }
 
     private class Shutdown implements HiveMQShutdownHook {
@@ -16,6 +16,7 @@
 package com.hivemq.edge.modules.adapters.metrics;
 
 import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
+import org.jetbrains.annotations.NotNull;
 
 public interface InternalProtocolAdapterMetricsService extends ProtocolAdapterMetricsService {
 
@@ -23,4 +24,16 @@ public interface InternalProtocolAdapterMetricsService extends ProtocolAdapterMe
      * Removes all metrics created via this service for the adapter.
      */
     void clearAll();
+
+    /**
+     * @return the latency histograms of the northbound pipeline of the adapter
+     */
+    @NotNull
+    ProtocolAdapterLatencyMetrics getLatencyMetrics();
+
+    /**
+     * @return the metrics of the southbound writes of the mapping for the tag
+     */
+    @NotNull
+    ProtocolAdapterWriteMetrics getWriteMetrics(@NotNull String tagName);
 }
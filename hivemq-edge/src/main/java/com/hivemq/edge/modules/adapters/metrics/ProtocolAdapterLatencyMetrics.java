@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.metrics;
+
+import com.codahale.metrics.LockFreeExponentiallyDecayingReservoir;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Latency histograms of the stages of the northbound pipeline of a single protocol adapter:
+ * <ul>
+ *     <li>{@code latency.schedule-lag} - from the time a poll was due until the adapter is asked to read</li>
+ *     <li>{@code latency.device-read} - from asking the adapter to read until the read result is available</li>
+ *     <li>{@code latency.datapoint-to-publish} - from the creation of a data point until its publish is sent</li>
+ *     <li>{@code latency.publish-to-queue} - from sending the publish until it is queued for the subscribers</li>
+ * </ul>
+ * The timers use lock free reservoirs, so recording a latency never blocks the pipeline.
+ */
+public class ProtocolAdapterLatencyMetrics {
+
+    /**
+     * Latency metrics that are not registered and discard all values, e.g. for adapters without a metrics service.
+     */
+    public static final @NotNull ProtocolAdapterLatencyMetrics NOOP = new ProtocolAdapterLatencyMetrics();
+
+    static final @NotNull String SCHEDULE_LAG = "latency.schedule-lag";
+    static final @NotNull String DEVICE_READ = "latency.device-read";
+    static final @NotNull String DATAPOINT_TO_PUBLISH = "latency.datapoint-to-publish";
+    static final @NotNull String PUBLISH_TO_QUEUE = "latency.publish-to-queue";
+
+    private final @Nullable Timer scheduleLag;
+    private final @Nullable Timer deviceRead;
+    private final @Nullable Timer dataPointToPublish;
+    private final @Nullable Timer publishToQueue;
+
+    /**
+     * @param namespace creates the full metric name in the namespace of the adapter for a stage
+     */
+    public ProtocolAdapterLatencyMetrics(
+            final @NotNull MetricRegistry metricRegistry, final @NotNull UnaryOperator<String> namespace) {
+        this.scheduleLag = createTimer(metricRegistry, namespace.apply(SCHEDULE_LAG));
+        this.deviceRead = createTimer(metricRegistry, namespace.apply(DEVICE_READ));
+        this.dataPointToPublish = createTimer(metricRegistry, namespace.apply(DATAPOINT_TO_PUBLISH));
+        this.publishToQueue = createTimer(metricRegistry, namespace.apply(PUBLISH_TO_QUEUE));
+    }
+
+    private ProtocolAdapterLatencyMetrics() {
+        this.scheduleLag = null;
+        this.deviceRead = null;
+        this.dataPointToPublish = null;
+        this.publishToQueue = null;
+    }
+
+    /**
+     * @return the latency metrics of the adapter the metrics service belongs to, or {@link #NOOP} if the service does
+     *         not provide latency metrics
+     */
+    public static @NotNull ProtocolAdapterLatencyMetrics of(
+            final @NotNull ProtocolAdapterMetricsService metricsService) {
+        if (metricsService instanceof final InternalProtocolAdapterMetricsService internalMetricsService) {
+            return internalMetricsService.getLatencyMetrics();
+        }
+        return NOOP;
+    }
+
+    static @NotNull Timer createTimer(
+            final @NotNull MetricRegistry metricRegistry, final @NotNull String name) {
+        return metricRegistry.timer(name, () -> new Timer(LockFreeExponentiallyDecayingReservoir.builder().build()));
+    }
+
+    public void recordScheduleLag(final long nanos) {
+        record(scheduleLag, nanos);
+    }
+
+    public void recordDeviceRead(final long nanos) {
+        record(deviceRead, nanos);
+    }
+
+    public void recordDataPointToPublish(final long nanos) {
+        record(dataPointToPublish, nanos);
+    }
+
+    public void recordPublishToQueue(final long nanos) {
+        record(publishToQueue, nanos);
+    }
+
+    private static void record(final @Nullable Timer timer, final long nanos) {
+        // a negative latency can only be caused by a wrong start time, it would distort the histogram
+        if (timer != null && nanos >= 0) {
+            timer.update(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -46,6 +46,7 @@ public class ProtocolAdapterMetricsServiceImpl implements InternalProtocolAdapte
     private final @NotNull Counter publishWriteFailedCounter;
     private final @NotNull Counter connectionSuccessCounter;
     private final @NotNull Counter connectionFailedCounter;
+    private final @NotNull ProtocolAdapterLatencyMetrics latencyMetrics;
 
     public ProtocolAdapterMetricsServiceImpl(
             final @NotNull String protocolAdapterType,
@@ -69,6 +70,7 @@ public class ProtocolAdapterMetricsServiceImpl implements InternalProtocolAdapte
                 metricRegistry.counter(createAdapterMetricsNamespace("connection." + SUCCESS_COUNT));
         this.connectionFailedCounter =
                 metricRegistry.counter(createAdapterMetricsNamespace("connection." + FAILED_COUNT));
+        this.latencyMetrics = new ProtocolAdapterLatencyMetrics(metricRegistry, this::createAdapterMetricsNamespace);
     }
 
     /**
@@ -124,6 +126,20 @@ public class ProtocolAdapterMetricsServiceImpl implements InternalProtocolAdapte
         metricRegistry.counter(createAdapterMetricsNamespace(metricName)).inc();
     }
 
+    @Override
+    public @NotNull ProtocolAdapterLatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
+
+    @Override
+    public @NotNull ProtocolAdapterWriteMetrics getWriteMetrics(final @NotNull String tagName) {
+        Preconditions.checkNotNull(tagName);
+        return new ProtocolAdapterWriteMetrics(
+                metricRegistry,
+                suffix -> createAdapterMetricsNamespace(
+                        ProtocolAdapterWriteMetrics.WRITE_MAPPING_PREFIX + tagName + "." + suffix));
+    }
+
     /**
      * Will clear down all metrics in the registry created by this metrics helper.
      * NB: metrics created outside the context of this helper will not be touched.
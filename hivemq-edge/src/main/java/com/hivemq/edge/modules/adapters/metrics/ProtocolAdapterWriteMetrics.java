@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Metrics of the southbound writes of a single mapping of a protocol adapter:
+ * <ul>
+ *     <li>{@code write.mapping.<tag>.latency} - from receiving the MQTT message until the write is confirmed</li>
+ *     <li>{@code write.mapping.<tag>.dropped.count} - messages superseded by a newer message before being written</li>
+ *     <li>{@code write.mapping.<tag>.failed.count} - messages that could not be converted or written</li>
+ * </ul>
+ */
+public class ProtocolAdapterWriteMetrics {
+
+    /**
+     * Write metrics that are not registered and discard all values, e.g. for adapters without a metrics service.
+     */
+    public static final @NotNull ProtocolAdapterWriteMetrics NOOP = new ProtocolAdapterWriteMetrics();
+
+    static final @NotNull String WRITE_MAPPING_PREFIX = "write.mapping.";
+
+    private final @Nullable Timer latency;
+    private final @Nullable Counter dropped;
+    private final @Nullable Counter failed;
+
+    /**
+     * @param namespace creates the full metric name in the namespace of the mapping
+     */
+    public ProtocolAdapterWriteMetrics(
+            final @NotNull MetricRegistry metricRegistry, final @NotNull UnaryOperator<String> namespace) {
+        this.latency = ProtocolAdapterLatencyMetrics.createTimer(metricRegistry, namespace.apply("latency"));
+        this.dropped = metricRegistry.counter(namespace.apply("dropped.count"));
+        this.failed = metricRegistry.counter(namespace.apply("failed.count"));
+    }
+
+    private ProtocolAdapterWriteMetrics() {
+        this.latency = null;
+        this.dropped = null;
+        this.failed = null;
+    }
+
+    /**
+     * @return the write metrics of the mapping for the tag, or {@link #NOOP} if the service does not provide write
+     *         metrics
+     */
+    public static @NotNull ProtocolAdapterWriteMetrics of(
+            final @NotNull ProtocolAdapterMetricsService metricsService, final @NotNull String tagName) {
+        if (metricsService instanceof final InternalProtocolAdapterMetricsService internalMetricsService) {
+            return internalMetricsService.getWriteMetrics(tagName);
+        }
+        return NOOP;
+    }
+
+    public void recordLatency(final long nanos) {
+        if (latency != null && nanos >= 0) {
+            latency.update(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void incrementDropped() {
+        if (dropped != null) {
+            dropped.inc();
+        }
+    }
+
+    public void incrementFailed() {
+        if (failed != null) {
+            failed.inc();
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package com.hivemq.edge.modules.api.adapters;
 
 import com.hivemq.adapter.sdk.api.ProtocolAdapter;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterLatencyMetrics;
 import java.util.Date;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -79,4 +80,8 @@ public interface ProtocolAdapterPollingSampler {
 
     @NotNull
     ProtocolAdapter getAdapter();
+
+    default @NotNull ProtocolAdapterLatencyMetrics getLatencyMetrics() {
+        return ProtocolAdapterLatencyMetrics.NOOP;
+    }
 }
@@ -26,4 +26,12 @@ public interface EventStore {
 
     @NotNull
     List<Event> readEvents(@Nullable Long since, @Nullable Integer limit);
+
+    /**
+     * Registers a listener that is notified of every event stored after the registration, on the thread storing it.
+     * Stores that do not support listeners ignore the registration, so the listener is never notified.
+     */
+    default void addListener(final @NotNull EventListener listener) {}
+
+    default void removeListener(final @NotNull EventListener listener) {}
 }
@@ -19,6 +19,7 @@ import static com.hivemq.protocols.ProtocolAdapterMetrics.PROTOCOL_ADAPTER_PREFI
 
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 
 /**
  * This class holds a constant {@link HiveMQMetric} for every metric which is provided by HiveMQ
@@ -137,6 +138,13 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Gauge<Number>> RETAINED_MESSAGES_MEMORY_PERSISTENCE_TOTAL_SIZE =
             HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "persistence.retained-messages.in-memory.total-size");
 
+    /**
+     * represents a {@link Gauge}, which measures the number of retained messages with a pending message expiry if the
+     * memory persistence is used.
+     */
+    public static final HiveMQMetric<Gauge<Number>> RETAINED_MESSAGES_MEMORY_PERSISTENCE_PENDING_EXPIRATIONS =
+            HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "persistence.retained-messages.in-memory.pending-expirations");
+
     /**
      * represents a {@link Gauge}, which measures the approximate memory usage of the subscription persistence if
      * the memory persistence is used.
@@ -151,6 +159,13 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Gauge<Number>> CLIENT_SESSIONS_MEMORY_PERSISTENCE_TOTAL_SIZE =
             HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "persistence.client-sessions.in-memory.total-size");
 
+    /**
+     * represents a {@link Gauge}, which measures the number of disconnected client sessions with a pending session
+     * expiry if the memory persistence is used.
+     */
+    public static final HiveMQMetric<Gauge<Number>> CLIENT_SESSIONS_MEMORY_PERSISTENCE_PENDING_EXPIRATIONS =
+            HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "persistence.client-sessions.in-memory.pending-expirations");
+
     /**
      * represents a {@link Gauge}, which measures the approximate memory usage of the queued message persistence if
      * the memory persistence is used.
@@ -158,6 +173,13 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Gauge<Number>> QUEUED_MESSAGES_MEMORY_PERSISTENCE_TOTAL_SIZE =
             HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "persistence.queued-messages.in-memory.total-size");
 
+    /**
+     * represents a {@link Gauge}, which measures the size of the live records of the queued message persistence if
+     * the built-in file persistence is used.
+     */
+    public static final HiveMQMetric<Gauge<Number>> QUEUED_MESSAGES_FILE_PERSISTENCE_TOTAL_SIZE =
+            HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "persistence.queued-messages.file.total-size");
+
     /**
      * represents a {@link Counter} for the number of MQTT client channels which are currently not writable.
      */
@@ -211,4 +233,22 @@ public class HiveMQMetrics {
      */
     public static final HiveMQMetric<Gauge<Number>> ASSET_MAPPERS_COUNT_CURRENT =
             HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "pulse.asset-mappers.current");
+
+    /**
+     * represents a {@link Timer}, which measures the time from submitting the data governance policies of a publish
+     * until they have been executed, including the time the execution was queued
+     *
+     * @since 2026.12
+     */
+    public static final HiveMQMetric<Timer> DATA_GOVERNANCE_POLICY_TIME =
+            HiveMQMetric.valueOf(HIVEMQ_PREFIX + "data-governance.policy.time", Timer.class);
+
+    /**
+     * represents a {@link Gauge}, which holds the current number of publishes whose data governance policies are
+     * queued or executing
+     *
+     * @since 2026.12
+     */
+    public static final HiveMQMetric<Gauge<Number>> DATA_GOVERNANCE_POLICIES_PENDING =
+            HiveMQMetric.gaugeValue(HIVEMQ_PREFIX + "data-governance.policies.pending.current");
 }
@@ -33,7 +33,6 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
@@ -43,8 +42,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A topic tree implementation which works with a standard read write lock with fairness guarantees. Either the whole
- * tree is locked or unlocked.
+ * A topic tree implementation with lock-free lookups.
+ * <p>
+ * Modifications of the tree are serialized per first topic level (segment) by a striped lock. Lookups don't take any
+ * lock: the nodes never modify a child or subscriber array that was already published but publish a modified copy
+ * instead, and the larger indexes are concurrent maps. A lookup therefore always sees a consistent state of every node
+ * it visits, modifications that happen concurrently to a lookup may or may not be visible to it.
  */
 @Singleton
 public class LocalTopicTree {
@@ -53,7 +56,7 @@ public class LocalTopicTree {
 
     final CopyOnWriteArrayList<SubscriberWithQoS> rootWildcardSubscribers = new CopyOnWriteArrayList<>();
 
-    private final @NotNull Striped<ReadWriteLock> segmentLocks;
+    private final @NotNull Striped<Lock> segmentLocks;
 
     @VisibleForTesting
     final SubscriptionCounters counters;
@@ -69,7 +72,7 @@ public class LocalTopicTree {
         counters = new SubscriptionCounters(metricsHolder.getSubscriptionCounter());
         mapCreationThreshold = TOPIC_TREE_MAP_CREATION_THRESHOLD.get();
 
-        segmentLocks = Striped.readWriteLock(64);
+        segmentLocks = Striped.lock(64);
     }
 
     public boolean addTopic(
@@ -114,7 +117,7 @@ public class LocalTopicTree {
 
         final String segmentKey = contents[0];
 
-        final Lock lock = segmentLocks.get(segmentKey).writeLock();
+        final Lock lock = segmentLocks.get(segmentKey);
 
         lock.lock();
         try {
@@ -202,33 +205,17 @@ public class LocalTopicTree {
         }
 
         final String[] topicPart = StringUtils.splitPreserveAllTokens(topic, '/');
-        final String segmentKey = topicPart[0];
-
-        final Lock lock = segmentLocks.get(segmentKey).readLock();
-        lock.lock();
 
-        try {
-            final TopicTreeNode firstSegmentNode = segments.get(segmentKey);
-            if (firstSegmentNode != null) {
-                traverseTree(firstSegmentNode, subscriberAndTopicConsumer, topicPart, 0);
-            }
-        } finally {
-            lock.unlock();
+        final TopicTreeNode firstSegmentNode = segments.get(topicPart[0]);
+        if (firstSegmentNode != null) {
+            traverseTree(firstSegmentNode, subscriberAndTopicConsumer, topicPart, 0);
         }
 
         // We now have to traverse the wildcard node if something matches here
         if (!excludeRootLevelWildcard) {
-
-            final Lock wildcardLock = segmentLocks.get("+").readLock();
-            wildcardLock.lock();
-
-            try {
-                final TopicTreeNode firstSegmentNode = segments.get("+");
-                if (firstSegmentNode != null) {
-                    traverseTree(firstSegmentNode, subscriberAndTopicConsumer, topicPart, 0);
-                }
-            } finally {
-                wildcardLock.unlock();
+            final TopicTreeNode wildcardSegmentNode = segments.get("+");
+            if (wildcardSegmentNode != null) {
+                traverseTree(wildcardSegmentNode, subscriberAndTopicConsumer, topicPart, 0);
             }
         }
     }
@@ -324,54 +311,38 @@ public class LocalTopicTree {
         if (end) {
             subscriberAndTopicConsumer.acceptNonRootState(node.exactSubscriptions);
         } else {
-            if (getChildrenCount(node) == 0) {
+            final int nextDepth = depth + 1;
+
+            // The array has to be read before the index, because the index is published before the array is dropped
+            final TopicTreeNode[] children = node.getChildren();
+            if (children != null) {
+                for (final TopicTreeNode childNode : children) {
+                    if (childNode != null) {
+                        traverseTree(childNode, subscriberAndTopicConsumer, topicPart, nextDepth);
+                    }
+                }
                 return;
             }
 
-            final int nextDepth = depth + 1;
-
             // if the node has an index, we can just use the index instead of traversing the whole node set
-            if (node.getChildrenMap() != null) {
+            final Map<String, TopicTreeNode> childrenMap = node.getChildrenMap();
+            if (childrenMap != null) {
 
                 // Get the exact node by the index
-                final TopicTreeNode matchingChildNode = getIndexForChildNode(topicPart[nextDepth], node);
+                final TopicTreeNode matchingChildNode = childrenMap.get(topicPart[nextDepth]);
                 if (matchingChildNode != null) {
-                    traverseTree(matchingChildNode, subscriberAndTopicConsumer, topicPart, depth + 1);
+                    traverseTree(matchingChildNode, subscriberAndTopicConsumer, topicPart, nextDepth);
                 }
 
                 // We also need to check if there is a wildcard node
-                final TopicTreeNode matchingWildcardNode = getIndexForChildNode("+", node);
+                final TopicTreeNode matchingWildcardNode = childrenMap.get("+");
                 if (matchingWildcardNode != null) {
                     traverseTree(matchingWildcardNode, subscriberAndTopicConsumer, topicPart, nextDepth);
                 }
-                // We can return without any further recursion because we found all matching nodes
-                return;
-            }
-
-            // The children are stored as array
-            final TopicTreeNode[] children = node.getChildren();
-            if (children == null) {
-                return;
-            }
-
-            for (final TopicTreeNode childNode : children) {
-                if (childNode != null) {
-                    traverseTree(childNode, subscriberAndTopicConsumer, topicPart, nextDepth);
-                }
             }
         }
     }
 
-    private static @Nullable TopicTreeNode getIndexForChildNode(
-            final @NotNull String key, final @NotNull TopicTreeNode node) {
-
-        final Map<String, TopicTreeNode> childrenMap = node.getChildrenMap();
-        if (childrenMap == null) {
-            return null;
-        }
-        return childrenMap.get(key);
-    }
-
     /* ***************************************
        Subscriber Removal for all nodes
     ****************************************/
@@ -398,7 +369,6 @@ public class LocalTopicTree {
         return !foundSubscriberList.isEmpty();
     }
 
-    @SuppressWarnings("ReferenceEquality") // intentional identity check for node lookup in array
     public void removeSubscriber(
             final @NotNull String subscriber, final @NotNull String topic, final @Nullable String sharedName) {
 
@@ -423,7 +393,7 @@ public class LocalTopicTree {
 
         final TopicTreeNode[] nodes = new TopicTreeNode[topicPart.length];
         final String segmentKey = topicPart[0];
-        final Lock lock = segmentLocks.get(segmentKey).writeLock();
+        final Lock lock = segmentLocks.get(segmentKey);
         lock.lock();
         try {
             // The segment doesn't exist, we can abort
@@ -464,20 +434,7 @@ public class LocalTopicTree {
                         if (parent == null) {
                             parent = segmentNode;
                         }
-                        final TopicTreeNode[] childrenOfParent = parent.getChildren();
-                        if (childrenOfParent != null) {
-                            for (int j = 0; j < childrenOfParent.length; j++) {
-                                if (childrenOfParent[j] == node) {
-                                    childrenOfParent[j] = null;
-                                }
-                            }
-                        } else if (parent.getChildrenMap() != null) {
-                            final TopicTreeNode childOfParent =
-                                    parent.getChildrenMap().get(node.getTopicPart());
-                            if (childOfParent == node) {
-                                parent.getChildrenMap().remove(childOfParent.getTopicPart());
-                            }
-                        }
+                        parent.removeChildNode(node);
                     }
                 }
             }
@@ -600,33 +557,17 @@ public class LocalTopicTree {
         }
 
         final String[] topicPart = StringUtils.splitPreserveAllTokens(topic, '/');
-        final String segmentKey = topicPart[0];
-
-        final Lock lock = segmentLocks.get(segmentKey).readLock();
-        lock.lock();
 
-        try {
-            final TopicTreeNode firstSegmentNode = segments.get(segmentKey);
-            if (firstSegmentNode != null) {
-                traverseTreeWithFilter(firstSegmentNode, subscribers, topicPart, 0, itemFilter);
-            }
-        } finally {
-            lock.unlock();
+        final TopicTreeNode firstSegmentNode = segments.get(topicPart[0]);
+        if (firstSegmentNode != null) {
+            traverseTreeWithFilter(firstSegmentNode, subscribers, topicPart, 0, itemFilter);
         }
 
         // We now have to traverse the wildcard node if something matches here
         if (!excludeRootLevelWildcard) {
-
-            final Lock wildcardLock = segmentLocks.get("+").readLock();
-            wildcardLock.lock();
-
-            try {
-                final TopicTreeNode firstSegmentNode = segments.get("+");
-                if (firstSegmentNode != null) {
-                    traverseTreeWithFilter(firstSegmentNode, subscribers, topicPart, 0, itemFilter);
-                }
-            } finally {
-                wildcardLock.unlock();
+            final TopicTreeNode wildcardSegmentNode = segments.get("+");
+            if (wildcardSegmentNode != null) {
+                traverseTreeWithFilter(wildcardSegmentNode, subscribers, topicPart, 0, itemFilter);
             }
         }
 
@@ -650,40 +591,34 @@ public class LocalTopicTree {
         if (end) {
             node.exactSubscriptions.populateWithSubscriberNamesUsingFilter(itemFilter, subscribers);
         } else {
-            if (getChildrenCount(node) == 0) {
+            final int nextDepth = depth + 1;
+
+            // The array has to be read before the index, because the index is published before the array is dropped
+            final TopicTreeNode[] children = node.getChildren();
+            if (children != null) {
+                for (final TopicTreeNode childNode : children) {
+                    if (childNode != null) {
+                        traverseTreeWithFilter(childNode, subscribers, topicPart, nextDepth, itemFilter);
+                    }
+                }
                 return;
             }
 
-            final int nextDepth = depth + 1;
-
             // if the node has an index, we can just use the index instead of traversing the whole node set
-            if (node.getChildrenMap() != null) {
+            final Map<String, TopicTreeNode> childrenMap = node.getChildrenMap();
+            if (childrenMap != null) {
 
                 // Get the exact node by the index
-                final TopicTreeNode matchingChildNode = getIndexForChildNode(topicPart[nextDepth], node);
+                final TopicTreeNode matchingChildNode = childrenMap.get(topicPart[nextDepth]);
                 if (matchingChildNode != null) {
                     traverseTreeWithFilter(matchingChildNode, subscribers, topicPart, nextDepth, itemFilter);
                 }
 
                 // We also need to check if there is a wildcard node
-                final TopicTreeNode matchingWildcardNode = getIndexForChildNode("+", node);
+                final TopicTreeNode matchingWildcardNode = childrenMap.get("+");
                 if (matchingWildcardNode != null) {
                     traverseTreeWithFilter(matchingWildcardNode, subscribers, topicPart, nextDepth, itemFilter);
                 }
-                // We can return without any further recursion because we found all matching nodes
-                return;
-            }
-
-            // The children are stored as array
-            final TopicTreeNode[] children = node.getChildren();
-            if (children == null) {
-                return;
-            }
-
-            for (final TopicTreeNode childNode : children) {
-                if (childNode != null) {
-                    traverseTreeWithFilter(childNode, subscribers, topicPart, nextDepth, itemFilter);
-                }
             }
         }
     }
@@ -711,57 +646,46 @@ public class LocalTopicTree {
         }
 
         final String[] contents = StringUtils.splitPreserveAllTokens(topicFilter, '/');
-        final String firstSegment = contents[0];
-        final Lock lock = segmentLocks.get(firstSegment).readLock();
-        lock.lock();
-        try {
-            TopicTreeNode node = segments.get(firstSegment);
+        TopicTreeNode node = segments.get(contents[0]);
+        if (node == null) {
+            return subscribers.build();
+        }
+
+        for (int i = 1; i < contents.length; i++) {
+            if ("#".equals(contents[i])) {
+                break;
+            }
+
+            node = getChildNode(node, contents[i]);
             if (node == null) {
+                // No matching node in the topic tree
                 return subscribers.build();
             }
+        }
 
-            contentLoop:
-            for (int i = 1; i < contents.length; i++) {
-                if ("#".equals(contents[i])) {
-                    break;
-                }
-
-                if (node.getChildren() == null && node.getChildrenMap() == null) {
-                    // No matching node in the topic tree
-                    return subscribers.build();
-                }
+        if ("#".equals(contents[contents.length - 1])) {
+            node.wildcardSubscriptions.populateWithSubscribersUsingFilter(itemFilter, subscribers);
+        } else {
+            node.exactSubscriptions.populateWithSubscribersUsingFilter(itemFilter, subscribers);
+        }
+        return subscribers.build();
+    }
 
-                final TopicTreeNode[] children = node.getChildren();
-                if (children != null) {
-                    for (final TopicTreeNode child : children) {
-                        if (child != null && child.getTopicPart().equals(contents[i])) {
-                            node = child;
-                            continue contentLoop;
-                        }
-                        // No matching node in the topic tree
-                    }
-                } else if (node.getChildrenMap() != null) {
+    private static @Nullable TopicTreeNode getChildNode(
+            final @NotNull TopicTreeNode node, final @NotNull String topicPart) {
 
-                    for (final TopicTreeNode child : node.getChildrenMap().values()) {
-                        if (child != null && child.getTopicPart().equals(contents[i])) {
-                            node = child;
-                            continue contentLoop;
-                        }
-                        // No matching node in the topic tree
-                    }
+        // The array has to be read before the index, because the index is published before the array is dropped
+        final TopicTreeNode[] children = node.getChildren();
+        if (children != null) {
+            for (final TopicTreeNode child : children) {
+                if (child != null && child.getTopicPart().equals(topicPart)) {
+                    return child;
                 }
-                return subscribers.build();
-            }
-
-            if ("#".equals(contents[contents.length - 1])) {
-                node.wildcardSubscriptions.populateWithSubscribersUsingFilter(itemFilter, subscribers);
-            } else {
-                node.exactSubscriptions.populateWithSubscribersUsingFilter(itemFilter, subscribers);
             }
-            return subscribers.build();
-        } finally {
-            lock.unlock();
+            return null;
         }
+        final Map<String, TopicTreeNode> childrenMap = node.getChildrenMap();
+        return childrenMap != null ? childrenMap.get(topicPart) : null;
     }
 
     private void addAfterCallback(
@@ -812,15 +736,12 @@ public class LocalTopicTree {
     public static int getChildrenCount(final @NotNull TopicTreeNode node) {
         checkNotNull(node, "Node must not be null");
 
-        // If the node has a children map instead of the array, we don't need to count
-        if (node.childrenMap != null) {
-            return node.childrenMap.size();
-        }
-
         final TopicTreeNode[] children = node.getChildren();
 
         if (children == null) {
-            return 0;
+            // If the node has a children map instead of the array, we don't need to count
+            final Map<String, TopicTreeNode> childrenMap = node.getChildrenMap();
+            return childrenMap != null ? childrenMap.size() : 0;
         }
 
         int count = 0;
@@ -870,14 +791,20 @@ public class LocalTopicTree {
 
             sharedSubscriptionsBuilder.addAll(matchingNodeSubscriptions.sharedSubscribersMap.keySet());
 
-            if (matchingNodeSubscriptions.nonSharedSubscribersMap != null) {
-                subscribersBuilder.addAll(matchingNodeSubscriptions.nonSharedSubscribersMap.values());
-            } else if (matchingNodeSubscriptions.nonSharedSubscribersArray != null) {
-                for (final SubscriberWithQoS exactSubscriber : matchingNodeSubscriptions.nonSharedSubscribersArray) {
+            // The array has to be read before the index, because the index is published before the array is dropped
+            final SubscriberWithQoS[] nonSharedSubscribersArray = matchingNodeSubscriptions.nonSharedSubscribersArray;
+            if (nonSharedSubscribersArray != null) {
+                for (final SubscriberWithQoS exactSubscriber : nonSharedSubscribersArray) {
                     if (exactSubscriber != null) {
                         subscribersBuilder.add(exactSubscriber);
                     }
                 }
+            } else {
+                final Map<String, SubscriberWithQoS> nonSharedSubscribersMap =
+                        matchingNodeSubscriptions.nonSharedSubscribersMap;
+                if (nonSharedSubscribersMap != null) {
+                    subscribersBuilder.addAll(nonSharedSubscribersMap.values());
+                }
             }
         }
 
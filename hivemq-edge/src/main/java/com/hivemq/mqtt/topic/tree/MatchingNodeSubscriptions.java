@@ -20,27 +20,33 @@ import com.google.common.collect.ImmutableSet;
 import com.hivemq.annotations.ReadOnly;
 import com.hivemq.mqtt.topic.SubscriberWithQoS;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * The subscriptions of a topic tree node.
+ * <p>
+ * Modifications are serialized by the segment lock of the {@link LocalTopicTree}, lookups don't take any lock. To make
+ * this safe a published array is never modified (every change publishes a new copy) and the maps are concurrent maps.
+ */
 class MatchingNodeSubscriptions {
 
     /**
      * This array gets lazy initialized for memory saving purposes. May contain {@code null}
      * values. These null values are reassigned if possible before the array gets expanded.
      */
-    @Nullable
-    SubscriberWithQoS @Nullable [] nonSharedSubscribersArray;
+    volatile @Nullable SubscriberWithQoS @Nullable [] nonSharedSubscribersArray;
 
     /**
      * An optional index for quick subscription info lookup. Gets initialized once the number of subscriptions
      * in the array gets to a certain threshold configured via parameter passed to the constructor of the topic tree.
+     * It is always published before the array is set to null, so readers must read the array first.
      */
-    @Nullable
-    Map<String, SubscriberWithQoS> nonSharedSubscribersMap;
+    volatile @Nullable Map<String, SubscriberWithQoS> nonSharedSubscribersMap;
 
     /**
      * An optional index for quick shared subscription info lookup. Shared subscriptions' information is grouped in
@@ -50,8 +56,7 @@ class MatchingNodeSubscriptions {
      * This grouping improves the retrieval for shared subscriptions' groups and topic filters
      * in case of massive subscriptions in the same group to the same topic filter.
      */
-    @NotNull
-    Map<String, SubscriptionGroup> sharedSubscribersMap;
+    volatile @NotNull Map<String, SubscriptionGroup> sharedSubscribersMap;
 
     MatchingNodeSubscriptions() {
         sharedSubscribersMap = Map.of();
@@ -140,9 +145,10 @@ class MatchingNodeSubscriptions {
 
     @ReadOnly
     public int getSubscriberCount() {
-        final int nonSharedSubscribersCount = nonSharedSubscribersMap != null
-                ? nonSharedSubscribersMap.size()
-                : countArraySize(nonSharedSubscribersArray);
+        final SubscriberWithQoS[] nonSharedSubscribersArray = this.nonSharedSubscribersArray;
+        final int nonSharedSubscribersCount = nonSharedSubscribersArray != null
+                ? countArraySize(nonSharedSubscribersArray)
+                : countMapSize(nonSharedSubscribersMap);
 
         return nonSharedSubscribersCount + sharedSubscribersMap.size();
     }
@@ -155,14 +161,15 @@ class MatchingNodeSubscriptions {
 
     @ReadOnly
     public @Nullable Stream<SubscriberWithQoS> getNonSharedSubscriptionsStream() {
-        if (nonSharedSubscribersMap == null && nonSharedSubscribersArray == null) {
-            return null;
-        }
-        if (nonSharedSubscribersMap == null) {
+        final SubscriberWithQoS[] nonSharedSubscribersArray = this.nonSharedSubscribersArray;
+        if (nonSharedSubscribersArray != null) {
             return Stream.of(nonSharedSubscribersArray).filter(Objects::nonNull);
-        } else {
+        }
+        final Map<String, SubscriberWithQoS> nonSharedSubscribersMap = this.nonSharedSubscribersMap;
+        if (nonSharedSubscribersMap != null) {
             return nonSharedSubscribersMap.values().stream();
         }
+        return null;
     }
 
     @ReadOnly
@@ -207,7 +214,7 @@ class MatchingNodeSubscriptions {
      */
     private static class SubscriptionGroup {
 
-        private final @NotNull Map<String, SubscriberWithQoS> subscriptions = new HashMap<>();
+        private final @NotNull Map<String, SubscriberWithQoS> subscriptions = new ConcurrentHashMap<>();
 
         @Nullable
         SubscriberWithQoS put(final @NotNull SubscriberWithQoS subscription) {
@@ -241,7 +248,7 @@ class MatchingNodeSubscriptions {
 
         if (subscriberToAdd.isSharedSubscription() && subscriberToAdd.getSharedName() != null) {
             if (sharedSubscribersMap.isEmpty()) {
-                sharedSubscribersMap = new HashMap<>(subscriberMapCreationThreshold);
+                sharedSubscribersMap = new ConcurrentHashMap<>(subscriberMapCreationThreshold);
             }
             final SubscriberWithQoS prev = sharedSubscribersMap
                     .computeIfAbsent(
@@ -258,52 +265,54 @@ class MatchingNodeSubscriptions {
                 : countArraySize(nonSharedSubscribersArray);
 
         if (nonSharedSubscribersMap == null && exactSubscribersCount > subscriberMapCreationThreshold) {
-            nonSharedSubscribersMap = new HashMap<>(subscriberMapCreationThreshold + 1);
+            final Map<String, SubscriberWithQoS> newMap = new ConcurrentHashMap<>(subscriberMapCreationThreshold + 1);
             if (nonSharedSubscribersArray != null) {
                 for (final SubscriberWithQoS subscriber : nonSharedSubscribersArray) {
                     if (subscriber != null) {
-                        nonSharedSubscribersMap.put(subscriber.getSubscriber(), subscriber);
+                        newMap.put(subscriber.getSubscriber(), subscriber);
                     }
                 }
-                // The array can be removed, because the map is used from now on.
-                nonSharedSubscribersArray = null;
             }
+            // The map must be published before the array is removed, because readers look at the array first.
+            nonSharedSubscribersMap = newMap;
+            // The array can be removed, because the map is used from now on.
+            nonSharedSubscribersArray = null;
         }
 
-        if (nonSharedSubscribersMap != null) {
-            final SubscriberWithQoS prev =
-                    nonSharedSubscribersMap.put(subscriberToAdd.getSubscriber(), subscriberToAdd);
+        final Map<String, SubscriberWithQoS> currentMap = nonSharedSubscribersMap;
+        if (currentMap != null) {
+            final SubscriberWithQoS prev = currentMap.put(subscriberToAdd.getSubscriber(), subscriberToAdd);
             return prev == null ? null : new SubscriptionInfoPresenceStatus();
         }
 
-        if (nonSharedSubscribersArray == null) {
+        final SubscriberWithQoS[] currentArray = nonSharedSubscribersArray;
+        if (currentArray == null) {
             nonSharedSubscribersArray = new SubscriberWithQoS[] {subscriberToAdd};
             return null;
         }
 
         // Let's try to find an existing subscription first
-        for (int i = 0; i < nonSharedSubscribersArray.length; i++) {
-            if (nonSharedSubscribersArray[i] != null
-                    && subscriberToAdd.getSubscriber().equals(nonSharedSubscribersArray[i].getSubscriber())) {
+        for (int i = 0; i < currentArray.length; i++) {
+            if (currentArray[i] != null && subscriberToAdd.getSubscriber().equals(currentArray[i].getSubscriber())) {
                 // This entry is already present in the array, we can override and abort
-                final SubscriptionInfoPresenceStatus subscriptionInfoPresenceStatus =
-                        new SubscriptionInfoPresenceStatus();
-
-                this.nonSharedSubscribersArray[i] = subscriberToAdd;
-                return subscriptionInfoPresenceStatus;
+                final SubscriberWithQoS[] newArray = currentArray.clone();
+                newArray[i] = subscriberToAdd;
+                nonSharedSubscribersArray = newArray;
+                return new SubscriptionInfoPresenceStatus();
             }
         }
 
-        // Let's try to find an empty slot in the array
-        final int emptySlotIndex = Arrays.asList(nonSharedSubscribersArray).indexOf(null);
+        // Let's try to find an empty slot in the array or allocate a new one
+        final int emptySlotIndex = Arrays.asList(currentArray).indexOf(null);
+        final SubscriberWithQoS[] newArray;
         if (emptySlotIndex >= 0) {
-            nonSharedSubscribersArray[emptySlotIndex] = subscriberToAdd;
-        } else { // or allocate a new array
-            final SubscriberWithQoS[] newArray = new SubscriberWithQoS[nonSharedSubscribersArray.length + 1];
-            System.arraycopy(nonSharedSubscribersArray, 0, newArray, 0, nonSharedSubscribersArray.length);
-            newArray[nonSharedSubscribersArray.length] = subscriberToAdd;
-            nonSharedSubscribersArray = newArray;
+            newArray = currentArray.clone();
+            newArray[emptySlotIndex] = subscriberToAdd;
+        } else {
+            newArray = Arrays.copyOf(currentArray, currentArray.length + 1);
+            newArray[currentArray.length] = subscriberToAdd;
         }
+        nonSharedSubscribersArray = newArray;
 
         return null;
     }
@@ -328,17 +337,19 @@ class MatchingNodeSubscriptions {
                 }
             }
         } else { // non-shared subscription removal
-            if (nonSharedSubscribersMap != null) {
-                remove = nonSharedSubscribersMap.remove(subscriber);
-            } else if (nonSharedSubscribersArray != null) {
-                for (int i = 0; i < nonSharedSubscribersArray.length; i++) {
-                    final SubscriberWithQoS arrayEntry = nonSharedSubscribersArray[i];
+            final Map<String, SubscriberWithQoS> currentMap = nonSharedSubscribersMap;
+            final SubscriberWithQoS[] currentArray = nonSharedSubscribersArray;
+            if (currentMap != null) {
+                remove = currentMap.remove(subscriber);
+            } else if (currentArray != null) {
+                for (int i = 0; i < currentArray.length; i++) {
+                    final SubscriberWithQoS arrayEntry = currentArray[i];
                     if (arrayEntry != null && subscriber.equals(arrayEntry.getSubscriber())) {
-                        if (subscriber.equals(arrayEntry.getSubscriber())) {
-                            nonSharedSubscribersArray[i] = null;
-                            remove = arrayEntry;
-                            break;
-                        }
+                        final SubscriberWithQoS[] newArray = currentArray.clone();
+                        newArray[i] = null;
+                        nonSharedSubscribersArray = newArray;
+                        remove = arrayEntry;
+                        break;
                     }
                 }
             }
@@ -359,6 +370,10 @@ class MatchingNodeSubscriptions {
         return true;
     }
 
+    private static int countMapSize(final @Nullable Map<?, ?> map) {
+        return map == null ? 0 : map.size();
+    }
+
     private static int countArraySize(final @Nullable Object @Nullable [] array) {
         if (array == null) {
             return 0;
@@ -16,8 +16,8 @@
 package com.hivemq.mqtt.topic.tree;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,15 +39,17 @@ class TopicTreeNode {
     /**
      * The child nodes of this node. The children get initialized lazily for memory saving purposes. If a threshold is
      * exceeded this is null and the childrenMap contains all the children.
+     * <p>
+     * A published array is never modified, every change publishes a new copy. This allows readers to traverse the
+     * children without holding a lock.
      */
-    @Nullable
-    TopicTreeNode @Nullable [] children;
+    volatile @Nullable TopicTreeNode @Nullable [] children;
 
     /**
-     * An optional map for quick access to children (only exists if a threshold is exceeded)
+     * An optional map for quick access to children (only exists if a threshold is exceeded). It is always published
+     * before the children array is set to null, so readers must read the array first.
      */
-    @Nullable
-    Map<String, TopicTreeNode> childrenMap;
+    volatile @Nullable Map<String, TopicTreeNode> childrenMap;
 
     TopicTreeNode(final @NotNull String topicPart) {
         this.topicPart = topicPart;
@@ -58,11 +60,12 @@ class TopicTreeNode {
     public @NotNull TopicTreeNode addChildNodeIfAbsent(
             final @NotNull String childNodeTopicPart, final int indexMapCreationThreshold) {
 
+        final TopicTreeNode[] children = this.children;
         if (children != null) {
 
             // Check if we need to create an index for large nodes
             if (children.length > indexMapCreationThreshold && childrenMap == null) {
-                childrenMap = new HashMap<>(children.length + 1);
+                final Map<String, TopicTreeNode> childrenMap = new ConcurrentHashMap<>(children.length + 1);
 
                 TopicTreeNode existingNode = null;
                 // Add all entries to the map
@@ -74,12 +77,12 @@ class TopicTreeNode {
                         }
                     }
                 }
-                children = null;
-                if (existingNode != null) {
-                    return existingNode;
-                }
-                final TopicTreeNode childNode = new TopicTreeNode(childNodeTopicPart);
+                final TopicTreeNode childNode =
+                        existingNode != null ? existingNode : new TopicTreeNode(childNodeTopicPart);
                 childrenMap.put(childNode.getTopicPart(), childNode);
+                // publish the complete map before the array is dropped
+                this.childrenMap = childrenMap;
+                this.children = null;
                 return childNode;
             } else {
 
@@ -94,14 +97,15 @@ class TopicTreeNode {
 
                 final TopicTreeNode childNode = new TopicTreeNode(childNodeTopicPart);
                 final int emptySlotIndex = Arrays.asList(children).indexOf(null);
+                final TopicTreeNode[] newChildren;
                 if (emptySlotIndex >= 0) {
-                    children[emptySlotIndex] = childNode;
+                    newChildren = children.clone();
+                    newChildren[emptySlotIndex] = childNode;
                 } else {
-                    final TopicTreeNode[] newChildren = new TopicTreeNode[children.length + 1];
-                    System.arraycopy(children, 0, newChildren, 0, children.length);
+                    newChildren = Arrays.copyOf(children, children.length + 1);
                     newChildren[newChildren.length - 1] = childNode;
-                    children = newChildren;
                 }
+                this.children = newChildren;
                 return childNode;
             }
         } else if (childrenMap != null) {
@@ -109,10 +113,35 @@ class TopicTreeNode {
         }
 
         final TopicTreeNode childNode = new TopicTreeNode(childNodeTopicPart);
-        children = new TopicTreeNode[] {childNode};
+        this.children = new TopicTreeNode[] {childNode};
         return childNode;
     }
 
+    /**
+     * Removes the given child node. Its slot in the children array is kept empty so it can be reused.
+     *
+     * @param childNode the child node to remove, compared by identity
+     */
+    @SuppressWarnings("ReferenceEquality") // intentional identity check for node lookup in array
+    public void removeChildNode(final @NotNull TopicTreeNode childNode) {
+        final TopicTreeNode[] children = this.children;
+        if (children != null) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == childNode) {
+                    final TopicTreeNode[] newChildren = children.clone();
+                    newChildren[i] = null;
+                    this.children = newChildren;
+                    return;
+                }
+            }
+        } else {
+            final Map<String, TopicTreeNode> childrenMap = this.childrenMap;
+            if (childrenMap != null) {
+                childrenMap.remove(childNode.getTopicPart(), childNode);
+            }
+        }
+    }
+
     /**
      * Checks if the node is empty, that is if:
      * <p>
@@ -123,6 +152,8 @@ class TopicTreeNode {
      */
     public boolean isNodeEmpty() {
 
+        final TopicTreeNode[] children = this.children;
+        final Map<String, TopicTreeNode> childrenMap = this.childrenMap;
         final boolean noChildrenPresent = (children == null && childrenMap == null)
                 || (children != null && isEmptyArray(children))
                 || (childrenMap != null && childrenMap.isEmpty());
@@ -25,6 +25,7 @@ import com.hivemq.mqtt.message.publish.PUBLISH;
 import com.hivemq.mqtt.message.pubrel.PUBREL;
 import com.hivemq.persistence.LocalPersistence;
 import java.util.List;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -231,6 +232,17 @@ public interface ClientQueueLocalPersistence extends LocalPersistence {
      */
     void removeShared(@NotNull String sharedSubscription, @NotNull String uniqueId, int bucketIndex);
 
+    /**
+     * Remove all PUBLISHes with one of the given unique IDs. Messages with QoS 0 and messages for which a PUBREL is
+     * already stored are not checked.
+     *
+     * @param queueId     for which the messages are removed
+     * @param shared      true if the queue is a shared subscription queue
+     * @param uniqueIds   of the messages to remove
+     * @param bucketIndex provided by the single writer
+     */
+    void removeByUniqueIds(@NotNull String queueId, boolean shared, @NotNull Set<String> uniqueIds, int bucketIndex);
+
     /**
      * Remove the in-flight marker of a PUBLISH with a given unique ID.
      *
@@ -16,6 +16,7 @@
 package com.hivemq.persistence.clientqueue;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.hivemq.mqtt.message.MessageWithID;
@@ -180,6 +181,20 @@ public interface ClientQueuePersistence {
     @NotNull
     ListenableFuture<Void> removeShared(@NotNull String sharedSubscription, @NotNull String uniqueId);
 
+    /**
+     * Remove all PUBLISHes which have one of the unique IDs that are provided.
+     * <p>
+     * In contrast to {@link #removeShared(String, String)} this works for shared and non-shared queues and
+     * acknowledges a whole batch of messages with a single call.
+     *
+     * @param queueId   for which the messages should be removed
+     * @param shared    true if the queue is a shared subscription queue
+     * @param uniqueIds of the messages that should be removed
+     */
+    @NotNull
+    ListenableFuture<Void> removeByUniqueIds(
+            @NotNull String queueId, boolean shared, @NotNull ImmutableSet<String> uniqueIds);
+
     /**
      * Remove the in-flight marker of a PUBLISH which has the same unique ID as the one that is provided.
      * This way the PUBLISH will be return by future calls of {@link ClientQueuePersistence#readNew(String, boolean,
@@ -372,6 +372,19 @@ public class ClientQueuePersistenceImpl extends AbstractPersistence implements C
         });
     }
 
+    @NotNull
+    @Override
+    public ListenableFuture<Void> removeByUniqueIds(
+            final @NotNull String queueId, final boolean shared, final @NotNull ImmutableSet<String> uniqueIds) {
+        if (uniqueIds.isEmpty()) {
+            return Futures.immediateFuture(null);
+        }
+        return singleWriter.submit(queueId, (bucketIndex) -> {
+            localPersistence.removeByUniqueIds(queueId, shared, uniqueIds, bucketIndex);
+            return null;
+        });
+    }
+
     @NotNull
     @Override
     public ListenableFuture<Void> removeInFlightMarker(
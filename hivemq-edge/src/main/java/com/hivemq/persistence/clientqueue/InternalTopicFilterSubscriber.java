@@ -17,7 +17,9 @@ package com.hivemq.persistence.clientqueue;
 
 import static com.hivemq.configuration.service.InternalConfigurations.PUBLISH_POLL_BATCH_SIZE_BYTES;
 
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -79,11 +81,8 @@ public final class InternalTopicFilterSubscriber {
 
     public static final @NotNull String INTERNAL_SUBSCRIBER_PREFIX = "$INTERNAL::";
 
-    // SHARED_IN_FLIGHT_MARKER acts as a boolean inflight flag — not a real wire packet ID, since
-    // messages never go to an MQTT client. removeShared() uses uniqueId, not the packet ID, so
-    // the value here does not matter.
-    private static final @NotNull ImmutableIntArray POLL_PACKET_IDS =
-            ImmutableIntArray.of(ClientQueuePersistenceImpl.SHARED_IN_FLIGHT_MARKER);
+    // The default drain mode: one message per SingleWriter round-trip (see the Builder's withBatchSize).
+    public static final int DEFAULT_BATCH_SIZE = 1;
 
     // clientId — built once as the reserved-prefix triple "$INTERNAL::<componentPrefix>::<instanceId>"
     //            (see the constructor for what each segment means). PublishDistributorImpl
@@ -95,7 +94,7 @@ public final class InternalTopicFilterSubscriber {
     //              - in the TOPIC TREE  it is the subscriber id (addTopic / removeSubscriber), i.e.
     //                "who is subscribed to this filter".
     //              - in the CLIENT-QUEUE persistence it is the queue id (the bucket key for
-    //                addPublishAvailableCallback / submit / readNew / removeShared / clear), i.e.
+    //                addPublishAvailableCallback / submit / readNew / removeByUniqueIds / clear), i.e.
     //                "whose queue do the matched messages land in".
     //            Using the same string for both is what wires the two together: the topic tree routes
     //            a matching message into the queue named by this id, and we drain that same-named
@@ -111,6 +110,16 @@ public final class InternalTopicFilterSubscriber {
     // The per-message handler. Set once at construction (Builder requires it).
     private final @NotNull Processor processor;
 
+    // pollPacketIds — one packet ID per message a single readNew() may return, so its length IS the
+    //                 batch size. Every entry is SHARED_IN_FLIGHT_MARKER, which acts as a boolean
+    //                 inflight flag — not a real wire packet ID, since messages never go to an MQTT
+    //                 client. removeByUniqueIds() uses the uniqueId, not the packet ID, so the value
+    //                 does not matter. Built once at construction, reused by every poll.
+    // pollByteLimit — the byte budget of a single readNew(); the read stops at whichever of the two
+    //                 limits is hit first.
+    private final @NotNull ImmutableIntArray pollPacketIds;
+    private final long pollByteLimit;
+
     // The factory that built this subscriber, kept as a back-reference so that build()/deallocate() can
     // (de)register this subscriber in the factory's registry — see isExcludedIngressClientId() below.
     private final @NotNull InternalTopicFilterSubscriberFactory factory;
@@ -154,6 +163,8 @@ public final class InternalTopicFilterSubscriber {
     //                   unique within the componentPrefix namespace. Typically derived from the
     //                   configuration ID of the owning instance.
     // processor       — the per-message handler (runs on the SingleWriter thread).
+    // batchSize       — max. number of messages drained per SingleWriter round-trip (>= 1).
+    // batchByteLimit  — max. number of bytes drained per SingleWriter round-trip.
     // initialFilters  — the topic filter set assembled in the builder (may be empty; that is valid).
     // excludedIngressClientId — ingress-exclusion id, or null for none (see the field above).
     // factory         — the factory that built us, used as the registry for ingress-exclusion lookups.
@@ -162,6 +173,8 @@ public final class InternalTopicFilterSubscriber {
             final @NotNull String componentPrefix,
             final @NotNull String instanceId,
             final @NotNull Processor processor,
+            final int batchSize,
+            final long batchByteLimit,
             final @NotNull Set<String> initialFilters,
             final @Nullable String excludedIngressClientId,
             final @NotNull InternalTopicFilterSubscriberFactory factory,
@@ -170,6 +183,12 @@ public final class InternalTopicFilterSubscriber {
             final @NotNull SingleWriterService singleWriterService) {
         this.clientId = INTERNAL_SUBSCRIBER_PREFIX + componentPrefix + "::" + instanceId;
         this.processor = processor;
+        final ImmutableIntArray.Builder packetIds = ImmutableIntArray.builder(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            packetIds.add(ClientQueuePersistenceImpl.SHARED_IN_FLIGHT_MARKER);
+        }
+        this.pollPacketIds = packetIds.build();
+        this.pollByteLimit = batchByteLimit;
         this.topicFilters.addAll(initialFilters);
         this.excludedIngressClientId = excludedIngressClientId;
         this.factory = factory;
@@ -185,6 +204,12 @@ public final class InternalTopicFilterSubscriber {
     // Called once per message, on the SingleWriter thread. Implementations must not block. Any
     // exception thrown is caught, logged, and the message is dropped.
     //
+    // processBatch() is called once per drained batch (see the Builder's withBatchSize), in queue
+    // order. The default just calls process() for every message, with the same per-message error
+    // handling, so a plain lambda works unchanged in batched mode. A component that can do better
+    // with the whole batch at once (one downstream write instead of N) overrides it; an exception
+    // thrown from an override drops the REST of that batch.
+    //
     // Deliberately NOT named MessageProcessor / MessageTransformer — those names belong to the
     // MessageFabric design, the long-term home. This is the interim ITFS-local type; its signature is
     // exactly the old abstract process(PUBLISH), so an old override body ports into a lambda verbatim.
@@ -192,6 +217,19 @@ public final class InternalTopicFilterSubscriber {
     @FunctionalInterface
     public interface Processor {
         void process(final @NotNull PUBLISH message);
+
+        default void processBatch(final @NotNull List<PUBLISH> messages) {
+            for (final PUBLISH message : messages) {
+                try {
+                    process(message);
+                } catch (final Exception e) {
+                    log.error(
+                            "Failed to process message {}, message will be dropped: {}",
+                            message.getUniqueId(),
+                            e.getMessage());
+                }
+            }
+        }
     }
 
     // endregion
@@ -219,6 +257,8 @@ public final class InternalTopicFilterSubscriber {
         private @Nullable Processor processor = null; // required; checked in build()
         private final @NotNull Set<String> topicFilters = new LinkedHashSet<>();
         private @Nullable String excludedIngressClientId = null; // optional; ingress-exclusion
+        private int batchSize = DEFAULT_BATCH_SIZE; // optional; batched drain
+        private long batchByteLimit = PUBLISH_POLL_BATCH_SIZE_BYTES; // optional; batched drain
 
         // Package-private — only the factory creates builders (it supplies the injected singletons and
         // itself, as the registry the built subscriber registers with on attach()).
@@ -252,6 +292,23 @@ public final class InternalTopicFilterSubscriber {
             return this;
         }
 
+        // Optional: batched drain. Up to maxMessages messages (and at most maxBytes bytes) are read per
+        // SingleWriter round-trip, handed to Processor.processBatch() together, and acknowledged with
+        // ONE bulk remove — instead of one queue submit plus one future callback per message. The
+        // default of DEFAULT_BATCH_SIZE keeps the one-message-at-a-time behaviour.
+        public @NotNull Builder withBatchSize(final int maxMessages) {
+            Preconditions.checkArgument(maxMessages > 0, "batch size must be positive, was %s", maxMessages);
+            this.batchSize = maxMessages;
+            return this;
+        }
+
+        public @NotNull Builder withBatchSize(final int maxMessages, final long maxBytes) {
+            Preconditions.checkArgument(maxBytes > 0, "batch byte limit must be positive, was %s", maxBytes);
+            withBatchSize(maxMessages);
+            this.batchByteLimit = maxBytes;
+            return this;
+        }
+
         // Absolute: replace the whole set with this filter / these filters. Last call wins.
         public @NotNull Builder withTopicFilter(final @NotNull String topicFilter) {
             topicFilters.clear();
@@ -301,6 +358,8 @@ public final class InternalTopicFilterSubscriber {
                     componentPrefix,
                     instanceId,
                     processor,
+                    batchSize,
+                    batchByteLimit,
                     topicFilters,
                     excludedIngressClientId,
                     factory,
@@ -544,13 +603,15 @@ public final class InternalTopicFilterSubscriber {
     //                     publish-available callback (new message arrived), from consume() (drain
     //                     pre-existing messages), and at the end of each processed message (to
     //                     continue draining).
-    // pollAndForward()  — reads one message from the client queue. On success hands it to
-    //                     processPublish(); on failure logs and reschedules via submitPoll().
-    // processPublish()  — calls the processor (the user-supplied handler), then removeMessage(), then
-    //                     submitPoll() to pick up the next message. Errors are caught, logged, and
-    //                     the message is dropped — processing continues regardless.
-    // removeMessage()   — acknowledges the message to the queue persistence. QoS 0 messages are
-    //                     not persisted and need no acknowledgement.
+    // pollAndForward()  — reads up to one batch (pollPacketIds / pollByteLimit) from the client queue.
+    //                     On success hands it to processPublishes(); on failure logs and reschedules
+    //                     via submitPoll().
+    // processPublishes()— calls the processor (the user-supplied handler) with the whole batch, then
+    //                     removeMessages(), then submitPoll() to pick up the next batch. Errors are
+    //                     caught, logged, and the batch is dropped — processing continues regardless.
+    // removeMessages()  — acknowledges the batch to the queue persistence with a single bulk remove.
+    //                     QoS 0 messages are not persisted and need no acknowledgement. Our queue is
+    //                     NON-shared (see below), so the remove targets the non-shared queue.
     //
     // The trailing `null` in both calls is the topic tree's `sharedName` — and it is null ON PURPOSE.
     // The topic tree distinguishes shared from non-shared subscriptions: a non-null sharedName makes
@@ -583,14 +644,14 @@ public final class InternalTopicFilterSubscriber {
     private void pollAndForward() {
         try {
             final ListenableFuture<ImmutableList<PUBLISH>> future =
-                    clientQueuePersistence.readNew(clientId, false, POLL_PACKET_IDS, PUBLISH_POLL_BATCH_SIZE_BYTES);
+                    clientQueuePersistence.readNew(clientId, false, pollPacketIds, pollByteLimit);
             Futures.transform(
                     future,
                     publishes -> {
                         if (publishes == null || publishes.isEmpty()) {
                             return null;
                         }
-                        processPublish(publishes.get(0));
+                        processPublishes(publishes);
                         return null;
                     },
                     MoreExecutors.directExecutor());
@@ -600,24 +661,30 @@ public final class InternalTopicFilterSubscriber {
         }
     }
 
-    private void processPublish(final @NotNull PUBLISH message) {
+    private void processPublishes(final @NotNull List<PUBLISH> messages) {
         try {
-            processor.process(message);
-            removeMessage(message);
-            submitPoll();
+            processor.processBatch(messages);
         } catch (final Exception e) {
             log.error(
-                    "Failed to process message for internal subscriber '{}', message will be dropped: {}",
+                    "Failed to process {} message(s) for internal subscriber '{}', messages will be dropped: {}",
+                    messages.size(),
                     clientId,
                     e.getMessage());
-            removeMessage(message);
-            submitPoll();
         }
+        removeMessages(messages);
+        submitPoll();
     }
 
-    private void removeMessage(final @NotNull PUBLISH message) {
-        if (message.getQoS() != QoS.AT_MOST_ONCE) {
-            FutureUtils.addExceptionLogger(clientQueuePersistence.removeShared(clientId, message.getUniqueId()));
+    private void removeMessages(final @NotNull List<PUBLISH> messages) {
+        final ImmutableSet.Builder<String> uniqueIds = ImmutableSet.builder();
+        for (final PUBLISH message : messages) {
+            if (message.getQoS() != QoS.AT_MOST_ONCE) {
+                uniqueIds.add(message.getUniqueId());
+            }
+        }
+        final ImmutableSet<String> toRemove = uniqueIds.build();
+        if (!toRemove.isEmpty()) {
+            FutureUtils.addExceptionLogger(clientQueuePersistence.removeByUniqueIds(clientId, false, toRemove));
         }
     }
 
@@ -60,6 +60,13 @@ public interface ConnectionPersistence {
      */
     void remove(@NotNull ClientConnection clientConnection);
 
+    /**
+     * Register a bound server channel of a listener, so it is closed on shutdown. A listener may own several server
+     * channels when multiple acceptor channels share its port.
+     *
+     * @param listenerName The name of the listener.
+     * @param channel      The bound server channel.
+     */
     void addServerChannel(@NotNull String listenerName, @NotNull Channel channel);
 
     @NotNull
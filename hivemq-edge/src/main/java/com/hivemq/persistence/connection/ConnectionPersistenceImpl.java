@@ -31,8 +31,10 @@ import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -46,7 +48,7 @@ public class ConnectionPersistenceImpl implements ConnectionPersistence {
     private static final Logger log = LoggerFactory.getLogger(ConnectionPersistenceImpl.class);
 
     private final @NotNull Map<String, ClientConnection> clientConnectionMap;
-    private final @NotNull Map<String, Channel> serverChannelMap;
+    private final @NotNull Map<String, Queue<Channel>> serverChannelMap;
     private final @NotNull AtomicBoolean interrupted;
     private final boolean shutdownLegacy;
     private final int shutdownPartitionSize;
@@ -77,7 +79,9 @@ public class ConnectionPersistenceImpl implements ConnectionPersistence {
 
     @Override
     public void addServerChannel(final @NotNull String listenerName, final @NotNull Channel channel) {
-        serverChannelMap.put(listenerName, channel);
+        serverChannelMap
+                .computeIfAbsent(listenerName, name -> new ConcurrentLinkedQueue<>())
+                .add(channel);
     }
 
     @Override
@@ -117,15 +121,17 @@ public class ConnectionPersistenceImpl implements ConnectionPersistence {
 
     private @NotNull ListenableFuture<Void> shutDownListeners() {
         try {
-            final Map<String, Channel> allServerChannels = ImmutableMap.copyOf(serverChannelMap);
+            final Map<String, Queue<Channel>> allServerChannels = ImmutableMap.copyOf(serverChannelMap);
             final ImmutableList.Builder<ListenableFuture<Void>> futureBuilder = ImmutableList.builder();
-            for (final Map.Entry<String, Channel> channelEntry : allServerChannels.entrySet()) {
-                final SettableFuture<Void> closeFuture = SettableFuture.create();
-                futureBuilder.add(closeFuture);
-                channelEntry.getValue().close().addListener((ChannelFutureListener) future -> {
-                    log.debug("Closed channel of listener with name '{}'", channelEntry.getKey());
-                    closeFuture.set(null);
-                });
+            for (final Map.Entry<String, Queue<Channel>> channelEntry : allServerChannels.entrySet()) {
+                for (final Channel channel : channelEntry.getValue()) {
+                    final SettableFuture<Void> closeFuture = SettableFuture.create();
+                    futureBuilder.add(closeFuture);
+                    channel.close().addListener((ChannelFutureListener) future -> {
+                        log.debug("Closed channel of listener with name '{}'", channelEntry.getKey());
+                        closeFuture.set(null);
+                    });
+                }
             }
 
             final ListenableFuture<List<Void>> future = Futures.allAsList(futureBuilder.build());
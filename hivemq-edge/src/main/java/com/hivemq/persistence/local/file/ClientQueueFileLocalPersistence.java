@@ -0,0 +1,1220 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.file;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.hivemq.configuration.service.InternalConfigurations.QOS_0_MEMORY_HARD_LIMIT_DIVISOR;
+import static com.hivemq.util.ThreadPreConditions.SINGLE_WRITER_THREAD_PREFIX;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.ImmutableIntArray;
+import com.hivemq.annotations.ExecuteInSingleWriter;
+import com.hivemq.configuration.entity.mqtt.MqttConfigurationDefaults;
+import com.hivemq.configuration.service.InternalConfigurations;
+import com.hivemq.configuration.service.MqttConfigurationService.QueuedMessagesStrategy;
+import com.hivemq.metrics.HiveMQMetrics;
+import com.hivemq.mqtt.message.MessageWithID;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.dropping.MessageDroppedService;
+import com.hivemq.mqtt.message.publish.PUBLISH;
+import com.hivemq.mqtt.message.pubrel.PUBREL;
+import com.hivemq.persistence.clientqueue.ClientQueueLocalPersistence;
+import com.hivemq.persistence.payload.PublishPayloadPersistence;
+import com.hivemq.util.MemoryEstimator;
+import com.hivemq.util.Strings;
+import com.hivemq.util.ThreadPreConditions;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A client queue persistence which stores QoS 1 and QoS 2 messages in an append-only log of memory-mapped segment
+ * files per bucket.
+ * <p>
+ * Only a small index entry per message (position in the log, packet id, expiry) is kept on the heap, the messages
+ * themselves are read from the log when they are delivered. QoS 0 messages are not persistent by definition and are
+ * kept in memory with the same limits as in the {@link
+ * com.hivemq.persistence.local.memory.ClientQueueMemoryLocalPersistence}.
+ * <p>
+ * Every mutation is appended to the log as a record. On startup the logs are replayed to rebuild the index. Logs are
+ * compacted in the periodic clean up once more than half of their bytes belong to messages which are already gone.
+ * The periodic clean up also forces the records to the storage device, see {@link SegmentLog} for the flush policy.
+ * <p>
+ * The client sessions are not recovered together with the client queues, they are kept in memory. The recovered queue
+ * of a client without a session would never be read or cleared again, so it is dropped on startup. Shared queues, e.g.
+ * of bridges, do not belong to a client session and are kept.
+ */
+public class ClientQueueFileLocalPersistence implements ClientQueueLocalPersistence {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(ClientQueueFileLocalPersistence.class);
+
+    public static final @NotNull String PERSISTENCE_NAME = "client_queue";
+    public static final @NotNull String PERSISTENCE_VERSION = "segment_log_1";
+
+    private static final int NO_PACKET_ID = 0;
+
+    private final @NotNull Bucket @NotNull [] buckets;
+
+    private final @NotNull PublishPayloadPersistence payloadPersistence;
+    private final @NotNull MessageDroppedService messageDroppedService;
+    private final int segmentSize;
+
+    private final long qos0MemoryLimit;
+    private final int qos0ClientMemoryLimit;
+    private final int retainedMessageMax;
+
+    private final @NotNull AtomicLong qos0MessagesMemory = new AtomicLong();
+    private final @NotNull AtomicLong totalFileSize = new AtomicLong();
+
+    ClientQueueFileLocalPersistence(
+            final @NotNull File persistenceFolder,
+            final int bucketCount,
+            final int segmentSize,
+            final @NotNull PublishPayloadPersistence payloadPersistence,
+            final @NotNull MessageDroppedService messageDroppedService,
+            final @NotNull Predicate<String> sessionExists,
+            final @NotNull MetricRegistry metricRegistry) {
+
+        this.payloadPersistence = payloadPersistence;
+        this.messageDroppedService = messageDroppedService;
+        this.segmentSize = segmentSize;
+
+        qos0MemoryLimit = getQos0MemoryLimit();
+        qos0ClientMemoryLimit = InternalConfigurations.QOS_0_MEMORY_LIMIT_PER_CLIENT_BYTES.get();
+        retainedMessageMax = InternalConfigurations.RETAINED_MESSAGE_QUEUE_SIZE.get();
+
+        final int forceEveryAppends = InternalConfigurations.CLIENT_QUEUE_FILE_PERSISTENCE_FORCE_EVERY_APPENDS.get();
+        final int forceIntervalMillis = InternalConfigurations.CLIENT_QUEUE_FILE_PERSISTENCE_FORCE_INTERVAL_MSEC.get();
+
+        final long start = System.currentTimeMillis();
+        buckets = new Bucket[bucketCount];
+        long maxPublishId = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            final Bucket bucket = new Bucket(new SegmentLog(
+                    new File(persistenceFolder, "bucket-" + i), segmentSize, forceEveryAppends, forceIntervalMillis));
+            bucket.log.recover((type, body, position, size) -> replay(bucket, type, body, position, size));
+            dropQueuesWithoutSession(bucket, sessionExists);
+            buckets[i] = bucket;
+            maxPublishId = Math.max(maxPublishId, bucket.maxPublishId);
+        }
+        // recovered messages keep their unique ids, new messages must not collide with them
+        final long nextPublishId = maxPublishId + 1;
+        PUBLISH.PUBLISH_COUNTER.accumulateAndGet(nextPublishId, Math::max);
+        log.debug(
+                "Recovered client queues from {} in {}ms ({} on disk).",
+                persistenceFolder.getAbsolutePath(),
+                System.currentTimeMillis() - start,
+                Strings.toHumanReadableFormat(totalFileSize.get()));
+
+        metricRegistry.register(
+                HiveMQMetrics.QUEUED_MESSAGES_FILE_PERSISTENCE_TOTAL_SIZE.name(), (Gauge<Long>) totalFileSize::get);
+    }
+
+    private void dropQueuesWithoutSession(final @NotNull Bucket bucket, final @NotNull Predicate<String> sessionExists) {
+        final Iterator<Map.Entry<String, Messages>> iterator = bucket.queues.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, Messages> queue = iterator.next();
+            if (sessionExists.test(queue.getKey())) {
+                continue;
+            }
+            final Messages messages = queue.getValue();
+            for (final Entry entry : messages.qos1Or2Messages.values()) {
+                unlink(bucket, messages, entry);
+            }
+            if (!messages.qos1Or2Messages.isEmpty()) {
+                bucket.log.append(ClientQueueRecords.CLEAR, ClientQueueRecords.clear(false, queue.getKey()));
+            }
+            iterator.remove();
+            log.debug("Dropped the recovered queue of client {}, it has no session.", queue.getKey());
+        }
+    }
+
+    private long getQos0MemoryLimit() {
+        final long maxHeap = Runtime.getRuntime().maxMemory();
+        final int hardLimitDivisor = QOS_0_MEMORY_HARD_LIMIT_DIVISOR.get();
+        // fallback to default if config failed
+        final long maxHardLimit = hardLimitDivisor < 1 ? maxHeap / 4 : maxHeap / hardLimitDivisor;
+        log.debug("{} allocated for qos 0 inflight messages", Strings.toHumanReadableFormat(maxHardLimit));
+        return maxHardLimit;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void add(
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull PUBLISH publish,
+            final long max,
+            final @NotNull QueuedMessagesStrategy strategy,
+            final boolean retained,
+            final int bucketIndex) {
+        checkNotNull(publish, "Publish must not be null");
+        add(queueId, shared, List.of(publish), max, strategy, retained, bucketIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void add(
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull List<PUBLISH> publishes,
+            final long max,
+            final @NotNull QueuedMessagesStrategy strategy,
+            final boolean retained,
+            final int bucketIndex) {
+
+        checkNotNull(queueId, "Queue ID must not be null");
+        checkNotNull(publishes, "Publishes must not be null");
+        checkNotNull(strategy, "Strategy must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues(shared).computeIfAbsent(queueId, s -> new Messages());
+
+        for (final PUBLISH publish : publishes) {
+            if (publish.getQoS() == QoS.AT_MOST_ONCE) {
+                addQos0Publish(queueId, shared, messages, publish);
+                continue;
+            }
+            final int qos1And2QueueSize = messages.qos1Or2Messages.size() - messages.retainedQos1Or2Messages;
+            if ((qos1And2QueueSize >= max) && !retained) {
+                if (strategy == QueuedMessagesStrategy.DISCARD
+                        || !discardOldest(bucket, queueId, shared, messages, false)) {
+                    logAndDecrementPayloadReference(publish, shared, queueId);
+                    continue;
+                }
+            } else if ((messages.retainedQos1Or2Messages >= retainedMessageMax) && retained) {
+                if (strategy == QueuedMessagesStrategy.DISCARD
+                        || !discardOldest(bucket, queueId, shared, messages, true)) {
+                    logAndDecrementPayloadReference(publish, shared, queueId);
+                    continue;
+                }
+            }
+
+            final long key = bucket.nextKey++;
+            final byte[] record = ClientQueueRecords.add(key, NO_PACKET_ID, shared, retained, queueId, publish);
+            final long position = bucket.log.append(ClientQueueRecords.ADD, record);
+            final int recordSize = SegmentLog.HEADER_SIZE + record.length;
+            link(bucket, messages, Entry.publish(key, position, recordSize, retained, publish));
+        }
+    }
+
+    private void addQos0Publish(
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Messages messages,
+            final @NotNull PUBLISH publish) {
+
+        final long currentQos0MessagesMemory = qos0MessagesMemory.get();
+        if (currentQos0MessagesMemory >= qos0MemoryLimit) {
+            if (shared) {
+                messageDroppedService.qos0MemoryExceededShared(
+                        queueId, publish.getTopic(), 0, currentQos0MessagesMemory, qos0MemoryLimit);
+            } else {
+                messageDroppedService.qos0MemoryExceeded(
+                        queueId, publish.getTopic(), 0, currentQos0MessagesMemory, qos0MemoryLimit);
+            }
+            return;
+        }
+
+        if (!shared && messages.qos0Memory >= qos0ClientMemoryLimit) {
+            messageDroppedService.qos0MemoryExceeded(
+                    queueId, publish.getTopic(), 0, messages.qos0Memory, qos0ClientMemoryLimit);
+            return;
+        }
+
+        messages.qos0Messages.add(publish);
+        increaseQos0MessagesMemory(messages, getQos0Size(publish));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @NotNull ImmutableList<PUBLISH> readNew(
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull ImmutableIntArray packetIds,
+            final long bytesLimit,
+            final int bucketIndex) {
+
+        checkNotNull(queueId, "Queue ID must not be null");
+        checkNotNull(packetIds, "Packet IDs must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues(shared).get(queueId);
+        if (messages == null) {
+            return ImmutableList.of();
+        }
+
+        // In case there are only qos 0 messages
+        if (messages.qos1Or2Messages.isEmpty()) {
+            return getQos0Publishes(messages, packetIds, bytesLimit);
+        }
+
+        final int countLimit = packetIds.length();
+        int messageCount = 0;
+        int packetIdIndex = 0;
+        long bytes = 0;
+        final ImmutableList.Builder<PUBLISH> publishes = ImmutableList.builder();
+
+        final Iterator<Entry> iterator = messages.qos1Or2Messages.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.pubrel != null) {
+                continue;
+            }
+            if (entry.packetId != NO_PACKET_ID) {
+                // already inflight
+                continue;
+            }
+
+            if (entry.isExpired()) {
+                iterator.remove();
+                removeEntry(bucket, queueId, shared, messages, entry);
+                // do not return here, because we could have a QoS 0 message left
+            } else {
+                final int packetId = packetIds.get(packetIdIndex);
+                final PUBLISH publish = readPublish(bucket, entry);
+                publish.setPacketIdentifier(packetId);
+                setPacketId(bucket, queueId, shared, entry, packetId);
+                publishes.add(publish);
+                packetIdIndex++;
+                messageCount++;
+                bytes += entry.recordSize;
+                if ((messageCount == countLimit) || (bytes > bytesLimit)) {
+                    break;
+                }
+            }
+
+            // poll a qos 0 message
+            final PUBLISH qos0Publish = pollQos0Message(messages);
+            if ((qos0Publish != null) && !qos0Publish.isExpired()) {
+                publishes.add(qos0Publish);
+                messageCount++;
+                bytes += qos0Publish.getEstimatedSizeInMemory();
+            }
+            if ((messageCount == countLimit) || (bytes > bytesLimit)) {
+                break;
+            }
+        }
+        return publishes.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @NotNull ImmutableList<PUBLISH> peek(
+            final @NotNull String queueId,
+            final boolean shared,
+            final long bytesLimit,
+            final int maxMessages,
+            final int bucketIndex) {
+
+        checkNotNull(queueId, "Queue ID must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues(shared).get(queueId);
+        if (messages == null) {
+            return ImmutableList.of();
+        }
+
+        int messageCount = 0;
+        long bytes = 0;
+        final ImmutableList.Builder<PUBLISH> publishes = ImmutableList.builder();
+
+        // Qos 1 and 2 has prio
+        for (final Entry entry : messages.qos1Or2Messages.values()) {
+            if (messageCount >= maxMessages) {
+                break;
+            }
+            if (entry.pubrel != null || entry.packetId != NO_PACKET_ID) {
+                continue;
+            }
+            // check for expiration, but do not modify the queue
+            if (!entry.isExpired()) {
+                bytes += entry.recordSize;
+                // check if adding the message would exceed the byte limit
+                if (bytes > bytesLimit) {
+                    break;
+                }
+                publishes.add(readPublish(bucket, entry));
+                messageCount++;
+            }
+        }
+
+        // read as many qos0 as possible
+        for (final PUBLISH publish : messages.qos0Messages) {
+            if (messageCount >= maxMessages) {
+                break;
+            }
+            bytes += getQos0Size(publish);
+            // check if we would exceed the byte limit.
+            if (bytes > bytesLimit) {
+                break;
+            }
+            publishes.add(publish);
+            messageCount++;
+        }
+        return publishes.build();
+    }
+
+    private @NotNull ImmutableList<PUBLISH> getQos0Publishes(
+            final @NotNull Messages messages, final @NotNull ImmutableIntArray packetIds, final long bytesLimit) {
+
+        final ImmutableList.Builder<PUBLISH> publishes = ImmutableList.builder();
+        int qos0MessagesFound = 0;
+        long qos0Bytes = 0;
+        while (qos0MessagesFound < packetIds.length() && bytesLimit > qos0Bytes) {
+            final PUBLISH qos0Publish = pollQos0Message(messages);
+            if (qos0Publish == null) {
+                break;
+            }
+            if (!qos0Publish.isExpired()) {
+                publishes.add(qos0Publish);
+                qos0MessagesFound++;
+                qos0Bytes += qos0Publish.getEstimatedSizeInMemory();
+            }
+        }
+        return publishes.build();
+    }
+
+    private @Nullable PUBLISH pollQos0Message(final @NotNull Messages messages) {
+        final PUBLISH publish = messages.qos0Messages.poll();
+        if (publish == null) {
+            return null;
+        }
+        increaseQos0MessagesMemory(messages, -getQos0Size(publish));
+        return publish;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @NotNull ImmutableList<MessageWithID> readInflight(
+            final @NotNull String queueId,
+            final boolean shared,
+            final int batchSize,
+            final long bytesLimit,
+            final int bucketIndex) {
+
+        checkNotNull(queueId, "client id must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues(shared).get(queueId);
+        if (messages == null) {
+            return ImmutableList.of();
+        }
+
+        int messageCount = 0;
+        long bytes = 0;
+        final ImmutableList.Builder<MessageWithID> publishes = ImmutableList.builder();
+
+        for (final Entry entry : messages.qos1Or2Messages.values()) {
+            // Stop at first non inflight message
+            // This works because in-flight messages are always first in the queue
+            if (entry.packetId == NO_PACKET_ID) {
+                break;
+            }
+            if (entry.pubrel != null) {
+                publishes.add(entry.pubrel);
+            } else {
+                final PUBLISH publish = readPublish(bucket, entry);
+                publish.setPacketIdentifier(entry.packetId);
+                publish.setDuplicateDelivery(true);
+                publishes.add(publish);
+                bytes += entry.recordSize;
+            }
+            messageCount++;
+
+            if ((messageCount == batchSize) || (bytes > bytesLimit)) {
+                break;
+            }
+        }
+        return publishes.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @Nullable String replace(
+            final @NotNull String queueId, final @NotNull PUBREL pubrel, final int bucketIndex) {
+
+        checkNotNull(queueId, "client id must not be null");
+        checkNotNull(pubrel, "pubrel must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues.get(queueId);
+        if (messages == null) {
+            return null;
+        }
+
+        Entry replaced = null;
+        for (final Entry entry : messages.qos1Or2Messages.values()) {
+            if (entry.packetId == NO_PACKET_ID) {
+                break;
+            }
+            if (entry.packetId == pubrel.getPacketIdentifier()) {
+                replaced = entry;
+                break;
+            }
+        }
+
+        String replacedId = null;
+        boolean retained = false;
+        final long key;
+        if (replaced != null) {
+            key = replaced.key;
+            retained = replaced.retained;
+            if (replaced.pubrel != null) {
+                pubrel.setMessageExpiryInterval(replaced.pubrel.getMessageExpiryInterval());
+                pubrel.setPublishTimestamp(replaced.pubrel.getPublishTimestamp());
+            } else {
+                payloadPersistence.decrementReferenceCounter(replaced.publishId);
+                pubrel.setMessageExpiryInterval(replaced.messageExpiryInterval);
+                pubrel.setPublishTimestamp(replaced.timestamp);
+                replacedId = replaced.uniqueId;
+            }
+            unlink(bucket, messages, replaced);
+            messages.qos1Or2Messages.remove(key);
+        } else {
+            // Ensure unknown PUBRELs are always first in queue
+            key = bucket.nextHeadKey--;
+        }
+
+        final byte[] record = ClientQueueRecords.pubrel(
+                queueId,
+                key,
+                pubrel.getPacketIdentifier(),
+                retained,
+                pubrel.getPublishTimestamp(),
+                pubrel.getMessageExpiryInterval());
+        final long position = bucket.log.append(ClientQueueRecords.PUBREL, record);
+        link(bucket, messages, Entry.pubrel(key, position, SegmentLog.HEADER_SIZE + record.length, retained, pubrel));
+        return replacedId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @Nullable String remove(final @NotNull String queueId, final int packetId, final int bucketIndex) {
+        return remove(queueId, packetId, null, bucketIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @Nullable String remove(
+            final @NotNull String queueId, final int packetId, final @Nullable String uniqueId, final int bucketIndex) {
+
+        checkNotNull(queueId, "client id must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues.get(queueId);
+        if (messages == null) {
+            return null;
+        }
+
+        final Iterator<Entry> iterator = messages.qos1Or2Messages.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.packetId != packetId) {
+                continue;
+            }
+            if (entry.pubrel == null && uniqueId != null && !uniqueId.equals(entry.uniqueId)) {
+                break;
+            }
+            iterator.remove();
+            removeEntry(bucket, queueId, false, messages, entry);
+            return entry.uniqueId;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public int size(final @NotNull String queueId, final boolean shared, final int bucketIndex) {
+        checkNotNull(queueId, "Queue ID must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX); // QueueSizes are not thread save
+
+        final Messages messages = buckets[bucketIndex].queues(shared).get(queueId);
+        return (messages == null) ? 0 : (messages.qos1Or2Messages.size() + messages.qos0Messages.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void clear(final @NotNull String queueId, final boolean shared, final int bucketIndex) {
+        checkNotNull(queueId, "Queue ID must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues(shared).remove(queueId);
+        if (messages == null) {
+            return;
+        }
+
+        for (final Entry entry : messages.qos1Or2Messages.values()) {
+            if (entry.pubrel == null) {
+                payloadPersistence.decrementReferenceCounter(entry.publishId);
+            }
+            unlink(bucket, messages, entry);
+        }
+        for (final PUBLISH qos0Message : messages.qos0Messages) {
+            // the client memory is not updated as the messages are removed completely
+            qos0MessagesMemory.addAndGet(-getQos0Size(qos0Message));
+        }
+        if (!messages.qos1Or2Messages.isEmpty()) {
+            bucket.log.append(ClientQueueRecords.CLEAR, ClientQueueRecords.clear(shared, queueId));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void removeAllQos0Messages(final @NotNull String queueId, final boolean shared, final int bucketIndex) {
+        checkNotNull(queueId, "Queue id must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Messages messages = buckets[bucketIndex].queues(shared).get(queueId);
+        if (messages == null) {
+            return;
+        }
+        for (final PUBLISH publish : messages.qos0Messages) {
+            qos0MessagesMemory.addAndGet(-getQos0Size(publish));
+        }
+        messages.qos0Messages.clear();
+        messages.qos0Memory = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public @NotNull ImmutableSet<String> cleanUp(final int bucketIndex) {
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        bucket.queues.forEach((queueId, messages) -> cleanExpiredMessages(bucket, queueId, false, messages));
+        bucket.sharedQueues.forEach((queueId, messages) -> cleanExpiredMessages(bucket, queueId, true, messages));
+        compactIfNecessary(bucket);
+        // bounds the records a power loss can take when no appends trigger the flush policy
+        bucket.log.force();
+
+        return ImmutableSet.copyOf(bucket.sharedQueues.keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void removeShared(
+            final @NotNull String sharedSubscription, final @NotNull String uniqueId, final int bucketIndex) {
+
+        checkNotNull(sharedSubscription, "Shared subscription must not be null");
+        checkNotNull(uniqueId, "Unique id must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.sharedQueues.get(sharedSubscription);
+        if (messages == null) {
+            return;
+        }
+
+        final Iterator<Entry> iterator = messages.qos1Or2Messages.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.pubrel != null || !uniqueId.equals(entry.uniqueId)) {
+                continue;
+            }
+            iterator.remove();
+            removeEntry(bucket, sharedSubscription, true, messages, entry);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void removeByUniqueIds(
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Set<String> uniqueIds,
+            final int bucketIndex) {
+
+        checkNotNull(queueId, "Queue ID must not be null");
+        checkNotNull(uniqueIds, "Unique ids must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.queues(shared).get(queueId);
+        if (messages == null) {
+            return;
+        }
+
+        int remaining = uniqueIds.size();
+        final Iterator<Entry> iterator = messages.qos1Or2Messages.values().iterator();
+        while (remaining > 0 && iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (entry.pubrel != null || !uniqueIds.contains(entry.uniqueId)) {
+                continue;
+            }
+            iterator.remove();
+            removeEntry(bucket, queueId, shared, messages, entry);
+            remaining--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void removeInFlightMarker(
+            final @NotNull String queueId, final @NotNull String uniqueId, final int bucketIndex) {
+
+        checkNotNull(queueId, "QueueId must not be null");
+        checkNotNull(uniqueId, "Unique id must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.sharedQueues.get(queueId);
+        if (messages == null) {
+            return;
+        }
+
+        for (final Entry entry : messages.qos1Or2Messages.values()) {
+            if (entry.pubrel == null && uniqueId.equals(entry.uniqueId)) {
+                setPacketId(bucket, queueId, true, entry, NO_PACKET_ID);
+                break;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void removeAllInFlightMarkers(final @NotNull String queueId, final int bucketIndex) {
+        checkNotNull(queueId, "QueueId must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Bucket bucket = buckets[bucketIndex];
+        final Messages messages = bucket.sharedQueues.get(queueId);
+        if (messages == null) {
+            return;
+        }
+
+        resetInFlightMarkers(messages);
+        bucket.log.append(
+                ClientQueueRecords.RESET_IN_FLIGHT_MARKERS, ClientQueueRecords.resetInFlightMarkers(queueId));
+    }
+
+    @Override
+    @ExecuteInSingleWriter
+    public void closeDB(final int bucketIndex) {
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+        final Bucket bucket = buckets[bucketIndex];
+        bucket.log.close();
+        bucket.queues.clear();
+        bucket.sharedQueues.clear();
+        totalFileSize.addAndGet(-bucket.liveBytes);
+        bucket.liveBytes = 0;
+    }
+
+    private @NotNull PUBLISH readPublish(final @NotNull Bucket bucket, final @NotNull Entry entry) {
+        return ClientQueueRecords.readAddedPublish(bucket.log.read(entry.position));
+    }
+
+    private void setPacketId(
+            final @NotNull Bucket bucket,
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Entry entry,
+            final int packetId) {
+        entry.packetId = packetId;
+        bucket.log.append(
+                ClientQueueRecords.PACKET_ID, ClientQueueRecords.packetId(shared, queueId, entry.key, packetId));
+    }
+
+    /**
+     * Removes the payload reference and persists the removal of an entry which was already taken out of its queue.
+     */
+    private void removeEntry(
+            final @NotNull Bucket bucket,
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Messages messages,
+            final @NotNull Entry entry) {
+        if (entry.pubrel == null) {
+            payloadPersistence.decrementReferenceCounter(entry.publishId);
+        }
+        unlink(bucket, messages, entry);
+        bucket.log.append(ClientQueueRecords.REMOVE, ClientQueueRecords.remove(shared, queueId, entry.key));
+    }
+
+    private void link(final @NotNull Bucket bucket, final @NotNull Messages messages, final @NotNull Entry entry) {
+        final Entry previous = messages.qos1Or2Messages.put(entry.key, entry);
+        if (previous != null) {
+            unlink(bucket, messages, previous);
+        }
+        if (entry.retained) {
+            messages.retainedQos1Or2Messages++;
+        }
+        bucket.liveBytes += entry.recordSize;
+        totalFileSize.addAndGet(entry.recordSize);
+    }
+
+    private void unlink(final @NotNull Bucket bucket, final @NotNull Messages messages, final @NotNull Entry entry) {
+        if (entry.retained) {
+            messages.retainedQos1Or2Messages--;
+        }
+        bucket.liveBytes -= entry.recordSize;
+        totalFileSize.addAndGet(-entry.recordSize);
+    }
+
+    private static void resetInFlightMarkers(final @NotNull Messages messages) {
+        for (final Entry entry : messages.qos1Or2Messages.values()) {
+            if (entry.pubrel == null) {
+                entry.packetId = NO_PACKET_ID;
+            }
+        }
+    }
+
+    /**
+     * Applies a record of the log to the in-memory index of its bucket.
+     */
+    private void replay(
+            final @NotNull Bucket bucket,
+            final byte type,
+            final @NotNull ByteBuffer body,
+            final long position,
+            final int size) {
+        switch (type) {
+            case ClientQueueRecords.ADD -> {
+                final long key = body.getLong();
+                final int packetId = body.getInt();
+                final boolean shared = body.get() != 0;
+                final boolean retained = body.get() != 0;
+                final String queueId = ClientQueueRecords.readString(body);
+                final PUBLISH publish = ClientQueueRecords.readPublish(body);
+                final Messages messages = bucket.queues(shared).computeIfAbsent(queueId, s -> new Messages());
+                final Entry entry = Entry.publish(key, position, size, retained, publish);
+                entry.packetId = packetId;
+                link(bucket, messages, entry);
+                bucket.trackKey(key);
+                bucket.maxPublishId = Math.max(bucket.maxPublishId, publish.getPublishId());
+            }
+            case ClientQueueRecords.PACKET_ID -> {
+                final boolean shared = body.get() != 0;
+                final Messages messages = bucket.queues(shared).get(ClientQueueRecords.readString(body));
+                final long key = body.getLong();
+                final int packetId = body.getInt();
+                if (messages != null) {
+                    final Entry entry = messages.qos1Or2Messages.get(key);
+                    if (entry != null) {
+                        entry.packetId = packetId;
+                    }
+                }
+            }
+            case ClientQueueRecords.REMOVE -> {
+                final boolean shared = body.get() != 0;
+                final Messages messages = bucket.queues(shared).get(ClientQueueRecords.readString(body));
+                final long key = body.getLong();
+                if (messages != null) {
+                    final Entry entry = messages.qos1Or2Messages.remove(key);
+                    if (entry != null) {
+                        unlink(bucket, messages, entry);
+                    }
+                }
+            }
+            case ClientQueueRecords.PUBREL -> {
+                final String queueId = ClientQueueRecords.readString(body);
+                final long key = body.getLong();
+                final int packetId = body.getInt();
+                final boolean retained = body.get() != 0;
+                final Long publishTimestamp = ClientQueueRecords.readNullableLong(body);
+                final Long messageExpiryInterval = ClientQueueRecords.readNullableLong(body);
+                final Messages messages = bucket.queues.computeIfAbsent(queueId, s -> new Messages());
+                final PUBREL pubrel = new PUBREL(packetId, publishTimestamp, messageExpiryInterval);
+                link(bucket, messages, Entry.pubrel(key, position, size, retained, pubrel));
+                bucket.trackKey(key);
+            }
+            case ClientQueueRecords.CLEAR -> {
+                final boolean shared = body.get() != 0;
+                final Messages messages = bucket.queues(shared).remove(ClientQueueRecords.readString(body));
+                if (messages != null) {
+                    for (final Entry entry : messages.qos1Or2Messages.values()) {
+                        unlink(bucket, messages, entry);
+                    }
+                }
+            }
+            case ClientQueueRecords.RESET_IN_FLIGHT_MARKERS -> {
+                final Messages messages = bucket.sharedQueues.get(ClientQueueRecords.readString(body));
+                if (messages != null) {
+                    resetInFlightMarkers(messages);
+                }
+            }
+            default -> log.warn("Ignoring client queue record with unknown type {}.", type);
+        }
+    }
+
+    /**
+     * Rewrites the live entries of the bucket into new segments once more than half of the log is garbage and the
+     * garbage is at least the size of one segment.
+     */
+    private void compactIfNecessary(final @NotNull Bucket bucket) {
+        final long garbage = bucket.log.getWrittenBytes() - bucket.liveBytes;
+        if (garbage < segmentSize || garbage < bucket.liveBytes) {
+            return;
+        }
+        compact(bucket);
+    }
+
+    @VisibleForTesting
+    void compact(final @NotNull Bucket bucket) {
+        final int firstCompactedSegment = bucket.log.startCompaction();
+        final long liveBytesBefore = bucket.liveBytes;
+        bucket.liveBytes = 0;
+        rewrite(bucket, bucket.queues);
+        rewrite(bucket, bucket.sharedQueues);
+        totalFileSize.addAndGet(bucket.liveBytes - liveBytesBefore);
+        bucket.log.finishCompaction(firstCompactedSegment);
+    }
+
+    private static void rewrite(final @NotNull Bucket bucket, final @NotNull Map<String, Messages> queues) {
+        queues.forEach((queueId, messages) -> {
+            for (final Entry entry : messages.qos1Or2Messages.values()) {
+                final byte type;
+                final byte[] record;
+                final PUBREL pubrel = entry.pubrel;
+                if (pubrel != null) {
+                    type = ClientQueueRecords.PUBREL;
+                    record = ClientQueueRecords.pubrel(
+                            queueId,
+                            entry.key,
+                            pubrel.getPacketIdentifier(),
+                            entry.retained,
+                            pubrel.getPublishTimestamp(),
+                            pubrel.getMessageExpiryInterval());
+                } else {
+                    type = ClientQueueRecords.ADD;
+                    final ByteBuffer original = bucket.log.read(entry.position);
+                    record = new byte[original.remaining()];
+                    original.get(record);
+                    // the in-flight marker of the copy must reflect the current state
+                    ByteBuffer.wrap(record).putInt(ClientQueueRecords.ADD_PACKET_ID_OFFSET, entry.packetId);
+                }
+                entry.position = bucket.log.append(type, record);
+                entry.recordSize = SegmentLog.HEADER_SIZE + record.length;
+                bucket.liveBytes += entry.recordSize;
+            }
+        });
+    }
+
+    private void cleanExpiredMessages(
+            final @NotNull Bucket bucket,
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Messages messages) {
+
+        final Iterator<PUBLISH> iterator = messages.qos0Messages.iterator();
+        while (iterator.hasNext()) {
+            final PUBLISH publish = iterator.next();
+            if (publish.isExpired()) {
+                increaseQos0MessagesMemory(messages, -getQos0Size(publish));
+                iterator.remove();
+            }
+        }
+
+        final Iterator<Entry> qos12iterator = messages.qos1Or2Messages.values().iterator();
+        while (qos12iterator.hasNext()) {
+            final Entry entry = qos12iterator.next();
+            final PUBREL pubrel = entry.pubrel;
+            if (pubrel != null) {
+                if (!InternalConfigurations.EXPIRE_INFLIGHT_PUBRELS_ENABLED) {
+                    continue;
+                }
+                if (pubrel.getMessageExpiryInterval() == null || pubrel.getPublishTimestamp() == null) {
+                    continue;
+                }
+                if (!pubrel.hasExpired()) {
+                    continue;
+                }
+            } else {
+                final boolean expireInflight = InternalConfigurations.EXPIRE_INFLIGHT_MESSAGES_ENABLED;
+                final boolean isInflight = entry.qos == QoS.EXACTLY_ONCE && entry.packetId > 0;
+                if (!entry.isExpired() || (isInflight && !expireInflight)) {
+                    continue;
+                }
+            }
+            qos12iterator.remove();
+            removeEntry(bucket, queueId, shared, messages, entry);
+        }
+    }
+
+    /**
+     * @return true if a message was discarded, else false
+     */
+    private boolean discardOldest(
+            final @NotNull Bucket bucket,
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Messages messages,
+            final boolean retainedOnly) {
+
+        final Iterator<Entry> iterator = messages.qos1Or2Messages.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            // we must no discard inflight messages
+            if (entry.pubrel != null || entry.packetId != NO_PACKET_ID) {
+                continue;
+            }
+            // Messages that are queued as retained messages are not discarded,
+            // otherwise a client could only receive a limited amount of retained messages per subscription.
+            if (retainedOnly != entry.retained) {
+                continue;
+            }
+            logMessageDropped(entry.topic, entry.qos, shared, queueId);
+            iterator.remove();
+            removeEntry(bucket, queueId, shared, messages, entry);
+            return true;
+        }
+        return false;
+    }
+
+    private void logAndDecrementPayloadReference(
+            final @NotNull PUBLISH publish, final boolean shared, final @NotNull String queueId) {
+        logMessageDropped(publish.getTopic(), publish.getQoS(), shared, queueId);
+        // the payloads for QoS-0 messages are not extracted and their reference count is not incremented.
+        // therefor it must not be decremented
+        if (publish.getQoS() != QoS.AT_MOST_ONCE) {
+            payloadPersistence.decrementReferenceCounter(publish.getPublishId());
+        }
+    }
+
+    private void logMessageDropped(
+            final @NotNull String topic, final @NotNull QoS qos, final boolean shared, final @NotNull String queueId) {
+        if (shared) {
+            messageDroppedService.queueFullShared(queueId, topic, qos.getQosNumber());
+        } else {
+            messageDroppedService.queueFull(queueId, topic, qos.getQosNumber());
+        }
+    }
+
+    private static int getQos0Size(final @NotNull PUBLISH publish) {
+        return publish.getEstimatedSizeInMemory() + MemoryEstimator.LINKED_LIST_NODE_OVERHEAD;
+    }
+
+    /**
+     * @param size the amount of bytes the currently used qos 0 memory will be increased by. May be negative.
+     */
+    private void increaseQos0MessagesMemory(final @NotNull Messages messages, final int size) {
+        qos0MessagesMemory.addAndGet(size);
+        messages.qos0Memory = Math.max(0, messages.qos0Memory + size);
+    }
+
+    @VisibleForTesting
+    @NotNull
+    Bucket getBucket(final int bucketIndex) {
+        return buckets[bucketIndex];
+    }
+
+    @VisibleForTesting
+    static final class Bucket {
+
+        final @NotNull SegmentLog log;
+        final @NotNull Map<String, Messages> queues = new HashMap<>();
+        final @NotNull Map<String, Messages> sharedQueues = new HashMap<>();
+
+        /**
+         * Keys define the order of the messages in a queue. New messages are appended with increasing keys, unknown
+         * PUBRELs are prepended with decreasing negative keys.
+         */
+        long nextKey = 1;
+
+        long nextHeadKey = -1;
+        long liveBytes;
+        long maxPublishId;
+
+        Bucket(final @NotNull SegmentLog log) {
+            this.log = log;
+        }
+
+        @NotNull
+        Map<String, Messages> queues(final boolean shared) {
+            return shared ? sharedQueues : queues;
+        }
+
+        void trackKey(final long key) {
+            nextKey = Math.max(nextKey, key + 1);
+            nextHeadKey = Math.min(nextHeadKey, key - 1);
+        }
+    }
+
+    private static final class Messages {
+
+        final @NotNull TreeMap<Long, Entry> qos1Or2Messages = new TreeMap<>();
+        final @NotNull ArrayDeque<PUBLISH> qos0Messages = new ArrayDeque<>();
+        int retainedQos1Or2Messages = 0;
+        long qos0Memory = 0;
+    }
+
+    /**
+     * The heap part of a queued QoS 1 or 2 message or of a PUBREL. Publishes are read from the log on demand.
+     */
+    private static final class Entry {
+
+        final long key;
+        final boolean retained;
+        final long publishId;
+        final @Nullable String uniqueId;
+        final @NotNull String topic;
+        final @NotNull QoS qos;
+        final long timestamp;
+        final long messageExpiryInterval;
+        final @Nullable PUBREL pubrel;
+
+        long position;
+        int recordSize;
+        int packetId;
+
+        private Entry(
+                final long key,
+                final long position,
+                final int recordSize,
+                final boolean retained,
+                final long publishId,
+                final @Nullable String uniqueId,
+                final @NotNull String topic,
+                final @NotNull QoS qos,
+                final long timestamp,
+                final long messageExpiryInterval,
+                final @Nullable PUBREL pubrel) {
+            this.key = key;
+            this.position = position;
+            this.recordSize = recordSize;
+            this.retained = retained;
+            this.publishId = publishId;
+            this.uniqueId = uniqueId;
+            this.topic = topic;
+            this.qos = qos;
+            this.timestamp = timestamp;
+            this.messageExpiryInterval = messageExpiryInterval;
+            this.pubrel = pubrel;
+        }
+
+        static @NotNull Entry publish(
+                final long key,
+                final long position,
+                final int recordSize,
+                final boolean retained,
+                final @NotNull PUBLISH publish) {
+            return new Entry(
+                    key,
+                    position,
+                    recordSize,
+                    retained,
+                    publish.getPublishId(),
+                    publish.getUniqueId(),
+                    publish.getTopic(),
+                    publish.getQoS(),
+                    publish.getTimestamp(),
+                    publish.getMessageExpiryInterval(),
+                    null);
+        }
+
+        static @NotNull Entry pubrel(
+                final long key,
+                final long position,
+                final int recordSize,
+                final boolean retained,
+                final @NotNull PUBREL pubrel) {
+            final Entry entry = new Entry(
+                    key,
+                    position,
+                    recordSize,
+                    retained,
+                    PUBLISH.NO_PUBLISH_ID_SET,
+                    null,
+                    "",
+                    QoS.EXACTLY_ONCE,
+                    0,
+                    PUBLISH.MESSAGE_EXPIRY_INTERVAL_NOT_SET,
+                    pubrel);
+            entry.packetId = pubrel.getPacketIdentifier();
+            return entry;
+        }
+
+        boolean isExpired() {
+            if (messageExpiryInterval == MqttConfigurationDefaults.TTL_DISABLED
+                    || messageExpiryInterval == PUBLISH.MESSAGE_EXPIRY_INTERVAL_NOT_SET) {
+                return false;
+            }
+            final long waitingSeconds = (System.currentTimeMillis() - timestamp) / 1000;
+            return messageExpiryInterval - waitingSeconds <= 0;
+        }
+    }
+}
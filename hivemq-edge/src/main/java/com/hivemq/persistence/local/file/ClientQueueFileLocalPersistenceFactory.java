@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.file;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hivemq.bootstrap.factories.ClientQueueLocalPersistenceFactory;
+import com.hivemq.configuration.service.InternalConfigurationService;
+import com.hivemq.configuration.service.InternalConfigurations;
+import com.hivemq.mqtt.message.dropping.MessageDroppedService;
+import com.hivemq.persistence.PersistenceStartup;
+import com.hivemq.persistence.clientqueue.ClientQueueLocalPersistence;
+import com.hivemq.persistence.local.ClientSessionLocalPersistence;
+import com.hivemq.persistence.payload.PublishPayloadPersistence;
+import com.hivemq.util.LocalPersistenceFileUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builds the built-in {@link ClientQueueFileLocalPersistence}, which is used for the file persistence modes when no
+ * other {@link ClientQueueLocalPersistenceFactory} is supplied.
+ */
+@Singleton
+public class ClientQueueFileLocalPersistenceFactory implements ClientQueueLocalPersistenceFactory {
+
+    private final @NotNull InternalConfigurationService internalConfigurationService;
+    private final @NotNull Provider<ClientSessionLocalPersistence> clientSessionLocalPersistence;
+    private final @NotNull MetricRegistry metricRegistry;
+
+    @Inject
+    public ClientQueueFileLocalPersistenceFactory(
+            final @NotNull InternalConfigurationService internalConfigurationService,
+            final @NotNull Provider<ClientSessionLocalPersistence> clientSessionLocalPersistence,
+            final @NotNull MetricRegistry metricRegistry) {
+        this.internalConfigurationService = internalConfigurationService;
+        this.clientSessionLocalPersistence = clientSessionLocalPersistence;
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public @NotNull ClientQueueLocalPersistence buildClientSessionLocalPersistence(
+            final @NotNull LocalPersistenceFileUtil localPersistenceFileUtil,
+            final @NotNull PublishPayloadPersistence payloadPersistence,
+            final @NotNull MessageDroppedService messageDroppedService,
+            final @NotNull PersistenceStartup persistenceStartup) {
+        return new ClientQueueFileLocalPersistence(
+                localPersistenceFileUtil.getVersionedLocalPersistenceFolder(
+                        ClientQueueFileLocalPersistence.PERSISTENCE_NAME,
+                        ClientQueueFileLocalPersistence.PERSISTENCE_VERSION),
+                internalConfigurationService.getInteger(InternalConfigurations.PERSISTENCE_BUCKET_COUNT),
+                InternalConfigurations.CLIENT_QUEUE_FILE_PERSISTENCE_SEGMENT_SIZE_BYTES.get(),
+                payloadPersistence,
+                messageDroppedService,
+                clientId -> clientSessionLocalPersistence.get().getSession(clientId, false) != null,
+                metricRegistry);
+    }
+}
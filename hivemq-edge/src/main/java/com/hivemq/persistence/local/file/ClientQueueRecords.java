@@ -0,0 +1,317 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.file;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
+import com.hivemq.codec.encoder.mqtt5.Mqtt5PayloadFormatIndicator;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.mqtt5.Mqtt5UserProperties;
+import com.hivemq.mqtt.message.mqtt5.MqttUserProperty;
+import com.hivemq.mqtt.message.publish.PUBLISH;
+import com.hivemq.mqtt.message.publish.PUBLISHFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Binary encoding of the records which are written to the {@link SegmentLog} of the client queue file persistence.
+ * <p>
+ * All records start with the queue they belong to, records which refer to a single message additionally contain the
+ * key of the message inside its queue.
+ */
+final class ClientQueueRecords {
+
+    /**
+     * A QoS 1 or 2 publish was added: {@code key, packetId, shared, retained, queueId, publish}.
+     * The packet id is placed at a fixed offset, so a compaction can copy the record and only patch the packet id.
+     */
+    static final byte ADD = 1;
+
+    /**
+     * The packet id (in-flight marker) of a message changed: {@code shared, queueId, key, packetId}.
+     */
+    static final byte PACKET_ID = 2;
+
+    /**
+     * A single message was removed: {@code shared, queueId, key}.
+     */
+    static final byte REMOVE = 3;
+
+    /**
+     * A PUBREL was stored at a key, replacing the publish at this key if present:
+     * {@code queueId, key, packetId, retained, publishTimestamp, messageExpiryInterval}.
+     */
+    static final byte PUBREL = 4;
+
+    /**
+     * A queue was cleared: {@code shared, queueId}.
+     */
+    static final byte CLEAR = 5;
+
+    /**
+     * All in-flight markers of a shared queue were reset: {@code queueId}.
+     */
+    static final byte RESET_IN_FLIGHT_MARKERS = 6;
+
+    static final int ADD_PACKET_ID_OFFSET = Long.BYTES;
+
+    private static final int NULL_LENGTH = -1;
+
+    private ClientQueueRecords() {}
+
+    static byte @NotNull [] add(
+            final long key,
+            final int packetId,
+            final boolean shared,
+            final boolean retained,
+            final @NotNull String queueId,
+            final @NotNull PUBLISH publish) {
+        final Writer writer = new Writer();
+        writer.writeLong(key);
+        writer.writeInt(packetId);
+        writer.writeBoolean(shared);
+        writer.writeBoolean(retained);
+        writer.writeString(queueId);
+        writePublish(writer, publish);
+        return writer.toByteArray();
+    }
+
+    static byte @NotNull [] packetId(
+            final boolean shared, final @NotNull String queueId, final long key, final int packetId) {
+        final Writer writer = new Writer();
+        writer.writeBoolean(shared);
+        writer.writeString(queueId);
+        writer.writeLong(key);
+        writer.writeInt(packetId);
+        return writer.toByteArray();
+    }
+
+    static byte @NotNull [] remove(final boolean shared, final @NotNull String queueId, final long key) {
+        final Writer writer = new Writer();
+        writer.writeBoolean(shared);
+        writer.writeString(queueId);
+        writer.writeLong(key);
+        return writer.toByteArray();
+    }
+
+    static byte @NotNull [] pubrel(
+            final @NotNull String queueId,
+            final long key,
+            final int packetId,
+            final boolean retained,
+            final @Nullable Long publishTimestamp,
+            final @Nullable Long messageExpiryInterval) {
+        final Writer writer = new Writer();
+        writer.writeString(queueId);
+        writer.writeLong(key);
+        writer.writeInt(packetId);
+        writer.writeBoolean(retained);
+        writer.writeNullableLong(publishTimestamp);
+        writer.writeNullableLong(messageExpiryInterval);
+        return writer.toByteArray();
+    }
+
+    static byte @NotNull [] clear(final boolean shared, final @NotNull String queueId) {
+        final Writer writer = new Writer();
+        writer.writeBoolean(shared);
+        writer.writeString(queueId);
+        return writer.toByteArray();
+    }
+
+    static byte @NotNull [] resetInFlightMarkers(final @NotNull String queueId) {
+        final Writer writer = new Writer();
+        writer.writeString(queueId);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Reads the publish of an {@link #ADD} record.
+     */
+    static @NotNull PUBLISH readAddedPublish(final @NotNull ByteBuffer body) {
+        body.position(Long.BYTES + Integer.BYTES + 2);
+        readString(body); // queue id
+        return readPublish(body);
+    }
+
+    private static void writePublish(final @NotNull Writer writer, final @NotNull PUBLISH publish) {
+        writer.writeString(publish.getHivemqId());
+        writer.writeString(publish.getTopic());
+        writer.writeByte(publish.getQoS().getQosNumber());
+        writer.writeByte(publish.getOnwardQoS().getQosNumber());
+        writer.writeBoolean(publish.isRetain());
+        writer.writeLong(publish.getMessageExpiryInterval());
+        writer.writeLong(publish.getTimestamp());
+        writer.writeLong(publish.getPublishId());
+        final Mqtt5PayloadFormatIndicator payloadFormatIndicator = publish.getPayloadFormatIndicator();
+        writer.writeByte(payloadFormatIndicator == null ? NULL_LENGTH : payloadFormatIndicator.getCode());
+        writer.writeNullableString(publish.getContentType());
+        writer.writeNullableString(publish.getResponseTopic());
+        writer.writeBytes(publish.getCorrelationData());
+        final ImmutableList<MqttUserProperty> userProperties = publish.getUserProperties().asList();
+        writer.writeInt(userProperties.size());
+        for (final MqttUserProperty userProperty : userProperties) {
+            writer.writeString(userProperty.getName());
+            writer.writeString(userProperty.getValue());
+        }
+        final ImmutableIntArray subscriptionIdentifiers = publish.getSubscriptionIdentifiers();
+        if (subscriptionIdentifiers == null) {
+            writer.writeInt(NULL_LENGTH);
+        } else {
+            writer.writeInt(subscriptionIdentifiers.length());
+            for (int i = 0; i < subscriptionIdentifiers.length(); i++) {
+                writer.writeInt(subscriptionIdentifiers.get(i));
+            }
+        }
+        writer.writeBytes(publish.getPayload());
+    }
+
+    static @NotNull PUBLISH readPublish(final @NotNull ByteBuffer body) {
+        final PUBLISHFactory.Mqtt5Builder builder = new PUBLISHFactory.Mqtt5Builder()
+                .withHivemqId(readString(body))
+                .withTopic(readString(body))
+                .withQoS(Objects.requireNonNull(QoS.valueOf(body.get())))
+                .withOnwardQos(Objects.requireNonNull(QoS.valueOf(body.get())))
+                .withRetain(body.get() != 0)
+                .withMessageExpiryInterval(body.getLong())
+                .withTimestamp(body.getLong())
+                .withPublishId(body.getLong())
+                .withPayloadFormatIndicator(Mqtt5PayloadFormatIndicator.fromCode(body.get()))
+                .withContentType(readNullableString(body))
+                .withResponseTopic(readNullableString(body))
+                .withCorrelationData(readBytes(body));
+        final int userPropertyCount = body.getInt();
+        if (userPropertyCount > 0) {
+            final ImmutableList.Builder<MqttUserProperty> userProperties = ImmutableList.builder();
+            for (int i = 0; i < userPropertyCount; i++) {
+                userProperties.add(new MqttUserProperty(readString(body), readString(body)));
+            }
+            builder.withUserProperties(Mqtt5UserProperties.of(userProperties.build()));
+        }
+        final int subscriptionIdentifierCount = body.getInt();
+        if (subscriptionIdentifierCount != NULL_LENGTH) {
+            final ImmutableIntArray.Builder subscriptionIdentifiers =
+                    ImmutableIntArray.builder(subscriptionIdentifierCount);
+            for (int i = 0; i < subscriptionIdentifierCount; i++) {
+                subscriptionIdentifiers.add(body.getInt());
+            }
+            builder.withSubscriptionIdentifiers(subscriptionIdentifiers.build());
+        }
+        return builder.withPayload(readBytes(body)).build();
+    }
+
+    static @NotNull String readString(final @NotNull ByteBuffer body) {
+        final byte[] bytes = new byte[body.getInt()];
+        body.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    static @Nullable Long readNullableLong(final @NotNull ByteBuffer body) {
+        return body.get() == 0 ? null : body.getLong();
+    }
+
+    private static @Nullable String readNullableString(final @NotNull ByteBuffer body) {
+        final byte[] bytes = readBytes(body);
+        return bytes == null ? null : new String(bytes, UTF_8);
+    }
+
+    private static byte @Nullable [] readBytes(final @NotNull ByteBuffer body) {
+        final int length = body.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        body.get(bytes);
+        return bytes;
+    }
+
+    private static final class Writer {
+
+        private final @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        private final @NotNull DataOutputStream out = new DataOutputStream(bytes);
+
+        void writeBoolean(final boolean value) {
+            try {
+                out.writeBoolean(value);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeByte(final int value) {
+            try {
+                out.writeByte(value);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeInt(final int value) {
+            try {
+                out.writeInt(value);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeLong(final long value) {
+            try {
+                out.writeLong(value);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void writeNullableLong(final @Nullable Long value) {
+            writeBoolean(value != null);
+            if (value != null) {
+                writeLong(value);
+            }
+        }
+
+        void writeString(final @NotNull String value) {
+            writeBytes(value.getBytes(UTF_8));
+        }
+
+        void writeNullableString(final @Nullable String value) {
+            writeBytes(value == null ? null : value.getBytes(UTF_8));
+        }
+
+        void writeBytes(final byte @Nullable [] value) {
+            if (value == null) {
+                writeInt(NULL_LENGTH);
+                return;
+            }
+            writeInt(value.length);
+            try {
+                out.write(value);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte @NotNull [] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
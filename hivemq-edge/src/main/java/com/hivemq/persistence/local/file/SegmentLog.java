@@ -0,0 +1,387 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.file;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of records which is split into memory-mapped segment files.
+ * <p>
+ * Every record is stored as {@code [int length][int crc32][byte type][body]}, where the length covers the type and the
+ * body. Segment files are pre-allocated and therefore zero-filled, so a length of {@code 0} marks the end of the
+ * written data. On {@link #recover(RecordVisitor)} all segments are scanned in order; the first record which is
+ * truncated or fails its checksum ends the scan of its segment, so a crash in the middle of a write loses at most
+ * that single record.
+ * <p>
+ * The position of a record is encoded as {@code segmentId << 32 | offset}.
+ * <p>
+ * Every segment is mapped in its own {@link Arena}, so it is unmapped as soon as it is closed instead of whenever the
+ * garbage collector gets to it. Compacted segment files are therefore never deleted while still mapped.
+ * <p>
+ * An appended record is in the page cache right away, so it survives a crash of the process. It only survives a power
+ * loss or a crash of the operating system once it was forced to the storage device. Records are forced when a segment
+ * is rolled, compacted or closed, by {@link #force()} and by the flush policy of the log: after a number of appends,
+ * after a time since the last force, or both. The time is only checked by the next append, so the owner of the log
+ * forces it periodically as well.
+ * <p>
+ * This class is not thread safe, it must only be accessed by the single writer thread which owns its bucket.
+ */
+class SegmentLog {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(SegmentLog.class);
+
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+
+    private static final @NotNull String SEGMENT_PREFIX = "segment-";
+    private static final @NotNull String SEGMENT_SUFFIX = ".log";
+
+    private final @NotNull File directory;
+    private final int segmentSize;
+    private final @NotNull TreeMap<Integer, Segment> segments = new TreeMap<>();
+    private final @NotNull CRC32 crc = new CRC32();
+
+    private final int forceEveryAppends;
+    private final long forceIntervalNanos;
+
+    private @NotNull Segment activeSegment;
+    private long writtenBytes;
+    // the records of the active segment in front of this offset were forced to the storage device
+    private int forcedPosition;
+    private int unforcedAppends;
+    private long lastForceNanos = System.nanoTime();
+
+    /**
+     * @param forceEveryAppends   force the log after this many appends, {@code 0} to disable
+     * @param forceIntervalMillis force the log on the first append this long after the last force, {@code 0} to disable
+     */
+    SegmentLog(
+            final @NotNull File directory,
+            final int segmentSize,
+            final int forceEveryAppends,
+            final long forceIntervalMillis) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceEveryAppends = forceEveryAppends;
+        this.forceIntervalNanos = TimeUnit.MILLISECONDS.toNanos(forceIntervalMillis);
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new UncheckedIOException(new IOException("Unable to create folder " + directory.getAbsolutePath()));
+        }
+        final File[] files =
+                directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (final File file : files) {
+                final int id = parseSegmentId(file.getName());
+                if (id < 0) {
+                    log.warn("Ignoring unexpected file {} in persistence folder.", file.getAbsolutePath());
+                    continue;
+                }
+                segments.put(id, Segment.open(id, file, (int) file.length()));
+            }
+        }
+        if (segments.isEmpty()) {
+            activeSegment = createSegment(0, segmentSize);
+        } else {
+            activeSegment = segments.lastEntry().getValue();
+        }
+    }
+
+    /**
+     * Scans all segments in order and hands every valid record to the visitor. Afterwards the write position is placed
+     * directly behind the last valid record.
+     */
+    void recover(final @NotNull RecordVisitor visitor) {
+        writtenBytes = 0;
+        for (final Segment segment : segments.values()) {
+            final ByteBuffer buffer = segment.buffer;
+            int offset = 0;
+            while (offset + HEADER_SIZE <= buffer.capacity()) {
+                final int length = buffer.getInt(offset);
+                if (length == 0) {
+                    break;
+                }
+                if (length < 0 || offset + HEADER_SIZE - 1 + length > buffer.capacity()) {
+                    log.warn(
+                            "Found truncated record in {} at offset {}, discarding the rest of the segment.",
+                            segment.file.getAbsolutePath(),
+                            offset);
+                    break;
+                }
+                final int checksum = buffer.getInt(offset + Integer.BYTES);
+                final ByteBuffer record = buffer.slice(offset + Integer.BYTES + Integer.BYTES, length);
+                crc.reset();
+                crc.update(record.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    log.warn(
+                            "Found corrupt record in {} at offset {}, discarding the rest of the segment.",
+                            segment.file.getAbsolutePath(),
+                            offset);
+                    break;
+                }
+                final byte type = record.get(0);
+                final int recordSize = HEADER_SIZE - 1 + length;
+                visitor.visit(type, record.slice(1, length - 1), position(segment.id, offset), recordSize);
+                offset += recordSize;
+            }
+            // everything behind the last valid record is garbage from an interrupted write
+            for (int i = offset; i < Math.min(buffer.capacity(), offset + HEADER_SIZE); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            segment.writePosition = offset;
+            writtenBytes += offset;
+        }
+        forcedPosition = activeSegment.writePosition;
+    }
+
+    /**
+     * Appends a record to the active segment, rolls over to a new segment if the record does not fit anymore.
+     *
+     * @return the position of the record
+     */
+    long append(final byte type, final byte @NotNull [] body) {
+        final int recordSize = HEADER_SIZE + body.length;
+        if (activeSegment.writePosition + recordSize > activeSegment.buffer.capacity()) {
+            roll(recordSize);
+        }
+        final Segment segment = activeSegment;
+        final int offset = segment.writePosition;
+        crc.reset();
+        crc.update(type);
+        crc.update(body);
+        final ByteBuffer buffer = segment.buffer;
+        // the length is written last, so a partially written record is never seen as valid
+        buffer.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        buffer.put(offset + Integer.BYTES + Integer.BYTES, type);
+        buffer.put(offset + HEADER_SIZE, body);
+        buffer.putInt(offset, body.length + 1);
+        segment.writePosition = offset + recordSize;
+        writtenBytes += recordSize;
+        unforcedAppends++;
+        if ((forceEveryAppends > 0 && unforcedAppends >= forceEveryAppends)
+                || (forceIntervalNanos > 0 && System.nanoTime() - lastForceNanos >= forceIntervalNanos)) {
+            force();
+        }
+        return position(segment.id, offset);
+    }
+
+    /**
+     * @return a read only view on the body of the record at the given position
+     */
+    @NotNull
+    ByteBuffer read(final long position) {
+        final Segment segment = segments.get(segmentId(position));
+        if (segment == null) {
+            throw new IllegalStateException("Segment for record position " + position + " does not exist");
+        }
+        final int offset = offset(position);
+        final int length = segment.buffer.getInt(offset);
+        return segment.buffer.slice(offset + HEADER_SIZE, length - 1).asReadOnlyBuffer();
+    }
+
+    /**
+     * Starts a new segment. All records appended after this call are stored in segments with an id equal or higher
+     * than the returned one.
+     *
+     * @return the id of the first segment that belongs to the compacted log
+     */
+    int startCompaction() {
+        if (activeSegment.writePosition > 0) {
+            roll(0);
+        }
+        return activeSegment.id;
+    }
+
+    /**
+     * Deletes all segments which were written before the compaction was started. Segments are deleted in ascending
+     * order, so an interrupted compaction never resurrects records that were already removed.
+     */
+    void finishCompaction(final int firstCompactedSegmentId) {
+        force();
+        final Iterator<Map.Entry<Integer, Segment>> iterator =
+                segments.headMap(firstCompactedSegmentId, false).entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Segment segment = iterator.next().getValue();
+            writtenBytes -= segment.writePosition;
+            segment.close();
+            if (!segment.file.delete()) {
+                log.warn("Unable to delete compacted segment {}.", segment.file.getAbsolutePath());
+            }
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Forces the records that were appended since the last force to the storage device.
+     */
+    void force() {
+        final Segment segment = activeSegment;
+        if (segment.writePosition > forcedPosition) {
+            segment.memory.asSlice(forcedPosition, segment.writePosition - forcedPosition).force();
+            forcedPosition = segment.writePosition;
+        }
+        unforcedAppends = 0;
+        lastForceNanos = System.nanoTime();
+    }
+
+    void close() {
+        force();
+        for (final Segment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    /**
+     * @return the amount of bytes written to all segments, including records which are no longer live
+     */
+    long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /**
+     * @return the amount of bytes allocated on disk for all segments
+     */
+    long getAllocatedBytes() {
+        long allocated = 0;
+        for (final Segment segment : segments.values()) {
+            allocated += segment.buffer.capacity();
+        }
+        return allocated;
+    }
+
+    @VisibleForTesting
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void roll(final int minSize) {
+        force();
+        activeSegment = createSegment(activeSegment.id + 1, Math.max(segmentSize, minSize));
+        forcedPosition = 0;
+    }
+
+    private @NotNull Segment createSegment(final int id, final int size) {
+        final File file = new File(directory, String.format("%s%010d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        final Segment segment = Segment.open(id, file, size);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private static int parseSegmentId(final @NotNull String fileName) {
+        try {
+            return Integer.parseInt(
+                    fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    static long position(final int segmentId, final int offset) {
+        return ((long) segmentId << 32) | (offset & 0xFFFF_FFFFL);
+    }
+
+    static int segmentId(final long position) {
+        return (int) (position >>> 32);
+    }
+
+    static int offset(final long position) {
+        return (int) position;
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        /**
+         * @param type     the type of the record
+         * @param body     the body of the record, only valid during this call
+         * @param position the position of the record in the log
+         * @param size     the total size of the record in the log including the header
+         */
+        void visit(byte type, @NotNull ByteBuffer body, long position, int size);
+    }
+
+    private static final class Segment {
+
+        private final int id;
+        private final @NotNull File file;
+        private final @NotNull FileChannel channel;
+        private final @NotNull Arena arena;
+        private final @NotNull MemorySegment memory;
+        private final @NotNull ByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(
+                final int id,
+                final @NotNull File file,
+                final @NotNull FileChannel channel,
+                final @NotNull Arena arena,
+                final @NotNull MemorySegment memory) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.arena = arena;
+            this.memory = memory;
+            this.buffer = memory.asByteBuffer();
+        }
+
+        static @NotNull Segment open(final int id, final @NotNull File file, final int size) {
+            try {
+                final FileChannel channel = FileChannel.open(
+                        file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                // shared, the single writer of a bucket is not always the same thread
+                final Arena arena = Arena.ofShared();
+                try {
+                    final MemorySegment memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+                    return new Segment(id, file, channel, arena, memory);
+                } catch (final IOException | RuntimeException e) {
+                    arena.close();
+                    channel.close();
+                    throw e;
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Unable to open segment " + file.getAbsolutePath(), e);
+            }
+        }
+
+        /**
+         * Unmaps the segment and closes its file. Buffers returned by {@link SegmentLog#read(long)} for this segment must not be
+         * used afterwards.
+         */
+        void close() {
+            arena.close();
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                log.debug("Unable to close segment {}.", file.getAbsolutePath(), e);
+            }
+        }
+    }
+}
@@ -47,6 +47,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -723,6 +724,50 @@ public class ClientQueueMemoryLocalPersistence implements ClientQueueLocalPersis
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @ExecuteInSingleWriter
+    public void removeByUniqueIds(
+            final @NotNull String queueId,
+            final boolean shared,
+            final @NotNull Set<String> uniqueIds,
+            final int bucketIndex) {
+
+        checkNotNull(queueId, "Queue ID must not be null");
+        checkNotNull(uniqueIds, "Unique ids must not be null");
+        ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
+
+        final Map<String, Messages> bucket = shared ? sharedBuckets[bucketIndex] : buckets[bucketIndex];
+        final Messages messages = bucket.get(queueId);
+        if (messages == null) {
+            return;
+        }
+
+        int remaining = uniqueIds.size();
+        final Iterator<MessageWithID> iterator = messages.qos1Or2Messages.iterator();
+        while (remaining > 0 && iterator.hasNext()) {
+            final MessageWithID messageWithID = iterator.next();
+            if (messageWithID instanceof PublishWithRetained publish) {
+                if (!uniqueIds.contains(publish.getUniqueId())) {
+                    continue;
+                }
+                // the payloads for QoS-0 messages are not extracted and their reference count is not incremented.
+                // therefor it must not be decremented
+                if (publish.getQoS() != QoS.AT_MOST_ONCE) {
+                    payloadPersistence.decrementReferenceCounter(publish.getPublishId());
+                }
+                if (publish.retained) {
+                    messages.retainedQos1Or2Messages--;
+                }
+                increaseMessagesMemory(-publish.getEstimatedSize());
+                iterator.remove();
+                remaining--;
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
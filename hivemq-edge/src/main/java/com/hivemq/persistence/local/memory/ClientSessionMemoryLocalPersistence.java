@@ -45,7 +45,6 @@ import com.hivemq.util.ThreadPreConditions;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -69,8 +68,10 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
     private final @NotNull MetricsHolder metricsHolder;
     private final @NotNull EventLog eventLog;
     private final @NotNull Map<String, PersistenceEntry<ClientSession>> @NotNull [] buckets;
+    private final @NotNull ExpiryIndex<String> @NotNull [] expiryIndexes;
     private final @NotNull AtomicInteger sessionsCount = new AtomicInteger(0);
     private final @NotNull AtomicLong currentMemorySize = new AtomicLong();
+    private final @NotNull AtomicLong pendingExpirations = new AtomicLong();
     private final int bucketCount;
 
     @Inject
@@ -92,9 +93,17 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
         for (int i = 0; i < bucketCount; i++) {
             buckets[i] = new HashMap<>();
         }
+        //noinspection unchecked
+        expiryIndexes = new ExpiryIndex[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            expiryIndexes[i] = new ExpiryIndex<>(pendingExpirations);
+        }
 
         metricRegistry.register(HiveMQMetrics.CLIENT_SESSIONS_MEMORY_PERSISTENCE_TOTAL_SIZE.name(), (Gauge<Long>)
                 currentMemorySize::get);
+        metricRegistry.register(
+                HiveMQMetrics.CLIENT_SESSIONS_MEMORY_PERSISTENCE_PENDING_EXPIRATIONS.name(),
+                (Gauge<Long>) pendingExpirations::get);
     }
 
     private @NotNull Map<String, PersistenceEntry<ClientSession>> getBucket(final int bucketIndex) {
@@ -187,7 +196,7 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
         final Map<String, PersistenceEntry<ClientSession>> sessions = getBucket(bucketIndex);
         final ClientSession usedSession = newClientSession.deepCopy();
 
-        sessions.compute(clientId, (ignored, storedSession) -> {
+        final PersistenceEntry<ClientSession> storedEntry = sessions.compute(clientId, (ignored, storedSession) -> {
             final boolean addClientIdSize;
             if (storedSession == null) {
                 sessionsCount.incrementAndGet();
@@ -223,6 +232,7 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
 
             return newEntry;
         });
+        scheduleExpiry(clientId, storedEntry, bucketIndex);
     }
 
     @Override
@@ -238,45 +248,44 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
 
         final Map<String, PersistenceEntry<ClientSession>> bucket = getBucket(bucketIndex);
 
-        final ClientSession storedSession = bucket.compute(clientId, (ignored, oldEntry) -> {
-                    if (oldEntry == null) {
-                        // we create a tombstone here which will be removed at next cleanup
-                        final ClientSession clientSession = new ClientSession(false, SESSION_EXPIRE_ON_DISCONNECT);
-                        final PersistenceEntry<ClientSession> persistenceEntry =
-                                new PersistenceEntry<>(clientSession, timestamp);
-                        currentMemorySize.addAndGet(
-                                persistenceEntry.getEstimatedSize() + MemoryEstimator.stringSize(clientId));
-                        return persistenceEntry;
-                    }
+        final PersistenceEntry<ClientSession> storedEntry = bucket.compute(clientId, (ignored, oldEntry) -> {
+            if (oldEntry == null) {
+                // we create a tombstone here which will be removed at next cleanup
+                final ClientSession clientSession = new ClientSession(false, SESSION_EXPIRE_ON_DISCONNECT);
+                final PersistenceEntry<ClientSession> persistenceEntry =
+                        new PersistenceEntry<>(clientSession, timestamp);
+                currentMemorySize.addAndGet(persistenceEntry.getEstimatedSize() + MemoryEstimator.stringSize(clientId));
+                return persistenceEntry;
+            }
 
-                    currentMemorySize.addAndGet(-oldEntry.getEstimatedSize());
-                    final ClientSession oldSession = oldEntry.getObject();
-                    final ClientSession newSession;
-                    if (sendWill) {
-                        newSession = oldSession;
-                    } else {
-                        removeWillReference(oldSession);
-                        newSession = oldSession.copyWithoutWill();
-                    }
+            currentMemorySize.addAndGet(-oldEntry.getEstimatedSize());
+            final ClientSession oldSession = oldEntry.getObject();
+            final ClientSession newSession;
+            if (sendWill) {
+                newSession = oldSession;
+            } else {
+                removeWillReference(oldSession);
+                newSession = oldSession.copyWithoutWill();
+            }
 
-                    if (sessionExpiryInterval != SESSION_EXPIRY_NOT_SET) {
-                        newSession.setSessionExpiryIntervalSec(sessionExpiryInterval);
-                    }
+            if (sessionExpiryInterval != SESSION_EXPIRY_NOT_SET) {
+                newSession.setSessionExpiryIntervalSec(sessionExpiryInterval);
+            }
 
-                    if (newSession.isConnected() && !isPersistent(newSession)) {
-                        sessionsCount.decrementAndGet();
-                    }
+            if (newSession.isConnected() && !isPersistent(newSession)) {
+                sessionsCount.decrementAndGet();
+            }
 
-                    newSession.setConnected(false);
-                    loadWillPayload(newSession, false);
+            newSession.setConnected(false);
+            loadWillPayload(newSession, false);
 
-                    final PersistenceEntry<ClientSession> newEntry = new PersistenceEntry<>(newSession, timestamp);
-                    currentMemorySize.addAndGet(newEntry.getEstimatedSize());
-                    return newEntry;
-                })
-                .getObject()
-                .deepCopy();
+            final PersistenceEntry<ClientSession> newEntry = new PersistenceEntry<>(newSession, timestamp);
+            currentMemorySize.addAndGet(newEntry.getEstimatedSize());
+            return newEntry;
+        });
+        scheduleExpiry(clientId, storedEntry, bucketIndex);
 
+        final ClientSession storedSession = storedEntry.getObject().deepCopy();
         loadWillPayload(storedSession);
         return storedSession;
     }
@@ -295,6 +304,7 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
 
         final Map<String, PersistenceEntry<ClientSession>> bucket = getBucket(bucketIndex);
         final PersistenceEntry<ClientSession> remove = bucket.remove(clientId);
+        expiryIndexes[bucketIndex].unschedule(clientId);
         if (remove != null) {
             final ClientSession clientSession = remove.getObject();
             if (isPersistent(clientSession) || clientSession.isConnected()) {
@@ -313,31 +323,32 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
         final Map<String, PersistenceEntry<ClientSession>> bucket = getBucket(bucketIndex);
 
         final long currentTimeMillis = System.currentTimeMillis();
-        final Iterator<Map.Entry<String, PersistenceEntry<ClientSession>>> iterator =
-                bucket.entrySet().iterator();
-
         final ImmutableSet.Builder<String> expiredClientIds = ImmutableSet.builder();
 
-        while (iterator.hasNext()) {
-            final Map.Entry<String, PersistenceEntry<ClientSession>> entry = iterator.next();
-            final PersistenceEntry<ClientSession> storedEntry = entry.getValue();
+        // only the sessions whose deadline has passed are looked at, see ExpiryIndex
+        for (final String clientId : expiryIndexes[bucketIndex].pollExpired(currentTimeMillis)) {
+            final PersistenceEntry<ClientSession> storedEntry = bucket.get(clientId);
+            if (storedEntry == null) {
+                continue;
+            }
 
             final long timestamp = storedEntry.getTimestamp();
             final ClientSession clientSession = storedEntry.getObject();
 
             final long sessionExpiryInterval = clientSession.getSessionExpiryIntervalSec();
 
-            if (clientSession.isExpired(currentTimeMillis - timestamp)) {
+            if (!clientSession.isExpired(currentTimeMillis - timestamp)) {
+                scheduleExpiry(clientId, storedEntry, bucketIndex);
+                continue;
+            }
 
-                if (sessionExpiryInterval > SESSION_EXPIRE_ON_DISCONNECT) {
-                    sessionsCount.decrementAndGet();
-                }
-                eventLog.clientSessionExpired(timestamp + sessionExpiryInterval * 1000, entry.getKey());
-                expiredClientIds.add(entry.getKey());
-                currentMemorySize.addAndGet(
-                        -(storedEntry.getEstimatedSize() + MemoryEstimator.stringSize(entry.getKey())));
-                iterator.remove();
+            if (sessionExpiryInterval > SESSION_EXPIRE_ON_DISCONNECT) {
+                sessionsCount.decrementAndGet();
             }
+            eventLog.clientSessionExpired(timestamp + sessionExpiryInterval * 1000, clientId);
+            expiredClientIds.add(clientId);
+            currentMemorySize.addAndGet(-(storedEntry.getEstimatedSize() + MemoryEstimator.stringSize(clientId)));
+            bucket.remove(clientId);
         }
         return expiredClientIds.build();
     }
@@ -376,7 +387,7 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
 
         final Map<String, PersistenceEntry<ClientSession>> bucket = getBucket(bucketIndex);
 
-        bucket.compute(clientId, (ignored, storedSession) -> {
+        final PersistenceEntry<ClientSession> storedEntry = bucket.compute(clientId, (ignored, storedSession) -> {
             if (storedSession == null) {
                 throw NoSessionException.INSTANCE;
             }
@@ -392,6 +403,7 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
 
             return new PersistenceEntry<>(clientSession, storedSession.getTimestamp());
         });
+        scheduleExpiry(clientId, storedEntry, bucketIndex);
     }
 
     @Override
@@ -475,12 +487,31 @@ public class ClientSessionMemoryLocalPersistence implements ClientSessionLocalPe
     @ExecuteInSingleWriter
     public void closeDB(final int bucketIndex) {
         getBucket(bucketIndex).clear();
+        expiryIndexes[bucketIndex].clear();
         // happens for every bucket, but its faster than calculating all sizes
         // and decrementing the memory and count every time,
         sessionsCount.set(0);
         currentMemorySize.set(0);
     }
 
+    /**
+     * Keeps the expiry index in sync with a stored session. Connected sessions can not expire, a disconnected session
+     * expires once its session expiry interval has passed since the disconnect.
+     */
+    private void scheduleExpiry(
+            final @NotNull String clientId,
+            final @NotNull PersistenceEntry<ClientSession> storedEntry,
+            final int bucketIndex) {
+        final ClientSession clientSession = storedEntry.getObject();
+        if (clientSession.isConnected()) {
+            expiryIndexes[bucketIndex].unschedule(clientId);
+        } else {
+            expiryIndexes[bucketIndex].schedule(
+                    clientId,
+                    ExpiryIndex.deadline(storedEntry.getTimestamp(), clientSession.getSessionExpiryIntervalSec()));
+        }
+    }
+
     private void removeWillReference(final @NotNull ClientSession clientSession) {
         final ClientSessionWill willPublish = clientSession.getWillPublish();
         if (willPublish == null) {
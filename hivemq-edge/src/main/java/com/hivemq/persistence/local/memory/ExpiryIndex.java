@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.memory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The expiry deadlines of the entries of a single persistence bucket, kept in a min-heap so that a clean up only
+ * touches the entries that actually expired instead of walking the whole bucket.
+ * <p>
+ * Rescheduling a key does not remove its previous deadline from the heap. A deadline in the heap is only valid while
+ * it matches the deadline recorded for its key, outdated ones are skipped when they come up. The heap is rebuilt from
+ * the valid deadlines once the outdated ones outnumber them, so connection churn cannot grow it without bounds.
+ * <p>
+ * An index is not thread safe, it must only be accessed by the single writer thread of its bucket. The number of
+ * pending expirations is additionally tracked in a counter that may be shared by the indexes of all buckets.
+ *
+ * @param <K> the type of the keys of the bucket
+ */
+class ExpiryIndex<K> {
+
+    private static final int MIN_COMPACTION_SIZE = 64;
+
+    private final @NotNull Map<K, Long> deadlines = new HashMap<>();
+    private final @NotNull AtomicLong pendingExpirations;
+    private @NotNull PriorityQueue<Deadline<K>> heap = newHeap();
+
+    ExpiryIndex(final @NotNull AtomicLong pendingExpirations) {
+        this.pendingExpirations = pendingExpirations;
+    }
+
+    /**
+     * @return the point in time at which an entry stored at the given timestamp expires, saturated at
+     *         {@link Long#MAX_VALUE} for intervals that never run out
+     */
+    static long deadline(final long timestampMillis, final long intervalSec) {
+        if (intervalSec >= (Long.MAX_VALUE - timestampMillis) / 1000) {
+            return Long.MAX_VALUE;
+        }
+        return timestampMillis + intervalSec * 1000;
+    }
+
+    /**
+     * Schedules the expiry of the given key, replacing its previous deadline.
+     */
+    void schedule(final @NotNull K key, final long deadline) {
+        final Long previous = deadlines.put(key, deadline);
+        if (previous == null) {
+            pendingExpirations.incrementAndGet();
+        } else if (previous == deadline) {
+            return;
+        }
+        heap.add(new Deadline<>(key, deadline));
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes the deadline of the given key, e.g. because the entry was removed or can no longer expire.
+     */
+    void unschedule(final @NotNull K key) {
+        if (deadlines.remove(key) != null) {
+            pendingExpirations.decrementAndGet();
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Removes and returns the keys whose deadline is at or before the given point in time.
+     */
+    @NotNull
+    List<K> pollExpired(final long nowMillis) {
+        final List<K> expired = new ArrayList<>();
+        Deadline<K> head;
+        while ((head = heap.peek()) != null && head.deadline() <= nowMillis) {
+            heap.poll();
+            final Long current = deadlines.get(head.key());
+            if (current != null && current == head.deadline()) {
+                deadlines.remove(head.key());
+                pendingExpirations.decrementAndGet();
+                expired.add(head.key());
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return the number of keys with a scheduled expiry
+     */
+    int size() {
+        return deadlines.size();
+    }
+
+    void clear() {
+        pendingExpirations.addAndGet(-deadlines.size());
+        deadlines.clear();
+        heap = newHeap();
+    }
+
+    private void compactIfNeeded() {
+        if (heap.size() < MIN_COMPACTION_SIZE || heap.size() <= 2 * deadlines.size()) {
+            return;
+        }
+        final PriorityQueue<Deadline<K>> compacted = new PriorityQueue<>(
+                Math.max(1, deadlines.size()), Comparator.<Deadline<K>>comparingLong(Deadline::deadline));
+        deadlines.forEach((key, deadline) -> compacted.add(new Deadline<>(key, deadline)));
+        heap = compacted;
+    }
+
+    private static <K> @NotNull PriorityQueue<Deadline<K>> newHeap() {
+        return new PriorityQueue<>(Comparator.<Deadline<K>>comparingLong(Deadline::deadline));
+    }
+
+    private record Deadline<K>(@NotNull K key, long deadline) {}
+}
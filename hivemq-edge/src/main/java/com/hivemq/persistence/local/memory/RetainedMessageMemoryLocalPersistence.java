@@ -61,6 +61,10 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
 
     private final Map<String, RetainedMessage> @NotNull [] buckets;
 
+    private final @NotNull ExpiryIndex<String> @NotNull [] expiryIndexes;
+
+    private final @NotNull AtomicLong pendingExpirations = new AtomicLong();
+
     private final int bucketCount;
 
     @Inject
@@ -78,9 +82,17 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
         for (int i = 0; i < bucketCount; i++) {
             topicTrees[i] = new PublishTopicTree();
         }
+        //noinspection unchecked
+        expiryIndexes = new ExpiryIndex[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            expiryIndexes[i] = new ExpiryIndex<>(pendingExpirations);
+        }
 
         metricRegistry.register(HiveMQMetrics.RETAINED_MESSAGES_MEMORY_PERSISTENCE_TOTAL_SIZE.name(), (Gauge<Long>)
                 currentMemorySize::get);
+        metricRegistry.register(
+                HiveMQMetrics.RETAINED_MESSAGES_MEMORY_PERSISTENCE_PENDING_EXPIRATIONS.name(),
+                (Gauge<Long>) pendingExpirations::get);
     }
 
     @Override
@@ -108,6 +120,7 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
             currentMemorySize.addAndGet(-retainedMessage.getEstimatedSizeInMemory());
         }
         bucket.clear();
+        expiryIndexes[bucketIndex].clear();
     }
 
     @ExecuteInSingleWriter
@@ -119,6 +132,7 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
         topicTrees[bucketIndex].remove(topic);
         final Map<String, RetainedMessage> bucket = buckets[bucketIndex];
         final RetainedMessage retainedMessage = bucket.remove(topic);
+        expiryIndexes[bucketIndex].unschedule(topic);
         if (retainedMessage != null) {
             currentMemorySize.addAndGet(-retainedMessage.getEstimatedSizeInMemory());
         }
@@ -157,6 +171,7 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
         }
         currentMemorySize.addAndGet(retainedMessage.getEstimatedSizeInMemory());
         topicTrees[bucketIndex].add(topic);
+        scheduleExpiry(topic, retainedMessage, bucketIndex);
     }
 
     @NotNull
@@ -176,22 +191,19 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
         ThreadPreConditions.startsWith(SINGLE_WRITER_THREAD_PREFIX);
 
         final Map<String, RetainedMessage> bucket = buckets[bucketIndex];
-        if (bucket != null) {
-            bucket.entrySet().removeIf(entry -> {
-                if (entry == null) {
-                    return false;
-                }
-                final RetainedMessage retainedMessage = entry.getValue();
-                final String topic = entry.getKey();
-                if (retainedMessage.hasExpired()) {
-                    currentMemorySize.addAndGet(-retainedMessage.getEstimatedSizeInMemory());
-                    topicTrees[bucketIndex].remove(topic);
-                    return true;
-                }
-                return false;
-            });
-        } else {
-            log.debug("In Memory Bucket {} was null during retained messages cleanup.", bucketIndex);
+        // only the messages whose deadline has passed are looked at, see ExpiryIndex
+        for (final String topic : expiryIndexes[bucketIndex].pollExpired(System.currentTimeMillis())) {
+            final RetainedMessage retainedMessage = bucket.get(topic);
+            if (retainedMessage == null) {
+                continue;
+            }
+            if (!retainedMessage.hasExpired()) {
+                scheduleExpiry(topic, retainedMessage, bucketIndex);
+                continue;
+            }
+            bucket.remove(topic);
+            currentMemorySize.addAndGet(-retainedMessage.getEstimatedSizeInMemory());
+            topicTrees[bucketIndex].remove(topic);
         }
     }
 
@@ -237,4 +249,15 @@ public class RetainedMessageMemoryLocalPersistence implements RetainedMessageLoc
     public void closeDB(final int bucketIndex) {
         // noop
     }
+
+    private void scheduleExpiry(
+            final @NotNull String topic, final @NotNull RetainedMessage retainedMessage, final int bucketIndex) {
+        if (retainedMessage.isExpiryDisabled()) {
+            expiryIndexes[bucketIndex].unschedule(topic);
+        } else {
+            expiryIndexes[bucketIndex].schedule(
+                    topic,
+                    ExpiryIndex.deadline(retainedMessage.getTimestamp(), retainedMessage.getMessageExpiryInterval()));
+        }
+    }
 }
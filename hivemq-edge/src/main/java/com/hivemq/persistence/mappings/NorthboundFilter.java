@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.mappings;
+
+import java.util.Objects;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Report-by-exception settings of a northbound mapping, they decide which samples of a tag are published.
+ * <p>
+ * The deadbands are compared against the last published value, so a slowly drifting value is still published once it
+ * drifted far enough. Values that are no numbers are published when they change for every mode but {@link Mode#ALWAYS}.
+ */
+public class NorthboundFilter {
+
+    public static final @NotNull NorthboundFilter ALWAYS = new NorthboundFilter(Mode.ALWAYS, 0, 0);
+
+    public enum Mode {
+        /**
+         * Every sample is published.
+         */
+        ALWAYS,
+        /**
+         * A sample is published if its value differs from the last published value.
+         */
+        ON_CHANGE,
+        /**
+         * A sample is published if its value differs by more than the deadband from the last published value.
+         */
+        ABSOLUTE_DEADBAND,
+        /**
+         * A sample is published if its value differs by more than deadband percent of the last published value.
+         */
+        PERCENT_DEADBAND
+    }
+
+    private final @NotNull Mode mode;
+    private final double deadband;
+    private final long maxSilenceMillis;
+
+    /**
+     * @param maxSilenceMillis the time after which a sample is published even if it is filtered, 0 for no heartbeat
+     */
+    public NorthboundFilter(final @NotNull Mode mode, final double deadband, final long maxSilenceMillis) {
+        this.mode = mode;
+        this.deadband = deadband;
+        this.maxSilenceMillis = maxSilenceMillis;
+    }
+
+    public @NotNull Mode getMode() {
+        return mode;
+    }
+
+    public double getDeadband() {
+        return deadband;
+    }
+
+    public long getMaxSilenceMillis() {
+        return maxSilenceMillis;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (o instanceof final NorthboundFilter that) {
+            return mode == that.mode
+                    && Double.compare(deadband, that.deadband) == 0
+                    && maxSilenceMillis == that.maxSilenceMillis;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, deadband, maxSilenceMillis);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "NorthboundFilter{" + "mode="
+                + mode
+                + ", deadband="
+                + deadband
+                + ", maxSilenceMillis="
+                + maxSilenceMillis
+                + '}';
+    }
+}
@@ -39,6 +39,7 @@ public class NorthboundMapping {
     private final @NotNull Boolean includeMetadata;
     private final @NotNull List<MqttUserProperty> userProperties;
     private final @Nullable Long messageExpiryInterval;
+    private final @NotNull NorthboundFilter filter;
 
     public NorthboundMapping(
             final @NotNull String tagName,
@@ -49,6 +50,28 @@ public class NorthboundMapping {
             final @Nullable Boolean includeMetadata,
             final @Nullable List<MqttUserProperty> userProperties,
             final @Nullable Long messageExpiryInterval) {
+        this(
+                tagName,
+                topic,
+                maxQoS,
+                includeTagNames,
+                includeTimestamp,
+                includeMetadata,
+                userProperties,
+                messageExpiryInterval,
+                null);
+    }
+
+    public NorthboundMapping(
+            final @NotNull String tagName,
+            final @NotNull String topic,
+            final int maxQoS,
+            final @Nullable Boolean includeTagNames,
+            final @Nullable Boolean includeTimestamp,
+            final @Nullable Boolean includeMetadata,
+            final @Nullable List<MqttUserProperty> userProperties,
+            final @Nullable Long messageExpiryInterval,
+            final @Nullable NorthboundFilter filter) {
         this.tagName = tagName;
         this.topic = topic;
         this.maxQoS = maxQoS;
@@ -57,6 +80,7 @@ public class NorthboundMapping {
         this.includeMetadata = includeMetadata != null && includeMetadata;
         this.userProperties = userProperties != null ? userProperties : new ArrayList<>();
         this.messageExpiryInterval = messageExpiryInterval != null ? messageExpiryInterval : DEFAULT_MESSAGE_EXPIRY;
+        this.filter = filter != null ? filter : NorthboundFilter.ALWAYS;
     }
 
     private static @NotNull MqttUserProperty userProp(final @NotNull com.hivemq.edge.api.model.MqttUserProperty u) {
@@ -65,6 +89,14 @@ public class NorthboundMapping {
 
     public static @NotNull NorthboundMapping fromModel(
             final @NotNull com.hivemq.edge.api.model.NorthboundMapping model) {
+        return fromModel(model, null);
+    }
+
+    /**
+     * @param filter the filter of the replaced mapping, as the REST model has no filter
+     */
+    public static @NotNull NorthboundMapping fromModel(
+            final @NotNull com.hivemq.edge.api.model.NorthboundMapping model, final @Nullable NorthboundFilter filter) {
         return new NorthboundMapping(
                 model.getTagName(),
                 model.getTopic(),
@@ -77,7 +109,8 @@ public class NorthboundMapping {
                                 .map(NorthboundMapping::userProp)
                                 .toList()
                         : List.of(),
-                model.getMessageExpiryInterval() != null ? model.getMessageExpiryInterval() : DEFAULT_MESSAGE_EXPIRY);
+                model.getMessageExpiryInterval() != null ? model.getMessageExpiryInterval() : DEFAULT_MESSAGE_EXPIRY,
+                filter);
     }
 
     public @NotNull String getMqttTopic() {
@@ -116,6 +149,10 @@ public class NorthboundMapping {
         return messageExpiryInterval;
     }
 
+    public @NotNull NorthboundFilter getFilter() {
+        return filter;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (o instanceof final NorthboundMapping that) {
@@ -126,7 +163,8 @@ public class NorthboundMapping {
                     && Objects.equals(includeTimestamp, that.includeTimestamp)
                     && Objects.equals(includeMetadata, that.includeMetadata)
                     && Objects.equals(userProperties, that.userProperties)
-                    && Objects.equals(messageExpiryInterval, that.messageExpiryInterval);
+                    && Objects.equals(messageExpiryInterval, that.messageExpiryInterval)
+                    && Objects.equals(filter, that.filter);
         }
         return false;
     }
@@ -134,7 +172,14 @@ public class NorthboundMapping {
     @Override
     public int hashCode() {
         return Objects.hash(
-                tagName, topic, maxQoS, includeTagNames, includeTimestamp, userProperties, messageExpiryInterval);
+                tagName,
+                topic,
+                maxQoS,
+                includeTagNames,
+                includeTimestamp,
+                userProperties,
+                messageExpiryInterval,
+                filter);
     }
 
     @Override
@@ -156,6 +201,8 @@ public class NorthboundMapping {
                 + maxQoS
                 + ", messageExpiryInterval="
                 + messageExpiryInterval
+                + ", filter="
+                + filter
                 + '}';
     }
 }
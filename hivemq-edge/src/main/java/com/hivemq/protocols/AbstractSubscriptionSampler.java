@@ -19,6 +19,7 @@ import com.hivemq.adapter.sdk.api.ProtocolAdapter;
 import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.adapter.sdk.api.polling.PollingProtocolAdapter;
 import com.hivemq.adapter.sdk.api.polling.batch.BatchPollingProtocolAdapter;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterLatencyMetrics;
 import com.hivemq.edge.modules.api.adapters.ProtocolAdapterPollingSampler;
 import java.util.Date;
 import java.util.Objects;
@@ -47,12 +48,14 @@ public abstract class AbstractSubscriptionSampler implements ProtocolAdapterPoll
     protected final @NotNull AtomicBoolean closed = new AtomicBoolean(false);
     protected final @NotNull ProtocolAdapterWrapper protocolAdapter;
     protected final @NotNull EventService eventService;
+    protected final @NotNull ProtocolAdapterLatencyMetrics latencyMetrics;
 
     @SuppressWarnings("JavaUtilDate")
     public AbstractSubscriptionSampler(
             final @NotNull ProtocolAdapterWrapper protocolAdapter, final @NotNull EventService eventService) {
         this.protocolAdapter = protocolAdapter;
         this.adapterId = protocolAdapter.getId();
+        this.latencyMetrics = protocolAdapter.getLatencyMetrics();
 
         if (protocolAdapter.getAdapter() instanceof final PollingProtocolAdapter adapter) {
             this.initialDelay = Math.max(adapter.getPollingIntervalMillis(), 100);
@@ -110,6 +113,11 @@ public abstract class AbstractSubscriptionSampler implements ProtocolAdapterPoll
         return unit;
     }
 
+    @Override
+    public @NotNull ProtocolAdapterLatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
+
     @Override
     public int getMaxErrorsBeforeRemoval() {
         return maxErrorsBeforeRemoval;
@@ -51,6 +51,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -63,6 +64,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -93,17 +95,23 @@ import org.slf4j.LoggerFactory;
  * <ul>
  *   <li>Adapter map uses {@link ConcurrentHashMap} for thread-safe access</li>
  *   <li>Configuration refresh runs on a single-threaded executor to serialize refresh operations</li>
- *   <li>Within a refresh, adapter create/update/delete operations run sequentially on that refresh thread</li>
+ *   <li>Within a refresh, the deletions run first and the creations and updates afterwards. The operations of a
+ *       phase run concurrently on the adapter lifecycle executor, so a refresh takes about as long as the slowest
+ *       adapter instead of the sum of all adapters. An adapter that does not finish within
+ *       {@link #REFRESH_ADAPTER_TIMEOUT_SECONDS} is reported as failed and does not hold up the refresh.</li>
  * </ul>
  */
 @Singleton
 public class ProtocolAdapterManager {
     private static final String ADAPTER_ID = "adapterId";
     private static final Logger LOGGER = LoggerFactory.getLogger(ProtocolAdapterManager.class);
-    private static final int ADAPTER_LIFECYCLE_CORE_POOL_SIZE = 4;
-    private static final int ADAPTER_LIFECYCLE_MAX_POOL_SIZE = 10;
+    // core and max are equal, a pool only grows beyond its core size once the queue is full
+    private static final int ADAPTER_LIFECYCLE_POOL_SIZE = 10;
     private static final int ADAPTER_LIFECYCLE_QUEUE_CAPACITY = 20;
     private static final int SHUTDOWN_STOP_TIMEOUT_SECONDS = 5;
+    // leaves lifecycle threads for start and stop requests of the REST API while a refresh runs
+    private static final int REFRESH_PARALLELISM = 8;
+    private static final int REFRESH_ADAPTER_TIMEOUT_SECONDS = 60;
     // ConcurrentHashMap provides thread-safe access without explicit locking
     private final @NotNull Map<String, ProtocolAdapterWrapper> protocolAdapterMap = new ConcurrentHashMap<>();
     private final @NotNull MetricRegistry metricRegistry;
@@ -154,14 +162,16 @@ public class ProtocolAdapterManager {
         this.protocolAdapterConfig = protocolAdapterConfig;
         this.adapterPublishService = adapterPublishService;
         this.executorService = Executors.newSingleThreadExecutor();
-        this.adapterLifecycleExecutor = new ThreadPoolExecutor(
-                ADAPTER_LIFECYCLE_CORE_POOL_SIZE,
-                ADAPTER_LIFECYCLE_MAX_POOL_SIZE,
+        final ThreadPoolExecutor lifecycleExecutor = new ThreadPoolExecutor(
+                ADAPTER_LIFECYCLE_POOL_SIZE,
+                ADAPTER_LIFECYCLE_POOL_SIZE,
                 60L,
                 TimeUnit.SECONDS,
                 new LinkedBlockingQueue<>(ADAPTER_LIFECYCLE_QUEUE_CAPACITY),
                 ThreadFactoryUtil.create("protocol-adapter-lifecycle-%d"),
                 new ThreadPoolExecutor.CallerRunsPolicy());
+        lifecycleExecutor.allowCoreThreadTimeOut(true);
+        this.adapterLifecycleExecutor = lifecycleExecutor;
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             executorService.shutdown();
             adapterLifecycleExecutor.shutdown();
@@ -543,7 +553,10 @@ public class ProtocolAdapterManager {
             final ProtocolAdapterStateImpl state =
                     new ProtocolAdapterStateImpl(eventService, config.getAdapterId(), configProtocolId);
             final var streamingService = new ProtocolAdapterTagStreamingServiceImpl(
-                    config.getAdapterId(), tagManager, dataPointBuilder -> {});
+                    config.getAdapterId(),
+                    tagManager.resolveAdapterTags(
+                            config.getAdapterId(), config.getTags().stream().map(Tag::getName).toList()),
+                    dataPointBuilder -> {});
             final ModuleServicesPerModuleImpl perModule = new ModuleServicesPerModuleImpl(
                     adapterPublishService, eventService, protocolAdapterWritingService, streamingService);
             final ProtocolAdapter protocolAdapter = factory.createAdapter(
@@ -612,6 +625,7 @@ public class ProtocolAdapterManager {
                         wrapper -> {
                             final String protocolId =
                                     wrapper.getProtocolAdapterInformation().getProtocolId();
+                            tagManager.removeAdapter(adapterId);
                             protocolAdapterMetrics.decreaseProtocolAdapterMetric(protocolId);
                             eventService
                                     .createAdapterEvent(adapterId, protocolId)
@@ -629,7 +643,8 @@ public class ProtocolAdapterManager {
      * Refreshes protocol adapters from the latest configuration snapshot.
      * <p>
      * The operation is serialized on a dedicated single-thread executor. Any concurrent calls are queued
-     * and processed in order.
+     * and processed in order. The diff is computed once; the adapters are then deleted, and afterwards created and
+     * updated, concurrently on the adapter lifecycle executor.
      *
      * @param configs the latest adapter configuration entities
      */
@@ -654,10 +669,30 @@ public class ProtocolAdapterManager {
                     final Set<String> toBeUpdatedProtocolAdapterIdSet =
                             new HashSet<>(Sets.intersection(newProtocolAdapterIdSet, oldProtocolAdapterIdSet));
 
-                    final Set<String> failedAdapterSet = new HashSet<>();
-                    refreshDeletedAdapters(toBeDeletedProtocolAdapterIdSet, failedAdapterSet);
-                    refreshCreatedAdapters(toBeCreatedProtocolAdapterIdSet, protocolAdapterConfigs, failedAdapterSet);
-                    refreshUpdatedAdapters(toBeUpdatedProtocolAdapterIdSet, protocolAdapterConfigs, failedAdapterSet);
+                    final Set<String> failedAdapterSet = ConcurrentHashMap.newKeySet();
+                    final RefreshProgress progress = new RefreshProgress(toBeDeletedProtocolAdapterIdSet.size()
+                            + toBeCreatedProtocolAdapterIdSet.size()
+                            + toBeUpdatedProtocolAdapterIdSet.size());
+                    // deletions go first, a created or updated adapter may need a device connection or port that
+                    // is only released by a deleted one
+                    final Map<String, Runnable> deletions = new LinkedHashMap<>();
+                    toBeDeletedProtocolAdapterIdSet.forEach(adapterId ->
+                            deletions.put(adapterId, () -> refreshDeletedAdapter(adapterId, failedAdapterSet)));
+                    refreshConcurrently(deletions, failedAdapterSet, progress);
+
+                    final Map<String, Runnable> creationsAndUpdates = new LinkedHashMap<>();
+                    toBeCreatedProtocolAdapterIdSet.forEach(adapterId -> creationsAndUpdates.put(
+                            adapterId,
+                            () -> refreshCreatedAdapter(adapterId, protocolAdapterConfigs, failedAdapterSet)));
+                    toBeUpdatedProtocolAdapterIdSet.forEach(adapterId -> creationsAndUpdates.put(
+                            adapterId,
+                            () -> refreshUpdatedAdapter(adapterId, protocolAdapterConfigs, failedAdapterSet)));
+                    refreshConcurrently(creationsAndUpdates, failedAdapterSet, progress);
+                    LOGGER.info(
+                            "Refreshed {} adapters in {} ms, {} failed.",
+                            progress.total,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - progress.startNanos),
+                            failedAdapterSet.size());
 
                     if (failedAdapterSet.isEmpty()) {
                         eventService
@@ -672,6 +707,9 @@ public class ProtocolAdapterManager {
                                 .withMessage("Reloading of configuration failed")
                                 .fire();
                     }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    LOGGER.error("Interrupted while refreshing adapters", e);
                 } catch (final Exception e) {
                     LOGGER.error("Failed refreshing adapters", e);
                 } finally {
@@ -700,96 +738,171 @@ public class ProtocolAdapterManager {
         }
     }
 
-    private void refreshDeletedAdapters(
-            final @NotNull Set<String> adapterIds, final @NotNull Set<String> failedAdapterSet) {
-        for (final String adapterId : adapterIds) {
+    /**
+     * Runs the refresh operations of the adapters concurrently on the adapter lifecycle executor, at most
+     * {@link #REFRESH_PARALLELISM} at a time, and waits until all of them are done or timed out. An operation that
+     * times out is reported as failed right away, but this method only returns once it really finished, so the next
+     * phase or refresh never works on an adapter that is still being deleted, created or updated.
+     */
+    private void refreshConcurrently(
+            final @NotNull Map<String, Runnable> operations,
+            final @NotNull Set<String> failedAdapterSet,
+            final @NotNull RefreshProgress progress)
+            throws InterruptedException {
+        final Semaphore permits = new Semaphore(REFRESH_PARALLELISM);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(operations.size());
+        for (final Map.Entry<String, Runnable> operation : operations.entrySet()) {
+            final String adapterId = operation.getKey();
+            permits.acquire();
+            final CompletableFuture<Void> task;
             try {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Deleting adapter '{}'", adapterId);
-                }
-                stop(adapterId, true);
-                deleteProtocolAdapterByAdapterId(adapterId);
-            } catch (final Exception e) {
+                task = CompletableFuture.runAsync(operation.getValue(), adapterLifecycleExecutor);
+            } catch (final RejectedExecutionException e) {
+                permits.release();
                 failedAdapterSet.add(adapterId);
-                if (e.getCause() instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
-                    LOGGER.error("Interrupted while deleting adapter {}", adapterId, e);
-                } else {
-                    LOGGER.error("Failed deleting adapter {}", adapterId, e);
-                }
+                LOGGER.error("Unable to refresh adapter '{}', the lifecycle executor is shutting down.", adapterId);
+                continue;
+            }
+            // the permit is held until the operation really finished, also if it timed out
+            task.whenComplete((ignored, throwable) -> permits.release());
+            futures.add(task.copy()
+                    .orTimeout(REFRESH_ADAPTER_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .whenComplete((ignored, throwable) -> {
+                        if (throwable != null) {
+                            failedAdapterSet.add(adapterId);
+                            if (throwable instanceof TimeoutException) {
+                                LOGGER.error(
+                                        "Refreshing adapter '{}' did not finish within {} seconds.",
+                                        adapterId,
+                                        REFRESH_ADAPTER_TIMEOUT_SECONDS);
+                            } else {
+                                LOGGER.error("Failed refreshing adapter '{}'", adapterId, throwable);
+                            }
+                        }
+                        LOGGER.info(
+                                "Adapter refresh progress: {}/{} ('{}' {}).",
+                                progress.completed.incrementAndGet(),
+                                progress.total,
+                                adapterId,
+                                failedAdapterSet.contains(adapterId) ? "failed" : "done");
+                    }));
+        }
+        for (final CompletableFuture<Void> future : futures) {
+            try {
+                future.get();
+            } catch (final ExecutionException e) {
+                // already reported when the future completed
+            }
+        }
+        // all permits are only available again once the timed out operations finished as well
+        if (!permits.tryAcquire(REFRESH_PARALLELISM)) {
+            LOGGER.warn("Waiting for timed out adapter refresh operations to finish before continuing.");
+            permits.acquire(REFRESH_PARALLELISM);
+        }
+    }
+
+    private void refreshDeletedAdapter(final @NotNull String adapterId, final @NotNull Set<String> failedAdapterSet) {
+        try {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Deleting adapter '{}'", adapterId);
+            }
+            stop(adapterId, true);
+            deleteProtocolAdapterByAdapterId(adapterId);
+        } catch (final Exception e) {
+            failedAdapterSet.add(adapterId);
+            if (e.getCause() instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while deleting adapter {}", adapterId, e);
+            } else {
+                LOGGER.error("Failed deleting adapter {}", adapterId, e);
             }
         }
     }
 
-    private void refreshCreatedAdapters(
-            final @NotNull Set<String> adapterIds,
+    private void refreshCreatedAdapter(
+            final @NotNull String adapterId,
             final @NotNull Map<String, ProtocolAdapterConfig> protocolAdapterConfigs,
             final @NotNull Set<String> failedAdapterSet) {
-        for (final String adapterId : adapterIds) {
-            try {
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Creating adapter '{}'", adapterId);
-                }
-                final ProtocolAdapterConfig protocolAdapterConfig = protocolAdapterConfigs.get(adapterId);
-                if (protocolAdapterConfig == null) {
-                    LOGGER.error("Config for adapter '{}' not found, skipping creation", adapterId);
-                    continue;
-                }
-                createProtocolAdapter(protocolAdapterConfig, versionProvider.getVersion());
-                start(adapterId);
-            } catch (final Exception e) {
-                failedAdapterSet.add(adapterId);
-                if (e.getCause() instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
-                    LOGGER.error("Interrupted while adding adapter {}", adapterId, e);
-                } else {
-                    LOGGER.error("Failed adding adapter {}", adapterId, e);
-                }
+        try {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Creating adapter '{}'", adapterId);
+            }
+            final ProtocolAdapterConfig protocolAdapterConfig = protocolAdapterConfigs.get(adapterId);
+            if (protocolAdapterConfig == null) {
+                LOGGER.error("Config for adapter '{}' not found, skipping creation", adapterId);
+                return;
+            }
+            createProtocolAdapter(protocolAdapterConfig, versionProvider.getVersion());
+            start(adapterId);
+        } catch (final Exception e) {
+            failedAdapterSet.add(adapterId);
+            if (e.getCause() instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while adding adapter {}", adapterId, e);
+            } else {
+                LOGGER.error("Failed adding adapter {}", adapterId, e);
             }
         }
     }
 
-    private void refreshUpdatedAdapters(
-            final @NotNull Set<String> adapterIds,
+    private void refreshUpdatedAdapter(
+            final @NotNull String adapterId,
             final @NotNull Map<String, ProtocolAdapterConfig> protocolAdapterConfigs,
             final @NotNull Set<String> failedAdapterSet) {
-        for (final String adapterId : adapterIds) {
-            try {
-                final ProtocolAdapterWrapper wrapper = protocolAdapterMap.get(adapterId);
-                if (wrapper == null) {
-                    failedAdapterSet.add(adapterId);
-                    LOGGER.error(
-                            "Existing adapters were modified while a refresh was ongoing, adapter with name '{}' was deleted and could not be updated",
-                            adapterId);
-                    continue;
-                }
-                final ProtocolAdapterConfig protocolAdapterConfig = protocolAdapterConfigs.get(adapterId);
-                if (protocolAdapterConfig == null) {
-                    LOGGER.error("Config for adapter '{}' not found, skipping update", adapterId);
-                    continue;
-                }
-                if (protocolAdapterConfig.equals(wrapper.getConfig())) {
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("Not-updating adapter '{}' since the config is unchanged", adapterId);
-                    }
-                    continue;
-                }
-                if (LOGGER.isDebugEnabled()) {
-                    LOGGER.debug("Updating adapter '{}'", adapterId);
-                }
-                // Swap the wrapper in place: build the replacement, atomically replace the map entry, then stop
-                // the displaced instance. The adapter id stays resolvable throughout, so a concurrent REST read
-                // never observes the transient 404 the old delete-then-recreate sequence could expose (EDG-602).
-                updateProtocolAdapterAtomically(adapterId, protocolAdapterConfig, versionProvider.getVersion());
-            } catch (final Exception e) {
+        try {
+            final ProtocolAdapterWrapper wrapper = protocolAdapterMap.get(adapterId);
+            if (wrapper == null) {
                 failedAdapterSet.add(adapterId);
-                if (e.getCause() instanceof InterruptedException) {
-                    Thread.currentThread().interrupt();
-                    LOGGER.error("Interrupted while updating adapter {}", adapterId, e);
-                } else {
-                    LOGGER.error("Failed updating adapter {}", adapterId, e);
+                LOGGER.error(
+                        "Existing adapters were modified while a refresh was ongoing, adapter with name '{}' was deleted and could not be updated",
+                        adapterId);
+                return;
+            }
+            final ProtocolAdapterConfig protocolAdapterConfig = protocolAdapterConfigs.get(adapterId);
+            if (protocolAdapterConfig == null) {
+                LOGGER.error("Config for adapter '{}' not found, skipping update", adapterId);
+                return;
+            }
+            if (protocolAdapterConfig.equals(wrapper.getConfig())) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Not-updating adapter '{}' since the config is unchanged", adapterId);
                 }
+                return;
+            }
+            // Mappings only decide which consumers and writers are attached to the adapter; swap them on the live
+            // wrapper so the device connection and polling survive the update.
+            if (wrapper.updateMappings(protocolAdapterConfig)) {
+                return;
             }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Updating adapter '{}'", adapterId);
+            }
+            // Swap the wrapper in place: build the replacement, atomically replace the map entry, then stop
+            // the displaced instance. The adapter id stays resolvable throughout, so a concurrent REST read
+            // never observes the transient 404 the old delete-then-recreate sequence could expose (EDG-602).
+            updateProtocolAdapterAtomically(adapterId, protocolAdapterConfig, versionProvider.getVersion());
+        } catch (final Exception e) {
+            failedAdapterSet.add(adapterId);
+            if (e.getCause() instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while updating adapter {}", adapterId, e);
+            } else {
+                LOGGER.error("Failed updating adapter {}", adapterId, e);
+            }
+        }
+    }
+
+    /**
+     * Progress of a single refresh over all of its phases.
+     */
+    private static final class RefreshProgress {
+
+        private final int total;
+        private final long startNanos = System.nanoTime();
+        private final @NotNull AtomicInteger completed = new AtomicInteger();
+
+        private RefreshProgress(final int total) {
+            this.total = total;
         }
     }
 
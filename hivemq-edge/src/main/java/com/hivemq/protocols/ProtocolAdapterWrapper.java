@@ -34,6 +34,7 @@ import com.hivemq.adapter.sdk.api.tag.Tag;
 import com.hivemq.adapter.sdk.api.writing.WritingProtocolAdapter;
 import com.hivemq.edge.modules.adapters.data.TagManager;
 import com.hivemq.edge.modules.adapters.impl.ProtocolAdapterStateImpl;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterLatencyMetrics;
 import com.hivemq.edge.modules.api.adapters.ProtocolAdapterPollingService;
 import com.hivemq.persistence.mappings.NorthboundMapping;
 import com.hivemq.persistence.mappings.SouthboundMapping;
@@ -48,6 +49,7 @@ import com.hivemq.protocols.northbound.PerAdapterSampler;
 import com.hivemq.protocols.northbound.PerContextSampler;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
@@ -92,7 +94,7 @@ public class ProtocolAdapterWrapper {
     private volatile @NotNull ProtocolAdapterConnectionState southboundConnectionState;
 
     // Additional context for backward compatibility with consumers of the old ProtocolAdapterWrapper
-    private final @NotNull ProtocolAdapterConfig config;
+    private volatile @NotNull ProtocolAdapterConfig config;
     private final @NotNull ProtocolAdapterFactory<?> adapterFactory;
     private final @NotNull ProtocolAdapterInformation adapterInformation;
     private final @NotNull ProtocolAdapterMetricsService metricsService;
@@ -260,6 +262,13 @@ public class ProtocolAdapterWrapper {
         return metricsService;
     }
 
+    /**
+     * @return the latency histograms of the northbound pipeline of this adapter
+     */
+    public @NotNull ProtocolAdapterLatencyMetrics getLatencyMetrics() {
+        return ProtocolAdapterLatencyMetrics.of(metricsService);
+    }
+
     /**
      * @return the timestamp of the last start attempt, or null if never started
      */
@@ -557,6 +566,64 @@ public class ProtocolAdapterWrapper {
         return success;
     }
 
+    /**
+     * Check whether the given configuration can be applied with {@link #updateMappings(ProtocolAdapterConfig)}.
+     * <p>
+     * The adapter instance is created with the protocol specific config and the tags, so only a configuration that
+     * leaves both unchanged can be applied without creating a new adapter.
+     *
+     * @param newConfig the configuration to apply
+     * @return {@code true} if the new configuration differs from the current one in its mappings only
+     */
+    public boolean canUpdateMappings(final @NotNull ProtocolAdapterConfig newConfig) {
+        final ProtocolAdapterConfig currentConfig = config;
+        return Objects.equals(currentConfig.getAdapterId(), newConfig.getAdapterId())
+                && Objects.equals(currentConfig.getProtocolId(), newConfig.getProtocolId())
+                && Objects.equals(currentConfig.getAdapterConfig(), newConfig.getAdapterConfig())
+                && Objects.equals(currentConfig.getTags(), newConfig.getTags());
+    }
+
+    /**
+     * Replace the northbound and southbound mappings while keeping the device connections.
+     * <p>
+     * If the adapter is working, the tag consumers and the writing pipeline are re-created for the new mappings.
+     * Polling and the connections stay untouched, as they only depend on the tags. In any other state only the
+     * configuration is replaced and the next {@link #start()} picks up the new mappings.
+     * <p>
+     * This method is {@code synchronized} so the mappings cannot change while {@link #start()} or
+     * {@link #stop(boolean)} are setting up or tearing down the services.
+     *
+     * @param newConfig the configuration to apply
+     * @return {@code true} if the mappings were replaced, {@code false} if the configuration changes more than the
+     *         mappings and requires a new adapter instance
+     * @throws IllegalArgumentException if a mapping uses a tag that is not configured in the adapter, the current
+     *                                  mappings stay in place
+     */
+    public synchronized boolean updateMappings(final @NotNull ProtocolAdapterConfig newConfig) {
+        if (!canUpdateMappings(newConfig)) {
+            return false;
+        }
+        newConfig.missingTags().ifPresent(missingTag -> {
+            throw new IllegalArgumentException("Tags used in mappings but not configured in adapter "
+                    + newConfig.getProtocolId() + ": " + missingTag);
+        });
+        final boolean working = state.isWorking();
+        if (working) {
+            removeTagConsumers();
+            stopWriting();
+        }
+        config = newConfig;
+        if (working) {
+            createAndSubscribeTagConsumers();
+            if (!startWriting()) {
+                LOGGER.warn(
+                        "Writing for adapter with id {} could not be restarted after updating the mappings", getId());
+            }
+        }
+        LOGGER.info("Updated mappings of protocol adapter '{}' without reconnecting.", getAdapterId());
+        return true;
+    }
+
     // ===== Connection Management =====
 
     /**
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.northbound;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivemq.adapter.sdk.api.data.DataPoint;
+import com.hivemq.datapoint.DataPointWithMetadata;
+import com.hivemq.persistence.mappings.NorthboundMapping;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Writes the JSON payload of a northbound mapping directly with a {@link JsonGenerator}.
+ * <p>
+ * Everything that only depends on the mapping (the enabled fields, the field names, the tag name and the user
+ * properties) is resolved and encoded once when the writer is created, so serializing a data point does not build an
+ * intermediate tree. The output buffer is reused between calls.
+ */
+final class NorthboundPayloadWriter {
+
+    private static final @NotNull SerializableString FIELD_VALUE = new SerializedString("value");
+    private static final @NotNull SerializableString FIELD_TIMESTAMP = new SerializedString("timestamp");
+    private static final @NotNull SerializableString FIELD_METADATA = new SerializedString("metadata");
+    private static final @NotNull SerializableString FIELD_TAG_NAME = new SerializedString("tagName");
+    private static final @NotNull SerializableString FIELD_USER_PROPERTIES = new SerializedString("mqttUserProperties");
+
+    private final @NotNull ObjectMapper objectMapper;
+    private final boolean includeTimestamp;
+    private final boolean includeMetadata;
+    private final boolean includeTagName;
+    private final @NotNull SerializedString tagName;
+    private final @Nullable String encodedUserProperties;
+    private final @NotNull AtomicReference<ByteArrayBuilder> buffer = new AtomicReference<>();
+
+    NorthboundPayloadWriter(
+            final @NotNull NorthboundMapping northboundMapping, final @NotNull ObjectMapper objectMapper)
+            throws IOException {
+        this.objectMapper = objectMapper;
+        this.includeTimestamp = northboundMapping.getIncludeTimestamp();
+        this.includeMetadata = northboundMapping.getIncludeMetadata();
+        this.includeTagName = northboundMapping.getIncludeTagNames();
+        this.tagName = new SerializedString(Objects.requireNonNullElse(northboundMapping.getTagName(), ""));
+        this.encodedUserProperties = northboundMapping.getUserProperties().isEmpty()
+                ? null
+                : objectMapper.writeValueAsString(northboundMapping.getUserProperties());
+    }
+
+    byte @NotNull [] write(final @NotNull DataPoint dataPoint) throws IOException {
+        ByteArrayBuilder out = buffer.getAndSet(null);
+        if (out == null) {
+            out = new ByteArrayBuilder();
+        }
+        try {
+            try (final JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartObject();
+                if (dataPoint instanceof final DataPointWithMetadata dpMeta) {
+                    writeDataPointWithMetadata(generator, dpMeta);
+                } else {
+                    writeDataPoint(generator, dataPoint);
+                }
+                if (includeTagName) {
+                    generator.writeFieldName(FIELD_TAG_NAME);
+                    final String dataPointTagName = dataPoint.getTagName();
+                    if (tagName.getValue().equals(dataPointTagName)) {
+                        generator.writeString(tagName);
+                    } else {
+                        generator.writeString(dataPointTagName);
+                    }
+                }
+                if (encodedUserProperties != null) {
+                    generator.writeFieldName(FIELD_USER_PROPERTIES);
+                    generator.writeRawValue(encodedUserProperties);
+                }
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        } finally {
+            out.reset();
+            buffer.set(out);
+        }
+    }
+
+    private void writeDataPointWithMetadata(
+            final @NotNull JsonGenerator generator, final @NotNull DataPointWithMetadata dpMeta) throws IOException {
+        generator.writeFieldName(FIELD_VALUE);
+        dpMeta.writeValue(generator);
+        if (includeTimestamp) {
+            generator.writeFieldName(FIELD_TIMESTAMP);
+            generator.writeNumber(dpMeta.getTimestamp());
+        }
+        if (includeMetadata) {
+            generator.writeFieldName(FIELD_METADATA);
+            final Optional<JsonNode> metadata = dpMeta.getMetadata();
+            if (metadata.isPresent()) {
+                objectMapper.writeTree(generator, metadata.get());
+            } else {
+                generator.writeNull();
+            }
+        }
+    }
+
+    private void writeDataPoint(final @NotNull JsonGenerator generator, final @NotNull DataPoint dataPoint)
+            throws IOException {
+        if (includeTimestamp) {
+            generator.writeFieldName(FIELD_TIMESTAMP);
+            generator.writeNumber(System.currentTimeMillis());
+        }
+        generator.writeFieldName(FIELD_VALUE);
+        if (dataPoint.treatTagValueAsJson()) {
+            // copy the JSON value token by token instead of parsing it into a tree first
+            try (final JsonParser parser = objectMapper.createParser((String) dataPoint.getTagValue())) {
+                if (parser.nextToken() == null) {
+                    throw new RuntimeException("No value entry in JSON message");
+                }
+                generator.copyCurrentStructure(parser);
+            }
+        } else {
+            objectMapper.writeValue(generator, dataPoint.getTagValue());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.northbound;
+
+import com.hivemq.persistence.mappings.NorthboundFilter;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The report-by-exception stage of a single northbound mapping, it decides per sample of the tag whether the sample is
+ * published according to the {@link NorthboundFilter} of the mapping.
+ * <p>
+ * The last published value is kept as a primitive <code>long</code> or <code>double</code> for numbers, so filtering
+ * numeric samples needs neither boxing nor <code>equals()</code>. All other values are kept as they are.
+ */
+public class NorthboundPublishFilter {
+
+    private static final int KIND_NONE = 0;
+    private static final int KIND_INTEGRAL = 1;
+    private static final int KIND_FLOATING = 2;
+    private static final int KIND_OBJECT = 3;
+
+    private final @NotNull NorthboundFilter.Mode mode;
+    private final double deadband;
+    private final long maxSilenceNanos;
+
+    private int lastKind = KIND_NONE;
+    private long lastLongValue;
+    private double lastDoubleValue;
+    private @Nullable Object lastValue;
+    private long lastPublishNanos;
+
+    public NorthboundPublishFilter(final @NotNull NorthboundFilter filter) {
+        this.mode = filter.getMode();
+        this.deadband = filter.getDeadband();
+        this.maxSilenceNanos = TimeUnit.MILLISECONDS.toNanos(filter.getMaxSilenceMillis());
+    }
+
+    /**
+     * @return <code>true</code> if every sample is published, so the filter does not need to be consulted at all
+     */
+    public boolean isPassThrough() {
+        return mode == NorthboundFilter.Mode.ALWAYS;
+    }
+
+    /**
+     * Decides whether a sample is published. If so, the value becomes the new reference for the following samples.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public synchronized boolean test(final @NotNull Object value, final long nowNanos) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return testIntegral(((Number) value).longValue(), nowNanos);
+        } else if (value instanceof final Number number) {
+            return testFloating(number.doubleValue(), nowNanos);
+        }
+        if (mode == NorthboundFilter.Mode.ALWAYS) {
+            return true;
+        }
+        // deadbands are meaningless for booleans, strings and structures, they are published on every change
+        if (lastKind == KIND_OBJECT && !heartbeatDue(nowNanos) && Objects.deepEquals(lastValue, value)) {
+            return false;
+        }
+        lastKind = KIND_OBJECT;
+        lastValue = value;
+        lastPublishNanos = nowNanos;
+        return true;
+    }
+
+    /**
+     * {@link #test(Object, long)} for an integral sample that is available as primitive.
+     */
+    public synchronized boolean testIntegral(final long value, final long nowNanos) {
+        if (mode == NorthboundFilter.Mode.ALWAYS) {
+            return true;
+        }
+        if (lastKind == KIND_INTEGRAL && !heartbeatDue(nowNanos) && !integralChanged(value)) {
+            return false;
+        }
+        lastKind = KIND_INTEGRAL;
+        lastLongValue = value;
+        lastValue = null;
+        lastPublishNanos = nowNanos;
+        return true;
+    }
+
+    /**
+     * {@link #test(Object, long)} for a floating point sample that is available as primitive.
+     */
+    public synchronized boolean testFloating(final double value, final long nowNanos) {
+        if (mode == NorthboundFilter.Mode.ALWAYS) {
+            return true;
+        }
+        if (lastKind == KIND_FLOATING && !heartbeatDue(nowNanos) && !floatingChanged(value)) {
+            return false;
+        }
+        lastKind = KIND_FLOATING;
+        lastDoubleValue = value;
+        lastValue = null;
+        lastPublishNanos = nowNanos;
+        return true;
+    }
+
+    private boolean heartbeatDue(final long nowNanos) {
+        return maxSilenceNanos > 0 && nowNanos - lastPublishNanos >= maxSilenceNanos;
+    }
+
+    private boolean integralChanged(final long value) {
+        if (mode == NorthboundFilter.Mode.ON_CHANGE) {
+            // exact, a double can not represent every long
+            return value != lastLongValue;
+        }
+        return exceedsDeadband((double) value - (double) lastLongValue, lastLongValue);
+    }
+
+    private boolean floatingChanged(final double value) {
+        if (Double.isNaN(value) || Double.isNaN(lastDoubleValue)) {
+            return Double.compare(value, lastDoubleValue) != 0;
+        }
+        if (mode == NorthboundFilter.Mode.ON_CHANGE) {
+            // the difference of two equal infinities is NaN, so compare the values directly
+            return value != lastDoubleValue;
+        }
+        return exceedsDeadband(value - lastDoubleValue, lastDoubleValue);
+    }
+
+    private boolean exceedsDeadband(final double delta, final double reference) {
+        return switch (mode) {
+            case ALWAYS -> true;
+            case ON_CHANGE -> delta != 0;
+            case ABSOLUTE_DEADBAND -> Math.abs(delta) > deadband;
+            // a reference of 0 has no meaningful percentage, any change is published
+            case PERCENT_DEADBAND -> Math.abs(delta) > Math.abs(reference) * deadband / 100;
+        };
+    }
+}
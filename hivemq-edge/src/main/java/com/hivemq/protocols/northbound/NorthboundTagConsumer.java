@@ -15,11 +15,7 @@
  */
 package com.hivemq.protocols.northbound;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.base.Preconditions;
 import com.hivemq.adapter.sdk.api.ProtocolAdapterPublishBuilder;
 import com.hivemq.adapter.sdk.api.ProtocolPublishResult;
@@ -28,10 +24,14 @@ import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.adapter.sdk.api.events.model.Payload;
 import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
 import com.hivemq.datapoint.DataPointWithMetadata;
+import com.hivemq.datapoint.LatencyTrackedDataPoint;
 import com.hivemq.edge.modules.adapters.impl.ProtocolAdapterPublishServiceImpl;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterLatencyMetrics;
 import com.hivemq.edge.modules.api.events.model.EventImpl;
 import com.hivemq.persistence.mappings.NorthboundMapping;
 import com.hivemq.protocols.ProtocolAdapterWrapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -46,11 +46,13 @@ public class NorthboundTagConsumer implements SingleTagConsumer {
 
     private final @NotNull NorthboundMapping northboundMapping;
     private final @NotNull ProtocolAdapterWrapper protocolAdapter;
-    private final @NotNull ObjectMapper objectMapper;
     private final @NotNull ProtocolAdapterPublishServiceImpl protocolAdapterPublishService;
     private final @NotNull ProtocolAdapterMetricsService protocolAdapterMetricsService;
     private final @NotNull EventService eventService;
+    private final @NotNull ProtocolAdapterLatencyMetrics latencyMetrics;
+    private final @NotNull NorthboundPublishFilter publishFilter;
     private final @NotNull AtomicInteger publishCount = new AtomicInteger(0);
+    private final @NotNull NorthboundPayloadWriter payloadWriter;
 
     public NorthboundTagConsumer(
             final @NotNull NorthboundMapping northboundMapping,
@@ -61,10 +63,17 @@ public class NorthboundTagConsumer implements SingleTagConsumer {
             final @NotNull EventService eventService) {
         this.northboundMapping = northboundMapping;
         this.protocolAdapter = protocolAdapter;
-        this.objectMapper = objectMapper;
         this.protocolAdapterPublishService = protocolAdapterPublishService;
         this.protocolAdapterMetricsService = protocolAdapterMetricsService;
         this.eventService = eventService;
+        this.latencyMetrics = ProtocolAdapterLatencyMetrics.of(protocolAdapterMetricsService);
+        this.publishFilter = new NorthboundPublishFilter(northboundMapping.getFilter());
+        try {
+            this.payloadWriter = new NorthboundPayloadWriter(northboundMapping, objectMapper);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(
+                    "Unable to encode the user properties of the mapping for tag " + northboundMapping.getTagName(), e);
+        }
     }
 
     @Override
@@ -76,17 +85,33 @@ public class NorthboundTagConsumer implements SingleTagConsumer {
         Preconditions.checkArgument(
                 northboundMapping.getMqttQos() <= 2 && northboundMapping.getMqttQos() >= 0,
                 "QoS needs to be a valid QoS value (0,1,2)");
+        // filter before serialization, a suppressed sample should cost as little as possible
+        if (!publishFilter.isPassThrough() && !passesFilter(dataPoint, System.nanoTime())) {
+            if (log.isTraceEnabled()) {
+                log.trace(
+                        "Sample of tag '{}' of adapter '{}' suppressed by filter {}",
+                        northboundMapping.getTagName(),
+                        protocolAdapter.getId(),
+                        northboundMapping.getFilter().getMode());
+            }
+            return;
+        }
         try {
-            final byte[] jsonToSend = convertDataPointToJson(dataPoint, objectMapper);
+            final byte[] jsonToSend = payloadWriter.write(dataPoint);
             final ProtocolAdapterPublishBuilder publishBuilder = protocolAdapterPublishService
                     .createPublish()
                     .withTopic(northboundMapping.getMqttTopic())
                     .withQoS(northboundMapping.getMqttQos())
                     .withPayload(jsonToSend)
                     .withAdapter(protocolAdapter.getAdapter());
+            final long sendNanos = System.nanoTime();
+            if (dataPoint instanceof final LatencyTrackedDataPoint trackedDataPoint) {
+                latencyMetrics.recordDataPointToPublish(sendNanos - trackedDataPoint.getCreationNanos());
+            }
             final CompletableFuture<ProtocolPublishResult> publishFuture = publishBuilder.send();
             publishFuture
                     .thenAccept(publishReturnCode -> {
+                        latencyMetrics.recordPublishToQueue(System.nanoTime() - sendNanos);
                         protocolAdapterMetricsService.incrementReadPublishSuccess();
                         if (publishCount.incrementAndGet() == 1) {
                             eventService
@@ -120,45 +145,16 @@ public class NorthboundTagConsumer implements SingleTagConsumer {
         return northboundMapping.getTagName();
     }
 
-    private byte @NotNull [] convertDataPointToJson(
-            final @NotNull DataPoint dataPoint, final @NotNull ObjectMapper objectMapper)
-            throws JsonProcessingException {
-        final ObjectNode node = JsonNodeFactory.instance.objectNode();
+    private boolean passesFilter(final @NotNull DataPoint dataPoint, final long nowNanos) {
         if (dataPoint instanceof final DataPointWithMetadata dpMeta) {
-            node.set("value", dpMeta.getTagValue());
-            if (northboundMapping.getIncludeTimestamp()) {
-                node.set("timestamp", JsonNodeFactory.instance.numberNode(dpMeta.getTimestamp()));
-            }
-            if (northboundMapping.getIncludeMetadata()) {
-                dpMeta.getMetadata()
-                        .ifPresentOrElse(
-                                metadata -> node.set("metadata", objectMapper.convertValue(metadata, JsonNode.class)),
-                                () -> node.set("metadata", JsonNodeFactory.instance.nullNode()));
-            }
-        } else {
-            if (northboundMapping.getIncludeTimestamp()) {
-                node.set("timestamp", JsonNodeFactory.instance.numberNode(System.currentTimeMillis()));
-            }
-            if (dataPoint.treatTagValueAsJson()) {
-                final JsonNode jsonValue = objectMapper.readTree((String) dataPoint.getTagValue());
-                if (jsonValue != null) {
-                    node.set("value", jsonValue);
-                } else {
-                    throw new RuntimeException("No value entry in JSON message");
-                }
-            } else {
-                node.set("value", objectMapper.convertValue(dataPoint.getTagValue(), JsonNode.class));
-            }
-        }
-        if (northboundMapping.getIncludeTagNames()) {
-            node.set("tagName", JsonNodeFactory.instance.textNode(dataPoint.getTagName()));
-        }
-        if (!northboundMapping.getUserProperties().isEmpty()) {
-            node.set(
-                    "mqttUserProperties",
-                    objectMapper.convertValue(northboundMapping.getUserProperties(), JsonNode.class));
+            // numeric samples are filtered on their primitive value, without creating a JSON node
+            return switch (dpMeta.getValueType()) {
+                case SHORT, INT, LONG -> publishFilter.testIntegral(dpMeta.getLongValue(), nowNanos);
+                case FLOAT, DOUBLE -> publishFilter.testFloating(dpMeta.getDoubleValue(), nowNanos);
+                default -> publishFilter.test(dpMeta.getTagValue(), nowNanos);
+            };
         }
-        return objectMapper.writeValueAsBytes(node);
+        return publishFilter.test(dataPoint.getTagValue(), nowNanos);
     }
 
     @Override
@@ -20,7 +20,10 @@ import com.hivemq.adapter.sdk.api.data.ProtocolAdapterDataSample;
 import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.adapter.sdk.api.events.model.Event;
 import com.hivemq.adapter.sdk.api.polling.batch.BatchPollingProtocolAdapter;
+import com.hivemq.adapter.sdk.api.tag.Tag;
+import com.hivemq.edge.modules.adapters.data.AdapterTagHandles;
 import com.hivemq.edge.modules.adapters.data.ProtocolAdapterDataSampleImpl;
+import com.hivemq.edge.modules.adapters.data.TagHandle;
 import com.hivemq.edge.modules.adapters.data.TagManager;
 import com.hivemq.edge.modules.adapters.impl.polling.PollingOutputImpl;
 import com.hivemq.edge.modules.adapters.impl.polling.batch.BatchPollingInputImpl;
@@ -39,7 +42,7 @@ public class PerAdapterSampler extends AbstractSubscriptionSampler {
     private static final Logger log = LoggerFactory.getLogger(PerAdapterSampler.class);
 
     private final @NotNull BatchPollingProtocolAdapter pollingProtocolAdapter;
-    private final @NotNull TagManager tagManager;
+    private final @NotNull AdapterTagHandles tagHandles;
 
     public PerAdapterSampler(
             final @NotNull ProtocolAdapterWrapper protocolAdapterWrapper,
@@ -47,7 +50,8 @@ public class PerAdapterSampler extends AbstractSubscriptionSampler {
             final @NotNull TagManager tagManager) {
         super(protocolAdapterWrapper, eventService);
         this.pollingProtocolAdapter = (BatchPollingProtocolAdapter) protocolAdapterWrapper.getAdapter();
-        this.tagManager = tagManager;
+        this.tagHandles = tagManager.resolveAdapterTags(
+                getAdapterId(), protocolAdapterWrapper.getTags().stream().map(Tag::getName).toList());
     }
 
     @Override
@@ -57,6 +61,7 @@ public class PerAdapterSampler extends AbstractSubscriptionSampler {
         }
         final PollingOutputImpl pollingOutput =
                 new PollingOutputImpl(new ProtocolAdapterDataSampleImpl(getAdapterId()), getAdapterId());
+        final long readStartNanos = System.nanoTime();
         try {
             pollingProtocolAdapter.poll(new BatchPollingInputImpl(), pollingOutput);
         } catch (final Throwable t) {
@@ -70,10 +75,14 @@ public class PerAdapterSampler extends AbstractSubscriptionSampler {
         return outputFuture
                 .thenCompose(pollingResult -> {
                     if (pollingResult == PollingOutputImpl.PollingResult.SUCCESS) {
+                        latencyMetrics.recordDeviceRead(System.nanoTime() - readStartNanos);
                         final ProtocolAdapterDataSample dataSample = pollingOutput.getDataSample();
                         final Map<String, List<DataPoint>> dataPoints = dataSample.getDataPoints();
                         for (final Map.Entry<String, List<DataPoint>> tagNameTpDataPoints : dataPoints.entrySet()) {
-                            tagManager.feed(tagNameTpDataPoints.getValue());
+                            final TagHandle handle = tagHandles.get(tagNameTpDataPoints.getKey());
+                            for (final DataPoint dataPoint : tagNameTpDataPoints.getValue()) {
+                                handle.feed(dataPoint);
+                            }
                         }
                         return CompletableFuture.completedFuture(null);
                         //  return this.captureDataSample(pollingOutput.getDataSample(), pollingContext);
@@ -21,7 +21,9 @@ import com.hivemq.adapter.sdk.api.data.ProtocolAdapterDataSample;
 import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.adapter.sdk.api.events.model.Event;
 import com.hivemq.adapter.sdk.api.polling.PollingProtocolAdapter;
+import com.hivemq.edge.modules.adapters.data.AdapterTagHandles;
 import com.hivemq.edge.modules.adapters.data.ProtocolAdapterDataSampleImpl;
+import com.hivemq.edge.modules.adapters.data.TagHandle;
 import com.hivemq.edge.modules.adapters.data.TagManager;
 import com.hivemq.edge.modules.adapters.impl.polling.PollingInputImpl;
 import com.hivemq.edge.modules.adapters.impl.polling.PollingOutputImpl;
@@ -41,7 +43,7 @@ public class PerContextSampler extends AbstractSubscriptionSampler {
 
     private final @NotNull PollingProtocolAdapter pollingProtocolAdapter;
     private final @NotNull PollingContext pollingContext;
-    private final @NotNull TagManager tagManager;
+    private final @NotNull AdapterTagHandles tagHandles;
 
     public PerContextSampler(
             final @NotNull ProtocolAdapterWrapper protocolAdapterWrapper,
@@ -51,7 +53,7 @@ public class PerContextSampler extends AbstractSubscriptionSampler {
         super(protocolAdapterWrapper, eventService);
         this.pollingProtocolAdapter = (PollingProtocolAdapter) protocolAdapterWrapper.getAdapter();
         this.pollingContext = pollingContext;
-        this.tagManager = tagManager;
+        this.tagHandles = tagManager.resolveAdapterTags(getAdapterId(), List.of(pollingContext.getTagName()));
     }
 
     @Override
@@ -61,6 +63,7 @@ public class PerContextSampler extends AbstractSubscriptionSampler {
         }
         final PollingOutputImpl pollingOutput =
                 new PollingOutputImpl(new ProtocolAdapterDataSampleImpl(getAdapterId()), getAdapterId());
+        final long readStartNanos = System.nanoTime();
         try {
             pollingProtocolAdapter.poll(new PollingInputImpl(List.of(pollingContext)), pollingOutput);
         } catch (final Throwable t) {
@@ -74,12 +77,16 @@ public class PerContextSampler extends AbstractSubscriptionSampler {
         return outputFuture
                 .thenCompose(pollingResult -> {
                     if (pollingResult == PollingOutputImpl.PollingResult.SUCCESS) {
+                        latencyMetrics.recordDeviceRead(System.nanoTime() - readStartNanos);
 
                         final ProtocolAdapterDataSample dataSample = pollingOutput.getDataSample();
                         final Map<String, List<DataPoint>> dataPoints = dataSample.getDataPoints();
 
                         for (final Map.Entry<String, List<DataPoint>> tagNameTpDataPoints : dataPoints.entrySet()) {
-                            tagManager.feed(tagNameTpDataPoints.getValue());
+                            final TagHandle handle = tagHandles.get(tagNameTpDataPoints.getKey());
+                            for (final DataPoint dataPoint : tagNameTpDataPoints.getValue()) {
+                                handle.feed(dataPoint);
+                            }
                         }
                         return CompletableFuture.completedFuture(null);
                     } else {
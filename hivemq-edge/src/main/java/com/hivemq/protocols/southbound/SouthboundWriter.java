@@ -0,0 +1,321 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.southbound;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Splitter;
+import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
+import com.hivemq.adapter.sdk.api.writing.WritingContext;
+import com.hivemq.adapter.sdk.api.writing.WritingInput;
+import com.hivemq.adapter.sdk.api.writing.WritingOutput;
+import com.hivemq.adapter.sdk.api.writing.WritingPayload;
+import com.hivemq.adapter.sdk.api.writing.WritingProtocolAdapter;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterWriteMetrics;
+import com.hivemq.persistence.clientqueue.InternalTopicFilterSubscriber;
+import com.hivemq.persistence.clientqueue.InternalTopicFilterSubscriberFactory;
+import com.hivemq.persistence.mappings.fieldmapping.FieldMapping;
+import com.hivemq.persistence.mappings.fieldmapping.Instruction;
+import com.hivemq.protocols.InternalWritingContext;
+import com.hivemq.util.JsonUtils;
+import com.jayway.jsonpath.DocumentContext;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes the MQTT messages of the southbound mappings of a single adapter to the device.
+ * <p>
+ * Every tag has a last-write-wins slot: a message replaces the message of the tag that is still waiting to be
+ * written, and at most one write per tag is in flight. A burst of messages for a tag therefore results in at most
+ * two writes, the one in flight and the latest message. The pending writes of all tags of the adapter are handed to
+ * the adapter together by a single drain task, and only the messages that are actually written are converted to
+ * the payload of the adapter.
+ */
+public class SouthboundWriter {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(SouthboundWriter.class);
+
+    static final @NotNull String COMPONENT_PREFIX = "southbound";
+    // messages are only put into a slot on the single writer thread, so they can be drained in larger batches
+    private static final int SUBSCRIBER_BATCH_SIZE = 64;
+    private static final long WRITE_TIMEOUT_SECONDS = 30;
+
+    private final @NotNull WritingProtocolAdapter adapter;
+    private final @NotNull ProtocolAdapterMetricsService metricsService;
+    private final @NotNull ObjectMapper objectMapper;
+    private final @NotNull Executor executor;
+    private final @NotNull Map<String, TagSlot> slots = new LinkedHashMap<>();
+    private final @NotNull List<InternalTopicFilterSubscriber> subscribers = new ArrayList<>();
+    private final @NotNull AtomicBoolean drainScheduled = new AtomicBoolean();
+    private volatile boolean stopped = false;
+
+    public SouthboundWriter(
+            final @NotNull WritingProtocolAdapter adapter,
+            final @NotNull ProtocolAdapterMetricsService metricsService,
+            final @NotNull List<InternalWritingContext> writingContexts,
+            final @NotNull ObjectMapper objectMapper,
+            final @NotNull Executor executor) {
+        this.adapter = adapter;
+        this.metricsService = metricsService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        for (final InternalWritingContext writingContext : writingContexts) {
+            slots.computeIfAbsent(
+                    writingContext.getTagName(),
+                    tagName -> new TagSlot(ProtocolAdapterWriteMetrics.of(metricsService, tagName)));
+        }
+    }
+
+    /**
+     * Subscribes to the topic filters of the mappings. Every mapping gets its own subscriber, so a message that
+     * matches the filters of several mappings is written for each of them.
+     */
+    public synchronized void start(
+            final @NotNull InternalTopicFilterSubscriberFactory subscriberFactory,
+            final @NotNull List<InternalWritingContext> writingContexts) {
+        for (int i = 0; i < writingContexts.size(); i++) {
+            final InternalWritingContext writingContext = writingContexts.get(i);
+            final InternalTopicFilterSubscriber subscriber = subscriberFactory
+                    .builder(COMPONENT_PREFIX, adapter.getId() + "::" + i)
+                    .withProcessor(message -> {
+                        final byte[] payload = message.getPayload();
+                        if (payload != null) {
+                            offer(writingContext, payload);
+                        }
+                    })
+                    .withBatchSize(SUBSCRIBER_BATCH_SIZE)
+                    .withTopicFilter(writingContext.getTopicFilter())
+                    .build();
+            subscribers.add(subscriber);
+            subscriber.start();
+        }
+    }
+
+    public synchronized void stop() {
+        stopped = true;
+        for (final InternalTopicFilterSubscriber subscriber : subscribers) {
+            try {
+                subscriber.stop();
+            } catch (final Exception e) {
+                log.warn("Unable to stop southbound subscriber of adapter '{}'.", adapter.getId(), e);
+            }
+        }
+        subscribers.clear();
+    }
+
+    void offer(final @NotNull InternalWritingContext writingContext, final byte @NotNull [] payload) {
+        final TagSlot slot = slots.get(writingContext.getTagName());
+        if (slot == null || stopped) {
+            return;
+        }
+        final PendingWrite previous =
+                slot.pending.getAndSet(new PendingWrite(writingContext, payload, System.nanoTime()));
+        if (previous != null) {
+            slot.metrics.incrementDropped();
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!stopped && drainScheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            for (final TagSlot slot : slots.values()) {
+                if (stopped) {
+                    drainScheduled.set(false);
+                    return;
+                }
+                if (slot.pending.get() == null || !slot.inFlight.compareAndSet(false, true)) {
+                    continue;
+                }
+                final PendingWrite pendingWrite = slot.pending.getAndSet(null);
+                if (pendingWrite == null) {
+                    slot.inFlight.set(false);
+                    continue;
+                }
+                write(slot, pendingWrite);
+            }
+            drainScheduled.set(false);
+            // a message that arrived after its slot was visited did not schedule a drain while this one was running
+            if (!hasWritableSlot() || !drainScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private boolean hasWritableSlot() {
+        for (final TagSlot slot : slots.values()) {
+            if (slot.pending.get() != null && !slot.inFlight.get()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void write(final @NotNull TagSlot slot, final @NotNull PendingWrite pendingWrite) {
+        final WritingContext writingContext = pendingWrite.writingContext();
+        final WritingPayload writingPayload;
+        try {
+            writingPayload = toWritingPayload(pendingWrite);
+        } catch (final Exception e) {
+            log.warn(
+                    "Unable to convert the MQTT message for tag '{}' of adapter '{}' into a write, the message is dropped: {}",
+                    writingContext.getTagName(),
+                    adapter.getId(),
+                    e.getMessage());
+            onWriteCompleted(slot, pendingWrite, e);
+            return;
+        }
+        final WriteOutput output = new WriteOutput();
+        output.result
+                .orTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .whenComplete((ignored, throwable) -> onWriteCompleted(slot, pendingWrite, throwable));
+        try {
+            adapter.write(new WriteInput(writingContext, writingPayload), output);
+        } catch (final Exception e) {
+            output.fail(e, "Unexpected exception while writing");
+        }
+    }
+
+    private void onWriteCompleted(
+            final @NotNull TagSlot slot,
+            final @NotNull PendingWrite pendingWrite,
+            final @Nullable Throwable throwable) {
+        if (throwable == null) {
+            slot.metrics.recordLatency(System.nanoTime() - pendingWrite.receivedNanos());
+            metricsService.incrementWritePublishSuccess();
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug(
+                        "Writing tag '{}' of adapter '{}' failed.",
+                        pendingWrite.writingContext().getTagName(),
+                        adapter.getId(),
+                        throwable);
+            }
+            slot.metrics.incrementFailed();
+            metricsService.incrementWritePublishFailure();
+        }
+        slot.inFlight.set(false);
+        if (slot.pending.get() != null) {
+            scheduleDrain();
+        }
+    }
+
+    private @NotNull WritingPayload toWritingPayload(final @NotNull PendingWrite pendingWrite) throws Exception {
+        final FieldMapping fieldMapping = pendingWrite.writingContext().getFieldMapping();
+        final JsonNode node;
+        // the field mapping of a southbound mapping may be null, see InternalWritingContextImpl
+        if (fieldMapping == null || fieldMapping.getInstructions().isEmpty()) {
+            node = objectMapper.readTree(pendingWrite.payload());
+        } else {
+            node = applyFieldMapping(fieldMapping, pendingWrite.payload());
+        }
+        return objectMapper.treeToValue(node, adapter.getMqttPayloadClass());
+    }
+
+    private @NotNull JsonNode applyFieldMapping(
+            final @NotNull FieldMapping fieldMapping, final byte @NotNull [] payload) {
+        final DocumentContext source = JsonUtils.toDocumentContext(payload)
+                .orElseThrow(() -> new IllegalArgumentException("the payload is not valid JSON"));
+        final ObjectNode destination = objectMapper.createObjectNode();
+        for (final Instruction instruction : fieldMapping.getInstructions()) {
+            final Object value = source.read(instruction.toSourceJsonPath(), Object.class);
+            final List<String> fieldNames = Splitter.onPattern("\\.+").splitToList(instruction.toDestinationJsonPath());
+            ObjectNode current = destination;
+            for (int i = 0; i < fieldNames.size() - 1; i++) {
+                final JsonNode child = current.get(fieldNames.get(i));
+                if (child instanceof final ObjectNode childObject) {
+                    current = childObject;
+                } else {
+                    current = current.putObject(fieldNames.get(i));
+                }
+            }
+            current.set(fieldNames.get(fieldNames.size() - 1), objectMapper.valueToTree(value));
+        }
+        return destination;
+    }
+
+    private record PendingWrite(
+            @NotNull InternalWritingContext writingContext, byte @NotNull [] payload, long receivedNanos) {}
+
+    private static final class TagSlot {
+
+        private final @NotNull AtomicReference<PendingWrite> pending = new AtomicReference<>();
+        private final @NotNull AtomicBoolean inFlight = new AtomicBoolean();
+        private final @NotNull ProtocolAdapterWriteMetrics metrics;
+
+        private TagSlot(final @NotNull ProtocolAdapterWriteMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+
+    private static final class WriteInput implements WritingInput {
+
+        private final @NotNull WritingContext writingContext;
+        private final @NotNull WritingPayload writingPayload;
+
+        private WriteInput(final @NotNull WritingContext writingContext, final @NotNull WritingPayload writingPayload) {
+            this.writingContext = writingContext;
+            this.writingPayload = writingPayload;
+        }
+
+        @Override
+        public @NotNull WritingContext getWritingContext() {
+            return writingContext;
+        }
+
+        @Override
+        public @NotNull WritingPayload getWritingPayload() {
+            return writingPayload;
+        }
+    }
+
+    private static final class WriteOutput implements WritingOutput {
+
+        private final @NotNull CompletableFuture<Void> result = new CompletableFuture<>();
+
+        @Override
+        public void finish() {
+            result.complete(null);
+        }
+
+        @Override
+        public void fail(final @NotNull Throwable t, final @Nullable String errorMessage) {
+            result.completeExceptionally(new IllegalStateException(errorMessage, t));
+        }
+
+        @Override
+        public void fail(final @NotNull String errorMessage) {
+            result.completeExceptionally(new IllegalStateException(errorMessage));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.southbound;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
+import com.hivemq.adapter.sdk.api.writing.WritingProtocolAdapter;
+import com.hivemq.common.shutdown.HiveMQShutdownHook;
+import com.hivemq.common.shutdown.ShutdownHooks;
+import com.hivemq.persistence.clientqueue.InternalTopicFilterSubscriberFactory;
+import com.hivemq.protocols.InternalProtocolAdapterWritingService;
+import com.hivemq.protocols.InternalWritingContext;
+import com.hivemq.util.ThreadFactoryUtil;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The writing service used when no writing service is provided by a module. The MQTT messages of the southbound
+ * mappings are written to the device by a {@link SouthboundWriter} per adapter.
+ */
+public class VanillaProtocolAdapterWritingService implements InternalProtocolAdapterWritingService {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(VanillaProtocolAdapterWritingService.class);
+
+    private final @NotNull ObjectMapper objectMapper;
+    private final @NotNull InternalTopicFilterSubscriberFactory subscriberFactory;
+    // a writer runs at most one drain at a time, so the number of threads is bounded by the number of adapters
+    private final @NotNull ExecutorService executorService;
+    private final @NotNull Map<WritingProtocolAdapter, SouthboundWriter> writers = new IdentityHashMap<>();
+
+    public VanillaProtocolAdapterWritingService(
+            final @NotNull ObjectMapper objectMapper,
+            final @NotNull InternalTopicFilterSubscriberFactory subscriberFactory,
+            final @NotNull ShutdownHooks shutdownHooks) {
+        this.objectMapper = objectMapper;
+        this.subscriberFactory = subscriberFactory;
+        this.executorService = Executors.newCachedThreadPool(ThreadFactoryUtil.create("southbound-writer-%d"));
+        shutdownHooks.add(new HiveMQShutdownHook() {
+            @Override
+            public @NotNull String name() {
+                return "Southbound writing shutdown";
+            }
+
+            @Override
+            public void run() {
+                executorService.shutdown();
+            }
+        });
+    }
+
+    @Override
+    public boolean writingEnabled() {
+        return true;
+    }
+
+    @Override
+    public void addWritingChangedCallback(final @NotNull WritingChangedCallback callback) {
+        // NOOP as writing is always enabled.
+    }
+
+    @Override
+    public synchronized @NotNull CompletableFuture<Boolean> startWritingAsync(
+            final @NotNull WritingProtocolAdapter writingProtocolAdapter,
+            final @NotNull ProtocolAdapterMetricsService protocolAdapterMetricsService,
+            final @NotNull List<InternalWritingContext> writingContexts) {
+        final SouthboundWriter previous = writers.remove(writingProtocolAdapter);
+        if (previous != null) {
+            previous.stop();
+        }
+        final SouthboundWriter writer = new SouthboundWriter(
+                writingProtocolAdapter, protocolAdapterMetricsService, writingContexts, objectMapper, executorService);
+        try {
+            writer.start(subscriberFactory, writingContexts);
+        } catch (final Exception e) {
+            log.error("Unable to start writing for adapter '{}'.", writingProtocolAdapter.getId(), e);
+            writer.stop();
+            return CompletableFuture.completedFuture(false);
+        }
+        writers.put(writingProtocolAdapter, writer);
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public synchronized void stopWriting(
+            final @NotNull WritingProtocolAdapter writingProtocolAdapter,
+            final @NotNull List<InternalWritingContext> writingContexts) {
+        final SouthboundWriter writer = writers.remove(writingProtocolAdapter);
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+}
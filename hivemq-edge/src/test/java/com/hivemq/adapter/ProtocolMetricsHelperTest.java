@@ -76,7 +76,8 @@ public class ProtocolMetricsHelperTest {
         // add an arbitrary fifth
         registry.counter(ARBITRARY_METRIC).inc();
 
-        assertEquals(7, registry.getMetrics().size(), "Number of metrics should match");
+        // 6 counters and 4 latency timers of the adapter, plus the arbitrary metric
+        assertEquals(11, registry.getMetrics().size(), "Number of metrics should match");
 
         helper1.clearAll();
 
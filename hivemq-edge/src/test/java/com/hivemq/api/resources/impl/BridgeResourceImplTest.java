@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.api.resources.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.hivemq.bridge.BridgeService;
+import com.hivemq.bridge.config.MqttBridge;
+import com.hivemq.configuration.info.SystemInformation;
+import com.hivemq.configuration.reader.BridgeExtractor;
+import com.hivemq.configuration.service.ConfigurationService;
+import com.hivemq.edge.api.model.Bridge;
+import jakarta.ws.rs.core.Response;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BridgeResourceImplTest {
+
+    private final @NotNull Map<String, MqttBridge> bridgeStore = new ConcurrentHashMap<>();
+    private @NotNull BridgeResourceImpl bridgeResource;
+
+    @BeforeEach
+    void setUp() {
+        final ConfigurationService configurationService = mock();
+        final SystemInformation systemInformation = mock();
+        final BridgeExtractor bridgeExtractor = mock();
+        when(systemInformation.isConfigWriteable()).thenReturn(true);
+        when(configurationService.bridgeExtractor()).thenReturn(bridgeExtractor);
+        when(bridgeExtractor.getBridges()).thenAnswer(invocation -> new ArrayList<>(bridgeStore.values()));
+        doAnswer(invocation -> {
+                    final MqttBridge bridge = invocation.getArgument(0);
+                    bridgeStore.put(bridge.getId(), bridge);
+                    return null;
+                })
+                .when(bridgeExtractor)
+                .addBridge(any(MqttBridge.class));
+        doAnswer(invocation -> bridgeStore.remove(invocation.<String>getArgument(0)))
+                .when(bridgeExtractor)
+                .removeBridge(anyString());
+
+        bridgeResource = new BridgeResourceImpl(configurationService, mock(BridgeService.class), systemInformation);
+    }
+
+    @Test
+    void updateBridge_whenBridgeHasCompressionEnabled_thenCompressionSettingsArePreserved() {
+        bridgeStore.put(
+                "bridge-1",
+                new MqttBridge.Builder()
+                        .withId("bridge-1")
+                        .withHost("test.example.com")
+                        .withPort(1883)
+                        .withClientId("bridge-1-client")
+                        .withCompressionEnabled(true)
+                        .withCompressionThreshold(512)
+                        .build());
+
+        final Response response = bridgeResource.updateBridge(
+                "bridge-1",
+                new Bridge().id("bridge-1").host("other.example.com").port(1883).clientId("bridge-1-client"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        final MqttBridge updated = bridgeStore.get("bridge-1");
+        assertThat(updated.getHost()).isEqualTo("other.example.com");
+        assertThat(updated.isCompressionEnabled()).isTrue();
+        assertThat(updated.getCompressionThreshold()).isEqualTo(512);
+    }
+
+    @Test
+    void addBridge_whenBridgeIsNew_thenCompressionIsDisabled() {
+        final Response response = bridgeResource.addBridge(
+                new Bridge().id("bridge-1").host("test.example.com").port(1883).clientId("bridge-1-client"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        final MqttBridge added = bridgeStore.get("bridge-1");
+        assertThat(added.isCompressionEnabled()).isFalse();
+        assertThat(added.getCompressionThreshold()).isEqualTo(MqttBridge.DEFAULT_COMPRESSION_THRESHOLD);
+    }
+}
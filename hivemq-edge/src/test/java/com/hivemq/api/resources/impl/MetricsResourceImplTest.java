@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.api.resources.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.codahale.metrics.MetricRegistry;
+import com.hivemq.api.model.metrics.DataPoint;
+import com.hivemq.api.model.metrics.Metric;
+import com.hivemq.api.model.metrics.MetricList;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+class MetricsResourceImplTest {
+
+    private final @NotNull MetricRegistry metricRegistry = new MetricRegistry();
+    private final @NotNull MetricsResourceImpl metricsResource = new MetricsResourceImpl(metricRegistry);
+
+    @Test
+    void getMetrics_whenRegistryContainsTimer_thenStatisticsOfTimerAreListed() {
+        metricRegistry.counter("counter");
+        metricRegistry.timer("timer");
+
+        final Response response = metricsResource.getMetrics();
+
+        assertThat(((MetricList) response.getEntity()).getItems())
+                .extracting(Metric::getName)
+                .contains("counter", "timer", "timer.p50", "timer.p99", "timer.p999", "timer.max")
+                .doesNotContain("counter.p50");
+    }
+
+    @Test
+    void getSample_whenMetricIsCounter_thenCountIsReturned() {
+        metricRegistry.counter("counter").inc(3);
+
+        assertThat(sampleValue("counter")).isEqualTo(3L);
+    }
+
+    @Test
+    void getSample_whenMetricIsNumericGauge_thenValueIsReturned() {
+        metricRegistry.registerGauge("gauge", () -> 42);
+
+        assertThat(sampleValue("gauge")).isEqualTo(42L);
+    }
+
+    @Test
+    void getSample_whenMetricIsStatisticOfTimer_thenValueIsReturnedInMicroseconds() {
+        metricRegistry.timer("timer").update(5, TimeUnit.MILLISECONDS);
+
+        assertThat(sampleValue("timer.p99")).isEqualTo(5_000L);
+        assertThat(sampleValue("timer.max")).isEqualTo(5_000L);
+        assertThat(sampleValue("timer")).isEqualTo(1L);
+    }
+
+    @Test
+    void getSample_whenMetricIsStatisticOfHistogram_thenValueIsReturned() {
+        metricRegistry.histogram("histogram").update(17);
+
+        assertThat(sampleValue("histogram.p50")).isEqualTo(17L);
+    }
+
+    @Test
+    void getSample_whenMetricIsUnknown_thenZeroIsReturned() {
+        metricRegistry.counter("counter").inc();
+
+        assertThat(sampleValue("unknown")).isZero();
+        assertThat(sampleValue("counter.p99")).isZero();
+        assertThat(sampleValue("unknown.p99")).isZero();
+    }
+
+    private long sampleValue(final @NotNull String metricName) {
+        final Response response = metricsResource.getSample(metricName);
+        return ((DataPoint) response.getEntity()).getValue();
+    }
+}
@@ -21,11 +21,13 @@ import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hivemq.combining.model.DataIdentifierReference;
 import com.hivemq.configuration.entity.adapter.DomainTagOwnerConverter;
+import com.hivemq.configuration.entity.adapter.NorthboundFilterEntity;
 import com.hivemq.configuration.entity.adapter.NorthboundMappingEntity;
 import com.hivemq.configuration.entity.adapter.ProtocolAdapterEntity;
 import com.hivemq.configuration.entity.adapter.QoSConverter;
@@ -42,12 +44,14 @@ import com.hivemq.edge.VersionProvider;
 import com.hivemq.edge.api.model.DomainTagList;
 import com.hivemq.edge.api.model.DomainTagOwnerList;
 import com.hivemq.edge.api.model.FieldMapping;
+import com.hivemq.edge.api.model.NorthboundMappingList;
 import com.hivemq.edge.api.model.NorthboundMappingOwner;
 import com.hivemq.edge.api.model.NorthboundMappingOwnerList;
 import com.hivemq.edge.api.model.SouthboundMappingOwner;
 import com.hivemq.edge.api.model.SouthboundMappingOwnerList;
 import com.hivemq.persistence.domain.DomainTag;
 import com.hivemq.persistence.domain.DomainTagAddResult;
+import com.hivemq.persistence.mappings.NorthboundFilter;
 import com.hivemq.persistence.topicfilter.TopicFilterPersistence;
 import com.hivemq.protocols.InternalProtocolAdapterWritingService;
 import com.hivemq.protocols.ProtocolAdapterManager;
@@ -63,6 +67,7 @@ import java.util.stream.IntStream;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class ProtocolAdaptersResourceImplTest {
 
@@ -828,4 +833,38 @@ class ProtocolAdaptersResourceImplTest {
 
         assertEquals(200, response.getStatus());
     }
+
+    @Test
+    void updateAdapterNorthboundMappings_whenMappingHasFilter_thenFilterIsPreserved() {
+        final NorthboundFilterEntity filter =
+                new NorthboundFilterEntity(NorthboundFilter.Mode.ABSOLUTE_DEADBAND, 0.5, 60_000);
+        final ProtocolAdapterEntity adapter = new ProtocolAdapterEntity(
+                "adapter",
+                "protocol",
+                1,
+                Map.of("id", "adapter"),
+                List.of(new NorthboundMappingEntity(
+                        "tag1", "topic1", 1, null, false, true, false, List.of(), 1234L, filter)),
+                List.of(),
+                List.of(new TagEntity("tag1", "description", Map.of("address", "address1"))));
+        when(protocolAdapterExtractor.getAdapterByAdapterId("adapter")).thenReturn(Optional.of(adapter));
+        when(protocolAdapterExtractor.updateAdapter(any())).thenReturn(true);
+
+        final Response response = protocolAdaptersResource.updateAdapterNorthboundMappings(
+                "adapter",
+                new NorthboundMappingList()
+                        .items(List.of(new com.hivemq.edge.api.model.NorthboundMapping()
+                                .tagName("tag1")
+                                .topic("topic1")
+                                .maxQoS(com.hivemq.edge.api.model.QoS.EXACTLY_ONCE)
+                                .userProperties(List.of()))));
+
+        assertEquals(200, response.getStatus());
+        final ArgumentCaptor<ProtocolAdapterEntity> captor = ArgumentCaptor.forClass(ProtocolAdapterEntity.class);
+        verify(protocolAdapterExtractor).updateAdapter(captor.capture());
+        assertThat(captor.getValue().getNorthboundMappings()).singleElement().satisfies(mapping -> {
+            assertThat(mapping.getMaxQoS()).isEqualTo(2);
+            assertThat(mapping.getFilter()).isEqualTo(filter);
+        });
+    }
 }
@@ -61,4 +61,12 @@ public class NettyTcpConfigurationTest {
                 NullPointerException.class,
                 () -> new NettyTcpConfiguration(NioServerSocketChannel.class, eventloop, null));
     }
+
+    @Test
+    public void test_multiple_acceptor_channels_without_reuse_port_option() {
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new NettyTcpConfiguration(NioServerSocketChannel.class, eventloop, eventloop, 2, null));
+    }
 }
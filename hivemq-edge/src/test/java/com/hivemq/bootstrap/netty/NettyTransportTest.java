@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bootstrap.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class NettyTransportTest {
+
+    @Test
+    void select_whenNioIsConfigured_thenNioIsUsed() {
+        assertThat(NettyTransport.select("nio")).isSameAs(NettyTransport.NIO);
+        assertThat(NettyTransport.select(" NIO ")).isSameAs(NettyTransport.NIO);
+    }
+
+    @Test
+    void select_whenAutoIsConfigured_thenEpollIsPreferredIfAvailable() {
+        final NettyTransport expected = NettyTransport.EPOLL.isAvailable() ? NettyTransport.EPOLL : NettyTransport.NIO;
+
+        assertThat(NettyTransport.select(null)).isSameAs(expected);
+        assertThat(NettyTransport.select("auto")).isSameAs(expected);
+        assertThat(NettyTransport.select("unknown")).isSameAs(expected);
+    }
+
+    @Test
+    void select_whenNativeTransportIsConfigured_thenAvailableTransportIsUsed() {
+        final NettyTransport ioUring = NettyTransport.select("io_uring");
+
+        assertThat(ioUring.isAvailable()).isTrue();
+        assertThat(ioUring).isIn(NettyTransport.IO_URING, NettyTransport.NIO);
+    }
+
+    @Test
+    void getReusePortOption_whenTransportIsNio_thenReusePortIsNotSupported() {
+        assertThat(NettyTransport.NIO.getReusePortOption()).isNull();
+        assertThat(NettyTransport.EPOLL.getReusePortOption()).isNotNull();
+        assertThat(NettyTransport.IO_URING.getReusePortOption()).isNotNull();
+    }
+}
@@ -20,6 +20,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hivemq.bootstrap.netty.NettyTcpConfiguration;
+import com.hivemq.configuration.service.InternalConfigurations;
+import com.hivemq.configuration.service.impl.InternalConfigurationServiceImpl;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.junit.jupiter.api.AfterEach;
@@ -33,7 +35,11 @@ public class NettyTcpConfigurationProviderTest {
     @BeforeEach
     public void setUp() throws Exception {
 
-        final NettyTcpConfigurationProvider provider = new NettyTcpConfigurationProvider();
+        final InternalConfigurationServiceImpl internalConfigurationService = new InternalConfigurationServiceImpl();
+        internalConfigurationService.set(InternalConfigurations.LISTENER_TRANSPORT, "nio");
+        internalConfigurationService.set(InternalConfigurations.LISTENER_ACCEPTOR_CHANNELS, "4");
+
+        final NettyTcpConfigurationProvider provider = new NettyTcpConfigurationProvider(internalConfigurationService);
         nettyConfiguration = provider.get();
     }
 
@@ -68,4 +74,11 @@ public class NettyTcpConfigurationProviderTest {
                 .get();
         assertTrue(parentThreadName.startsWith("hivemq-eventloop-parent-"));
     }
+
+    @Test
+    public void test_nio_uses_single_acceptor_channel_without_reuse_port() {
+
+        assertEquals(1, nettyConfiguration.getAcceptorChannels());
+        assertThat(nettyConfiguration.getReusePortOption()).isNull();
+    }
 }
@@ -33,23 +33,23 @@ public class BridgeMetricsTest {
 
         MetricRegistry registry = new MetricRegistry();
 
-        // adapter helper creates 10 metrics
+        // adapter helper creates 14 counters and the inflight window gauge
         PerBridgeMetrics perBridgeMetrics = new PerBridgeMetrics("bridge-name", registry);
 
-        assertEquals(10, registry.getMetrics().size(), "Number of metrics should match");
+        assertEquals(15, registry.getMetrics().size(), "Number of metrics should match");
 
         PerBridgeMetrics perBridgeMetrics2 = new PerBridgeMetrics("bridge-name2", registry);
 
-        assertEquals(20, registry.getMetrics().size(), "Number of metrics should match");
+        assertEquals(30, registry.getMetrics().size(), "Number of metrics should match");
 
         // add an arbitrary fifth
         registry.counter(ARBITRARY_METRIC).inc();
 
-        assertEquals(21, registry.getMetrics().size(), "Number of metrics should match");
+        assertEquals(31, registry.getMetrics().size(), "Number of metrics should match");
 
         perBridgeMetrics.clearAll(registry);
 
-        assertEquals(11, registry.getMetrics().size(), "Number of metrics should match");
+        assertEquals(16, registry.getMetrics().size(), "Number of metrics should match");
 
         perBridgeMetrics2.clearAll(registry);
 
@@ -19,8 +19,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.common.topic.TopicFilterProcessor;
+import com.hivemq.common.topic.TopicTemplate;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 class TopicFilterProcessorTest {
 
@@ -229,4 +236,54 @@ class TopicFilterProcessorTest {
 
         assertEquals("prefix/NEU/allData", outTopic);
     }
+
+    @Test
+    void compile_whenDestinationIsDefault_thenIncomingTopicIsKept() {
+        final MqttTopic inTopic = MqttTopic.of("site/cell/department/machine");
+
+        final TopicTemplate template = TopicFilterProcessor.compile("{#}", Map.of("bridge.name", "test-bridge"));
+
+        assertEquals(inTopic, template.apply(inTopic));
+    }
+
+    @ParameterizedTest
+    @MethodSource("destinationsAndTopics")
+    void compile_whenApplied_thenResultIsSameAsModifyTopic(final String destinationFilter, final String inTopic) {
+        System.setProperty("TemplateEnvTest", "EnvValue");
+        final Map<String, String> tokens = Map.of("bridge.name", "test-bridge");
+
+        final String expected = resultOf(
+                () -> TopicFilterProcessor.modifyTopic(destinationFilter, MqttTopic.of(inTopic), tokens));
+        final String outTopic = resultOf(
+                () -> TopicFilterProcessor.compile(destinationFilter, tokens).apply(MqttTopic.of(inTopic)));
+
+        assertEquals(expected, outTopic);
+    }
+
+    private static String resultOf(final Supplier<MqttTopic> modifier) {
+        try {
+            return modifier.get().toString();
+        } catch (final RuntimeException e) {
+            // malformed definitions and empty results have to fail the same way
+            return e.getClass().getName();
+        }
+    }
+
+    static Stream<Arguments> destinationsAndTopics() {
+        final List<String> destinations = List.of(
+                "replacement/of/level",
+                "prefix/{2}/NEU/{4}/allData/{3}",
+                "prefix/{2-3}/NEU/{1-2}/{4-4}/allData/{1-4}",
+                "prefix/{#}/NEU/{#}/allData/",
+                "prefix/{2-#}/NEU/{4-#}/allData/{1-#}",
+                "prefix/{5-#}/{3-2}/{5-6}/{2-6}/{5}",
+                "prefix/x{2}y{2}z/{1}",
+                "prefix/{0}/{01}/{0-2}/{0-#}/{1-2-3}/{a}/{-#}",
+                "${bridge.name}/$ENV{TemplateEnvTest}/$ENV{notThere}/$\\{bridge.name}/\\{2}",
+                "/{1}/",
+                "{3-#}");
+        final List<String> topics = List.of("site/cell/department/machine", "a", "a//b", "a/b/", "/a/b", "a/b/c/");
+        return destinations.stream()
+                .flatMap(destination -> topics.stream().map(topic -> Arguments.of(destination, topic)));
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bridge.mqtt;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import org.junit.jupiter.api.Test;
+
+class BridgePayloadCompressionTest {
+
+    @Test
+    void compress_whenPayloadIsCompressible_thenDecompressRestoresPayload() throws Exception {
+        final byte[] payload = "{\"value\":42,\"quality\":\"GOOD\"}".repeat(40).getBytes(UTF_8);
+
+        final byte[] compressed = BridgePayloadCompression.compress(payload);
+
+        assertThat(compressed).isNotNull();
+        assertThat(compressed.length).isLessThan(payload.length / 5);
+        assertThat(BridgePayloadCompression.decompress(compressed, payload.length)).isEqualTo(payload);
+    }
+
+    @Test
+    void compress_whenPayloadDoesNotGetSmaller_thenNullIsReturned() {
+        final byte[] payload = new byte[512];
+        new Random(42).nextBytes(payload);
+
+        assertThat(BridgePayloadCompression.compress(payload)).isNull();
+        assertThat(BridgePayloadCompression.compress(new byte[0])).isNull();
+    }
+
+    @Test
+    void decompress_whenPayloadIsTruncated_thenDataFormatExceptionIsThrown() {
+        final byte[] compressed = BridgePayloadCompression.compress("payload ".repeat(100).getBytes(UTF_8));
+        assertThat(compressed).isNotNull();
+
+        assertThatThrownBy(() -> BridgePayloadCompression.decompress(
+                        Arrays.copyOf(compressed, compressed.length / 2), Integer.MAX_VALUE))
+                .isInstanceOf(DataFormatException.class);
+    }
+
+    @Test
+    void decompress_whenPayloadInflatesBeyondMaximumSize_thenDataFormatExceptionIsThrown() {
+        // a megabyte of zeros deflates to about a kilobyte
+        final byte[] compressed = BridgePayloadCompression.compress(new byte[1024 * 1024]);
+        assertThat(compressed).isNotNull();
+
+        assertThatThrownBy(() -> BridgePayloadCompression.decompress(compressed, 64 * 1024))
+                .isInstanceOf(DataFormatException.class);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.bridge.mqtt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ForwarderInflightWindowTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(600);
+
+    @Test
+    void reset_whenReceiveMaximumIsKnown_thenWindowStartsAtReceiveMaximum() {
+        final ForwarderInflightWindow window = new ForwarderInflightWindow(32, 1024);
+        assertThat(window.get()).isEqualTo(32);
+
+        window.reset(100);
+        assertThat(window.get()).isEqualTo(100);
+
+        window.reset(65_535);
+        assertThat(window.get()).isEqualTo(1024);
+    }
+
+    @Test
+    void share_whenForwardersShareAConnection_thenTheirWindowsStayWithinReceiveMaximum() {
+        assertThat(ForwarderInflightWindow.share(100, 1, 0)).isEqualTo(100);
+
+        assertThat(ForwarderInflightWindow.share(100, 3, 0)).isEqualTo(34);
+        assertThat(ForwarderInflightWindow.share(100, 3, 1)).isEqualTo(33);
+        assertThat(ForwarderInflightWindow.share(100, 3, 2)).isEqualTo(33);
+
+        // every forwarder keeps at least one message in flight
+        assertThat(ForwarderInflightWindow.share(2, 3, 1)).isEqualTo(1);
+        assertThat(ForwarderInflightWindow.share(2, 3, 2)).isEqualTo(1);
+    }
+
+    @Test
+    void onAcknowledged_whenLatencyRisesAboveBaseline_thenWindowIsHalvedOncePerWindow() {
+        final ForwarderInflightWindow window = new ForwarderInflightWindow(32, 1024);
+        window.reset(64);
+        acknowledge(window, 64, RTT);
+
+        acknowledge(window, 1, 3 * RTT);
+        assertThat(window.get()).isEqualTo(32);
+
+        // the following congested acknowledgements belong to the same window and do not shrink it further
+        acknowledge(window, 31, 3 * RTT);
+        assertThat(window.get()).isEqualTo(32);
+
+        acknowledge(window, 1, 3 * RTT);
+        assertThat(window.get()).isEqualTo(16);
+    }
+
+    @Test
+    void onAcknowledged_whenLatencyStaysAtBaseline_thenWindowGrowsByOnePerWindowUpToReceiveMaximum() {
+        final ForwarderInflightWindow window = new ForwarderInflightWindow(32, 1024);
+        window.reset(64);
+        acknowledge(window, 64, RTT);
+        window.onFailed();
+        assertThat(window.get()).isEqualTo(32);
+
+        acknowledge(window, 32, RTT);
+        assertThat(window.get()).isEqualTo(33);
+
+        acknowledge(window, 10_000, RTT);
+        assertThat(window.get()).isEqualTo(64);
+    }
+
+    @Test
+    void onFailed_whenPublishesKeepFailing_thenWindowDoesNotDropBelowMinimum() {
+        final ForwarderInflightWindow window = new ForwarderInflightWindow(32, 1024);
+
+        for (int i = 0; i < 1000; i++) {
+            window.onFailed();
+        }
+
+        assertThat(window.get()).isEqualTo(ForwarderInflightWindow.MIN_WINDOW);
+    }
+
+    private static void acknowledge(final ForwarderInflightWindow window, final int count, final long latencyNanos) {
+        for (int i = 0; i < count; i++) {
+            window.onAcknowledged(latencyNanos);
+        }
+    }
+}
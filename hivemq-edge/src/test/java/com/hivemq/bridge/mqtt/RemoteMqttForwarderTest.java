@@ -16,6 +16,7 @@
 package com.hivemq.bridge.mqtt;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -32,17 +33,21 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.hivemq.api.mqtt.PublishReturnCode;
+import com.hivemq.bridge.BridgeConstants;
 import com.hivemq.bridge.config.CustomUserProperty;
 import com.hivemq.bridge.config.LocalSubscription;
 import com.hivemq.bridge.config.MqttBridge;
+import com.hivemq.bridge.config.RemoteSubscription;
 import com.hivemq.bridge.metrics.PerBridgeMetrics;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperty;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.configuration.HivemqId;
 import com.hivemq.mqtt.message.mqtt5.Mqtt5UserProperties;
 import com.hivemq.mqtt.message.mqtt5.MqttUserProperty;
 import com.hivemq.mqtt.message.publish.PUBLISH;
+import com.hivemq.mqtt.message.publish.PUBLISHFactory;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -366,6 +371,217 @@ class RemoteMqttForwarderTest {
         verify(mqtt5AsyncClient, times(2)).publish(any());
     }
 
+    @Test
+    void whenRemoteReceiveMaximumIsSet_thenInflightWindowIsExposedAsBridgeMetric() {
+        forwarder.start();
+        forwarder.setRemoteReceiveMaximum(100);
+
+        assertEquals(100, forwarder.getInflightWindow());
+        assertEquals(
+                100,
+                metricRegistry
+                        .getGauges()
+                        .get("com.hivemq.edge.bridge.testbridge.forward.publish.inflight-window.count")
+                        .getValue());
+
+        forwarder.stop();
+
+        assertEquals(
+                0,
+                metricRegistry
+                        .getGauges()
+                        .get("com.hivemq.edge.bridge.testbridge.forward.publish.inflight-window.count")
+                        .getValue());
+    }
+
+    @Test
+    void whenCompressionEnabledAndPayloadAboveThreshold_thenPayloadIsCompressed() {
+        final RemoteMqttForwarder forwarder = createCompressingForwarder(64);
+        forwarder.start();
+        final byte[] payload = jsonPayload();
+        forwarder.onMessage(createPublishWithPayload(payload), "testqueue");
+
+        final ArgumentCaptor<Mqtt5Publish> captor = ArgumentCaptor.forClass(Mqtt5Publish.class);
+        verify(mqtt5AsyncClient).publish(captor.capture());
+        final Mqtt5Publish publish = captor.getValue();
+
+        assertTrue(publish.getPayloadAsBytes().length < payload.length);
+        assertEquals(
+                "application/vnd.hivemq.bridge.deflate",
+                publish.getContentType().get().toString());
+        assertFalse(publish.getPayloadFormatIndicator().isPresent());
+        assertTrue(publish.getUserProperties().asList().stream()
+                .anyMatch(property -> property.getName().toString().equals("hmq-bridge-content-encoding")
+                        && property.getValue().toString().equals("deflate")));
+        assertEquals(
+                1,
+                metricRegistry
+                        .counter("com.hivemq.edge.bridge.testbridge.forward.publish.compressed.count")
+                        .getCount());
+        assertEquals(
+                payload.length - publish.getPayloadAsBytes().length,
+                metricRegistry
+                        .counter("com.hivemq.edge.bridge.testbridge.forward.publish.compression.bytes-saved.count")
+                        .getCount());
+    }
+
+    @Test
+    void whenCompressionEnabledAndPayloadBelowThreshold_thenPayloadIsNotCompressed() {
+        final RemoteMqttForwarder forwarder = createCompressingForwarder(1024);
+        forwarder.start();
+        forwarder.onMessage(TestMessageUtil.createFullMqtt5Publish(), "testqueue");
+
+        final ArgumentCaptor<Mqtt5Publish> captor = ArgumentCaptor.forClass(Mqtt5Publish.class);
+        verify(mqtt5AsyncClient).publish(captor.capture());
+
+        verifyFullPublish(captor.getValue(), "topic");
+        assertEquals(
+                0,
+                metricRegistry
+                        .counter("com.hivemq.edge.bridge.testbridge.forward.publish.compressed.count")
+                        .getCount());
+    }
+
+    @Test
+    void whenCompressedPublishIsReceivedByRemoteBridge_thenOriginalPublishIsRestored() {
+        final RemoteMqttForwarder forwarder = createCompressingForwarder(64);
+        forwarder.start();
+        final byte[] payload = jsonPayload();
+        forwarder.onMessage(createPublishWithPayload(payload), "testqueue");
+        final ArgumentCaptor<Mqtt5Publish> forwardedCaptor = ArgumentCaptor.forClass(Mqtt5Publish.class);
+        verify(mqtt5AsyncClient).publish(forwardedCaptor.capture());
+
+        // the remote bridge of another Edge subscribes to the forwarded messages
+        final BridgeInterceptorHandler remoteInterceptorHandler = mock(BridgeInterceptorHandler.class);
+        createRemoteConsumer(remoteInterceptorHandler, true, payload.length).accept(forwardedCaptor.getValue());
+
+        final ArgumentCaptor<PUBLISH> receivedCaptor = ArgumentCaptor.forClass(PUBLISH.class);
+        verify(remoteInterceptorHandler).interceptOrDelegateInbound(receivedCaptor.capture(), any(), any());
+        final PUBLISH received = receivedCaptor.getValue();
+        assertArrayEquals(payload, received.getPayload());
+        assertEquals("content type", received.getContentType());
+        assertEquals(
+                com.hivemq.codec.encoder.mqtt5.Mqtt5PayloadFormatIndicator.UTF_8, received.getPayloadFormatIndicator());
+        assertEquals(
+                List.of("user1", "user2"),
+                received.getUserProperties().asList().stream()
+                        .map(MqttUserProperty::getName)
+                        .toList());
+        assertEquals(
+                1,
+                metricRegistry
+                        .counter("com.hivemq.edge.bridge.remotebridge.remote.publish.decompressed.count")
+                        .getCount());
+    }
+
+    @Test
+    void whenCompressedPublishIsReceivedByBridgeWithoutCompression_thenPublishIsPassedOnUnchanged() {
+        final RemoteMqttForwarder forwarder = createCompressingForwarder(64);
+        forwarder.start();
+        forwarder.onMessage(createPublishWithPayload(jsonPayload()), "testqueue");
+        final ArgumentCaptor<Mqtt5Publish> forwardedCaptor = ArgumentCaptor.forClass(Mqtt5Publish.class);
+        verify(mqtt5AsyncClient).publish(forwardedCaptor.capture());
+        final Mqtt5Publish forwarded = forwardedCaptor.getValue();
+
+        final BridgeInterceptorHandler remoteInterceptorHandler = mock(BridgeInterceptorHandler.class);
+        createRemoteConsumer(remoteInterceptorHandler, false, Integer.MAX_VALUE).accept(forwarded);
+
+        final ArgumentCaptor<PUBLISH> receivedCaptor = ArgumentCaptor.forClass(PUBLISH.class);
+        verify(remoteInterceptorHandler).interceptOrDelegateInbound(receivedCaptor.capture(), any(), any());
+        final PUBLISH received = receivedCaptor.getValue();
+        assertArrayEquals(forwarded.getPayloadAsBytes(), received.getPayload());
+        assertTrue(received.getUserProperties().asList().stream()
+                .anyMatch(property -> property.getName().equals(BridgeConstants.HMQ_BRIDGE_CONTENT_ENCODING)));
+        assertEquals(
+                0,
+                metricRegistry
+                        .counter("com.hivemq.edge.bridge.remotebridge.remote.publish.decompressed.count")
+                        .getCount());
+    }
+
+    @Test
+    void whenCompressedPublishInflatesBeyondMaximumSize_thenPublishIsDropped() {
+        final RemoteMqttForwarder forwarder = createCompressingForwarder(64);
+        forwarder.start();
+        final byte[] payload = jsonPayload();
+        forwarder.onMessage(createPublishWithPayload(payload), "testqueue");
+        final ArgumentCaptor<Mqtt5Publish> forwardedCaptor = ArgumentCaptor.forClass(Mqtt5Publish.class);
+        verify(mqtt5AsyncClient).publish(forwardedCaptor.capture());
+
+        final BridgeInterceptorHandler remoteInterceptorHandler = mock(BridgeInterceptorHandler.class);
+        createRemoteConsumer(remoteInterceptorHandler, true, payload.length - 1).accept(forwardedCaptor.getValue());
+
+        verify(remoteInterceptorHandler, never()).interceptOrDelegateInbound(any(), any(), any());
+        assertEquals(
+                1,
+                metricRegistry
+                        .counter("com.hivemq.edge.bridge.remotebridge.local.publish.failed.count")
+                        .getCount());
+    }
+
+    private @NotNull RemotePublishConsumer createRemoteConsumer(
+            final @NotNull BridgeInterceptorHandler remoteInterceptorHandler,
+            final boolean compressionEnabled,
+            final int maxDecompressedPayloadSize) {
+        when(remoteInterceptorHandler.interceptOrDelegateInbound(any(), any(), any()))
+                .thenReturn(Futures.immediateFuture(PublishReturnCode.DELIVERED));
+        final RemoteSubscription remoteSubscription = new RemoteSubscription(List.of("#"), "{#}", List.of(), false, 2);
+        final MqttBridge remoteBridge = new MqttBridge.Builder()
+                .withId("remotebridge")
+                .withHost("1")
+                .withClientId("remotecid")
+                .withLoopPreventionEnabled(false)
+                .withRemoteSubscriptions(List.of(remoteSubscription))
+                .withCompressionEnabled(compressionEnabled)
+                .build();
+        return new RemotePublishConsumer(
+                remoteSubscription,
+                remoteInterceptorHandler,
+                remoteBridge,
+                executorService,
+                new HivemqId(),
+                new PerBridgeMetrics("remotebridge", metricRegistry),
+                maxDecompressedPayloadSize);
+    }
+
+    private static byte @NotNull [] jsonPayload() {
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            json.append("{\"tagName\":\"temperature\",\"value\":").append(20 + i % 3).append("},");
+        }
+        return json.append("{}]").toString().getBytes(UTF_8);
+    }
+
+    private static @NotNull PUBLISH createPublishWithPayload(final byte @NotNull [] payload) {
+        return new PUBLISHFactory.Mqtt5Builder()
+                .fromPublish(TestMessageUtil.createFullMqtt5Publish())
+                .withPayload(payload)
+                .build();
+    }
+
+    private @NotNull RemoteMqttForwarder createCompressingForwarder(final int compressionThreshold) {
+        final LocalSubscription localSubscription =
+                new LocalSubscription(List.of("#"), "{#}", List.of(), List.of(), false, 2, 1000L);
+        final MqttBridge bridge = new MqttBridge.Builder()
+                .withId("testbridge")
+                .withHost("1")
+                .withClientId("testcid")
+                .withLocalSubscriptions(List.of(localSubscription))
+                .withCompressionEnabled(true)
+                .withCompressionThreshold(compressionThreshold)
+                .build();
+
+        final RemoteMqttForwarder forwarder = new RemoteMqttForwarder(
+                "testid",
+                bridge,
+                localSubscription,
+                bridgeClient,
+                new PerBridgeMetrics("testbridge", metricRegistry),
+                new TestInterceptorHandler());
+        forwarder.setExecutorService(executorService);
+        return forwarder;
+    }
+
     @NotNull
     private RemoteMqttForwarder createForwarder(
             final @NotNull AtomicBoolean callbackCalled,
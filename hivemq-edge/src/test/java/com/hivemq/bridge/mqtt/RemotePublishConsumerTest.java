@@ -346,7 +346,8 @@ class RemotePublishConsumerTest {
                 bridge,
                 MoreExecutors.newDirectExecutorService(),
                 new HivemqId(),
-                new PerBridgeMetrics("testbridge", metricRegistry));
+                new PerBridgeMetrics("testbridge", metricRegistry),
+                Integer.MAX_VALUE);
     }
 
     private @NotNull Mqtt5Publish createPublish() {
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.datagov.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.datagov.DataGovernanceContext;
+import com.hivemq.datagov.model.DataGovernanceData;
+import com.hivemq.datagov.model.DataGovernanceResult;
+import com.hivemq.datagov.model.impl.DataGovernanceDataImpl;
+import com.hivemq.metrics.HiveMQMetrics;
+import com.hivemq.mqtt.handler.publish.PublishingResult;
+import com.hivemq.mqtt.services.PrePublishProcessorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import util.TestMessageUtil;
+
+class DataGovernanceServiceImplTest {
+
+    private final @NotNull PrePublishProcessorService prePublishProcessorService =
+            mock(PrePublishProcessorService.class);
+    private final @NotNull UnifiedNamespaceDataGovernancePolicy policy =
+            mock(UnifiedNamespaceDataGovernancePolicy.class);
+    private final @NotNull MetricRegistry metricRegistry = new MetricRegistry();
+    private @NotNull ExecutorService executorService;
+    private @NotNull DataGovernanceServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+        service = new DataGovernanceServiceImpl(prePublishProcessorService, executorService, policy, metricRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void apply_whenContextHasNoExecutor_thenPoliciesRunAndLatencyIsRecorded() throws Exception {
+        final DataGovernanceContext context = context("client");
+
+        final DataGovernanceResult result = service.apply(context).get(10, TimeUnit.SECONDS);
+
+        assertThat(result.getStatus()).isEqualTo(DataGovernanceResult.STATUS.SUCCESS);
+        verify(policy).execute(context, context.getInput());
+        assertThat(metricRegistry
+                        .timer(HiveMQMetrics.DATA_GOVERNANCE_POLICY_TIME.name())
+                        .getCount())
+                .isEqualTo(1);
+        assertThat(service.getPendingPolicies()).isZero();
+    }
+
+    @Test
+    void apply_whileQueued_thenPendingGaugeCountsIt() {
+        final ManualExecutorService manualExecutor = new ManualExecutorService();
+        final DataGovernanceContext context = context("client");
+        context.setExecutorService(manualExecutor);
+
+        final ListenableFuture<DataGovernanceResult> future = service.apply(context);
+
+        assertThat(future).isNotDone();
+        assertThat(metricRegistry
+                        .getGauges()
+                        .get(HiveMQMetrics.DATA_GOVERNANCE_POLICIES_PENDING.name())
+                        .getValue())
+                .isEqualTo(1);
+
+        manualExecutor.runAll();
+
+        assertThat(future).isDone();
+        assertThat(service.getPendingPolicies()).isZero();
+    }
+
+    @Test
+    void applyAndPublish_publishesOnTheContextExecutor() throws Exception {
+        final ManualExecutorService manualExecutor = new ManualExecutorService();
+        final DataGovernanceContext context = context("client");
+        context.setExecutorService(manualExecutor);
+        when(prePublishProcessorService.publish(any(), eq(manualExecutor), eq("client")))
+                .thenReturn(Futures.immediateFuture(PublishingResult.DELIVERED));
+
+        final ListenableFuture<PublishingResult> future = service.applyAndPublish(context);
+        manualExecutor.runAll();
+
+        assertThat(future.get()).isEqualTo(PublishingResult.DELIVERED);
+    }
+
+    @Test
+    void apply_sameClient_thenPoliciesRunInSubmissionOrder() throws Exception {
+        final List<String> order = new ArrayList<>();
+        doAnswer(invocation -> {
+                    order.add(invocation.<DataGovernanceData>getArgument(1).getPublish().getTopic());
+                    return null;
+                })
+                .when(policy)
+                .execute(any(), any());
+        final List<String> expected = new ArrayList<>();
+        final List<ListenableFuture<DataGovernanceResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add("topic/" + i);
+            futures.add(service.apply(context("client", "topic/" + i)));
+        }
+
+        Futures.allAsList(futures).get(10, TimeUnit.SECONDS);
+
+        assertThat(order).containsExactlyElementsOf(expected);
+    }
+
+    private static @NotNull DataGovernanceContext context(final @NotNull String clientId) {
+        return context(clientId, "topic");
+    }
+
+    private static @NotNull DataGovernanceContext context(final @NotNull String clientId, final @NotNull String topic) {
+        return new DataGovernanceContextImpl(new DataGovernanceDataImpl.Builder()
+                .withClientId(clientId)
+                .withPublish(TestMessageUtil.createMqtt5Publish(topic))
+                .build());
+    }
+
+    private static final class ManualExecutorService extends AbstractExecutorService {
+
+        private final @NotNull List<Runnable> tasks = new ArrayList<>();
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+
+        @Override
+        public void execute(final @NotNull Runnable command) {
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {}
+
+        @Override
+        public @NotNull List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(final long timeout, final @NotNull TimeUnit unit) {
+            return false;
+        }
+    }
+}
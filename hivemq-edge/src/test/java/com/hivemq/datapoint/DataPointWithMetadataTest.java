@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.datapoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.hivemq.adapter.sdk.api.datapoint.DataPointBuilder;
+import com.hivemq.adapter.sdk.api.tag.Tag;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+class DataPointWithMetadataTest {
+
+    private final @NotNull ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void build_whenScalarValuesAreSet_thenValueTypeAndTagValueMatchTheValue() {
+        final JsonNodeFactory factory = JsonNodeFactory.instance;
+
+        assertValue(b -> b.value(true), DataPointWithMetadata.ValueType.BOOLEAN, factory.booleanNode(true));
+        assertValue(b -> b.value((byte) 7), DataPointWithMetadata.ValueType.SHORT, factory.numberNode((short) 7));
+        assertValue(b -> b.value(42), DataPointWithMetadata.ValueType.INT, factory.numberNode(42));
+        assertValue(
+                b -> b.value(Long.MAX_VALUE), DataPointWithMetadata.ValueType.LONG, factory.numberNode(Long.MAX_VALUE));
+        assertValue(b -> b.value(1.1f), DataPointWithMetadata.ValueType.FLOAT, factory.numberNode(1.1f));
+        assertValue(b -> b.value(2.5), DataPointWithMetadata.ValueType.DOUBLE, factory.numberNode(2.5));
+        assertValue(b -> b.value("text"), DataPointWithMetadata.ValueType.STRING, factory.textNode("text"));
+        assertValue(b -> b.valueNull(), DataPointWithMetadata.ValueType.NULL, factory.nullNode());
+    }
+
+    @Test
+    void writeValue_whenValueIsSet_thenOutputEqualsSerializedJsonNode() throws Exception {
+        final List<UnaryOperator<DataPointBuilder<Void>>> values = List.of(
+                b -> b.value(true),
+                b -> b.value((short) -3),
+                b -> b.value(Long.MIN_VALUE),
+                b -> b.value(1.1f),
+                b -> b.value(Double.MAX_VALUE),
+                b -> b.value("\"quoted\""),
+                b -> b.value(new byte[] {1, 2, 3}),
+                b -> b.value(new BigDecimal("1.50")),
+                b -> b.value(new BigInteger("123456789012345678901234567890")),
+                b -> b.startArrayValue().add(1).add("two").endArray());
+        for (final UnaryOperator<DataPointBuilder<Void>> value : values) {
+            final DataPointWithMetadata dataPoint = build(value);
+
+            final StringWriter written = new StringWriter();
+            try (final JsonGenerator generator = objectMapper.createGenerator(written)) {
+                dataPoint.writeValue(generator);
+            }
+
+            assertThat(written.toString()).isEqualTo(objectMapper.writeValueAsString(dataPoint.getTagValue()));
+        }
+    }
+
+    @Test
+    void getJsonNode_whenMetadataIsSet_thenNodeContainsAllFields() {
+        final DataPointWithMetadata dataPoint = build(b -> b.value(21)
+                .timestamp(1_000L)
+                .startObjectMetadata()
+                .put("unit", "C")
+                .endObject());
+
+        final JsonNode jsonNode = dataPoint.getJsonNode();
+
+        assertThat(jsonNode.get("tagName").asText()).isEqualTo("tag-1");
+        assertThat(jsonNode.get("value").asInt()).isEqualTo(21);
+        assertThat(jsonNode.get("timestamp").asLong()).isEqualTo(1_000L);
+        assertThat(jsonNode.get("metadata").get("unit").asText()).isEqualTo("C");
+        assertThat(jsonNode.has("context")).isFalse();
+        assertThat(dataPoint.getTimestamp()).isEqualTo(1_000L);
+        assertThat(dataPoint.getAdapterId()).isEqualTo("adapter-1");
+    }
+
+    private void assertValue(
+            final @NotNull UnaryOperator<DataPointBuilder<Void>> value,
+            final @NotNull DataPointWithMetadata.ValueType expectedType,
+            final @NotNull JsonNode expectedValue) {
+        final DataPointWithMetadata dataPoint = build(value);
+        assertThat(dataPoint.getValueType()).isEqualTo(expectedType);
+        assertThat(dataPoint.getTagValue()).isEqualTo(expectedValue);
+    }
+
+    private static @NotNull DataPointWithMetadata build(final @NotNull UnaryOperator<DataPointBuilder<Void>> value) {
+        final Tag tag = mock(Tag.class);
+        when(tag.getName()).thenReturn("tag-1");
+        final DataPointBuilder<Void> builder = DataPointWithMetadata.builder(tag, b -> null);
+        value.apply(builder);
+        return ((DataPointWithMetadata.DataPointBuilderImpl<Void>) builder).build("adapter-1");
+    }
+}
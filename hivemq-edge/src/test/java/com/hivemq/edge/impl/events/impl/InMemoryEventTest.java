@@ -23,9 +23,11 @@ import static org.junit.jupiter.api.Assertions.fail;
 import com.google.common.base.Splitter;
 import com.hivemq.adapter.sdk.api.events.model.Event;
 import com.hivemq.edge.impl.events.InMemoryEventImpl;
+import com.hivemq.edge.modules.api.events.EventListener;
 import com.hivemq.edge.modules.api.events.model.EventBuilderImpl;
 import com.hivemq.edge.modules.api.events.model.EventImpl;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -355,4 +357,63 @@ public class InMemoryEventTest {
             }
         }
     }
+
+    @Test
+    public void test_since_query_with_out_of_order_timestamps() {
+        final InMemoryEventImpl impl = new InMemoryEventImpl(10);
+        for (final long timestamp : new long[] {100, 300, 200, 400, 350}) {
+            new EventBuilderImpl(impl::storeEvent)
+                    .withMessage(String.valueOf(timestamp))
+                    .withSeverity(EventImpl.SEVERITY.INFO)
+                    .withTimestamp(timestamp)
+                    .fire();
+        }
+
+        final List<Event> events = impl.readEvents(250L, null);
+
+        assertEquals(
+                List.of("400", "350", "300"),
+                events.stream().map(Event::getMessage).toList(),
+                "Should return all events after the timestamp, newest timestamp first");
+        assertEquals(
+                List.of("400"),
+                impl.readEvents(250L, 1).stream().map(Event::getMessage).toList(),
+                "Limit should apply to the since query");
+    }
+
+    @Test
+    public void test_limit_query_with_out_of_order_timestamps() {
+        final InMemoryEventImpl impl = new InMemoryEventImpl(10);
+        for (final long timestamp : new long[] {100, 500, 200, 400, 300, 300}) {
+            new EventBuilderImpl(impl::storeEvent)
+                    .withMessage(String.valueOf(timestamp))
+                    .withSeverity(EventImpl.SEVERITY.INFO)
+                    .withTimestamp(timestamp)
+                    .fire();
+        }
+
+        assertEquals(
+                List.of("500", "400", "300", "300", "200", "100"),
+                impl.readEvents(null, null).stream().map(Event::getMessage).toList(),
+                "Should return all events newest timestamp first");
+        assertEquals(
+                List.of("500", "400"),
+                impl.readEvents(null, 2).stream().map(Event::getMessage).toList(),
+                "Limit should return the events with the newest timestamps, not the last stored ones");
+    }
+
+    @Test
+    public void test_listener_notified_until_removed() {
+        final InMemoryEventImpl impl = new InMemoryEventImpl(10);
+        final List<Event> received = new CopyOnWriteArrayList<>();
+        final EventListener listener = received::add;
+
+        impl.addListener(listener);
+        fill(impl, 2);
+        impl.removeListener(listener);
+        fill(impl, 1);
+
+        assertEquals(2, received.size(), "Listener should only receive events stored while registered");
+        contiguous(received, true);
+    }
 }
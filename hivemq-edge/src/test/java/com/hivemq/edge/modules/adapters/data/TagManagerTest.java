@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.hivemq.adapter.sdk.api.data.DataPoint;
 import com.hivemq.protocols.northbound.SingleTagConsumer;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
@@ -76,6 +77,171 @@ public class TagManagerTest {
         assertThat(countDownLatch1.await(5, TimeUnit.SECONDS)).isTrue();
     }
 
+    @Test
+    public void test_resolve_returnsStableHandle() {
+        final var tagManager = new TagManager();
+        final TagHandle handle = tagManager.resolve(ADAPTER_1, "tag1");
+
+        assertThat(tagManager.resolve(ADAPTER_1, "tag1")).isSameAs(handle);
+        assertThat(tagManager.resolve(ADAPTER_1, "tag2")).isNotSameAs(handle);
+        assertThat(tagManager.resolve("adapter-2", "tag1")).isNotSameAs(handle);
+    }
+
+    @Test
+    public void test_addConsumer_receivesLastValue() throws Exception {
+        final var tagManager = new TagManager();
+        final TagHandle handle = tagManager.resolve(ADAPTER_1, "tag1");
+        handle.feed(new DataPointImpl("tag1", 1, ADAPTER_1));
+        handle.feed(new DataPointImpl("tag1", 2, ADAPTER_1));
+
+        final var countDownLatch = new CountDownLatch(1);
+        tagManager.addConsumer(new SucceedingConsumer(ADAPTER_1, "tag1", countDownLatch));
+
+        assertThat(countDownLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handle.getLastValue()).isNotNull().extracting(DataPoint::getTagValue).isEqualTo(2);
+    }
+
+    @Test
+    public void test_removeConsumer_stopsDelivery() {
+        final var tagManager = new TagManager();
+        final var countDownLatch = new CountDownLatch(3);
+        final var consumer1 = new SucceedingConsumer(ADAPTER_1, "tag1", countDownLatch);
+        final var consumer2 = new SucceedingConsumer(ADAPTER_1, "tag1", new CountDownLatch(0));
+        tagManager.addConsumer(consumer1);
+        tagManager.addConsumer(consumer2);
+        tagManager.feed(List.of(new DataPointImpl("tag1", 1, ADAPTER_1)));
+
+        tagManager.removeConsumer(consumer1);
+        tagManager.feed(List.of(new DataPointImpl("tag1", 2, ADAPTER_1)));
+
+        assertThat(countDownLatch.getCount()).isEqualTo(2);
+        assertThat(tagManager.resolve(ADAPTER_1, "tag1").getConsumerCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_addConsumer_whileFeedIsInProgress_receivesLatestValue() throws Exception {
+        final var tagManager = new TagManager();
+        final TagHandle handle = tagManager.resolve(ADAPTER_1, "tag1");
+        handle.feed(new DataPointImpl("tag1", 1, ADAPTER_1));
+
+        final var feedEntered = new CountDownLatch(1);
+        final var releaseFeed = new CountDownLatch(1);
+        tagManager.addConsumer(new BlockingConsumer(ADAPTER_1, "tag1", 2, feedEntered, releaseFeed));
+        final Thread feeder = new Thread(() -> handle.feed(new DataPointImpl("tag1", 2, ADAPTER_1)));
+        feeder.start();
+        assertThat(feedEntered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // adding does not wait for the feed, the replay hands out the value of the feed in progress
+        final var recordingConsumer = new RecordingConsumer(ADAPTER_1, "tag1");
+        tagManager.addConsumer(recordingConsumer);
+        assertThat(recordingConsumer.values).containsExactly(2);
+
+        releaseFeed.countDown();
+        feeder.join(5_000);
+        assertThat(recordingConsumer.values).containsExactly(2);
+    }
+
+    @Test
+    public void test_removeAdapter_evictsHandlesWithoutConsumers() {
+        final var tagManager = new TagManager();
+        final TagHandle handle = tagManager.resolveAdapterTags(ADAPTER_1, List.of("tag1")).get("tag1");
+        handle.feed(new DataPointImpl("tag1", 1, ADAPTER_1));
+
+        tagManager.removeAdapter(ADAPTER_1);
+
+        final TagHandle resolved = tagManager.resolve(ADAPTER_1, "tag1");
+        assertThat(resolved).isNotSameAs(handle);
+        assertThat(resolved.getLastValue()).isNull();
+    }
+
+    @Test
+    public void test_removeAdapter_keepsHandlesWithConsumersUntilTheLastOneIsRemoved() {
+        final var tagManager = new TagManager();
+        final var consumer = new RecordingConsumer(ADAPTER_1, "tag1");
+        tagManager.addConsumer(consumer);
+        final TagHandle handle = tagManager.resolveAdapterTags(ADAPTER_1, List.of("tag1")).get("tag1");
+        handle.feed(new DataPointImpl("tag1", 1, ADAPTER_1));
+
+        tagManager.removeAdapter(ADAPTER_1);
+
+        // the last value of the removed adapter is not replayed
+        assertThat(tagManager.resolve(ADAPTER_1, "tag1")).isSameAs(handle);
+        assertThat(handle.getLastValue()).isNull();
+
+        tagManager.removeConsumer(consumer);
+        assertThat(tagManager.resolve(ADAPTER_1, "tag1")).isNotSameAs(handle);
+    }
+
+    @Test
+    public void test_removeConsumer_keepsHandleOfAdapter() {
+        final var tagManager = new TagManager();
+        final TagHandle handle = tagManager.resolveAdapterTags(ADAPTER_1, List.of("tag1")).get("tag1");
+        final var consumer = new RecordingConsumer(ADAPTER_1, "tag1");
+        tagManager.addConsumer(consumer);
+
+        tagManager.removeConsumer(consumer);
+
+        assertThat(tagManager.resolve(ADAPTER_1, "tag1")).isSameAs(handle);
+        assertThat(handle.getConsumerCount()).isZero();
+    }
+
+    public static class BlockingConsumer extends RecordingConsumer {
+        private final @NotNull Object blockingValue;
+        private final @NotNull CountDownLatch entered;
+        private final @NotNull CountDownLatch release;
+
+        public BlockingConsumer(
+                final @NotNull String scope,
+                final @NotNull String tagName,
+                final @NotNull Object blockingValue,
+                final @NotNull CountDownLatch entered,
+                final @NotNull CountDownLatch release) {
+            super(scope, tagName);
+            this.blockingValue = blockingValue;
+            this.entered = entered;
+            this.release = release;
+        }
+
+        @Override
+        public void accept(final DataPoint dataPoint) {
+            super.accept(dataPoint);
+            if (blockingValue.equals(dataPoint.getTagValue())) {
+                entered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    public static class RecordingConsumer implements SingleTagConsumer {
+        private final @NotNull String scope;
+        private final @NotNull String tagName;
+        final @NotNull List<Object> values = new CopyOnWriteArrayList<>();
+
+        public RecordingConsumer(final @NotNull String scope, final @NotNull String tagName) {
+            this.scope = scope;
+            this.tagName = tagName;
+        }
+
+        @Override
+        public @NotNull String getTagName() {
+            return tagName;
+        }
+
+        @Override
+        public @Nullable String getScope() {
+            return scope;
+        }
+
+        @Override
+        public void accept(final DataPoint dataPoint) {
+            values.add(dataPoint.getTagValue());
+        }
+    }
+
     public static class FailingTagConsumer implements SingleTagConsumer {
         private final @NotNull String scope;
         private final @NotNull String tagName;
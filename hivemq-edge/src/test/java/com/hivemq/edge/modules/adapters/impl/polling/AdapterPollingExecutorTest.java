@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.impl.polling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.hivemq.util.NanoTimeProvider;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AdapterPollingExecutorTest {
+
+    private static final @NotNull String PREFIX = "com.hivemq.edge.protocol-adapters.test-protocol.adapter.polling.";
+
+    private final @NotNull MetricRegistry metricRegistry = new MetricRegistry();
+    private final @NotNull NanoTimeProvider nanoTimeProvider = mock();
+    private final @NotNull AdapterPollingExecutor pollingExecutor =
+            new AdapterPollingExecutor("adapter", "test-protocol", 2, metricRegistry, nanoTimeProvider);
+
+    @AfterEach
+    void tearDown() {
+        pollingExecutor.shutdown();
+    }
+
+    @Test
+    void execute_whenMorePollsThanPermits_thenOnlyMaxConcurrentPollsRun() {
+        final List<CompletableFuture<?>> runningPolls = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pollingExecutor.execute(() -> {
+                final CompletableFuture<?> poll = new CompletableFuture<>();
+                runningPolls.add(poll);
+                return poll;
+            });
+        }
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> gauge("running") == 2 && gauge("queued") == 3);
+        assertThat(runningPolls).hasSize(2);
+
+        runningPolls.forEach(poll -> poll.complete(null));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> runningPolls.size() == 4);
+        runningPolls.forEach(poll -> poll.complete(null));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> runningPolls.size() == 5);
+        runningPolls.forEach(poll -> poll.complete(null));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> gauge("running") == 0 && gauge("queued") == 0);
+    }
+
+    @Test
+    void execute_whenPollStarts_thenQueueLagIsRecorded() {
+        when(nanoTimeProvider.nanoTime()).thenReturn(0L, TimeUnit.MILLISECONDS.toNanos(5));
+
+        final CompletableFuture<Void> poll = new CompletableFuture<>();
+        pollingExecutor.execute(() -> {
+            poll.complete(null);
+            return poll;
+        });
+
+        await().atMost(5, TimeUnit.SECONDS).until(poll::isDone);
+        await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> metricRegistry.timer(PREFIX + "queue-lag").getCount() == 1);
+        assertThat(metricRegistry.timer(PREFIX + "queue-lag").getSnapshot().getMax())
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void shutdown_whenCalled_thenMetricsAreRemovedAndPollsAreRejected() {
+        pollingExecutor.shutdown();
+
+        assertThat(metricRegistry.getNames()).noneMatch(name -> name.startsWith(PREFIX));
+        assertThatThrownBy(() -> pollingExecutor.execute(() -> CompletableFuture.completedFuture(null)))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private int gauge(final @NotNull String name) {
+        final Gauge<?> gauge = metricRegistry.getGauges().get(PREFIX + name);
+        return ((Number) gauge.getValue()).intValue();
+    }
+}
@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 
 import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.configuration.service.InternalConfigurations;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterLatencyMetrics;
 import com.hivemq.edge.modules.api.events.model.EventBuilderImpl;
 import com.hivemq.protocols.AbstractSubscriptionSampler;
 import com.hivemq.util.NanoTimeProvider;
@@ -55,6 +56,7 @@ class PollingTaskTest {
         when(sampler.getMaxErrorsBeforeRemoval()).thenReturn(-1);
         when(sampler.getAdapterId()).thenReturn("test-adapter-1");
         when(sampler.getProtocolId()).thenReturn("test-protocol");
+        when(sampler.getLatencyMetrics()).thenReturn(ProtocolAdapterLatencyMetrics.NOOP);
         when(eventService.createAdapterEvent(any(), any())).thenReturn(new EventBuilderImpl((event) -> {}));
         when(nanoTimeProvider.nanoTime()).thenReturn(0L, 1000L);
     }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.modules.adapters.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+class ProtocolAdapterLatencyMetricsTest {
+
+    private static final @NotNull String PREFIX = "com.hivemq.edge.protocol-adapters.modbus.adapter-1.";
+
+    private final @NotNull MetricRegistry metricRegistry = new MetricRegistry();
+    private final @NotNull ProtocolAdapterMetricsServiceImpl metricsService =
+            new ProtocolAdapterMetricsServiceImpl("modbus", "adapter-1", metricRegistry);
+
+    @Test
+    void record_whenLatenciesAreRecorded_thenTimerOfStageIsUpdated() {
+        final ProtocolAdapterLatencyMetrics latencyMetrics = metricsService.getLatencyMetrics();
+
+        latencyMetrics.recordScheduleLag(TimeUnit.MILLISECONDS.toNanos(1));
+        latencyMetrics.recordDeviceRead(TimeUnit.MILLISECONDS.toNanos(2));
+        latencyMetrics.recordDeviceRead(TimeUnit.MILLISECONDS.toNanos(4));
+        latencyMetrics.recordDataPointToPublish(TimeUnit.MICROSECONDS.toNanos(5));
+        latencyMetrics.recordPublishToQueue(TimeUnit.MICROSECONDS.toNanos(7));
+
+        assertThat(timer("latency.schedule-lag").getCount()).isEqualTo(1);
+        assertThat(timer("latency.device-read").getCount()).isEqualTo(2);
+        assertThat(timer("latency.device-read").getSnapshot().getMax()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(4));
+        assertThat(timer("latency.datapoint-to-publish").getCount()).isEqualTo(1);
+        assertThat(timer("latency.publish-to-queue").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void record_whenLatencyIsNegative_thenItIsIgnored() {
+        metricsService.getLatencyMetrics().recordScheduleLag(-1);
+
+        assertThat(timer("latency.schedule-lag").getCount()).isZero();
+    }
+
+    @Test
+    void clearAll_whenCalled_thenLatencyTimersAreRemoved() {
+        metricsService.clearAll();
+
+        assertThat(metricRegistry.getTimers()).isEmpty();
+    }
+
+    @Test
+    void of_whenMetricsServiceHasNoLatencyMetrics_thenNoopIsReturned() {
+        final ProtocolAdapterMetricsService sdkMetricsService = mock();
+
+        assertThat(ProtocolAdapterLatencyMetrics.of(metricsService)).isSameAs(metricsService.getLatencyMetrics());
+        assertThat(ProtocolAdapterLatencyMetrics.of(sdkMetricsService)).isSameAs(ProtocolAdapterLatencyMetrics.NOOP);
+    }
+
+    private @NotNull Timer timer(final @NotNull String suffix) {
+        return metricRegistry.getTimers().get(PREFIX + suffix);
+    }
+}
@@ -17,6 +17,9 @@ package com.hivemq.mqtt.topic.tree;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -52,6 +55,32 @@ public class NodeTest {
         assertEquals(1, LocalTopicTree.getChildrenCount(node));
     }
 
+    @Test
+    public void removeChildNode_whenChildIsRemoved_thenPublishedChildrenArrayIsNotModified() {
+        final TopicTreeNode first = node.addChildNodeIfAbsent("first", 2);
+        node.addChildNodeIfAbsent("second", 2);
+        final TopicTreeNode[] published = node.getChildren();
+        assertNotNull(published);
+
+        node.removeChildNode(first);
+
+        assertSame(first, published[0]);
+        assertNotSame(published, node.getChildren());
+        assertNull(node.getChildren()[0]);
+        assertEquals(1, LocalTopicTree.getChildrenCount(node));
+    }
+
+    @Test
+    public void addChildNodeIfAbsent_whenThresholdIsExceeded_thenIndexContainsAllChildren() {
+        node.addChildNodeIfAbsent("first", 1);
+        node.addChildNodeIfAbsent("second", 1);
+        node.addChildNodeIfAbsent("third", 1);
+
+        assertNull(node.getChildren());
+        assertNotNull(node.getChildrenMap());
+        assertEquals(3, node.getChildrenMap().size());
+    }
+
     @Test
     public void constructor_whenNodeCreated_thenItHasNoExactSubscriptions() {
         assertEquals(0, node.exactSubscriptions.getSubscriberCount());
@@ -28,6 +28,8 @@ import com.hivemq.mqtt.message.QoS;
 import com.hivemq.mqtt.message.subscribe.Topic;
 import com.hivemq.mqtt.topic.SubscriberWithIdentifiers;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -453,4 +455,41 @@ public class TestTopicTreeImplEdgeCases {
                         .get(0)
                         .getSubscriber());
     }
+
+    @Test
+    public void findTopicSubscribers_whileSubscriptionsChange_thenExistingSubscribersAreAlwaysFound() throws Exception {
+
+        topicTree.addTopic("stable", new Topic("a/b/c", QoS.AT_LEAST_ONCE), (byte) 0, null);
+        topicTree.addTopic("stable-wildcard", new Topic("a/+/c", QoS.AT_LEAST_ONCE), (byte) 0, null);
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread writer = new Thread(() -> {
+            int round = 0;
+            while (running.get()) {
+                final String filter = (round % 2 == 0 ? "a/b/" : "a/+/") + (round % 3 == 0 ? "c" : "d" + round % 10);
+                for (int i = 0; i < 5; i++) {
+                    topicTree.addTopic("client-" + i, new Topic(filter, QoS.AT_MOST_ONCE), (byte) 0, null);
+                }
+                for (int i = 0; i < 5; i++) {
+                    topicTree.removeSubscriber("client-" + i, filter, null);
+                }
+                round++;
+            }
+        });
+        writer.start();
+
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                final Set<String> subscribers = topicTree.findTopicSubscribers("a/b/c").getSubscribers().stream()
+                        .map(SubscriberWithIdentifiers::getSubscriber)
+                        .collect(Collectors.toSet());
+                assertThat(subscribers).contains("stable", "stable-wildcard");
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+
+        assertEquals(2, topicTree.counters.getSubscriptionCounter().getCount());
+    }
 }
@@ -18,18 +18,28 @@ package com.hivemq.persistence.clientqueue;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.primitives.ImmutableIntArray;
 import com.google.common.util.concurrent.Futures;
 import com.hivemq.metrics.MetricsHolder;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.publish.PUBLISH;
 import com.hivemq.mqtt.topic.SubscriberWithIdentifiers;
 import com.hivemq.mqtt.topic.tree.LocalTopicTree;
 import com.hivemq.mqtt.topic.tree.TopicSubscribers;
 import com.hivemq.persistence.ProducerQueues;
 import com.hivemq.persistence.SingleWriterService;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -37,6 +47,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import util.TestMessageUtil;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 class InternalTopicFilterSubscriberTest {
@@ -291,6 +302,73 @@ class InternalTopicFilterSubscriberTest {
                 .isSameAs(second);
     }
 
+    // ── batched drain ───────────────────────────────────────────────────────────────────────────────
+
+    @Test
+    void batchedDrain_processesTheWholeBatch_andAcknowledgesItWithOneBulkRemove() {
+        final PUBLISH first = TestMessageUtil.createMqtt3Publish("hivemqId", 1);
+        final PUBLISH qos0 = TestMessageUtil.createMqtt3Publish(QoS.AT_MOST_ONCE);
+        final PUBLISH second = TestMessageUtil.createMqtt3Publish("hivemqId", 2);
+        when(clientQueuePersistence.readNew(eq(clientId()), eq(false), any(), eq(4096L)))
+                .thenReturn(Futures.immediateFuture(ImmutableList.of(first, qos0, second)));
+        when(clientQueuePersistence.removeByUniqueIds(any(), anyBoolean(), any()))
+                .thenReturn(Futures.immediateFuture(null));
+        final List<List<PUBLISH>> batches = new ArrayList<>();
+        final InternalTopicFilterSubscriber s = factory.builder("tynebridge", "my-bridge")
+                .withProcessor(new InternalTopicFilterSubscriber.Processor() {
+                    @Override
+                    public void process(final @NotNull PUBLISH message) {
+                        throw new AssertionError("processBatch must be used");
+                    }
+
+                    @Override
+                    public void processBatch(final @NotNull List<PUBLISH> messages) {
+                        batches.add(messages);
+                    }
+                })
+                .withBatchSize(16, 4096L)
+                .withTopicFilter("sensors/#")
+                .build();
+
+        s.consume();
+        runSubmittedPoll();
+
+        final ArgumentCaptor<ImmutableIntArray> packetIds = ArgumentCaptor.forClass(ImmutableIntArray.class);
+        verify(clientQueuePersistence).readNew(eq(clientId()), eq(false), packetIds.capture(), eq(4096L));
+        assertThat(packetIds.getValue().length()).as("one readNew covers the whole batch").isEqualTo(16);
+        assertThat(batches).containsExactly(List.of(first, qos0, second));
+        // QoS 0 is not persisted, and our queue is non-shared
+        verify(clientQueuePersistence)
+                .removeByUniqueIds(clientId(), false, ImmutableSet.of(first.getUniqueId(), second.getUniqueId()));
+        verify(clientQueuePersistence, never()).removeShared(any(), any());
+    }
+
+    @Test
+    void defaultProcessBatch_continuesAfterAFailingMessage() {
+        final List<PUBLISH> processed = new ArrayList<>();
+        final InternalTopicFilterSubscriber.Processor processor = message -> {
+            if (processed.isEmpty()) {
+                processed.add(message);
+                throw new IllegalStateException("boom");
+            }
+            processed.add(message);
+        };
+        final PUBLISH first = TestMessageUtil.createMqtt3Publish("hivemqId", 1);
+        final PUBLISH second = TestMessageUtil.createMqtt3Publish("hivemqId", 2);
+
+        processor.processBatch(List.of(first, second));
+
+        assertThat(processed).containsExactly(first, second);
+    }
+
+    @Test
+    void withBatchSize_rejectsNonPositiveLimits() {
+        final InternalTopicFilterSubscriber.Builder builder = factory.builder("tynebridge", "x");
+
+        assertThatThrownBy(() -> builder.withBatchSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.withBatchSize(1, 0L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     // ── helpers ─────────────────────────────────────────────────────────────────────────────────────
 
     private @NotNull InternalTopicFilterSubscriber build(final @NotNull String... filters) {
@@ -300,6 +378,13 @@ class InternalTopicFilterSubscriberTest {
                 .build();
     }
 
+    // Runs the most recently submitted SingleWriter task once (see setUp for why tasks are not run implicitly).
+    private void runSubmittedPoll() {
+        final ArgumentCaptor<SingleWriterService.Task> task = ArgumentCaptor.forClass(SingleWriterService.Task.class);
+        verify(singleWriterService.getQueuedMessagesQueue(), atLeastOnce()).submit(any(), task.capture());
+        task.getValue().doTask(0);
+    }
+
     private @NotNull String clientId() {
         return "$INTERNAL::tynebridge::my-bridge";
     }
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.file;
+
+import static com.hivemq.configuration.service.MqttConfigurationService.QueuedMessagesStrategy.DISCARD;
+import static com.hivemq.configuration.service.MqttConfigurationService.QueuedMessagesStrategy.DISCARD_OLDEST;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.ImmutableIntArray;
+import com.hivemq.configuration.service.InternalConfigurations;
+import com.hivemq.mqtt.message.MessageWithID;
+import com.hivemq.mqtt.message.QoS;
+import com.hivemq.mqtt.message.dropping.MessageDroppedService;
+import com.hivemq.mqtt.message.mqtt5.Mqtt5UserProperties;
+import com.hivemq.mqtt.message.mqtt5.MqttUserProperty;
+import com.hivemq.mqtt.message.publish.PUBLISH;
+import com.hivemq.mqtt.message.publish.PUBLISHFactory;
+import com.hivemq.mqtt.message.pubrel.PUBREL;
+import com.hivemq.persistence.payload.PublishPayloadPersistence;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClientQueueFileLocalPersistenceTest {
+
+    private static final int BUCKET_COUNT = 2;
+    private static final int SEGMENT_SIZE = 4096;
+    private static final long BYTE_LIMIT = 5 * 1024 * 1024;
+
+    private final @NotNull PublishPayloadPersistence payloadPersistence = mock();
+    private final @NotNull MessageDroppedService messageDroppedService = mock();
+
+    @TempDir
+    public File temporaryFolder;
+
+    private @NotNull Predicate<String> sessionExists = clientId -> true;
+    private @NotNull ClientQueueFileLocalPersistence persistence;
+    private int qos0MemoryHardLimitDivisor;
+    private int qos0MemoryLimitPerClientBytes;
+    private int retainedMessageQueueSize;
+
+    @BeforeEach
+    public void setUp() {
+        qos0MemoryHardLimitDivisor = InternalConfigurations.QOS_0_MEMORY_HARD_LIMIT_DIVISOR.getAndSet(10000);
+        qos0MemoryLimitPerClientBytes = InternalConfigurations.QOS_0_MEMORY_LIMIT_PER_CLIENT_BYTES.getAndSet(1024);
+        retainedMessageQueueSize = InternalConfigurations.RETAINED_MESSAGE_QUEUE_SIZE.getAndSet(5);
+        persistence = open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            persistence.closeDB(i);
+        }
+        InternalConfigurations.QOS_0_MEMORY_HARD_LIMIT_DIVISOR.set(qos0MemoryHardLimitDivisor);
+        InternalConfigurations.QOS_0_MEMORY_LIMIT_PER_CLIENT_BYTES.set(qos0MemoryLimitPerClientBytes);
+        InternalConfigurations.RETAINED_MESSAGE_QUEUE_SIZE.set(retainedMessageQueueSize);
+    }
+
+    @Test
+    public void test_add_readNew_afterRestart() {
+        final PUBLISH publish = new PUBLISHFactory.Mqtt5Builder()
+                .withHivemqId("hivemqId")
+                .withTopic("topic")
+                .withQoS(QoS.EXACTLY_ONCE)
+                .withOnwardQos(QoS.AT_LEAST_ONCE)
+                .withPayload("payload".getBytes(UTF_8))
+                .withContentType("text/plain")
+                .withResponseTopic("response")
+                .withCorrelationData("correlation".getBytes(UTF_8))
+                .withUserProperties(Mqtt5UserProperties.of(MqttUserProperty.of("name", "value")))
+                .withSubscriptionIdentifiers(ImmutableIntArray.of(1, 2))
+                .withMessageExpiryInterval(1000)
+                .withPublishId(42)
+                .build();
+        persistence.add("client", false, publish, 100, DISCARD, false, 0);
+
+        restart();
+
+        assertEquals(1, persistence.size("client", false, 0));
+        final ImmutableList<PUBLISH> publishes =
+                persistence.readNew("client", false, ImmutableIntArray.of(1), BYTE_LIMIT, 0);
+        assertEquals(1, publishes.size());
+        final PUBLISH read = publishes.get(0);
+        assertEquals(1, read.getPacketIdentifier());
+        assertEquals(publish.getUniqueId(), read.getUniqueId());
+        assertEquals("topic", read.getTopic());
+        assertEquals(QoS.EXACTLY_ONCE, read.getQoS());
+        assertEquals(QoS.AT_LEAST_ONCE, read.getOnwardQoS());
+        assertArrayEquals("payload".getBytes(UTF_8), read.getPayload());
+        assertEquals("text/plain", read.getContentType());
+        assertEquals("response", read.getResponseTopic());
+        assertArrayEquals("correlation".getBytes(UTF_8), read.getCorrelationData());
+        assertEquals(publish.getUserProperties(), read.getUserProperties());
+        assertEquals(ImmutableIntArray.of(1, 2), read.getSubscriptionIdentifiers());
+        assertEquals(1000, read.getMessageExpiryInterval());
+        assertEquals(publish.getTimestamp(), read.getTimestamp());
+        assertTrue(PUBLISH.PUBLISH_COUNTER.get() > 42);
+    }
+
+    @Test
+    public void test_inflight_and_remove_afterRestart() {
+        for (int i = 0; i < 3; i++) {
+            persistence.add("client", false, createPublish(i), 100, DISCARD, false, 0);
+        }
+        persistence.readNew("client", false, ImmutableIntArray.of(1, 2), BYTE_LIMIT, 0);
+        persistence.remove("client", 1, 0);
+
+        restart();
+
+        assertEquals(2, persistence.size("client", false, 0));
+        final ImmutableList<MessageWithID> inflight = persistence.readInflight("client", false, 10, BYTE_LIMIT, 0);
+        assertEquals(1, inflight.size());
+        assertEquals(2, inflight.get(0).getPacketIdentifier());
+        assertTrue(((PUBLISH) inflight.get(0)).isDuplicateDelivery());
+
+        final ImmutableList<PUBLISH> publishes =
+                persistence.readNew("client", false, ImmutableIntArray.of(3), BYTE_LIMIT, 0);
+        assertEquals(1, publishes.size());
+        assertEquals("topic2", publishes.get(0).getTopic());
+    }
+
+    @Test
+    public void test_replace_pubrel_afterRestart() {
+        persistence.add("client", false, createPublish(0), 100, DISCARD, false, 0);
+        persistence.readNew("client", false, ImmutableIntArray.of(1), BYTE_LIMIT, 0);
+        final String replaced = persistence.replace("client", new PUBREL(1), 0);
+        assertTrue(replaced != null && replaced.endsWith("_pub_1000"));
+
+        // unknown pubrels are put in front of the queue
+        persistence.replace("client", new PUBREL(7), 0);
+
+        restart();
+
+        final ImmutableList<MessageWithID> inflight = persistence.readInflight("client", false, 10, BYTE_LIMIT, 0);
+        assertEquals(2, inflight.size());
+        assertInstanceOf(PUBREL.class, inflight.get(0));
+        assertEquals(7, inflight.get(0).getPacketIdentifier());
+        assertEquals(1, inflight.get(1).getPacketIdentifier());
+        verify(payloadPersistence).decrementReferenceCounter(1000);
+    }
+
+    @Test
+    public void test_shared_inflight_markers_afterRestart() {
+        persistence.add("group/topic", true, createPublish(0), 100, DISCARD, false, 1);
+        persistence.add("group/topic", true, createPublish(1), 100, DISCARD, false, 1);
+        final ImmutableList<PUBLISH> publishes =
+                persistence.readNew("group/topic", true, ImmutableIntArray.of(1, 1), BYTE_LIMIT, 1);
+        assertEquals(2, publishes.size());
+        persistence.removeShared("group/topic", publishes.get(0).getUniqueId(), 1);
+        persistence.removeAllInFlightMarkers("group/topic", 1);
+
+        restart();
+
+        assertEquals(ImmutableList.of("group/topic"), persistence.cleanUp(1).asList());
+        final ImmutableList<PUBLISH> afterRestart =
+                persistence.readNew("group/topic", true, ImmutableIntArray.of(1), BYTE_LIMIT, 1);
+        assertEquals(1, afterRestart.size());
+        assertEquals(publishes.get(1).getUniqueId(), afterRestart.get(0).getUniqueId());
+    }
+
+    @Test
+    public void test_clear_afterRestart() {
+        persistence.add("client", false, createPublish(0), 100, DISCARD, false, 0);
+        persistence.add("client", false, createPublish(1), 100, DISCARD, false, 0);
+        persistence.clear("client", false, 0);
+
+        restart();
+
+        assertEquals(0, persistence.size("client", false, 0));
+    }
+
+    @Test
+    public void test_queue_without_session_is_dropped_afterRestart() {
+        persistence.add("client", false, createPublish(0), 100, DISCARD, false, 0);
+        persistence.add("group/topic", true, createPublish(1), 100, DISCARD, false, 0);
+
+        sessionExists = clientId -> false;
+        restart();
+
+        assertEquals(0, persistence.size("client", false, 0));
+        assertEquals(1, persistence.size("group/topic", true, 0));
+
+        sessionExists = clientId -> true;
+        restart();
+
+        assertEquals(0, persistence.size("client", false, 0));
+        assertEquals(1, persistence.size("group/topic", true, 0));
+    }
+
+    @Test
+    public void test_discard_oldest() {
+        persistence.add("client", false, createPublish(0), 2, DISCARD_OLDEST, false, 0);
+        persistence.add("client", false, createPublish(1), 2, DISCARD_OLDEST, false, 0);
+        persistence.add("client", false, createPublish(2), 2, DISCARD_OLDEST, false, 0);
+
+        restart();
+
+        final ImmutableList<PUBLISH> publishes =
+                persistence.readNew("client", false, ImmutableIntArray.of(1, 2, 3), BYTE_LIMIT, 0);
+        assertEquals(2, publishes.size());
+        assertEquals("topic1", publishes.get(0).getTopic());
+        assertEquals("topic2", publishes.get(1).getTopic());
+        verify(messageDroppedService).queueFull("client", "topic0", 1);
+    }
+
+    @Test
+    public void test_qos0_messages_are_not_persisted() {
+        persistence.add("client", false, createPublish(0, QoS.AT_MOST_ONCE), 100, DISCARD, false, 0);
+        assertEquals(1, persistence.size("client", false, 0));
+
+        restart();
+
+        assertEquals(0, persistence.size("client", false, 0));
+    }
+
+    @Test
+    public void test_compaction_keeps_live_messages() {
+        for (int i = 0; i < 200; i++) {
+            persistence.add("client", false, createPublish(i), 1000, DISCARD, false, 0);
+        }
+        final ClientQueueFileLocalPersistence.Bucket bucket = persistence.getBucket(0);
+        final int segmentsBefore = bucket.log.getSegmentCount();
+        assertTrue(segmentsBefore > 2);
+
+        final ImmutableList<PUBLISH> inflight =
+                persistence.readNew("client", false, ImmutableIntArray.of(1, 2, 3), BYTE_LIMIT, 0);
+        for (int i = 0; i < 195; i++) {
+            persistence.readNew("client", false, ImmutableIntArray.of(10), BYTE_LIMIT, 0);
+            persistence.remove("client", 10, 0);
+        }
+        persistence.cleanUp(0);
+        assertTrue(bucket.log.getSegmentCount() < segmentsBefore);
+        assertEquals(bucket.liveBytes, bucket.log.getWrittenBytes());
+
+        restart();
+
+        assertEquals(5, persistence.size("client", false, 0));
+        final ImmutableList<MessageWithID> readInflight =
+                persistence.readInflight("client", false, 10, BYTE_LIMIT, 0);
+        assertEquals(3, readInflight.size());
+        assertEquals(inflight.get(0).getUniqueId(), ((PUBLISH) readInflight.get(0)).getUniqueId());
+        final ImmutableList<PUBLISH> publishes =
+                persistence.readNew("client", false, ImmutableIntArray.of(4, 5), BYTE_LIMIT, 0);
+        assertEquals("topic198", publishes.get(0).getTopic());
+        assertEquals("topic199", publishes.get(1).getTopic());
+    }
+
+    @Test
+    public void test_recovery_ignores_torn_write() throws Exception {
+        persistence.add("client", false, createPublish(0), 100, DISCARD, false, 0);
+        final long secondRecordOffset = persistence.getBucket(0).liveBytes;
+        persistence.add("client", false, createPublish(1), 100, DISCARD, false, 0);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            persistence.closeDB(i);
+        }
+
+        // corrupt the body of the second record, as if the process died in the middle of the write
+        final File segment = new File(temporaryFolder, "bucket-0/segment-0000000000.log");
+        try (final RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(secondRecordOffset + SegmentLog.HEADER_SIZE + 4);
+            file.write(new byte[] {1, 2, 3, 4});
+        }
+
+        persistence = open();
+
+        assertEquals(1, persistence.size("client", false, 0));
+        persistence.add("client", false, createPublish(2), 100, DISCARD, false, 0);
+        restart();
+        final ImmutableList<PUBLISH> publishes =
+                persistence.readNew("client", false, ImmutableIntArray.of(1, 2), BYTE_LIMIT, 0);
+        assertEquals(2, publishes.size());
+        assertEquals("topic0", publishes.get(0).getTopic());
+        assertEquals("topic2", publishes.get(1).getTopic());
+    }
+
+    private void restart() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            persistence.closeDB(i);
+        }
+        persistence = open();
+    }
+
+    private @NotNull ClientQueueFileLocalPersistence open() {
+        return new ClientQueueFileLocalPersistence(
+                temporaryFolder,
+                BUCKET_COUNT,
+                SEGMENT_SIZE,
+                payloadPersistence,
+                messageDroppedService,
+                sessionExists,
+                new MetricRegistry());
+    }
+
+    private static @NotNull PUBLISH createPublish(final int index) {
+        return createPublish(index, QoS.AT_LEAST_ONCE);
+    }
+
+    private static @NotNull PUBLISH createPublish(final int index, final @NotNull QoS qos) {
+        return new PUBLISHFactory.Mqtt5Builder()
+                .withHivemqId("hivemqId")
+                .withTopic("topic" + index)
+                .withQoS(qos)
+                .withOnwardQos(qos)
+                .withPayload(("message" + index).getBytes(UTF_8))
+                .withPublishId(1000 + index)
+                .build();
+    }
+}
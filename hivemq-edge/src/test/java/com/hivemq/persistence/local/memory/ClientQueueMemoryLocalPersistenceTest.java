@@ -1016,6 +1016,27 @@ public class ClientQueueMemoryLocalPersistenceTest {
         verify(payloadPersistence, times(1)).decrementReferenceCounter(anyLong());
     }
 
+    @Test
+    public void test_remove_by_unique_ids_non_shared() {
+        for (int i = 0; i < 4; i++) {
+            persistence.add("client", false, createPublish(1, QoS.AT_LEAST_ONCE, "topic", i), 100L, DISCARD, false, 0);
+        }
+        persistence.readNew(
+                "client",
+                false,
+                ImmutableIntArray.of(SHARED_IN_FLIGHT_MARKER, SHARED_IN_FLIGHT_MARKER, SHARED_IN_FLIGHT_MARKER),
+                256000,
+                0);
+
+        persistence.removeByUniqueIds("client", false, Set.of("hivemqId_pub_0", "hivemqId_pub_2"), 0);
+
+        assertEquals(2, persistence.size("client", false, 0));
+        final ImmutableList<MessageWithID> inflight = persistence.readInflight("client", false, 10, byteLimit, 0);
+        assertEquals(1, inflight.size());
+        assertEquals("hivemqId_pub_1", ((PUBLISH) inflight.get(0)).getUniqueId());
+        verify(payloadPersistence, times(2)).decrementReferenceCounter(anyLong());
+    }
+
     @Test
     public void test_remove_in_flight_marker() {
         for (int i = 0; i < 3; i++) {
@@ -853,6 +853,30 @@ public class ClientSessionMemoryLocalPersistenceTest {
         assertEquals(0L, memoryGauge.getValue().longValue());
     }
 
+    @Test
+    public void cleanUp_onlyDisconnectedSessionsArePendingExpiration() {
+        final Gauge<Long> pendingGauge = metricRegistry.gauge(
+                HiveMQMetrics.CLIENT_SESSIONS_MEMORY_PERSISTENCE_PENDING_EXPIRATIONS.name(), null);
+        final long now = System.currentTimeMillis();
+
+        persistence.put("connected", new ClientSession(true, 10), now, 1);
+        persistence.put("expired", new ClientSession(true, 10), now, 1);
+        persistence.put("pending", new ClientSession(true, 100), now, 1);
+        assertEquals(0L, pendingGauge.getValue().longValue());
+
+        persistence.disconnect("expired", now - 20000, false, 1, 10);
+        persistence.disconnect("pending", now, false, 1, 100);
+        assertEquals(2L, pendingGauge.getValue().longValue());
+
+        assertEquals(Set.of("expired"), persistence.cleanUp(1));
+        assertEquals(1L, pendingGauge.getValue().longValue());
+        assertNotNull(persistence.getSession("connected", 1));
+        assertNotNull(persistence.getSession("pending", 1));
+
+        persistence.put("pending", new ClientSession(true, 100), now, 1);
+        assertEquals(0L, pendingGauge.getValue().longValue());
+    }
+
     @Test
     @Timeout(10)
     public void test_queue_limit() {
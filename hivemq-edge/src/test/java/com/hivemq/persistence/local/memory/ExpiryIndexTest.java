@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.persistence.local.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+class ExpiryIndexTest {
+
+    private final @NotNull AtomicLong pendingExpirations = new AtomicLong();
+    private final @NotNull ExpiryIndex<String> index = new ExpiryIndex<>(pendingExpirations);
+
+    @Test
+    void pollExpired_whenDeadlinesHavePassed_thenOnlyThoseKeysAreReturnedInOrder() {
+        index.schedule("c", 300);
+        index.schedule("a", 100);
+        index.schedule("b", 200);
+
+        assertThat(index.pollExpired(250)).containsExactly("a", "b");
+        assertThat(index.pollExpired(250)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(pendingExpirations).hasValue(1);
+    }
+
+    @Test
+    void pollExpired_whenKeyWasRescheduledOrUnscheduled_thenOutdatedDeadlinesAreSkipped() {
+        index.schedule("a", 100);
+        index.schedule("a", 500);
+        index.schedule("b", 100);
+        index.unschedule("b");
+
+        assertThat(index.pollExpired(200)).isEmpty();
+        assertThat(index.pollExpired(500)).containsExactly("a");
+        assertThat(pendingExpirations).hasValue(0);
+    }
+
+    @Test
+    void schedule_whenKeysAreRescheduledRepeatedly_thenPendingExpirationsCountEachKeyOnce() {
+        for (int i = 0; i < 10_000; i++) {
+            index.schedule("key-" + (i % 10), i);
+        }
+
+        assertThat(index.size()).isEqualTo(10);
+        assertThat(pendingExpirations).hasValue(10);
+        assertThat(index.pollExpired(Long.MAX_VALUE)).hasSize(10);
+    }
+
+    @Test
+    void clear_whenCalled_thenSharedCounterIsDecreasedBySizeOfIndex() {
+        final ExpiryIndex<String> other = new ExpiryIndex<>(pendingExpirations);
+        index.schedule("a", 100);
+        other.schedule("b", 100);
+
+        index.clear();
+
+        assertThat(pendingExpirations).hasValue(1);
+        assertThat(index.pollExpired(100)).isEmpty();
+        assertThat(other.pollExpired(100)).containsExactly("b");
+    }
+
+    @Test
+    void deadline_whenIntervalDoesNotFitIntoLong_thenDeadlineIsSaturated() {
+        assertThat(ExpiryIndex.deadline(1_000, 10)).isEqualTo(11_000);
+        assertThat(ExpiryIndex.deadline(1_000, Long.MAX_VALUE)).isEqualTo(Long.MAX_VALUE);
+    }
+}
@@ -19,9 +19,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,15 +54,18 @@ import com.hivemq.persistence.mappings.NorthboundMapping;
 import com.hivemq.persistence.mappings.SouthboundMapping;
 import com.hivemq.protocols.fsm.ProtocolAdapterManagerState;
 import com.hivemq.protocols.northbound.NorthboundConsumerFactory;
+import com.hivemq.protocols.northbound.NorthboundTagConsumer;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -166,6 +171,19 @@ class ProtocolAdapterManagerTest {
         return adapter;
     }
 
+    private static @NotNull ProtocolAdapterConfig mockConfig(
+            final @NotNull ProtocolSpecificAdapterConfig adapterConfig,
+            final @NotNull List<NorthboundMapping> northboundMappings) {
+        final ProtocolAdapterConfig config = mock(ProtocolAdapterConfig.class);
+        when(config.getAdapterId()).thenReturn("adapter-1");
+        when(config.getProtocolId()).thenReturn("test-protocol");
+        when(config.getAdapterConfig()).thenReturn(adapterConfig);
+        org.mockito.Mockito.doReturn(List.of()).when(config).getTags();
+        when(config.getNorthboundMappings()).thenReturn(northboundMappings);
+        when(config.getSouthboundMappings()).thenReturn(List.<SouthboundMapping>of());
+        return config;
+    }
+
     private @NotNull ProtocolAdapter createFailingPrecheckAdapter(final @NotNull String adapterId) {
         final ProtocolAdapter adapter = createSuccessAdapter(adapterId);
         try {
@@ -389,6 +407,16 @@ class ProtocolAdapterManagerTest {
             verify(protocolAdapterMetrics).decreaseProtocolAdapterMetric("test-protocol");
         }
 
+        @Test
+        void deleteProtocolAdapterByAdapterId_removesTagHandles() {
+            final ProtocolAdapter adapter = createSuccessAdapter("adapter-1");
+            addAdapterToManager("adapter-1", adapter);
+
+            manager.deleteProtocolAdapterByAdapterId("adapter-1");
+
+            verify(tagManager).removeAdapter("adapter-1");
+        }
+
         @Test
         void deleteProtocolAdapterByAdapterId_firesEvent() {
             final ProtocolAdapter adapter = createSuccessAdapter("adapter-1");
@@ -739,5 +767,98 @@ class ProtocolAdapterManagerTest {
             verify(protocolAdapterMetrics, org.mockito.Mockito.never()).decreaseProtocolAdapterMetric(anyString());
             verify(protocolAdapterMetrics, org.mockito.Mockito.never()).increaseProtocolAdapterMetric(anyString());
         }
+
+        @Test
+        void refresh_mappingsOnlyChanged_swapsConsumersWithoutReconnecting() throws Exception {
+            final ProtocolSpecificAdapterConfig adapterConfig = mock(ProtocolSpecificAdapterConfig.class);
+            final ProtocolAdapter adapter = createSuccessAdapter("adapter-1");
+            final ProtocolAdapterConfig oldConfig = mockConfig(adapterConfig, List.of());
+            addAdapterToManager("adapter-1", adapter, oldConfig);
+            manager.start("adapter-1");
+
+            final ProtocolAdapterEntity entity = mock(ProtocolAdapterEntity.class);
+            final NorthboundMapping mapping = mock(NorthboundMapping.class);
+            final NorthboundTagConsumer consumer = mock(NorthboundTagConsumer.class);
+            final ProtocolAdapterConfig newConfig = mockConfig(adapterConfig, List.of(mapping));
+            when(configConverter.fromEntity(entity)).thenReturn(newConfig);
+            when(northboundConsumerFactory.build(any(), eq(mapping), any())).thenReturn(consumer);
+
+            manager.refresh(List.of(entity));
+            waitUntilNotBusy(manager);
+
+            assertThat(manager.getProtocolAdapterWrapperByAdapterId("adapter-1"))
+                    .isPresent()
+                    .get()
+                    .extracting(ProtocolAdapterWrapper::getConfig)
+                    .isSameAs(newConfig);
+            verify(tagManager).addConsumer(consumer);
+            verify(adapter, times(1)).start(any(), any(), any());
+            verify(adapter, never()).stop(any(), any(), any());
+            verify(adapter, never()).destroy();
+            verify(factoryManager, never()).get(anyString());
+        }
+
+        @Test
+        void refresh_mappingsOnlyChangedToMissingTag_failsAndKeepsOldMappings() throws Exception {
+            final ProtocolSpecificAdapterConfig adapterConfig = mock(ProtocolSpecificAdapterConfig.class);
+            final ProtocolAdapter adapter = createSuccessAdapter("adapter-1");
+            final ProtocolAdapterConfig oldConfig = mockConfig(adapterConfig, List.of());
+            addAdapterToManager("adapter-1", adapter, oldConfig);
+            manager.start("adapter-1");
+
+            final ProtocolAdapterEntity entity = mock(ProtocolAdapterEntity.class);
+            final NorthboundMapping mapping = mock(NorthboundMapping.class);
+            final ProtocolAdapterConfig newConfig = mockConfig(adapterConfig, List.of(mapping));
+            when(newConfig.missingTags()).thenReturn(Optional.of(Set.of("undefined-tag")));
+            when(configConverter.fromEntity(entity)).thenReturn(newConfig);
+
+            manager.refresh(List.of(entity));
+            waitUntilNotBusy(manager);
+
+            assertThat(manager.getProtocolAdapterWrapperByAdapterId("adapter-1"))
+                    .isPresent()
+                    .get()
+                    .extracting(ProtocolAdapterWrapper::getConfig)
+                    .isSameAs(oldConfig);
+            verify(eventBuilder).withMessage("Reloading of configuration failed");
+            verify(northboundConsumerFactory, never()).build(any(), eq(mapping), any());
+            verify(adapter, never()).stop(any(), any(), any());
+        }
+
+        @Test
+        void refresh_multipleNewAdapters_startsThemConcurrently() throws Exception {
+            final ProtocolAdapterManager spyManager = org.mockito.Mockito.spy(manager);
+            final ProtocolAdapterEntity entity1 = mock(ProtocolAdapterEntity.class);
+            final ProtocolAdapterEntity entity2 = mock(ProtocolAdapterEntity.class);
+            final ProtocolAdapterConfig config1 = mock(ProtocolAdapterConfig.class);
+            final ProtocolAdapterConfig config2 = mock(ProtocolAdapterConfig.class);
+            final CountDownLatch bothStarting = new CountDownLatch(2);
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+
+            when(config1.getAdapterId()).thenReturn("adapter-1");
+            when(config2.getAdapterId()).thenReturn("adapter-2");
+            when(configConverter.fromEntity(entity1)).thenReturn(config1);
+            when(configConverter.fromEntity(entity2)).thenReturn(config2);
+            when(versionProvider.getVersion()).thenReturn("1.0.0");
+
+            org.mockito.Mockito.doNothing().when(spyManager).createProtocolAdapter(any(), anyString());
+            doAnswer(invocation -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        bothStarting.countDown();
+                        bothStarting.await(2, TimeUnit.SECONDS);
+                        running.decrementAndGet();
+                        return null;
+                    })
+                    .when(spyManager)
+                    .start(anyString());
+
+            spyManager.refresh(List.of(entity1, entity2));
+            waitUntilNotBusy(spyManager);
+
+            verify(spyManager).start("adapter-1");
+            verify(spyManager).start("adapter-2");
+            assertThat(maxRunning).hasValue(2);
+        }
     }
 }
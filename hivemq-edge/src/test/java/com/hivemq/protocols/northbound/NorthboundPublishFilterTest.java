@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.northbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hivemq.persistence.mappings.NorthboundFilter;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class NorthboundPublishFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void test_whenModeIsAlways_thenEverySampleIsPublished() {
+        final NorthboundPublishFilter filter = new NorthboundPublishFilter(NorthboundFilter.ALWAYS);
+
+        assertThat(filter.isPassThrough()).isTrue();
+        assertThat(filter.test(1, 0)).isTrue();
+        assertThat(filter.test(1, 0)).isTrue();
+    }
+
+    @Test
+    void test_whenModeIsOnChange_thenOnlyChangedValuesArePublished() {
+        final NorthboundPublishFilter filter =
+                new NorthboundPublishFilter(new NorthboundFilter(NorthboundFilter.Mode.ON_CHANGE, 0, 0));
+
+        assertThat(filter.test(Long.MAX_VALUE, 0)).isTrue();
+        assertThat(filter.test(Long.MAX_VALUE, 0)).isFalse();
+        assertThat(filter.test(Long.MAX_VALUE - 1, 0)).isTrue();
+        assertThat(filter.test(Double.NaN, 0)).isTrue();
+        assertThat(filter.test(Double.NaN, 0)).isFalse();
+        assertThat(filter.test("running", 0)).isTrue();
+        assertThat(filter.test("running", 0)).isFalse();
+        assertThat(filter.test(new int[] {1, 2}, 0)).isTrue();
+        assertThat(filter.test(new int[] {1, 2}, 0)).isFalse();
+        assertThat(filter.test(true, 0)).isTrue();
+    }
+
+    @Test
+    void test_whenModeIsAbsoluteDeadband_thenDeviationFromLastPublishedValueIsCompared() {
+        final NorthboundPublishFilter filter =
+                new NorthboundPublishFilter(new NorthboundFilter(NorthboundFilter.Mode.ABSOLUTE_DEADBAND, 1, 0));
+
+        assertThat(filter.test(10, 0)).isTrue();
+        assertThat(filter.test(11, 0)).isFalse();
+        // the reference stays at 10, so a slow drift is published eventually
+        assertThat(filter.test(12, 0)).isTrue();
+        assertThat(filter.test(11.5f, 0)).isTrue();
+        assertThat(filter.test(10.6, 0)).isFalse();
+    }
+
+    @Test
+    void test_whenModeIsPercentDeadband_thenDeviationIsRelativeToLastPublishedValue() {
+        final NorthboundPublishFilter filter =
+                new NorthboundPublishFilter(new NorthboundFilter(NorthboundFilter.Mode.PERCENT_DEADBAND, 5, 0));
+
+        assertThat(filter.test(200.0, 0)).isTrue();
+        assertThat(filter.test(209.0, 0)).isFalse();
+        assertThat(filter.test(189.0, 0)).isTrue();
+        assertThat(filter.test(0.0, 0)).isTrue();
+        assertThat(filter.test(0.001, 0)).isTrue();
+    }
+
+    @Test
+    void test_whenMaxSilenceIsExceeded_thenUnchangedValueIsPublished() {
+        final NorthboundPublishFilter filter =
+                new NorthboundPublishFilter(new NorthboundFilter(NorthboundFilter.Mode.ON_CHANGE, 0, 10_000));
+
+        assertThat(filter.test(42, SECOND)).isTrue();
+        assertThat(filter.test(42, 5 * SECOND)).isFalse();
+        assertThat(filter.test(42, 11 * SECOND)).isTrue();
+        assertThat(filter.test(42, 12 * SECOND)).isFalse();
+    }
+}
@@ -20,10 +20,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -32,15 +36,20 @@ import com.hivemq.adapter.sdk.api.ProtocolAdapter;
 import com.hivemq.adapter.sdk.api.ProtocolAdapterInformation;
 import com.hivemq.adapter.sdk.api.ProtocolAdapterPublishBuilder;
 import com.hivemq.adapter.sdk.api.ProtocolPublishResult;
+import com.hivemq.adapter.sdk.api.config.MqttUserProperty;
 import com.hivemq.adapter.sdk.api.data.DataPoint;
 import com.hivemq.adapter.sdk.api.events.EventService;
 import com.hivemq.adapter.sdk.api.events.model.EventBuilder;
 import com.hivemq.adapter.sdk.api.events.model.Payload;
 import com.hivemq.adapter.sdk.api.services.ProtocolAdapterMetricsService;
 import com.hivemq.datapoint.DataPointWithMetadata;
+import com.hivemq.edge.modules.adapters.data.DataPointImpl;
 import com.hivemq.edge.modules.adapters.impl.ProtocolAdapterPublishServiceImpl;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterMetricsServiceImpl;
+import com.hivemq.persistence.mappings.NorthboundFilter;
 import com.hivemq.persistence.mappings.NorthboundMapping;
 import com.hivemq.protocols.ProtocolAdapterWrapper;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -81,11 +90,16 @@ class NorthboundTagConsumerTest {
     @Mock
     private EventBuilder eventBuilder;
 
-    private NorthboundTagConsumer consumer;
-
     @BeforeEach
     void setUp() {
-        consumer = new NorthboundTagConsumer(
+        lenient().when(pollingContext.getFilter()).thenReturn(NorthboundFilter.ALWAYS);
+    }
+
+    /**
+     * The consumer reads the mapping on construction, so the mapping must be stubbed before.
+     */
+    private NorthboundTagConsumer createConsumer() {
+        return new NorthboundTagConsumer(
                 pollingContext, protocolAdapter, objectMapper, publishService, metricsService, eventService);
     }
 
@@ -125,6 +139,7 @@ class NorthboundTagConsumerTest {
     @Test
     void getTagName_returnsPollingContextTagName() {
         when(pollingContext.getTagName()).thenReturn("my-tag");
+        final NorthboundTagConsumer consumer = createConsumer();
 
         assertThat(consumer.getTagName()).isEqualTo("my-tag");
     }
@@ -136,6 +151,7 @@ class NorthboundTagConsumerTest {
         setupEventBuilder();
 
         final DataPoint dataPoint = createDataPoint("sensor1", 42);
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dataPoint);
 
@@ -157,6 +173,7 @@ class NorthboundTagConsumerTest {
         setupEventBuilder();
 
         final DataPoint dataPoint = createDataPoint("status", "active");
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dataPoint);
 
@@ -179,6 +196,7 @@ class NorthboundTagConsumerTest {
         root.put("value", 99.9);
         root.put("timestamp", 1234567890L);
         final DataPointWithMetadata dpMeta = new DataPointWithMetadata(root, "ADAPTER");
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dpMeta);
 
@@ -191,6 +209,32 @@ class NorthboundTagConsumerTest {
         assertThat(json.get("tagName").asText()).isEqualTo("rich-tag");
     }
 
+    @Test
+    void accept_withDataPointImplOrDataPointWithMetadata_recordsDataPointToPublishLatency() {
+        setupPollingContext("test/topic", 0);
+        setupPublishBuilder();
+        setupEventBuilder();
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final NorthboundTagConsumer consumer = new NorthboundTagConsumer(
+                pollingContext,
+                protocolAdapter,
+                objectMapper,
+                publishService,
+                new ProtocolAdapterMetricsServiceImpl("modbus", "adapter-1", metricRegistry),
+                eventService);
+
+        final ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.put("tagName", "rich-tag");
+        root.put("value", 99.9);
+        consumer.accept(new DataPointWithMetadata(root, "ADAPTER"));
+        consumer.accept(new DataPointImpl("tag", 1, "ADAPTER"));
+
+        final Timer dataPointToPublish = metricRegistry
+                .getTimers()
+                .get("com.hivemq.edge.protocol-adapters.modbus.adapter-1.latency.datapoint-to-publish");
+        assertThat(dataPointToPublish.getCount()).isEqualTo(2);
+    }
+
     @Test
     void accept_withJsonEncodedValue_parsesJsonString() throws Exception {
         setupPollingContextWithTagNamesAndTimestamp("test/topic", 0);
@@ -213,6 +257,7 @@ class NorthboundTagConsumerTest {
                 return "json-tag";
             }
         };
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dataPoint);
 
@@ -229,6 +274,7 @@ class NorthboundTagConsumerTest {
         setupPollingContext("test/topic", 0);
         setupPublishBuilder();
         setupEventBuilder();
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(createDataPoint("tag", 1));
 
@@ -246,6 +292,7 @@ class NorthboundTagConsumerTest {
         when(publishBuilder.withAdapter(any())).thenReturn(publishBuilder);
         when(publishBuilder.send()).thenReturn(CompletableFuture.failedFuture(new RuntimeException("publish failed")));
         when(protocolAdapter.getAdapter()).thenReturn(adapter);
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(createDataPoint("tag", 1));
 
@@ -258,6 +305,7 @@ class NorthboundTagConsumerTest {
         setupPollingContext("test/topic", 0);
         setupPublishBuilder();
         setupEventBuilder();
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(createDataPoint("tag", 1));
 
@@ -270,6 +318,7 @@ class NorthboundTagConsumerTest {
         setupPollingContext("test/topic", 0);
         setupPublishBuilder();
         setupEventBuilder();
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(createDataPoint("tag", 1));
         consumer.accept(createDataPoint("tag", 2));
@@ -282,6 +331,7 @@ class NorthboundTagConsumerTest {
     void accept_invalidQos_throwsIllegalArgumentException() {
         when(pollingContext.getMqttTopic()).thenReturn("test/topic");
         when(pollingContext.getMqttQos()).thenReturn(3);
+        final NorthboundTagConsumer consumer = createConsumer();
 
         assertThatThrownBy(() -> consumer.accept(createDataPoint("tag", 1)))
                 .isInstanceOf(IllegalArgumentException.class);
@@ -291,6 +341,7 @@ class NorthboundTagConsumerTest {
     void accept_negativeQos_throwsIllegalArgumentException() {
         when(pollingContext.getMqttTopic()).thenReturn("test/topic");
         when(pollingContext.getMqttQos()).thenReturn(-1);
+        final NorthboundTagConsumer consumer = createConsumer();
 
         assertThatThrownBy(() -> consumer.accept(createDataPoint("tag", 1)))
                 .isInstanceOf(IllegalArgumentException.class);
@@ -298,6 +349,8 @@ class NorthboundTagConsumerTest {
 
     @Test
     void accept_nullDataPoint_throwsNullPointerException() {
+        final NorthboundTagConsumer consumer = createConsumer();
+
         assertThatThrownBy(() -> consumer.accept(null)).isInstanceOf(NullPointerException.class);
     }
 
@@ -321,6 +374,7 @@ class NorthboundTagConsumerTest {
                 return "bad-json-tag";
             }
         };
+        final NorthboundTagConsumer consumer = createConsumer();
 
         // The exception is caught internally and logged
         consumer.accept(dataPoint);
@@ -343,6 +397,7 @@ class NorthboundTagConsumerTest {
         final ObjectNode metadata = root.putObject("metadata");
         metadata.put("sourceTimestamp", "2024-01-01T00:00:00Z");
         final DataPointWithMetadata dpMeta = new DataPointWithMetadata(root, "ADAPTER");
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dpMeta);
 
@@ -367,6 +422,7 @@ class NorthboundTagConsumerTest {
         root.put("timestamp", 1000L);
         root.putObject("metadata").put("sourceTimestamp", "2024-01-01T00:00:00Z");
         final DataPointWithMetadata dpMeta = new DataPointWithMetadata(root, "ADAPTER");
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dpMeta);
 
@@ -391,6 +447,7 @@ class NorthboundTagConsumerTest {
         root.put("timestamp", 2000L);
         // no metadata set
         final DataPointWithMetadata dpMeta = new DataPointWithMetadata(root, "ADAPTER");
+        final NorthboundTagConsumer consumer = createConsumer();
 
         consumer.accept(dpMeta);
 
@@ -402,6 +459,55 @@ class NorthboundTagConsumerTest {
         assertThat(json.get("metadata").isNull()).isTrue();
     }
 
+    @Test
+    void accept_withUserProperties_includesPreEncodedUserPropertiesInEveryPayload() throws Exception {
+        setupPollingContextWithTagNamesAndTimestamp("test/topic", 0);
+        when(pollingContext.getTagName()).thenReturn("sensor1");
+        when(pollingContext.getUserProperties())
+                .thenReturn(List.of(new MqttUserProperty("name1", "value1"), new MqttUserProperty("name2", "value2")));
+        setupPublishBuilder();
+        setupEventBuilder();
+        final NorthboundTagConsumer consumer = createConsumer();
+
+        consumer.accept(createDataPoint("sensor1", 1));
+        consumer.accept(createDataPoint("other", 2));
+
+        final ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(publishBuilder, times(2)).withPayload(payloadCaptor.capture());
+
+        final JsonNode first = objectMapper.readTree(payloadCaptor.getAllValues().get(0));
+        assertThat(first.get("value").asInt()).isEqualTo(1);
+        assertThat(first.get("tagName").asText()).isEqualTo("sensor1");
+        assertThat(first.get("mqttUserProperties")).hasSize(2);
+        assertThat(first.get("mqttUserProperties").get(1).get("value").asText()).isEqualTo("value2");
+
+        final JsonNode second = objectMapper.readTree(payloadCaptor.getAllValues().get(1));
+        assertThat(second.get("value").asInt()).isEqualTo(2);
+        assertThat(second.get("tagName").asText()).isEqualTo("other");
+        assertThat(second.get("mqttUserProperties")).isEqualTo(first.get("mqttUserProperties"));
+    }
+
+    @Test
+    void accept_withDeadbandFilter_publishesOnlySamplesOutsideOfDeadband() {
+        setupPollingContext("test/topic", 1);
+        setupPublishBuilder();
+        setupEventBuilder();
+        when(pollingContext.getFilter())
+                .thenReturn(new NorthboundFilter(NorthboundFilter.Mode.ABSOLUTE_DEADBAND, 0.5, 0));
+        final NorthboundTagConsumer filteringConsumer = createConsumer();
+
+        filteringConsumer.accept(createDataPoint("temperature", 20.0));
+        filteringConsumer.accept(createDataPoint("temperature", 20.2));
+        filteringConsumer.accept(createDataPoint("temperature", 20.4));
+        filteringConsumer.accept(createDataPoint("temperature", 20.6));
+
+        final ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(publishBuilder, times(2)).withPayload(payloadCaptor.capture());
+        assertThat(payloadCaptor.getAllValues())
+                .extracting(payload -> objectMapper.readTree(payload).get("value").asDouble())
+                .containsExactly(20.0, 20.6);
+    }
+
     private static DataPoint createDataPoint(final String tagName, final Object tagValue) {
         return new DataPoint() {
             @Override
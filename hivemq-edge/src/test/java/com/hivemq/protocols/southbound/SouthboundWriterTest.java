@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.protocols.southbound;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hivemq.adapter.sdk.api.writing.WritingInput;
+import com.hivemq.adapter.sdk.api.writing.WritingOutput;
+import com.hivemq.adapter.sdk.api.writing.WritingProtocolAdapter;
+import com.hivemq.edge.modules.adapters.metrics.ProtocolAdapterMetricsServiceImpl;
+import com.hivemq.edge.modules.adapters.simulation.SimulationWritingPayload;
+import com.hivemq.persistence.mappings.SouthboundMapping;
+import com.hivemq.persistence.mappings.fieldmapping.FieldMapping;
+import com.hivemq.persistence.mappings.fieldmapping.Instruction;
+import com.hivemq.protocols.InternalWritingContext;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SouthboundWriterTest {
+
+    private static final @NotNull String PREFIX = "com.hivemq.edge.protocol-adapters.test.adapter-1.write.mapping.";
+
+    private final @NotNull MetricRegistry metricRegistry = new MetricRegistry();
+    private final @NotNull ProtocolAdapterMetricsServiceImpl metricsService =
+            new ProtocolAdapterMetricsServiceImpl("test", "adapter-1", metricRegistry);
+    private final @NotNull WritingProtocolAdapter adapter = mock();
+    private final @NotNull List<WritingInput> inputs = new ArrayList<>();
+    private final @NotNull List<WritingOutput> outputs = new ArrayList<>();
+
+    private final @NotNull InternalWritingContext tag1 =
+            new SouthboundMapping("tag-1", "topic/1", FieldMapping.DEFAULT_FIELD_MAPPING, "{}");
+    private final @NotNull InternalWritingContext tag2 =
+            new SouthboundMapping("tag-2", "topic/2", FieldMapping.DEFAULT_FIELD_MAPPING, "{}");
+
+    @BeforeEach
+    void setUp() {
+        doReturn(SimulationWritingPayload.class).when(adapter).getMqttPayloadClass();
+        doAnswer(invocation -> {
+                    inputs.add(invocation.getArgument(0));
+                    outputs.add(invocation.getArgument(1));
+                    return null;
+                })
+                .when(adapter)
+                .write(any(), any());
+    }
+
+    @Test
+    void offer_whenWriteOfTagIsInFlight_thenOnlyLatestMessageIsWrittenAfterwards() {
+        final SouthboundWriter writer = writer(List.of(tag1));
+
+        writer.offer(tag1, payload("{\"value\":1}"));
+        writer.offer(tag1, payload("{\"value\":2}"));
+        writer.offer(tag1, payload("{\"value\":3}"));
+        assertThat(inputs).hasSize(1);
+        assertThat(value(0)).isEqualTo(1);
+
+        outputs.get(0).finish();
+
+        assertThat(inputs).hasSize(2);
+        assertThat(value(1)).isEqualTo(3);
+        assertThat(metricRegistry.counter(PREFIX + "tag-1.dropped.count").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.timer(PREFIX + "tag-1.latency").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_whenDifferentTagsAreWritten_thenWritesAreInFlightConcurrently() {
+        final SouthboundWriter writer = writer(List.of(tag1, tag2));
+
+        writer.offer(tag1, payload("{\"value\":1}"));
+        writer.offer(tag2, payload("{\"value\":2}"));
+
+        assertThat(inputs)
+                .extracting(input -> input.getWritingContext().getTagName())
+                .containsExactly("tag-1", "tag-2");
+    }
+
+    @Test
+    void offer_whenWriteFails_thenFailureIsCountedAndNextMessageIsWritten() {
+        final SouthboundWriter writer = writer(List.of(tag1));
+
+        writer.offer(tag1, payload("{\"value\":1}"));
+        writer.offer(tag1, payload("{\"value\":2}"));
+        outputs.get(0).fail("device unavailable");
+
+        assertThat(inputs).hasSize(2);
+        assertThat(metricRegistry.counter(PREFIX + "tag-1.failed.count").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_whenPayloadIsNoJson_thenMessageIsDroppedWithoutWrite() {
+        final SouthboundWriter writer = writer(List.of(tag1));
+
+        writer.offer(tag1, payload("no json"));
+
+        assertThat(inputs).isEmpty();
+        assertThat(metricRegistry.counter(PREFIX + "tag-1.failed.count").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_whenFieldMappingIsConfigured_thenPayloadIsMapped() {
+        final InternalWritingContext mapped = new SouthboundMapping(
+                "tag-1",
+                "topic/1",
+                new FieldMapping(List.of(new Instruction("$.setpoint.target", "value", null))),
+                "{}");
+        final SouthboundWriter writer = writer(List.of(mapped));
+
+        writer.offer(mapped, payload("{\"setpoint\":{\"target\":42}}"));
+
+        assertThat(value(0)).isEqualTo(42);
+    }
+
+    @Test
+    void offer_whenWriterIsStopped_thenNothingIsWritten() {
+        final SouthboundWriter writer = writer(List.of(tag1));
+        writer.stop();
+
+        writer.offer(tag1, payload("{\"value\":1}"));
+
+        assertThat(inputs).isEmpty();
+    }
+
+    private @NotNull SouthboundWriter writer(final @NotNull List<InternalWritingContext> writingContexts) {
+        return new SouthboundWriter(adapter, metricsService, writingContexts, new ObjectMapper(), Runnable::run);
+    }
+
+    private int value(final int index) {
+        return ((SimulationWritingPayload) inputs.get(index).getWritingPayload()).value().intValue();
+    }
+
+    private static byte @NotNull [] payload(final @NotNull String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -28,6 +28,9 @@ import org.slf4j.LoggerFactory;
 
 public class DatabaseConnection {
     private static final @NotNull Logger log = LoggerFactory.getLogger(DatabaseConnection.class);
+    // prepared statements are cached by the drivers per physical connection, so a pooled connection reuses the
+    // server-side statement of a tag query instead of preparing it again on every poll
+    private static final @NotNull String PREPARED_STATEMENT_CACHE_SIZE = "256";
     private final @NotNull HikariConfig config;
     private @Nullable HikariDataSource ds;
 
@@ -51,6 +54,8 @@ public class DatabaseConnection {
                 config.addDataSourceProperty("databaseName", database);
                 config.addDataSourceProperty("user", username);
                 config.addDataSourceProperty("password", password);
+                config.addDataSourceProperty("prepareThreshold", "1");
+                config.addDataSourceProperty("preparedStatementCacheQueries", PREPARED_STATEMENT_CACHE_SIZE);
                 config.setConnectionTimeout(connectionTimeout * 2000L);
             }
             case MYSQL -> {
@@ -61,7 +66,8 @@ public class DatabaseConnection {
                 config.addDataSourceProperty("password", password);
                 config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
                 config.addDataSourceProperty("cachePrepStmts", "true");
-                config.addDataSourceProperty("prepStmtCacheSize", "250");
+                config.addDataSourceProperty("prepStmtCacheSize", PREPARED_STATEMENT_CACHE_SIZE);
+                config.addDataSourceProperty("useServerPrepStmts", "true");
                 config.setConnectionTimeout(connectionTimeout * 2000L);
             }
             case MSSQL -> {
@@ -77,6 +83,8 @@ public class DatabaseConnection {
                     properties.setProperty("encrypt", "true");
                     properties.setProperty("trustServerCertificate", "true"); // Trust the server certificate implicitly
                 } else properties.setProperty("encrypt", "false");
+                properties.setProperty("disableStatementPooling", "false");
+                properties.setProperty("statementPoolingCacheSize", PREPARED_STATEMENT_CACHE_SIZE);
                 config.setDataSourceProperties(properties);
             }
         }
@@ -94,6 +102,13 @@ public class DatabaseConnection {
         return ds.getConnection();
     }
 
+    /**
+     * @return the max. number of connections of the pool, i.e. the number of queries that can run in parallel
+     */
+    public int getMaximumPoolSize() {
+        return config.getMaximumPoolSize();
+    }
+
     public void close() {
         if (ds != null) {
             ds.close();
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.databases;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Helpers for the high-water mark of an incremental query, i.e. the highest value of the cursor column that was read
+ * so far. The high-water mark is kept as the object returned by the JDBC driver, so it is bound to the next query with
+ * the same SQL type it was read with.
+ */
+final class DatabaseCursor {
+
+    private static final @NotNull String TYPE_LONG = "long:";
+    private static final @NotNull String TYPE_DECIMAL = "decimal:";
+    private static final @NotNull String TYPE_TIMESTAMP = "timestamp:";
+    private static final @NotNull String TYPE_DATE = "date:";
+    private static final @NotNull String TYPE_STRING = "string:";
+
+    private DatabaseCursor() {}
+
+    /**
+     * Converts the configured initial value of a cursor: integral numbers become a {@link Long}, other numbers a
+     * {@link BigDecimal} and ISO-8601 instants or JDBC timestamps ({@code yyyy-mm-dd hh:mm:ss}) a {@link Timestamp}.
+     * Every other value is used as is.
+     */
+    static @NotNull Object parseInitialValue(final @NotNull String value) {
+        final String trimmed = value.trim();
+        try {
+            return Long.parseLong(trimmed);
+        } catch (final NumberFormatException ignored) {
+            // not an integral number
+        }
+        try {
+            return new BigDecimal(trimmed);
+        } catch (final NumberFormatException ignored) {
+            // not a number
+        }
+        try {
+            return Timestamp.from(Instant.parse(trimmed));
+        } catch (final DateTimeParseException ignored) {
+            // not an ISO-8601 instant
+        }
+        try {
+            return Timestamp.valueOf(trimmed);
+        } catch (final IllegalArgumentException ignored) {
+            // not a JDBC timestamp
+        }
+        return trimmed;
+    }
+
+    /**
+     * @return the higher of both values. Values that can not be compared with each other are expected to be read in
+     *         cursor order, so the candidate wins.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static @Nullable Object max(final @Nullable Object current, final @Nullable Object candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        if (candidate == null) {
+            return current;
+        }
+        if (current instanceof final Comparable comparable && current.getClass() == candidate.getClass()) {
+            return comparable.compareTo(candidate) >= 0 ? current : candidate;
+        }
+        return candidate;
+    }
+
+    /**
+     * Converts a high-water mark to the text it is persisted as. The text keeps the type, so {@link #parse(String)}
+     * restores a value that is bound with the same SQL type.
+     */
+    static @NotNull String format(final @NotNull Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return TYPE_LONG + value;
+        }
+        if (value instanceof final Number number) {
+            return TYPE_DECIMAL + number;
+        }
+        if (value instanceof final Timestamp timestamp) {
+            return TYPE_TIMESTAMP + timestamp.toInstant();
+        }
+        if (value instanceof final java.sql.Date date) {
+            return TYPE_DATE + date;
+        }
+        if (value instanceof final LocalDateTime localDateTime) {
+            return TYPE_TIMESTAMP + Timestamp.valueOf(localDateTime).toInstant();
+        }
+        if (value instanceof final OffsetDateTime offsetDateTime) {
+            return TYPE_TIMESTAMP + offsetDateTime.toInstant();
+        }
+        return TYPE_STRING + value;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text was not created by {@link #format(Object)}
+     */
+    static @NotNull Object parse(final @NotNull String text) {
+        final int separator = text.indexOf(':');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Unknown high-water mark '" + text + "'");
+        }
+        final String value = text.substring(separator + 1);
+        try {
+            return switch (text.substring(0, separator + 1)) {
+                case TYPE_LONG -> Long.parseLong(value);
+                case TYPE_DECIMAL -> new BigDecimal(value);
+                case TYPE_TIMESTAMP -> Timestamp.from(Instant.parse(value));
+                case TYPE_DATE -> java.sql.Date.valueOf(value);
+                case TYPE_STRING -> value;
+                default -> throw new IllegalArgumentException("Unknown high-water mark '" + text + "'");
+            };
+        } catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid high-water mark '" + text + "'", e);
+        }
+    }
+
+    static void bind(final @NotNull PreparedStatement statement, final @NotNull Object value) throws SQLException {
+        if (value instanceof final Long longValue) {
+            statement.setLong(1, longValue);
+        } else if (value instanceof final Timestamp timestamp) {
+            statement.setTimestamp(1, timestamp);
+        } else if (value instanceof final String string) {
+            statement.setString(1, string);
+        } else {
+            statement.setObject(1, value);
+        }
+    }
+}
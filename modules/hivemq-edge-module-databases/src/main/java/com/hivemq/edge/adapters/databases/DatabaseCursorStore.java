@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.databases;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists the high-water marks of the incremental queries of an adapter in a small properties file in the data folder
+ * of HiveMQ Edge, so a restart or an update of the adapter continues where the last successful poll stopped instead of
+ * reading the whole table again.
+ * <p>
+ * The marks are keyed by tag name and cursor column, a mark of a tag whose cursor column changed is not used.
+ */
+final class DatabaseCursorStore {
+
+    private static final @NotNull Logger log = LoggerFactory.getLogger(DatabaseCursorStore.class);
+
+    // the same properties HiveMQ Edge resolves its data folder with, the adapter SDK does not expose the folder
+    private static final @NotNull String DATA_FOLDER_PROPERTY = "hivemq.data.folder";
+    private static final @NotNull String DATA_FOLDER_VARIABLE = "HIVEMQ_DATA_FOLDER";
+    private static final @NotNull String HOME_PROPERTY = "hivemq.home";
+    private static final @NotNull String CURSOR_FOLDER = "databases";
+
+    private final @Nullable Path file;
+
+    DatabaseCursorStore(final @Nullable Path file) {
+        this.file = file;
+    }
+
+    static @NotNull DatabaseCursorStore forAdapter(final @NotNull String adapterId) {
+        final Path dataFolder = resolveDataFolder();
+        if (dataFolder == null) {
+            log.warn(
+                    "The data folder of HiveMQ Edge is not known, the cursors of adapter '{}' are only kept in memory.",
+                    adapterId);
+            return new DatabaseCursorStore(null);
+        }
+        return new DatabaseCursorStore(dataFolder.resolve(CURSOR_FOLDER).resolve(adapterId + "-cursors.properties"));
+    }
+
+    private static @Nullable Path resolveDataFolder() {
+        String folder = System.getProperty(DATA_FOLDER_PROPERTY);
+        if (folder == null) {
+            folder = System.getenv(DATA_FOLDER_VARIABLE);
+        }
+        final String home = System.getProperty(HOME_PROPERTY);
+        if (folder == null) {
+            return home == null ? null : Path.of(home, "data");
+        }
+        final Path path = Path.of(folder);
+        return path.isAbsolute() || home == null ? path : Path.of(home).resolve(path);
+    }
+
+    static @NotNull String key(final @NotNull String tagName, final @NotNull String cursorColumn) {
+        return tagName + "#" + cursorColumn;
+    }
+
+    /**
+     * @return the persisted high-water marks by {@link #key(String, String)}, empty if none were persisted or they
+     *         could not be read
+     */
+    @NotNull Map<String, Object> load() {
+        final Map<String, Object> highWaterMarks = new HashMap<>();
+        if (file == null || !Files.exists(file)) {
+            return highWaterMarks;
+        }
+        final Properties properties = new Properties();
+        try (final Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (final IOException e) {
+            log.warn("Unable to read the cursors from '{}', the queries start from their initial value.", file, e);
+            return highWaterMarks;
+        }
+        for (final String key : properties.stringPropertyNames()) {
+            try {
+                highWaterMarks.put(key, DatabaseCursor.parse(properties.getProperty(key)));
+            } catch (final IllegalArgumentException e) {
+                log.warn("Ignoring the cursor '{}' from '{}': {}", key, file, e.getMessage());
+            }
+        }
+        return highWaterMarks;
+    }
+
+    /**
+     * Replaces the persisted high-water marks. The file is written next to the old one and moved over it, so a crash
+     * never leaves a partly written file behind.
+     */
+    void save(final @NotNull Map<String, Object> highWaterMarks) {
+        if (file == null) {
+            return;
+        }
+        final Properties properties = new Properties();
+        highWaterMarks.forEach((key, value) -> properties.setProperty(key, DatabaseCursor.format(value)));
+        final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.getParent());
+            try (final Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            log.warn("Unable to write the cursors to '{}', they are only kept in memory.", file, e);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.hivemq.adapter.sdk.api.polling.batch.BatchPollingOutput;
 import com.hivemq.adapter.sdk.api.polling.batch.BatchPollingProtocolAdapter;
 import com.hivemq.adapter.sdk.api.state.ProtocolAdapterState;
 import com.hivemq.adapter.sdk.api.tag.Tag;
+import com.hivemq.edge.adapters.databases.config.DatabaseType;
 import com.hivemq.edge.adapters.databases.config.DatabasesAdapterConfig;
 import com.hivemq.edge.adapters.databases.config.DatabasesAdapterTag;
 import com.hivemq.edge.adapters.databases.config.DatabasesAdapterTagDefinition;
@@ -43,7 +44,15 @@ import java.sql.SQLException;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +68,10 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
     private final @NotNull String adapterId;
     private final @NotNull List<Tag> tags;
     private final @NotNull DatabaseConnection databaseConnection;
+    private final @NotNull DatabaseCursorStore cursorStore;
+    // by DatabaseCursorStore.key of the tag
+    private final @NotNull Map<String, Object> highWaterMarks = new ConcurrentHashMap<>();
+    private volatile @Nullable ExecutorService queryExecutor;
 
     public DatabasesPollingProtocolAdapter(
             final @NotNull ProtocolAdapterInformation adapterInformation,
@@ -68,6 +81,7 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
         this.adapterConfig = input.getConfig();
         this.protocolAdapterState = input.getProtocolAdapterState();
         this.tags = input.getTags();
+        this.cursorStore = DatabaseCursorStore.forAdapter(adapterId);
 
         log.debug("Building connection string");
 
@@ -90,6 +104,7 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
     @Override
     public void start(
             final @NotNull ProtocolAdapterStartInput input, final @NotNull ProtocolAdapterStartOutput output) {
+        loadHighWaterMarks();
         // Set the context classloader to ensure JDBC drivers can be found
         final ClassLoader originalClassLoader = Thread.currentThread().getContextClassLoader();
         try {
@@ -129,6 +144,7 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
 
             log.debug("Starting connection to the database instance");
             if (databaseConnection.getConnection().isValid(TIMEOUT)) {
+                queryExecutor = createQueryExecutor();
                 output.startedSuccessfully();
                 protocolAdapterState.setConnectionStatus(ProtocolAdapterState.ConnectionStatus.CONNECTED);
             } else {
@@ -146,10 +162,34 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
         }
     }
 
+    /**
+     * Continues the incremental queries from the high-water marks of the last successful polls, also of a previous
+     * instance of the adapter.
+     */
+    private void loadHighWaterMarks() {
+        final Map<String, Object> persisted = cursorStore.load();
+        for (final Tag tag : tags) {
+            final String cursorColumn = ((DatabasesAdapterTag) tag).getDefinition().getCursorColumn();
+            if (cursorColumn != null) {
+                final String key = DatabaseCursorStore.key(tag.getName(), cursorColumn);
+                final Object highWaterMark = persisted.get(key);
+                if (highWaterMark != null) {
+                    log.debug("Continuing tag {} from the high-water mark {}", tag.getName(), highWaterMark);
+                    highWaterMarks.put(key, highWaterMark);
+                }
+            }
+        }
+    }
+
     @Override
     public void stop(
             final @NotNull ProtocolAdapterStopInput protocolAdapterStopInput,
             final @NotNull ProtocolAdapterStopOutput protocolAdapterStopOutput) {
+        final ExecutorService executor = queryExecutor;
+        queryExecutor = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
         databaseConnection.close();
         protocolAdapterStopOutput.stoppedSuccessfully();
     }
@@ -161,58 +201,130 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
 
     @Override
     public void poll(final @NotNull BatchPollingInput pollingInput, final @NotNull BatchPollingOutput pollingOutput) {
-        /* Connect to the database and execute the query */
+        /* Connect to the database and execute the queries, every tag on its own pooled connection */
         log.debug("Handling tags for the adapter");
+        final ExecutorService executor = queryExecutor;
+        final List<CompletableFuture<QueryResult>> queryResults = new ArrayList<>(tags.size());
+        for (final Tag tag : tags) {
+            final DatabasesAdapterTag databasesTag = (DatabasesAdapterTag) tag;
+            if (executor == null || tags.size() == 1) {
+                queryResults.add(CompletableFuture.completedFuture(loadDataFromDB(databasesTag)));
+            } else {
+                queryResults.add(CompletableFuture.supplyAsync(() -> loadDataFromDB(databasesTag), executor));
+            }
+        }
+
         final var dataPointsPublisher = pollingOutput.dataPointListPublisher();
-        tags.forEach(tag -> loadDataFromDB(pollingOutput, dataPointsPublisher, (DatabasesAdapterTag) tag));
+        boolean cursorsAdvanced = false;
+        for (int i = 0; i < tags.size(); i++) {
+            cursorsAdvanced |= addDataPoints(
+                    pollingOutput,
+                    dataPointsPublisher,
+                    (DatabasesAdapterTag) tags.get(i),
+                    queryResults.get(i).join());
+        }
 
         protocolAdapterState.setConnectionStatus(STATELESS);
         dataPointsPublisher.publish();
+        if (cursorsAdvanced) {
+            cursorStore.save(highWaterMarks);
+        }
     }
 
-    private void loadDataFromDB(
+    /**
+     * @return {@code true} if the high-water mark of the tag advanced
+     */
+    private boolean addDataPoints(
             final @NotNull BatchPollingOutput output,
             final @NotNull DataPointListBuilder dataPointsPublisher,
-            final @NotNull DatabasesAdapterTag tag) {
-        // ARM to ensure the connection is closed afterward
+            final @NotNull DatabasesAdapterTag tag,
+            final @NotNull QueryResult queryResult) {
+        if (queryResult.error() != null) {
+            output.fail(queryResult.error(), null);
+            return false;
+        }
+        final DatabasesAdapterTagDefinition definition = tag.getDefinition();
+        final String cursorColumn = definition.getCursorColumn();
+        if (cursorColumn != null) {
+            /* An incremental query without new rows has nothing to publish */
+            if (queryResult.rows().isEmpty()) {
+                return false;
+            }
+            highWaterMarks.put(
+                    DatabaseCursorStore.key(tag.getName(), cursorColumn),
+                    Objects.requireNonNull(queryResult.highWaterMark()));
+        }
+
+        if (definition.getSpiltLinesInIndividualMessages()) {
+            /* Publish datapoint with a single line if split is required */
+            log.debug("Creating unique messages");
+            for (final ObjectNode row : queryResult.rows()) {
+                dataPointsPublisher.addDataPoint(tag).value(row);
+            }
+        } else {
+            /* Publish datapoint with all lines if no split is required */
+            log.debug("Publishing all lines in a single message");
+            final ArrayNode arrayNode = OBJECT_MAPPER.createArrayNode();
+            arrayNode.addAll(queryResult.rows());
+            dataPointsPublisher.addDataPoint(tag).value(arrayNode);
+        }
+        return cursorColumn != null;
+    }
+
+    private @NotNull QueryResult loadDataFromDB(final @NotNull DatabasesAdapterTag tag) {
+        /* Get the tag definition (Query, Split Lines, Cursor, Fetch Size and Max Rows) */
+        final DatabasesAdapterTagDefinition definition = tag.getDefinition();
+        final String cursorColumn = definition.getCursorColumn();
+        // ARM to ensure the connection is returned to the pool afterward
         try (final Connection connection = databaseConnection.getConnection()) {
-            log.debug("Getting tag definition");
-            /* Get the tag definition (Query, RowLimit and Split Lines)*/
-            final DatabasesAdapterTagDefinition definition = tag.getDefinition();
+            if (adapterConfig.getType() == DatabaseType.POSTGRESQL) {
+                // the PostgreSQL driver only streams the result with the fetch size inside a transaction,
+                // the pool rolls it back when the connection is returned
+                connection.setAutoCommit(false);
+            }
             log.debug("Executing query : {}", definition.getQuery());
-            /* Execute query and handle result */
-            final PreparedStatement preparedStatement = connection.prepareStatement(definition.getQuery());
-            final ResultSet result = preparedStatement.executeQuery();
-            assert result != null;
-            final ArrayList<ObjectNode> resultObject = new ArrayList<>();
-            final ResultSetMetaData resultSetMD = result.getMetaData();
-            while (result.next()) {
-                final int numColumns = resultSetMD.getColumnCount();
-                final ObjectNode node = OBJECT_MAPPER.createObjectNode();
-                for (int i = 1; i <= numColumns; i++) {
-                    parseAndAddValue(i, result, resultSetMD, node);
+            // the statement is prepared by the driver's statement cache of the pooled connection
+            try (final PreparedStatement preparedStatement = connection.prepareStatement(
+                    definition.getQuery(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                preparedStatement.setFetchSize(definition.getFetchSize());
+                // the rows of a poll are held in memory until they are published, so every query is bounded,
+                // the backlog of an incremental query is read over several polls
+                preparedStatement.setMaxRows(definition.getMaxRowsPerPoll());
+                Object highWaterMark = null;
+                if (cursorColumn != null) {
+                    highWaterMark = highWaterMarks.computeIfAbsent(
+                            DatabaseCursorStore.key(tag.getName(), cursorColumn),
+                            key -> DatabaseCursor.parseInitialValue(definition.getCursorInitialValue()));
+                    log.debug("Binding high-water mark {} of column {}", highWaterMark, cursorColumn);
+                    DatabaseCursor.bind(preparedStatement, highWaterMark);
                 }
-
-                /* Publish datapoint with a single line if split is required */
-                if (definition.getSpiltLinesInIndividualMessages()) {
-                    log.debug("Creating unique message");
-                    log.debug("Value : {}", node);
-                    dataPointsPublisher.addDataPoint(tag).value(node);
-                } else {
-                    resultObject.add(node);
+                try (final ResultSet result = preparedStatement.executeQuery()) {
+                    final ResultSetMetaData resultSetMD = result.getMetaData();
+                    final int numColumns = resultSetMD.getColumnCount();
+                    final int cursorIndex = cursorColumn == null ? -1 : result.findColumn(cursorColumn);
+                    final List<ObjectNode> rows = new ArrayList<>();
+                    while (result.next()) {
+                        final ObjectNode node = OBJECT_MAPPER.createObjectNode();
+                        for (int i = 1; i <= numColumns; i++) {
+                            parseAndAddValue(i, result, resultSetMD, node);
+                        }
+                        if (cursorIndex > 0) {
+                            highWaterMark = DatabaseCursor.max(highWaterMark, result.getObject(cursorIndex));
+                        }
+                        rows.add(node);
+                    }
+                    if (cursorColumn == null && rows.size() >= definition.getMaxRowsPerPoll()) {
+                        log.warn(
+                                "The query of tag '{}' of adapter '{}' reached the limit of {} rows, further rows are not published. Use a cursor column or raise maxRowsPerPoll.",
+                                tag.getName(),
+                                adapterId,
+                                definition.getMaxRowsPerPoll());
+                    }
+                    return new QueryResult(rows, highWaterMark, null);
                 }
             }
-
-            /* Publish datapoint with all lines if no split is required */
-            if (!definition.getSpiltLinesInIndividualMessages()) {
-                log.debug("Publishing all lines in a single message");
-                log.debug("Value : {}", resultObject);
-                final ArrayNode arrayNode = OBJECT_MAPPER.createArrayNode();
-                arrayNode.addAll(resultObject);
-                dataPointsPublisher.addDataPoint(tag).value(arrayNode);
-            }
         } catch (final Exception e) {
-            output.fail(e, null);
+            return new QueryResult(List.of(), null, e);
         }
     }
 
@@ -234,6 +346,17 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
         }
     }
 
+    private @NotNull ExecutorService createQueryExecutor() {
+        final int threads = Math.max(1, Math.min(tags.size(), databaseConnection.getMaximumPoolSize()));
+        final AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread =
+                    new Thread(runnable, "databases-query-" + adapterId + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     @Override
     public int getPollingIntervalMillis() {
         return adapterConfig.getPollingIntervalMillis();
@@ -243,4 +366,10 @@ public class DatabasesPollingProtocolAdapter implements BatchPollingProtocolAdap
     public int getMaxPollingErrorsBeforeRemoval() {
         return adapterConfig.getMaxPollingErrorsBeforeRemoval();
     }
+
+    /**
+     * The rows a tag query returned, the highest value of its cursor column or the error the query failed with.
+     */
+    private record QueryResult(
+            @NotNull List<ObjectNode> rows, @Nullable Object highWaterMark, @Nullable Exception error) {}
 }
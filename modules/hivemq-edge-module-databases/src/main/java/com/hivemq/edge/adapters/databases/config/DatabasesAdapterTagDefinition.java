@@ -15,14 +15,24 @@
  */
 package com.hivemq.edge.adapters.databases.config;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.hivemq.adapter.sdk.api.annotations.ModuleConfigField;
 import com.hivemq.adapter.sdk.api.tag.TagDefinition;
 import java.util.Objects;
+import java.util.Optional;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class DatabasesAdapterTagDefinition implements TagDefinition {
+
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int MIN_FETCH_SIZE = 1;
+    private static final int MAX_FETCH_SIZE = 100_000;
+    private static final int DEFAULT_MAX_ROWS_PER_POLL = 10_000;
+    private static final int MIN_MAX_ROWS_PER_POLL = 1;
+    private static final int MAX_MAX_ROWS_PER_POLL = 1_000_000;
+
     @JsonProperty(value = "query", required = true)
     @ModuleConfigField(
             title = "Query",
@@ -39,12 +49,70 @@ public class DatabasesAdapterTagDefinition implements TagDefinition {
             defaultValue = "false")
     protected @NotNull Boolean spiltLinesInIndividualMessages;
 
+    @JsonProperty(value = "cursorColumn")
+    @ModuleConfigField(
+            title = "Cursor Column",
+            description = "Column with monotonically increasing values (e.g. an id or a timestamp). When set, the "
+                    + "query is executed incrementally: its first parameter (?) is bound to the highest value of this "
+                    + "column that was read so far, so only new rows are returned. The highest value is kept in the "
+                    + "data folder, so a restart continues where the last poll stopped.")
+    private final @Nullable String cursorColumn;
+
+    @JsonProperty(value = "cursorInitialValue")
+    @ModuleConfigField(
+            title = "Cursor Initial Value",
+            description = "The value bound to the query parameter before the first row was read. Either a number or "
+                    + "an ISO-8601 timestamp.",
+            defaultValue = "0")
+    private final @NotNull String cursorInitialValue;
+
+    @JsonProperty(value = "fetchSize")
+    @ModuleConfigField(
+            title = "Fetch Size",
+            description = "The number of rows that are fetched from the database in one round trip",
+            defaultValue = DEFAULT_FETCH_SIZE + "",
+            numberMin = MIN_FETCH_SIZE,
+            numberMax = MAX_FETCH_SIZE)
+    private final int fetchSize;
+
+    @JsonProperty(value = "maxRowsPerPoll")
+    @ModuleConfigField(
+            title = "Max Rows Per Poll",
+            description = "The maximum number of rows a query reads in one poll. An incremental query reads the "
+                    + "remaining rows in the next polls, it must order its rows by the cursor column, otherwise rows "
+                    + "beyond the limit may be skipped. The rows beyond the limit of a query without a cursor column "
+                    + "are not published.",
+            defaultValue = DEFAULT_MAX_ROWS_PER_POLL + "",
+            numberMin = MIN_MAX_ROWS_PER_POLL,
+            numberMax = MAX_MAX_ROWS_PER_POLL)
+    private final int maxRowsPerPoll;
+
+    public DatabasesAdapterTagDefinition(
+            final @Nullable String query, final @Nullable Boolean spiltLinesInIndividualMessages) {
+        this(query, spiltLinesInIndividualMessages, null, null, null, null);
+    }
+
+    @JsonCreator
     public DatabasesAdapterTagDefinition(
             @JsonProperty(value = "query") final @Nullable String query,
             @JsonProperty(value = "spiltLinesInIndividualMessages")
-                    final @Nullable Boolean spiltLinesInIndividualMessages) {
+                    final @Nullable Boolean spiltLinesInIndividualMessages,
+            @JsonProperty(value = "cursorColumn") final @Nullable String cursorColumn,
+            @JsonProperty(value = "cursorInitialValue") final @Nullable String cursorInitialValue,
+            @JsonProperty(value = "fetchSize") final @Nullable Integer fetchSize,
+            @JsonProperty(value = "maxRowsPerPoll") final @Nullable Integer maxRowsPerPoll) {
         this.query = query;
         this.spiltLinesInIndividualMessages = Objects.requireNonNullElse(spiltLinesInIndividualMessages, false);
+        this.cursorColumn = cursorColumn == null || cursorColumn.isBlank() ? null : cursorColumn;
+        this.cursorInitialValue = Objects.requireNonNullElse(cursorInitialValue, "0");
+        this.fetchSize = Optional.ofNullable(fetchSize)
+                .map(s -> Math.min(s, MAX_FETCH_SIZE))
+                .map(s -> Math.max(s, MIN_FETCH_SIZE))
+                .orElse(DEFAULT_FETCH_SIZE);
+        this.maxRowsPerPoll = Optional.ofNullable(maxRowsPerPoll)
+                .map(s -> Math.min(s, MAX_MAX_ROWS_PER_POLL))
+                .map(s -> Math.max(s, MIN_MAX_ROWS_PER_POLL))
+                .orElse(DEFAULT_MAX_ROWS_PER_POLL);
     }
 
     public @Nullable String getQuery() {
@@ -54,4 +122,20 @@ public class DatabasesAdapterTagDefinition implements TagDefinition {
     public @NotNull Boolean getSpiltLinesInIndividualMessages() {
         return spiltLinesInIndividualMessages;
     }
+
+    public @Nullable String getCursorColumn() {
+        return cursorColumn;
+    }
+
+    public @NotNull String getCursorInitialValue() {
+        return cursorInitialValue;
+    }
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public int getMaxRowsPerPoll() {
+        return maxRowsPerPoll;
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.databases;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DatabaseCursorStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void save_thenLoad_returnsHighWaterMarks() {
+        final Path file = tempDir.resolve("databases").resolve("adapter-cursors.properties");
+        final Timestamp timestamp = Timestamp.from(Instant.parse("2024-01-02T03:04:05Z"));
+
+        new DatabaseCursorStore(file)
+                .save(Map.of(
+                        DatabaseCursorStore.key("tag1", "id"), 42L,
+                        DatabaseCursorStore.key("tag2", "ts"), timestamp));
+
+        assertThat(new DatabaseCursorStore(file).load())
+                .containsOnly(
+                        Map.entry(DatabaseCursorStore.key("tag1", "id"), 42L),
+                        Map.entry(DatabaseCursorStore.key("tag2", "ts"), timestamp));
+        assertThat(file.resolveSibling(file.getFileName() + ".tmp")).doesNotExist();
+    }
+
+    @Test
+    void load_whenNoFile_thenEmpty() {
+        assertThat(new DatabaseCursorStore(tempDir.resolve("missing.properties")).load()).isEmpty();
+        assertThat(new DatabaseCursorStore(null).load()).isEmpty();
+    }
+
+    @Test
+    void load_whenValueInvalid_thenValueIgnored() throws Exception {
+        final Path file = tempDir.resolve("adapter-cursors.properties");
+        Files.writeString(file, "tag1#id=long:42\ntag2#id=long:abc\n", StandardCharsets.UTF_8);
+
+        assertThat(new DatabaseCursorStore(file).load()).containsOnly(Map.entry("tag1#id", 42L));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.databases;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+class DatabaseCursorTest {
+
+    @Test
+    void parseInitialValue_whenIntegral_thenLong() {
+        assertThat(DatabaseCursor.parseInitialValue(" 42 ")).isEqualTo(42L);
+    }
+
+    @Test
+    void parseInitialValue_whenDecimal_thenBigDecimal() {
+        assertThat(DatabaseCursor.parseInitialValue("1.5")).isEqualTo(new BigDecimal("1.5"));
+    }
+
+    @Test
+    void parseInitialValue_whenTimestamp_thenTimestamp() {
+        assertThat(DatabaseCursor.parseInitialValue("2024-01-02T03:04:05Z"))
+                .isEqualTo(Timestamp.from(Instant.parse("2024-01-02T03:04:05Z")));
+        assertThat(DatabaseCursor.parseInitialValue("2024-01-02 03:04:05"))
+                .isEqualTo(Timestamp.valueOf("2024-01-02 03:04:05"));
+    }
+
+    @Test
+    void parseInitialValue_whenText_thenString() {
+        assertThat(DatabaseCursor.parseInitialValue("abc")).isEqualTo("abc");
+    }
+
+    @Test
+    void max_whenComparable_thenHigherValue() {
+        assertThat(DatabaseCursor.max(5L, 3L)).isEqualTo(5L);
+        assertThat(DatabaseCursor.max(3L, 5L)).isEqualTo(5L);
+        assertThat(DatabaseCursor.max(null, 3L)).isEqualTo(3L);
+        assertThat(DatabaseCursor.max(3L, null)).isEqualTo(3L);
+    }
+
+    @Test
+    void max_whenDifferentTypes_thenCandidate() {
+        assertThat(DatabaseCursor.max(0L, 7)).isEqualTo(7);
+    }
+
+    @Test
+    void format_thenParse_keepsValueAndType() {
+        final Timestamp timestamp = Timestamp.from(Instant.parse("2024-01-02T03:04:05.123456789Z"));
+
+        assertThat(DatabaseCursor.parse(DatabaseCursor.format(7L))).isEqualTo(7L);
+        assertThat(DatabaseCursor.parse(DatabaseCursor.format(7))).isEqualTo(7L);
+        assertThat(DatabaseCursor.parse(DatabaseCursor.format(new BigDecimal("1.5")))).isEqualTo(new BigDecimal("1.5"));
+        assertThat(DatabaseCursor.parse(DatabaseCursor.format(timestamp))).isEqualTo(timestamp);
+        assertThat(DatabaseCursor.parse(DatabaseCursor.format(Date.valueOf("2024-01-02"))))
+                .isEqualTo(Date.valueOf("2024-01-02"));
+        assertThat(DatabaseCursor.parse(DatabaseCursor.format("42"))).isEqualTo("42");
+    }
+
+    @Test
+    void parse_whenUnknown_thenIllegalArgumentException() {
+        assertThatThrownBy(() -> DatabaseCursor.parse("42")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DatabaseCursor.parse("long:abc")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bind_bindsFirstParameter() throws Exception {
+        final PreparedStatement statement = mock(PreparedStatement.class);
+        final Timestamp timestamp = Timestamp.valueOf("2024-01-02 03:04:05");
+
+        DatabaseCursor.bind(statement, 7L);
+        DatabaseCursor.bind(statement, timestamp);
+        DatabaseCursor.bind(statement, new BigDecimal("1.5"));
+
+        verify(statement).setLong(1, 7L);
+        verify(statement).setTimestamp(1, timestamp);
+        verify(statement).setObject(1, new BigDecimal("1.5"));
+    }
+}
@@ -55,8 +55,10 @@ import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -76,6 +78,10 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
 
     private static final @NotNull String CONTENT_TYPE_HEADER = "Content-Type";
     private static final @NotNull String USER_AGENT_HEADER = "User-Agent";
+    private static final @NotNull String ETAG_HEADER = "ETag";
+    private static final @NotNull String LAST_MODIFIED_HEADER = "Last-Modified";
+    private static final @NotNull String IF_NONE_MATCH_HEADER = "If-None-Match";
+    private static final @NotNull String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
 
     private final @NotNull ProtocolAdapterInformation adapterInformation;
     private final @NotNull HttpSpecificAdapterConfig adapterConfig;
@@ -85,6 +91,8 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
     private final @NotNull ModuleServices moduleServices;
     private final @NotNull String adapterId;
     private final @NotNull ObjectMapper objectMapper;
+    // validators of the last successful response per tag name, sent with the next conditional request
+    private final @NotNull Map<String, Validators> validatorsByTag = new ConcurrentHashMap<>();
 
     private volatile @Nullable HttpClient httpClient = null;
 
@@ -130,6 +138,7 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
     @Override
     public void stop(final @NotNull ProtocolAdapterStopInput input, final @NotNull ProtocolAdapterStopOutput output) {
         httpClient = null;
+        validatorsByTag.clear();
         output.stoppedSuccessfully();
     }
 
@@ -160,6 +169,11 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
                             final var dataPointsPublisher = pollingOutput.dataPointListPublisher();
                             for (final CompletableFuture<HttpData> future : pollingFutures) {
                                 final var data = future.get();
+                                if (data.isNotModified()) {
+                                    // -- nothing changed since the last poll, so there is nothing to publish
+                                    protocolAdapterState.setConnectionStatus(STATELESS);
+                                    continue;
+                                }
                                 if (data.isSuccessStatusCode()) {
                                     protocolAdapterState.setConnectionStatus(STATELESS);
                                 } else {
@@ -198,8 +212,17 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
 
         tagDef.getHttpHeaders().forEach(hv -> builder.setHeader(hv.getName(), hv.getValue()));
 
+        final boolean conditional = isConditional(tagDef);
         switch (tagDef.getHttpRequestMethod()) {
-            case GET -> builder.GET();
+            case GET -> {
+                builder.GET();
+                if (conditional) {
+                    final Validators validators = validatorsByTag.get(httpTag.getName());
+                    if (validators != null) {
+                        validators.apply(builder);
+                    }
+                }
+            }
             case POST -> {
                 if (tagDef.getHttpRequestBody() != null) {
                     builder.POST(HttpRequest.BodyPublishers.ofString(tagDef.getHttpRequestBody()));
@@ -228,17 +251,39 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
         }
 
         return httpClient
-                .sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString())
-                .thenApply(httpResponse -> getHttpData(httpResponse, url, httpTag));
+                .sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(httpResponse -> {
+                    if (conditional && isSuccessStatusCode(httpResponse.statusCode())) {
+                        final Validators validators = Validators.of(httpResponse);
+                        if (validators != null) {
+                            validatorsByTag.put(httpTag.getName(), validators);
+                        } else {
+                            validatorsByTag.remove(httpTag.getName());
+                        }
+                    }
+                    return getHttpData(httpResponse, url, httpTag);
+                });
+    }
+
+    private boolean isConditional(final @NotNull HttpTagDefinition tagDef) {
+        if (!adapterConfig.getHttpToMqttConfig().isConditionalRequests()
+                || tagDef.getHttpRequestMethod() != HttpSpecificAdapterConfig.HttpMethod.GET) {
+            return false;
+        }
+        // -- validators configured by the user on the tag take precedence over the cached ones
+        return tagDef.getHttpHeaders().stream()
+                .noneMatch(hv -> IF_NONE_MATCH_HEADER.equalsIgnoreCase(hv.getName())
+                        || IF_MODIFIED_SINCE_HEADER.equalsIgnoreCase(hv.getName()));
     }
 
     private @NotNull HttpData getHttpData(
-            final HttpResponse<String> httpResponse, final String url, final @NotNull HttpTag httpTag) {
+            final HttpResponse<byte[]> httpResponse, final String url, final @NotNull HttpTag httpTag) {
         Object payloadData = null;
         String responseContentType = null;
 
         if (isSuccessStatusCode(httpResponse.statusCode())) {
-            final String bodyData = httpResponse.body();
+            // -- the body is kept as raw bytes, so it is neither decoded into a string nor encoded again
+            final byte[] bodyData = httpResponse.body();
             // -- if the content type is json, then apply the JSON to the output data,
             // -- else encode using base64 (as we dont know what the content is).
             if (bodyData != null) {
@@ -252,7 +297,7 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
                         payloadData = objectMapper.readTree(bodyData);
                     } catch (final Exception e) {
                         if (log.isDebugEnabled()) {
-                            log.debug("Invalid JSON data was [{}]", bodyData);
+                            log.debug("Invalid JSON data was [{}]", new String(bodyData, StandardCharsets.UTF_8));
                         }
                         moduleServices
                                 .eventService()
@@ -267,7 +312,7 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
                     if (responseContentType == null) {
                         responseContentType = PLAIN_MIME_TYPE;
                     }
-                    final String base64 = Base64.getEncoder().encodeToString(bodyData.getBytes(StandardCharsets.UTF_8));
+                    final String base64 = Base64.getEncoder().encodeToString(bodyData);
                     payloadData = String.format("data:%s;base64,%s", responseContentType, base64);
                 }
             }
@@ -351,4 +396,26 @@ public class HttpProtocolAdapter implements BatchPollingProtocolAdapter {
             throw new RuntimeException(e);
         }
     }
+
+    private record Validators(@Nullable String etag, @Nullable String lastModified) {
+
+        static @Nullable Validators of(final @NotNull HttpResponse<?> httpResponse) {
+            final String etag = httpResponse.headers().firstValue(ETAG_HEADER).orElse(null);
+            final String lastModified =
+                    httpResponse.headers().firstValue(LAST_MODIFIED_HEADER).orElse(null);
+            if (etag == null && lastModified == null) {
+                return null;
+            }
+            return new Validators(etag, lastModified);
+        }
+
+        void apply(final @NotNull HttpRequest.Builder builder) {
+            if (etag != null) {
+                builder.setHeader(IF_NONE_MATCH_HEADER, etag);
+            }
+            if (lastModified != null) {
+                builder.setHeader(IF_MODIFIED_SINCE_HEADER, lastModified);
+            }
+        }
+    }
 }
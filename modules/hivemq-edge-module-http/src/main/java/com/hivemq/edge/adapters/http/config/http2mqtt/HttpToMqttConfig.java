@@ -24,7 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 public class HttpToMqttConfig {
 
-    public static final @NotNull HttpToMqttConfig DEFAULT = new HttpToMqttConfig(null, null, null, null);
+    public static final @NotNull HttpToMqttConfig DEFAULT = new HttpToMqttConfig(null, null, null, null, null);
 
     @JsonProperty("pollingIntervalMillis")
     @ModuleConfigField(
@@ -59,6 +59,15 @@ public class HttpToMqttConfig {
             format = ModuleConfigField.FieldType.BOOLEAN)
     private final boolean httpPublishSuccessStatusCodeOnly;
 
+    @JsonProperty("conditionalRequests")
+    @ModuleConfigField(
+            title = "Skip Unchanged Responses",
+            description =
+                    "Send GET requests with the ETag and Last-Modified validators of the previous response and do not publish when the endpoint answers 304 Not Modified",
+            defaultValue = "false",
+            format = ModuleConfigField.FieldType.BOOLEAN)
+    private final boolean conditionalRequests;
+
     @JsonCreator
     public HttpToMqttConfig(
             @JsonProperty(value = "pollingIntervalMillis") final @Nullable Integer pollingIntervalMillis,
@@ -66,11 +75,13 @@ public class HttpToMqttConfig {
                     final @Nullable Integer maxPollingErrorsBeforeRemoval,
             @JsonProperty(value = "assertResponseIsJson") final @Nullable Boolean assertResponseIsJson,
             @JsonProperty(value = "httpPublishSuccessStatusCodeOnly")
-                    final @Nullable Boolean httpPublishSuccessStatusCodeOnly) {
+                    final @Nullable Boolean httpPublishSuccessStatusCodeOnly,
+            @JsonProperty(value = "conditionalRequests") final @Nullable Boolean conditionalRequests) {
         this.pollingIntervalMillis = Objects.requireNonNullElse(pollingIntervalMillis, 1000);
         this.maxPollingErrorsBeforeRemoval = Objects.requireNonNullElse(maxPollingErrorsBeforeRemoval, 10);
         this.assertResponseIsJson = Objects.requireNonNullElse(assertResponseIsJson, false);
         this.httpPublishSuccessStatusCodeOnly = Objects.requireNonNullElse(httpPublishSuccessStatusCodeOnly, true);
+        this.conditionalRequests = Objects.requireNonNullElse(conditionalRequests, false);
     }
 
     public int getPollingIntervalMillis() {
@@ -88,4 +99,8 @@ public class HttpToMqttConfig {
     public boolean isHttpPublishSuccessStatusCodeOnly() {
         return httpPublishSuccessStatusCodeOnly;
     }
+
+    public boolean isConditionalRequests() {
+        return conditionalRequests;
+    }
 }
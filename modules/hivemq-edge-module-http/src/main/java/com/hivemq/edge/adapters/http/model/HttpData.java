@@ -50,6 +50,14 @@ public class HttpData {
         return httpStatusCode >= 200 && httpStatusCode <= 299;
     }
 
+    /**
+     * @return true if the endpoint answered a conditional request with 304, i.e. the data did not change since the
+     *         previous poll
+     */
+    public boolean isNotModified() {
+        return httpStatusCode == 304;
+    }
+
     public @NotNull HttpTag getTag() {
         return tag;
     }
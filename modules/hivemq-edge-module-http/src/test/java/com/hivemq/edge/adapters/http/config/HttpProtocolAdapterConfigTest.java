@@ -322,7 +322,7 @@ public class HttpProtocolAdapterConfigTest {
     public void unconvertConfigObject_full() throws Exception {
 
         final HttpSpecificAdapterConfig httpAdapterConfig =
-                new HttpSpecificAdapterConfig(50, new HttpToMqttConfig(1337, 11, true, true), true);
+                new HttpSpecificAdapterConfig(50, new HttpToMqttConfig(1337, 11, true, true, true), true);
 
         final ProtocolAdapterFactoryInput mockInput = mock(ProtocolAdapterFactoryInput.class);
         when(mockInput.isWritingEnabled()).thenReturn(false);
@@ -344,6 +344,7 @@ public class HttpProtocolAdapterConfigTest {
         assertThat(httpToMqtt.get("maxPollingErrorsBeforeRemoval")).isEqualTo(11);
         assertThat((Boolean) httpToMqtt.get("httpPublishSuccessStatusCodeOnly")).isTrue();
         assertThat((Boolean) httpToMqtt.get("assertResponseIsJson")).isTrue();
+        assertThat((Boolean) httpToMqtt.get("conditionalRequests")).isTrue();
 
         assertThat(httpToMqtt.get("httpToMqttMappings"))
                 .isNull(); // mappings are supposed to be ignored when rendered to XML
@@ -355,7 +356,7 @@ public class HttpProtocolAdapterConfigTest {
     public void unconvertConfigObject_defaults() {
 
         final HttpSpecificAdapterConfig httpAdapterConfig =
-                new HttpSpecificAdapterConfig(null, new HttpToMqttConfig(null, null, null, null), null);
+                new HttpSpecificAdapterConfig(null, new HttpToMqttConfig(null, null, null, null, null), null);
 
         final ProtocolAdapterFactoryInput mockInput = mock(ProtocolAdapterFactoryInput.class);
         when(mockInput.isWritingEnabled()).thenReturn(false);
@@ -377,6 +378,7 @@ public class HttpProtocolAdapterConfigTest {
         assertThat(httpToMqtt.get("maxPollingErrorsBeforeRemoval")).isEqualTo(10);
         assertThat((Boolean) httpToMqtt.get("httpPublishSuccessStatusCodeOnly")).isTrue();
         assertThat((Boolean) httpToMqtt.get("assertResponseIsJson")).isFalse();
+        assertThat((Boolean) httpToMqtt.get("conditionalRequests")).isFalse();
 
         assertThat(httpToMqtt.get("httpToMqttMappings"))
                 .isNull(); // mappings are supposed to be ignored when rendered to XML
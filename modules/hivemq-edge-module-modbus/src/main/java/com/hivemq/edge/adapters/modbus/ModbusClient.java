@@ -17,16 +17,17 @@ package com.hivemq.edge.adapters.modbus;
 
 import com.digitalpetri.modbus.client.ModbusTcpClient;
 import com.digitalpetri.modbus.pdu.ReadCoilsRequest;
+import com.digitalpetri.modbus.pdu.ReadCoilsResponse;
 import com.digitalpetri.modbus.pdu.ReadDiscreteInputsRequest;
+import com.digitalpetri.modbus.pdu.ReadDiscreteInputsResponse;
 import com.digitalpetri.modbus.pdu.ReadHoldingRegistersRequest;
+import com.digitalpetri.modbus.pdu.ReadHoldingRegistersResponse;
 import com.digitalpetri.modbus.pdu.ReadInputRegistersRequest;
+import com.digitalpetri.modbus.pdu.ReadInputRegistersResponse;
 import com.digitalpetri.modbus.tcp.Netty;
 import com.digitalpetri.modbus.tcp.client.NettyTcpClientTransport;
 import com.digitalpetri.modbus.tcp.client.NettyTimeoutScheduler;
-import com.hivemq.edge.adapters.modbus.config.ModbusDataType;
 import com.hivemq.edge.adapters.modbus.config.ModbusSpecificAdapterConfig;
-import com.hivemq.edge.adapters.modbus.config.tag.ModbusTag;
-import com.hivemq.edge.adapters.modbus.config.tag.ModbusTagDefinition;
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -34,9 +35,6 @@ import org.jetbrains.annotations.NotNull;
 
 class ModbusClient {
 
-    private static final int DEFAULT_MAX_INPUT_REGISTERS = 125;
-    private static final int DEFAULT_MAX_DISCRETE_INPUTS = 2000;
-
     private final @NotNull ModbusTcpClient client;
 
     ModbusClient(final @NotNull ModbusSpecificAdapterConfig adapterConfig) {
@@ -65,76 +63,33 @@ class ModbusClient {
         return client.isConnected();
     }
 
-    @NotNull
-    CompletionStage<Object> readRegisters(final @NotNull ModbusTag modbusTag) {
-        final ModbusTagDefinition def = modbusTag.getDefinition();
-        final var dataType = def.getDataType();
-        return (switch (def.readType) {
-            case HOLDING_REGISTERS -> readHoldingRegisters(def.startIdx, dataType, def.unitId, def.flipRegisters);
-            case INPUT_REGISTERS -> readInputRegisters(def.startIdx, dataType, def.unitId, def.flipRegisters);
-            case COILS -> readCoils(def.startIdx, def.unitId);
-            case DISCRETE_INPUTS -> readDiscreteInput(def.startIdx, def.unitId);
-        });
-    }
-
-    /**
-     * Coils are 1bit.
-     */
-    @NotNull
-    CompletionStage<Object> readCoils(final int startIdx, final int unitId) {
-        if (!client.isConnected()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        return client.readCoilsAsync(unitId, new ReadCoilsRequest(startIdx, Math.min(1, DEFAULT_MAX_DISCRETE_INPUTS)))
-                .thenApply(response -> ModbusDataType.BOOL.convert(response.coils(), false));
-    }
-
-    /**
-     * Discrete registers are 1bit.
-     */
-    @NotNull
-    CompletionStage<Object> readDiscreteInput(final int startIdx, final int unitId) {
-        if (!client.isConnected()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        return client.readDiscreteInputsAsync(
-                        unitId, new ReadDiscreteInputsRequest(startIdx, Math.min(1, DEFAULT_MAX_DISCRETE_INPUTS)))
-                .thenApply(response -> ModbusDataType.BOOL.convert(response.inputs(), false));
-    }
-
-    /**
-     * Holding registers are 16bit.
-     */
-    @NotNull
-    CompletionStage<Object> readHoldingRegisters(
-            final int startIdx, final @NotNull ModbusDataType dataType, final int unitId, final boolean flipRegisters) {
-        if (!client.isConnected()) {
-            return CompletableFuture.completedFuture(null);
-        }
-
-        return client.readHoldingRegistersAsync(
-                        unitId,
-                        new ReadHoldingRegistersRequest(
-                                startIdx, Math.min(dataType.nrOfRegistersToRead, DEFAULT_MAX_INPUT_REGISTERS)))
-                .thenApply(response -> dataType.convert(response.registers(), flipRegisters));
-    }
-
     /**
-     * Inout registers are 16bit.
+     * Reads all addresses of a block with a single request.
+     *
+     * @return the raw response, bit-packed for coils and discrete inputs, 2 bytes per register otherwise
      */
     @NotNull
-    CompletionStage<Object> readInputRegisters(
-            final int startIdx, final @NotNull ModbusDataType dataType, final int unitId, final boolean flipRegisters) {
+    CompletionStage<byte[]> readBlock(final @NotNull ModbusReadPlanner.ReadBlock block) {
         if (!client.isConnected()) {
             return CompletableFuture.completedFuture(null);
         }
 
-        return client.readInputRegistersAsync(
-                        unitId,
-                        new ReadInputRegistersRequest(
-                                startIdx, Math.min(dataType.nrOfRegistersToRead, DEFAULT_MAX_INPUT_REGISTERS)))
-                .thenApply(response -> dataType.convert(response.registers(), flipRegisters));
+        final int unitId = block.unitId();
+        final int startIdx = block.startIdx();
+        final int count = block.count();
+        return switch (block.readType()) {
+            case HOLDING_REGISTERS ->
+                client.readHoldingRegistersAsync(unitId, new ReadHoldingRegistersRequest(startIdx, count))
+                        .thenApply(ReadHoldingRegistersResponse::registers);
+            case INPUT_REGISTERS ->
+                client.readInputRegistersAsync(unitId, new ReadInputRegistersRequest(startIdx, count))
+                        .thenApply(ReadInputRegistersResponse::registers);
+            case COILS ->
+                client.readCoilsAsync(unitId, new ReadCoilsRequest(startIdx, count))
+                        .thenApply(ReadCoilsResponse::coils);
+            case DISCRETE_INPUTS ->
+                client.readDiscreteInputsAsync(unitId, new ReadDiscreteInputsRequest(startIdx, count))
+                        .thenApply(ReadDiscreteInputsResponse::inputs);
+        };
     }
 }
@@ -20,6 +20,7 @@ import static com.hivemq.adapter.sdk.api.state.ProtocolAdapterState.ConnectionSt
 import static com.hivemq.adapter.sdk.api.state.ProtocolAdapterState.ConnectionStatus.ERROR;
 import static com.hivemq.edge.adapters.modbus.config.ModbusToMqttConfig.DEFAULT_MAX_POLL_ERRORS_BEFORE_REMOVAL;
 import static com.hivemq.edge.adapters.modbus.config.ModbusToMqttConfig.DEFAULT_POLL_INTERVAL_MILLIS;
+import static com.hivemq.edge.adapters.modbus.config.ModbusToMqttConfig.DEFAULT_READ_GAP_TOLERANCE;
 
 import com.hivemq.adapter.sdk.api.ProtocolAdapterInformation;
 import com.hivemq.adapter.sdk.api.discovery.NodeTree;
@@ -65,6 +66,7 @@ public class ModbusProtocolAdapter implements BatchPollingProtocolAdapter {
     private final @NotNull PublishChangedDataOnlyHandler publishChangedDataOnlyHandler =
             new PublishChangedDataOnlyHandler();
     private final @NotNull List<ModbusTag> tags;
+    private final @NotNull List<ModbusReadPlanner.ReadBlock> readBlocks;
     private final @NotNull String adapterId;
     private final @NotNull AtomicBoolean stopRequested;
     private final @NotNull AtomicBoolean startRequested;
@@ -77,6 +79,7 @@ public class ModbusProtocolAdapter implements BatchPollingProtocolAdapter {
         this.adapterConfig = input.getConfig();
         this.protocolAdapterState = input.getProtocolAdapterState();
         this.tags = input.getTags().stream().map(t -> (ModbusTag) t).toList();
+        this.readBlocks = ModbusReadPlanner.plan(tags, getReadGapTolerance());
         this.client = new ModbusClient(input.getConfig());
         this.stopRequested = new AtomicBoolean(false);
         this.startRequested = new AtomicBoolean(false);
@@ -184,19 +187,16 @@ public class ModbusProtocolAdapter implements BatchPollingProtocolAdapter {
 
             final var dataPointsPublisher = pollingOutput.dataPointListPublisher();
 
-            final int limit = tags.size();
-            final CompletableFuture<ResulTuple>[] readRegisterFutures = new CompletableFuture[limit];
+            final int limit = readBlocks.size();
+            final CompletableFuture<byte[]>[] readBlockFutures = new CompletableFuture[limit];
             for (int i = 0; i < limit; i++) {
-                final ModbusTag tag = tags.get(i);
-                readRegisterFutures[i] = client.readRegisters(tag)
-                        .thenApply(result -> new ResulTuple(tag, result))
-                        .toCompletableFuture();
+                readBlockFutures[i] = client.readBlock(readBlocks.get(i)).toCompletableFuture();
             }
 
             final boolean publishAllChanges = isPublishAllChanges();
 
             @SuppressWarnings("unused")
-            final var unused = CompletableFuture.allOf(readRegisterFutures).whenComplete((result, throwable) -> {
+            final var unused = CompletableFuture.allOf(readBlockFutures).whenComplete((result, throwable) -> {
                 try {
                     if (throwable != null) {
                         protocolAdapterState.setConnectionStatus(ERROR);
@@ -206,10 +206,26 @@ public class ModbusProtocolAdapter implements BatchPollingProtocolAdapter {
 
                     protocolAdapterState.setConnectionStatus(CONNECTED);
 
-                    for (final CompletableFuture<ResulTuple> readRegisterFuture : readRegisterFutures) {
-                        final ResulTuple entry = readRegisterFuture.join();
-                        final var tag = entry.tag();
-                        final var value = entry.value();
+                    // -- slice the block responses back into the tag values, ordered like the configured tags
+                    final Object[] values = new Object[tags.size()];
+                    for (int i = 0; i < limit; i++) {
+                        final byte[] payload = readBlockFutures[i].join();
+                        if (payload == null) {
+                            continue;
+                        }
+                        final ModbusReadPlanner.ReadBlock block = readBlocks.get(i);
+                        final int[] tagIndexes = block.tagIndexes();
+                        for (int j = 0; j < tagIndexes.length; j++) {
+                            values[tagIndexes[j]] = block.extract(block.tags().get(j), payload);
+                        }
+                    }
+
+                    for (int i = 0; i < values.length; i++) {
+                        final var tag = tags.get(i);
+                        final var value = values[i];
+                        if (value == null) {
+                            continue;
+                        }
                         if (publishAllChanges
                                 || publishChangedDataOnlyHandler.replaceIfValueIsNew(tag.getName(), value)) {
                             final var dataPointBuilder = dataPointsPublisher.addDataPoint(tag);
@@ -243,6 +259,11 @@ public class ModbusProtocolAdapter implements BatchPollingProtocolAdapter {
         return toMqttConfig != null ? toMqttConfig.getPollingIntervalMillis() : DEFAULT_POLL_INTERVAL_MILLIS;
     }
 
+    private int getReadGapTolerance() {
+        final var toMqttConfig = adapterConfig.getModbusToMQTTConfig();
+        return toMqttConfig != null ? toMqttConfig.getReadGapTolerance() : DEFAULT_READ_GAP_TOLERANCE;
+    }
+
     @Override
     public int getMaxPollingErrorsBeforeRemoval() {
         final var toMqttConfig = adapterConfig.getModbusToMQTTConfig();
@@ -353,5 +374,4 @@ public class ModbusProtocolAdapter implements BatchPollingProtocolAdapter {
         return adapterInformation;
     }
 
-    private record ResulTuple(ModbusTag tag, Object value) {}
 }
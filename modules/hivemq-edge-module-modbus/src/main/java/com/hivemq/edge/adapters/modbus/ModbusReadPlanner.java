@@ -0,0 +1,161 @@
+/*
+ * Copyright 2023-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.modbus;
+
+import com.hivemq.edge.adapters.modbus.config.ModbusAdu;
+import com.hivemq.edge.adapters.modbus.config.ModbusDataType;
+import com.hivemq.edge.adapters.modbus.config.tag.ModbusTag;
+import com.hivemq.edge.adapters.modbus.config.tag.ModbusTagDefinition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Combines the tags of an adapter into as few read requests as possible.
+ * <p>
+ * Tags are grouped by unit id and read type, inside a group all tags whose address ranges are adjacent, overlapping or
+ * separated by at most {@code gapTolerance} unused addresses are read with a single request, as long as the request
+ * stays within the limits of the Modbus protocol (125 registers or 2000 coils / discrete inputs).
+ */
+final class ModbusReadPlanner {
+
+    static final int MAX_REGISTERS_PER_READ = 125;
+    static final int MAX_BITS_PER_READ = 2000;
+
+    private ModbusReadPlanner() {}
+
+    /**
+     * @param tags         the tags to read
+     * @param gapTolerance the max. number of unused addresses between two tags that are read in the same request
+     * @return the read requests which cover all given tags
+     */
+    static @NotNull List<ReadBlock> plan(final @NotNull List<ModbusTag> tags, final int gapTolerance) {
+        final int[] sortedIndexes = IntStream.range(0, tags.size())
+                .boxed()
+                .sorted(Comparator.<Integer>comparingInt(i -> tags.get(i).getDefinition().unitId)
+                        .thenComparing(i -> tags.get(i).getDefinition().readType)
+                        .thenComparingInt(i -> tags.get(i).getDefinition().startIdx))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        final List<ReadBlock> blocks = new ArrayList<>();
+        BlockBuilder current = null;
+        for (final int index : sortedIndexes) {
+            final ModbusTagDefinition definition = tags.get(index).getDefinition();
+            final int start = definition.startIdx;
+            final int end = start + addressCount(definition);
+            if (current == null || !current.accepts(definition, end, gapTolerance)) {
+                if (current != null) {
+                    blocks.add(current.build(tags));
+                }
+                current = new BlockBuilder(definition.unitId, definition.readType, start);
+            }
+            current.add(index, end);
+        }
+        if (current != null) {
+            blocks.add(current.build(tags));
+        }
+        return blocks;
+    }
+
+    private static int addressCount(final @NotNull ModbusTagDefinition definition) {
+        return isBitAccess(definition.readType) ? 1 : definition.getDataType().nrOfRegistersToRead;
+    }
+
+    private static boolean isBitAccess(final @NotNull ModbusAdu readType) {
+        return readType == ModbusAdu.COILS || readType == ModbusAdu.DISCRETE_INPUTS;
+    }
+
+    /**
+     * A single read request covering the addresses {@code [startIdx, startIdx + count)} of one unit.
+     *
+     * @param tags the tags that are contained in this block
+     * @param tagIndexes the position of every tag in the list of tags the plan was created for
+     */
+    record ReadBlock(
+            int unitId,
+            @NotNull ModbusAdu readType,
+            int startIdx,
+            int count,
+            @NotNull List<ModbusTag> tags,
+            int @NotNull [] tagIndexes) {
+
+        /**
+         * Extracts the value of a tag of this block from the response of the read request.
+         *
+         * @param tag     a tag of this block
+         * @param payload the raw response, bit-packed for coils and discrete inputs, 2 bytes per register otherwise
+         * @return the converted value of the tag
+         */
+        @NotNull
+        Object extract(final @NotNull ModbusTag tag, final byte @NotNull [] payload) {
+            final ModbusTagDefinition definition = tag.getDefinition();
+            final int offset = definition.startIdx - startIdx;
+            if (isBitAccess(readType)) {
+                final byte bit = (byte) ((payload[offset / 8] >> (offset % 8)) & 1);
+                return ModbusDataType.BOOL.convert(new byte[] {bit}, false);
+            }
+            final ModbusDataType dataType = definition.getDataType();
+            final byte[] registers =
+                    Arrays.copyOfRange(payload, offset * 2, (offset + dataType.nrOfRegistersToRead) * 2);
+            return dataType.convert(registers, definition.flipRegisters);
+        }
+    }
+
+    private static final class BlockBuilder {
+
+        private final int unitId;
+        private final @NotNull ModbusAdu readType;
+        private final int startIdx;
+        private final int maxCount;
+        private final @NotNull List<Integer> tagIndexes = new ArrayList<>();
+        private int endIdx;
+
+        BlockBuilder(final int unitId, final @NotNull ModbusAdu readType, final int startIdx) {
+            this.unitId = unitId;
+            this.readType = readType;
+            this.startIdx = startIdx;
+            this.endIdx = startIdx;
+            this.maxCount = isBitAccess(readType) ? MAX_BITS_PER_READ : MAX_REGISTERS_PER_READ;
+        }
+
+        boolean accepts(final @NotNull ModbusTagDefinition definition, final int end, final int gapTolerance) {
+            return definition.unitId == unitId
+                    && definition.readType == readType
+                    && definition.startIdx - endIdx <= gapTolerance
+                    && Math.max(endIdx, end) - startIdx <= maxCount;
+        }
+
+        void add(final int tagIndex, final int end) {
+            tagIndexes.add(tagIndex);
+            endIdx = Math.max(endIdx, end);
+        }
+
+        @NotNull
+        ReadBlock build(final @NotNull List<ModbusTag> allTags) {
+            return new ReadBlock(
+                    unitId,
+                    readType,
+                    startIdx,
+                    endIdx - startIdx,
+                    tagIndexes.stream().map(allTags::get).toList(),
+                    tagIndexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+}
@@ -84,7 +84,7 @@ public class ModbusSpecificAdapterConfig implements ProtocolSpecificAdapterConfi
         this.host = host;
         this.timeoutMillis = Objects.requireNonNullElse(timeoutMillis, 5000);
         this.modbusToMQTTConfig =
-                Objects.requireNonNullElseGet(modbusToMQTTConfig, () -> new ModbusToMqttConfig(null, null, null));
+                Objects.requireNonNullElseGet(modbusToMQTTConfig, () -> new ModbusToMqttConfig(null, null, null, null));
     }
 
     public @NotNull String getHost() {
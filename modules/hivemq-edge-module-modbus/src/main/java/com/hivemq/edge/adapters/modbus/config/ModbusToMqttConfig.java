@@ -37,6 +37,8 @@ public class ModbusToMqttConfig {
     private static final String DEFAULT_PUBLISH_CHANGED_DATA_ONLY_STRING = "true";
     public static final boolean DEFAULT_PUBLISH_CHANGED_DATA_ONLY =
             Boolean.parseBoolean(DEFAULT_PUBLISH_CHANGED_DATA_ONLY_STRING);
+    private static final String DEFAULT_READ_GAP_TOLERANCE_STRING = "0";
+    public static final int DEFAULT_READ_GAP_TOLERANCE = Integer.parseInt(DEFAULT_READ_GAP_TOLERANCE_STRING);
 
     @JsonProperty("pollingIntervalMillis")
     @ModuleConfigField(
@@ -62,16 +64,28 @@ public class ModbusToMqttConfig {
             format = ModuleConfigField.FieldType.BOOLEAN)
     private final boolean publishChangedDataOnly;
 
+    @JsonProperty("readGapTolerance")
+    @ModuleConfigField(
+            title = "Read Gap Tolerance",
+            description =
+                    "Max. number of unused registers or coils between two tags that are still read together in a single request (0 to only combine adjacent tags)",
+            numberMin = 0,
+            numberMax = 124,
+            defaultValue = DEFAULT_READ_GAP_TOLERANCE_STRING)
+    private final int readGapTolerance;
+
     @JsonCreator
     public ModbusToMqttConfig(
             @JsonProperty(value = "pollingIntervalMillis") final @Nullable Integer pollingIntervalMillis,
             @JsonProperty(value = "maxPollingErrorsBeforeRemoval")
                     final @Nullable Integer maxPollingErrorsBeforeRemoval,
-            @JsonProperty(value = "publishChangedDataOnly") final @Nullable Boolean publishChangedDataOnly) {
+            @JsonProperty(value = "publishChangedDataOnly") final @Nullable Boolean publishChangedDataOnly,
+            @JsonProperty(value = "readGapTolerance") final @Nullable Integer readGapTolerance) {
         this.pollingIntervalMillis = requireNonNullElse(pollingIntervalMillis, DEFAULT_POLL_INTERVAL_MILLIS);
         this.maxPollingErrorsBeforeRemoval =
                 requireNonNullElse(maxPollingErrorsBeforeRemoval, DEFAULT_MAX_POLL_ERRORS_BEFORE_REMOVAL);
         this.publishChangedDataOnly = requireNonNullElse(publishChangedDataOnly, DEFAULT_PUBLISH_CHANGED_DATA_ONLY);
+        this.readGapTolerance = requireNonNullElse(readGapTolerance, DEFAULT_READ_GAP_TOLERANCE);
     }
 
     public int getPollingIntervalMillis() {
@@ -86,6 +100,10 @@ public class ModbusToMqttConfig {
         return publishChangedDataOnly;
     }
 
+    public int getReadGapTolerance() {
+        return readGapTolerance;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (!(o instanceof ModbusToMqttConfig that)) {
@@ -93,12 +111,16 @@ public class ModbusToMqttConfig {
         }
         return getPollingIntervalMillis() == that.getPollingIntervalMillis()
                 && getMaxPollingErrorsBeforeRemoval() == that.getMaxPollingErrorsBeforeRemoval()
-                && getPublishChangedDataOnly() == that.getPublishChangedDataOnly();
+                && getPublishChangedDataOnly() == that.getPublishChangedDataOnly()
+                && getReadGapTolerance() == that.getReadGapTolerance();
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(
-                getPollingIntervalMillis(), getMaxPollingErrorsBeforeRemoval(), getPublishChangedDataOnly());
+                getPollingIntervalMillis(),
+                getMaxPollingErrorsBeforeRemoval(),
+                getPublishChangedDataOnly(),
+                getReadGapTolerance());
     }
 }
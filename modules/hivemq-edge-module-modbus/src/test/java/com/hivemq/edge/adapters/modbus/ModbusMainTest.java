@@ -15,8 +15,12 @@
  */
 package com.hivemq.edge.adapters.modbus;
 
+import com.hivemq.edge.adapters.modbus.config.ModbusAdu;
 import com.hivemq.edge.adapters.modbus.config.ModbusDataType;
 import com.hivemq.edge.adapters.modbus.config.ModbusSpecificAdapterConfig;
+import com.hivemq.edge.adapters.modbus.config.tag.ModbusTag;
+import com.hivemq.edge.adapters.modbus.config.tag.ModbusTagDefinition;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 
 public class ModbusMainTest {
@@ -26,11 +30,13 @@ public class ModbusMainTest {
         final ModbusSpecificAdapterConfig modbusAdapterConfig = new ModbusSpecificAdapterConfig(port, host, 5000, null);
         final ModbusClient modbusClient = new ModbusClient(modbusAdapterConfig);
         modbusClient.connect().toCompletableFuture().get();
-        final Object result = modbusClient
-                .readHoldingRegisters(100, ModbusDataType.INT_32, 255, false)
-                .toCompletableFuture()
-                .get();
-        System.out.println(result);
+        final ModbusTag tag = new ModbusTag(
+                "tag",
+                null,
+                new ModbusTagDefinition(100, ModbusAdu.HOLDING_REGISTERS, 255, false, ModbusDataType.INT_32));
+        final ModbusReadPlanner.ReadBlock block = ModbusReadPlanner.plan(List.of(tag), 0).getFirst();
+        final byte[] payload = modbusClient.readBlock(block).toCompletableFuture().get();
+        System.out.println(block.extract(tag, payload));
         modbusClient.disconnect().toCompletableFuture().get();
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2023-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.modbus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.hivemq.edge.adapters.modbus.config.ModbusAdu;
+import com.hivemq.edge.adapters.modbus.config.ModbusDataType;
+import com.hivemq.edge.adapters.modbus.config.tag.ModbusTag;
+import com.hivemq.edge.adapters.modbus.config.tag.ModbusTagDefinition;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ModbusReadPlannerTest {
+
+    @Test
+    void plan_whenRegistersAreAdjacent_thenSingleRead() {
+        final List<ModbusTag> tags = IntStream.range(0, 50)
+                .mapToObj(i -> tag("t" + i, ModbusAdu.HOLDING_REGISTERS, 1, 100 + i * 2, ModbusDataType.INT_32))
+                .toList();
+
+        final List<ModbusReadPlanner.ReadBlock> blocks = ModbusReadPlanner.plan(tags, 0);
+
+        assertThat(blocks).singleElement().satisfies(block -> {
+            assertThat(block.startIdx()).isEqualTo(100);
+            assertThat(block.count()).isEqualTo(100);
+            assertThat(block.tags()).containsExactlyElementsOf(tags);
+        });
+    }
+
+    @Test
+    void plan_whenRangeExceedsRegisterLimit_thenSplit() {
+        final List<ModbusTag> tags = IntStream.range(0, 100)
+                .mapToObj(i -> tag("t" + i, ModbusAdu.INPUT_REGISTERS, 1, i * 2, ModbusDataType.FLOAT_32))
+                .toList();
+
+        final List<ModbusReadPlanner.ReadBlock> blocks = ModbusReadPlanner.plan(tags, 0);
+
+        assertThat(blocks)
+                .extracting(ModbusReadPlanner.ReadBlock::startIdx, ModbusReadPlanner.ReadBlock::count)
+                .containsExactly(tuple(0, 124), tuple(124, 76));
+    }
+
+    @Test
+    void plan_whenGapExceedsTolerance_thenSplit() {
+        final ModbusTag a = tag("a", ModbusAdu.HOLDING_REGISTERS, 1, 10, ModbusDataType.INT_16);
+        final ModbusTag b = tag("b", ModbusAdu.HOLDING_REGISTERS, 1, 14, ModbusDataType.INT_16);
+        final ModbusTag c = tag("c", ModbusAdu.HOLDING_REGISTERS, 1, 30, ModbusDataType.INT_16);
+
+        final List<ModbusReadPlanner.ReadBlock> blocks = ModbusReadPlanner.plan(List.of(c, b, a), 3);
+
+        assertThat(blocks).hasSize(2);
+        assertThat(blocks.get(0).tags()).containsExactly(a, b);
+        assertThat(blocks.get(0).tagIndexes()).containsExactly(2, 1);
+        assertThat(blocks.get(0).count()).isEqualTo(5);
+        assertThat(blocks.get(1).tags()).containsExactly(c);
+    }
+
+    @Test
+    void plan_whenDifferentUnitOrReadType_thenSeparateReads() {
+        final List<ModbusTag> tags = List.of(
+                tag("a", ModbusAdu.HOLDING_REGISTERS, 1, 0, ModbusDataType.INT_16),
+                tag("b", ModbusAdu.HOLDING_REGISTERS, 2, 1, ModbusDataType.INT_16),
+                tag("c", ModbusAdu.INPUT_REGISTERS, 1, 1, ModbusDataType.INT_16),
+                tag("d", ModbusAdu.COILS, 1, 1, ModbusDataType.BOOL));
+
+        assertThat(ModbusReadPlanner.plan(tags, 10)).hasSize(4);
+    }
+
+    @Test
+    void extract_registers() {
+        final ModbusTag a = tag("a", ModbusAdu.HOLDING_REGISTERS, 1, 10, ModbusDataType.INT_16);
+        final ModbusTag b = tag("b", ModbusAdu.HOLDING_REGISTERS, 1, 12, ModbusDataType.INT_32);
+        final ModbusReadPlanner.ReadBlock block = ModbusReadPlanner.plan(List.of(a, b), 1).getFirst();
+
+        final byte[] payload = {0, 7, 0x7F, 0x7F, 0, 1, 0, 2};
+
+        assertThat(block.extract(a, payload)).isEqualTo((short) 7);
+        assertThat(block.extract(b, payload)).isEqualTo(65538);
+    }
+
+    @Test
+    void extract_coils() {
+        final List<ModbusTag> tags = IntStream.range(0, 12)
+                .mapToObj(i -> tag("c" + i, ModbusAdu.COILS, 1, 20 + i, ModbusDataType.BOOL))
+                .toList();
+        final ModbusReadPlanner.ReadBlock block = ModbusReadPlanner.plan(tags, 0).getFirst();
+
+        final byte[] payload = {(byte) 0b1000_0101, 0b0000_0010};
+
+        assertThat(tags.stream().map(tag -> block.extract(tag, payload)))
+                .containsExactly(true, false, true, false, false, false, false, true, false, true, false, false);
+    }
+
+    private static ModbusTag tag(
+            final String name,
+            final ModbusAdu readType,
+            final int unitId,
+            final int startIdx,
+            final ModbusDataType dataType) {
+        return new ModbusTag(name, null, new ModbusTagDefinition(startIdx, readType, unitId, false, dataType));
+    }
+}
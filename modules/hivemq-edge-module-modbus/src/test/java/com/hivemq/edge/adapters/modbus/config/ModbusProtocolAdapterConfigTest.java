@@ -66,6 +66,7 @@ public class ModbusProtocolAdapterConfigTest {
         assertThat(config.getHost()).isEqualTo("my.modbus-server.com");
         assertThat(config.getTimeoutMillis()).isEqualTo(1337);
         assertThat(config.getModbusToMQTTConfig().getPublishChangedDataOnly()).isFalse();
+        assertThat(config.getModbusToMQTTConfig().getReadGapTolerance()).isEqualTo(3);
         assertThat(protocolAdapterConfig.getNorthboundMappings())
                 .satisfiesExactly(
                         modbusToMqttMapping -> {
@@ -139,6 +140,7 @@ public class ModbusProtocolAdapterConfigTest {
         assertThat(config.getHost()).isEqualTo("my.modbus-server.com");
         assertThat(config.getTimeoutMillis()).isEqualTo(5000);
         assertThat(config.getModbusToMQTTConfig().getPublishChangedDataOnly()).isTrue();
+        assertThat(config.getModbusToMQTTConfig().getReadGapTolerance()).isZero();
         assertThat(protocolAdapterConfig.getNorthboundMappings()).satisfiesExactly(modbusToMqttMapping -> {
             assertThat(modbusToMqttMapping.getMqttTopic()).isEqualTo("my/topic");
             assertThat(modbusToMqttMapping.getMqttQos()).isEqualTo(1);
@@ -159,7 +161,7 @@ public class ModbusProtocolAdapterConfigTest {
     @Test
     public void unconvertConfigObject_full_valid() {
         final ModbusSpecificAdapterConfig adapterConfig =
-                new ModbusSpecificAdapterConfig(14, "my.host.com", 15, new ModbusToMqttConfig(12, 13, true));
+                new ModbusSpecificAdapterConfig(14, "my.host.com", 15, new ModbusToMqttConfig(12, 13, true, 4));
 
         final ProtocolAdapterFactoryInput mockInput = mock(ProtocolAdapterFactoryInput.class);
         when(mockInput.isWritingEnabled()).thenReturn(false);
@@ -173,6 +175,7 @@ public class ModbusProtocolAdapterConfigTest {
         assertThat(modbusToMqtt.get("pollingIntervalMillis")).isEqualTo(12);
         assertThat(modbusToMqtt.get("maxPollingErrorsBeforeRemoval")).isEqualTo(13);
         assertThat(modbusToMqtt.get("publishChangedDataOnly")).isEqualTo(true);
+        assertThat(modbusToMqtt.get("readGapTolerance")).isEqualTo(4);
 
         assertThat(modbusToMqtt.get("modbusToMqttMappings"))
                 .isNull(); // mappings are supposed to be ignored when rendered to XML
@@ -180,8 +183,8 @@ public class ModbusProtocolAdapterConfigTest {
 
     @Test
     public void unconvertConfigObject_defaults() {
-        final ModbusSpecificAdapterConfig adapterConfig =
-                new ModbusSpecificAdapterConfig(13, "my.host.com", null, new ModbusToMqttConfig(null, null, null));
+        final ModbusSpecificAdapterConfig adapterConfig = new ModbusSpecificAdapterConfig(
+                13, "my.host.com", null, new ModbusToMqttConfig(null, null, null, null));
 
         final ProtocolAdapterFactoryInput mockInput = mock(ProtocolAdapterFactoryInput.class);
         when(mockInput.isWritingEnabled()).thenReturn(false);
@@ -195,6 +198,7 @@ public class ModbusProtocolAdapterConfigTest {
         assertThat(modbusToMqtt.get("pollingIntervalMillis")).isEqualTo(1000);
         assertThat(modbusToMqtt.get("maxPollingErrorsBeforeRemoval")).isEqualTo(10);
         assertThat(modbusToMqtt.get("publishChangedDataOnly")).isEqualTo(true);
+        assertThat(modbusToMqtt.get("readGapTolerance")).isEqualTo(0);
 
         assertThat(modbusToMqtt.get("modbusToMqttMappings"))
                 .isNull(); // mappings are supposed to be ignored when rendered to XML
@@ -19,6 +19,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.hivemq.adapter.sdk.api.ProtocolAdapterInformation;
 import com.hivemq.adapter.sdk.api.exceptions.ProtocolAdapterException;
@@ -40,6 +41,7 @@ import com.hivemq.mtconnect.protocol.schemas.MtConnectSchema;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.net.Socket;
 import java.net.URI;
@@ -52,9 +54,11 @@ import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.management.modelmbean.XMLParseException;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
@@ -74,6 +78,11 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(MtConnectProtocolAdapter.class);
     private static final @NotNull String USER_AGENT_HEADER = "User-Agent";
     private static final @NotNull String HEADER_CONTENT_TYPE = "Content-Type";
+    private static final @NotNull String NODE_INSTANCE_ID = "instanceId";
+    private static final @NotNull String NODE_NEXT_SEQUENCE = "nextSequence";
+    private static final @NotNull String NODE_OBSERVATIONS = "observations";
+    private static final @NotNull String PATH_SAMPLE = "/sample";
+    private static final @NotNull String PATH_CURRENT = "/current";
     private static final @NotNull ObjectMapper OBJECT_MAPPER_INCLUDE_NULL = new ObjectMapper();
     private static final @NotNull ObjectMapper OBJECT_MAPPER_EXCLUDE_NULL = new ObjectMapper();
     private static final @NotNull XmlMapper XML_MAPPER = new XmlMapper();
@@ -88,6 +97,8 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
     protected final @NotNull ProtocolAdapterState protocolAdapterState;
     private final @NotNull String adapterId;
     private final @NotNull String version;
+    // the position in the agent's buffer of every tag in sample mode, by tag name
+    private final @NotNull Map<String, SampleCursor> sampleCursors = new ConcurrentHashMap<>();
     protected volatile @Nullable HttpClient httpClient = null;
 
     public MtConnectProtocolAdapter(
@@ -138,6 +149,7 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
             final @NotNull ProtocolAdapterStopInput protocolAdapterStopInput,
             final @NotNull ProtocolAdapterStopOutput protocolAdapterStopOutput) {
         httpClient = null;
+        sampleCursors.clear();
         protocolAdapterStopOutput.stoppedSuccessfully();
     }
 
@@ -193,9 +205,12 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
                                         },
                                         () -> {
                                             final var dataPointsPublisher = pollingOutput.dataPointListPublisher();
-                                            dataList.forEach(data -> dataPointsPublisher
-                                                    .addDataPoint(data.getTag())
-                                                    .value(Objects.requireNonNull(data.getJsonNode())));
+                                            // in sample mode a tag without new observations has no value
+                                            dataList.stream()
+                                                    .filter(data -> data.getJsonNode() != null)
+                                                    .forEach(data -> dataPointsPublisher
+                                                            .addDataPoint(data.getTag())
+                                                            .value(Objects.requireNonNull(data.getJsonNode())));
                                             protocolAdapterState.setConnectionStatus(
                                                     ProtocolAdapterState.ConnectionStatus.STATELESS);
                                             dataPointsPublisher.publish();
@@ -208,8 +223,116 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
 
     protected @NotNull CompletableFuture<MtConnectData> pollXml(final @NotNull MtConnectAdapterTag tag) {
         final MtConnectAdapterTagDefinition definition = tag.getDefinition();
-        final HttpRequest.Builder builder = HttpRequest.newBuilder();
+        if (definition.isSampleMode()) {
+            return pollSample(tag);
+        }
+        final HttpRequest httpRequest = createHttpRequest(definition, definition.getUrl());
+        return Objects.requireNonNull(httpClient)
+                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+                .thenApply(httpResponse -> processHttpResponse(httpResponse, tag));
+    }
+
+    /**
+     * Reads the observations which were added to the agent's buffer since the last poll of the tag, by requesting
+     * {@code <url>?from=<nextSequence>&count=<sampleCount>}. The response is parsed as a stream, the observations
+     * become the value of the tag, a poll without new observations produces no value.
+     * <p>
+     * Without a sequence to continue from, the {@code /current} endpoint next to the {@code /sample} URL is read
+     * instead. It returns the latest observation of every data item and the sequence to continue from, so the first
+     * poll does not replay the whole buffer of the agent.
+     */
+    protected @NotNull CompletableFuture<MtConnectData> pollSample(final @NotNull MtConnectAdapterTag tag) {
+        final MtConnectAdapterTagDefinition definition = tag.getDefinition();
+        final SampleCursor cursor = sampleCursors.get(tag.getName());
+        final String currentUrl = cursor == null ? createCurrentUrl(definition) : null;
+        final HttpRequest httpRequest = createHttpRequest(
+                definition, currentUrl != null ? currentUrl : createSampleUrl(definition, cursor));
+        return Objects.requireNonNull(httpClient)
+                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(httpResponse -> processSampleResponse(httpResponse, tag, cursor));
+    }
+
+    static @NotNull String createSampleUrl(
+            final @NotNull MtConnectAdapterTagDefinition definition, final @Nullable SampleCursor cursor) {
         final String url = definition.getUrl();
+        final StringBuilder builder = new StringBuilder(url).append(url.indexOf('?') < 0 ? '?' : '&');
+        if (cursor != null) {
+            builder.append("from=").append(cursor.nextSequence()).append('&');
+        }
+        return builder.append("count=").append(definition.getSampleCount()).toString();
+    }
+
+    /**
+     * @return the URL of the {@code /current} endpoint of the agent, {@code null} if the URL of the tag does not end
+     *         with {@code /sample}
+     */
+    static @Nullable String createCurrentUrl(final @NotNull MtConnectAdapterTagDefinition definition) {
+        final String url = definition.getUrl();
+        final int queryStart = url.indexOf('?');
+        final String path = queryStart < 0 ? url : url.substring(0, queryStart);
+        if (!path.endsWith(PATH_SAMPLE)) {
+            return null;
+        }
+        return path.substring(0, path.length() - PATH_SAMPLE.length())
+                + PATH_CURRENT
+                + (queryStart < 0 ? "" : url.substring(queryStart));
+    }
+
+    protected @NotNull MtConnectData processSampleResponse(
+            final @NotNull HttpResponse<InputStream> httpResponse,
+            final @NotNull Tag tag,
+            final @Nullable SampleCursor cursor) {
+        final MtConnectAdapterTagDefinition definition = (MtConnectAdapterTagDefinition) tag.getDefinition();
+        final MtConnectData mtConnectData =
+                new MtConnectData(definition.getUrl(), isStatusCodeSuccessful(httpResponse.statusCode()), tag);
+        try (final InputStream body = httpResponse.body()) {
+            if (!mtConnectData.isSuccessful()) {
+                // e.g. OUT_OF_RANGE because the agent was restarted or the buffer overran, continue from current
+                sampleCursors.remove(tag.getName());
+                return mtConnectData;
+            }
+            final Optional<String> optionalContentType = httpResponse.headers().firstValue(HEADER_CONTENT_TYPE);
+            if (!optionalContentType.map(MtConnectProtocolAdapter::isXmlContentType).orElse(false)) {
+                mtConnectData.setSuccessful(false);
+                mtConnectData.setErrorMessage(
+                        "Content type [" + optionalContentType.orElse("") + "] is not supported.");
+                return mtConnectData;
+            }
+            final MtConnectSampleReader.SampleResult result = MtConnectSampleReader.read(body);
+            if (result.isError() || result.nextSequence() < 0) {
+                sampleCursors.remove(tag.getName());
+                mtConnectData.setSuccessful(false);
+                mtConnectData.setErrorMessage("Agent responded with error [" + result.errorCode() + "]: "
+                        + Objects.requireNonNullElse(result.errorMessage(), "no header present"));
+                return mtConnectData;
+            }
+            if (cursor != null && !Objects.equals(cursor.instanceId(), result.instanceId())) {
+                // the agent was restarted, so the sequence numbers start over, continue from its current state
+                sampleCursors.remove(tag.getName());
+                return mtConnectData;
+            }
+            sampleCursors.put(tag.getName(), new SampleCursor(result.instanceId(), result.nextSequence()));
+            if (!result.observations().isEmpty()) {
+                final ObjectNode jsonNode = OBJECT_MAPPER_INCLUDE_NULL.createObjectNode();
+                jsonNode.put(NODE_INSTANCE_ID, result.instanceId());
+                jsonNode.put(NODE_NEXT_SEQUENCE, result.nextSequence());
+                jsonNode.set(NODE_OBSERVATIONS, result.observations());
+                mtConnectData.setJsonNode(jsonNode);
+            }
+        } catch (final Exception e) {
+            mtConnectData.setSuccessful(false);
+            mtConnectData.setCause(e);
+            mtConnectData.setErrorMessage(Objects.requireNonNullElse(e.getMessage(), e.toString()));
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(e.getMessage(), e);
+            }
+        }
+        return mtConnectData;
+    }
+
+    private @NotNull HttpRequest createHttpRequest(
+            final @NotNull MtConnectAdapterTagDefinition definition, final @NotNull String url) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder();
         builder.uri(URI.create(url));
         builder.timeout(Duration.ofSeconds(definition.getHttpConnectTimeoutSeconds()));
         builder.setHeader(USER_AGENT_HEADER, String.format("HiveMQ-Edge; %s", version));
@@ -218,10 +341,11 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
                 .forEach(adapterHttpHeader ->
                         builder.setHeader(adapterHttpHeader.getName(), adapterHttpHeader.getValue()));
         builder.GET();
-        final HttpRequest httpRequest = builder.build();
-        return Objects.requireNonNull(httpClient)
-                .sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
-                .thenApply(httpResponse -> processHttpResponse(httpResponse, tag));
+        return builder.build();
+    }
+
+    private static boolean isXmlContentType(final @NotNull String value) {
+        return CONTENT_TYPE_TEXT_XML.equals(value) || CONTENT_TYPE_APPLICATION_XML.equals(value);
     }
 
     protected @NotNull MtConnectData processHttpResponse(
@@ -233,7 +357,7 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
             // Let's make sure the response body is XML.
             final Optional<String> optionalContentType = httpResponse.headers().firstValue(HEADER_CONTENT_TYPE);
             if (optionalContentType
-                    .map(value -> CONTENT_TYPE_TEXT_XML.equals(value) || CONTENT_TYPE_APPLICATION_XML.equals(value))
+                    .map(MtConnectProtocolAdapter::isXmlContentType)
                     .orElse(false)) {
                 try {
                     mtConnectData.setJsonNode(processXml(httpResponse.body(), definition));
@@ -288,6 +412,12 @@ public class MtConnectProtocolAdapter implements BatchPollingProtocolAdapter {
         return rootNode;
     }
 
+    /**
+     * @param instanceId   the instance id of the agent the sequence belongs to
+     * @param nextSequence the first sequence number which has not been read yet
+     */
+    protected record SampleCursor(@Nullable String instanceId, long nextSequence) {}
+
     @Override
     public @NotNull ProtocolAdapterInformation getProtocolAdapterInformation() {
         return adapterInformation;
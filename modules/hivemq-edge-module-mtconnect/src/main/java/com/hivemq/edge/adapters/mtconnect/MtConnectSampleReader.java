@@ -0,0 +1,221 @@
+/*
+ * Copyright 2023-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.mtconnect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the observations of an MTConnect streams document (the response of {@code /sample} or {@code /current})
+ * with a StAX parser, without building a document tree of the whole response.
+ * <p>
+ * Every observation (the children of {@code Samples}, {@code Events} and {@code Condition}) becomes one flat JSON
+ * object containing its attributes, the element name, the category, the enclosing device and component, and its
+ * value. The observations are ordered by their sequence number.
+ */
+final class MtConnectSampleReader {
+
+    private static final @NotNull XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private static final @NotNull String ELEMENT_HEADER = "Header";
+    private static final @NotNull String ELEMENT_DEVICE_STREAM = "DeviceStream";
+    private static final @NotNull String ELEMENT_COMPONENT_STREAM = "ComponentStream";
+    private static final @NotNull String ELEMENT_ERROR = "Error";
+    private static final @NotNull String ATTRIBUTE_DATA_ITEM_ID = "dataItemId";
+    private static final @NotNull String ATTRIBUTE_SEQUENCE = "sequence";
+    private static final @NotNull String ATTRIBUTE_KEY = "key";
+
+    private MtConnectSampleReader() {}
+
+    /**
+     * @param inputStream the streams document, it is not closed by this method
+     * @return the header information and the observations of the document
+     */
+    static @NotNull SampleResult read(final @NotNull InputStream inputStream) throws XMLStreamException {
+        final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            return read(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static @NotNull SampleResult read(final @NotNull XMLStreamReader reader) throws XMLStreamException {
+        String instanceId = null;
+        long nextSequence = -1;
+        String errorCode = null;
+        String errorMessage = null;
+        String deviceUuid = null;
+        String deviceName = null;
+        String componentId = null;
+        String componentName = null;
+        String category = null;
+        final List<ObjectNode> observations = new ArrayList<>();
+
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                final String element = reader.getLocalName();
+                switch (element) {
+                    case ELEMENT_HEADER -> {
+                        instanceId = reader.getAttributeValue(null, "instanceId");
+                        final String next = reader.getAttributeValue(null, "nextSequence");
+                        if (next != null) {
+                            nextSequence = Long.parseLong(next);
+                        }
+                    }
+                    case ELEMENT_DEVICE_STREAM -> {
+                        deviceUuid = reader.getAttributeValue(null, "uuid");
+                        deviceName = reader.getAttributeValue(null, "name");
+                    }
+                    case ELEMENT_COMPONENT_STREAM -> {
+                        componentId = reader.getAttributeValue(null, "componentId");
+                        componentName = reader.getAttributeValue(null, "name");
+                    }
+                    case "Samples", "Events", "Condition" -> category = element;
+                    case ELEMENT_ERROR -> {
+                        errorCode = reader.getAttributeValue(null, "errorCode");
+                        errorMessage = reader.getElementText();
+                    }
+                    default -> {
+                        if (category != null && reader.getAttributeValue(null, ATTRIBUTE_DATA_ITEM_ID) != null) {
+                            final ObjectNode observation = JsonNodeFactory.instance.objectNode();
+                            putIfNotNull(observation, "deviceUuid", deviceUuid);
+                            putIfNotNull(observation, "deviceName", deviceName);
+                            putIfNotNull(observation, "componentId", componentId);
+                            putIfNotNull(observation, "component", componentName);
+                            observation.put("category", category);
+                            observation.put("element", element);
+                            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                                final String name = reader.getAttributeLocalName(i);
+                                final String value = reader.getAttributeValue(i);
+                                if (ATTRIBUTE_SEQUENCE.equals(name)) {
+                                    observation.put(name, Long.parseLong(value));
+                                } else {
+                                    observation.put(name, value);
+                                }
+                            }
+                            observation.set("value", readValue(reader));
+                            observations.add(observation);
+                        }
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case ELEMENT_DEVICE_STREAM -> {
+                        deviceUuid = null;
+                        deviceName = null;
+                    }
+                    case ELEMENT_COMPONENT_STREAM -> {
+                        componentId = null;
+                        componentName = null;
+                    }
+                    case "Samples", "Events", "Condition" -> category = null;
+                    default -> {}
+                }
+            }
+        }
+
+        observations.sort(Comparator.comparingLong(observation -> observation.path(ATTRIBUTE_SEQUENCE).asLong()));
+        final ArrayNode array = JsonNodeFactory.instance.arrayNode(observations.size());
+        array.addAll(observations);
+        return new SampleResult(instanceId, nextSequence, array, errorCode, errorMessage);
+    }
+
+    /**
+     * Reads the value of the observation the reader is positioned on and moves the reader to its end element. Plain
+     * observations have a text value, data sets and tables ({@code Entry} children with a {@code key}) are returned as
+     * an object, empty observations (e.g. a {@code Normal} condition) as {@code null}.
+     */
+    private static @NotNull JsonNode readValue(final @NotNull XMLStreamReader reader) throws XMLStreamException {
+        final StringBuilder text = new StringBuilder();
+        ObjectNode entries = null;
+        int depth = 1;
+        while (depth > 0) {
+            final int event = reader.next();
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    final String key = reader.getAttributeValue(null, ATTRIBUTE_KEY);
+                    if (depth == 1 && key != null) {
+                        if (entries == null) {
+                            entries = JsonNodeFactory.instance.objectNode();
+                        }
+                        entries.set(key, readValue(reader));
+                    } else {
+                        depth++;
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    if (depth == 1) {
+                        text.append(reader.getText());
+                    }
+                }
+                default -> {}
+            }
+        }
+        if (entries != null) {
+            return entries;
+        }
+        final String value = text.toString().trim();
+        return value.isEmpty() ? JsonNodeFactory.instance.nullNode() : JsonNodeFactory.instance.textNode(value);
+    }
+
+    private static void putIfNotNull(
+            final @NotNull ObjectNode node, final @NotNull String name, final @Nullable String value) {
+        if (value != null) {
+            node.put(name, value);
+        }
+    }
+
+    private static @NotNull XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * @param instanceId   the instance id of the agent, changes when the agent is restarted
+     * @param nextSequence the sequence number to continue reading from, {@code -1} if the document has no header
+     * @param observations the observations of the document ordered by sequence number
+     * @param errorCode    the error code if the agent answered with an error document
+     */
+    record SampleResult(
+            @Nullable String instanceId,
+            long nextSequence,
+            @NotNull ArrayNode observations,
+            @Nullable String errorCode,
+            @Nullable String errorMessage) {
+
+        boolean isError() {
+            return errorCode != null;
+        }
+    }
+}
@@ -30,6 +30,9 @@ public class MtConnectAdapterTagDefinition implements TagDefinition {
     private static final int DEFAULT_HTTP_CONNECT_TIMEOUT_SECONDS = 5;
     private static final int MIN_HTTP_CONNECT_TIMEOUT_SECONDS = 1;
     private static final int MAX_HTTP_CONNECT_TIMEOUT_SECONDS = 60;
+    private static final int DEFAULT_SAMPLE_COUNT = 1000;
+    private static final int MIN_SAMPLE_COUNT = 1;
+    private static final int MAX_SAMPLE_COUNT = 100_000;
 
     @JsonProperty(value = "httpHeaders")
     @ModuleConfigField(title = "HTTP Headers", description = "HTTP headers to be added to your requests")
@@ -68,13 +71,42 @@ public class MtConnectAdapterTagDefinition implements TagDefinition {
             numberMax = MAX_HTTP_CONNECT_TIMEOUT_SECONDS)
     private final int httpConnectTimeoutSeconds;
 
+    @JsonProperty(value = "sampleMode")
+    @ModuleConfigField(
+            title = "Sample Mode",
+            description = "Treat the URL as the /sample endpoint of the agent and only read the observations that "
+                    + "were added since the last poll, instead of the whole document",
+            format = ModuleConfigField.FieldType.BOOLEAN,
+            defaultValue = "false")
+    private final boolean sampleMode;
+
+    @JsonProperty("sampleCount")
+    @ModuleConfigField(
+            title = "Sample Count",
+            description = "The max. number of observations read per poll in sample mode",
+            defaultValue = DEFAULT_SAMPLE_COUNT + "",
+            numberMin = MIN_SAMPLE_COUNT,
+            numberMax = MAX_SAMPLE_COUNT)
+    private final int sampleCount;
+
+    public MtConnectAdapterTagDefinition(
+            final @NotNull String url,
+            final boolean enableSchemaValidation,
+            final boolean includeNull,
+            final @Nullable Integer httpConnectTimeoutSeconds,
+            final @Nullable List<MtConnectAdapterHttpHeader> httpHeaders) {
+        this(url, enableSchemaValidation, includeNull, httpConnectTimeoutSeconds, httpHeaders, false, null);
+    }
+
     @JsonCreator
     public MtConnectAdapterTagDefinition(
             @JsonProperty(value = "url", required = true) final @NotNull String url,
             @JsonProperty(value = "enableSchemaValidation") final boolean enableSchemaValidation,
             @JsonProperty(value = "includeNull") final boolean includeNull,
             @JsonProperty(value = "httpConnectTimeoutSeconds") final @Nullable Integer httpConnectTimeoutSeconds,
-            @JsonProperty(value = "httpHeaders") final @Nullable List<MtConnectAdapterHttpHeader> httpHeaders) {
+            @JsonProperty(value = "httpHeaders") final @Nullable List<MtConnectAdapterHttpHeader> httpHeaders,
+            @JsonProperty(value = "sampleMode") final boolean sampleMode,
+            @JsonProperty(value = "sampleCount") final @Nullable Integer sampleCount) {
         this.url = url;
         this.enableSchemaValidation = enableSchemaValidation;
         this.includeNull = includeNull;
@@ -83,6 +115,11 @@ public class MtConnectAdapterTagDefinition implements TagDefinition {
                 .map(s -> Math.min(s, MAX_HTTP_CONNECT_TIMEOUT_SECONDS))
                 .map(s -> Math.max(s, MIN_HTTP_CONNECT_TIMEOUT_SECONDS))
                 .orElse(DEFAULT_HTTP_CONNECT_TIMEOUT_SECONDS);
+        this.sampleMode = sampleMode;
+        this.sampleCount = Optional.ofNullable(sampleCount)
+                .map(s -> Math.min(s, MAX_SAMPLE_COUNT))
+                .map(s -> Math.max(s, MIN_SAMPLE_COUNT))
+                .orElse(DEFAULT_SAMPLE_COUNT);
     }
 
     public boolean isEnableSchemaValidation() {
@@ -104,4 +141,12 @@ public class MtConnectAdapterTagDefinition implements TagDefinition {
     public int getHttpConnectTimeoutSeconds() {
         return httpConnectTimeoutSeconds;
     }
+
+    public boolean isSampleMode() {
+        return sampleMode;
+    }
+
+    public int getSampleCount() {
+        return sampleCount;
+    }
 }
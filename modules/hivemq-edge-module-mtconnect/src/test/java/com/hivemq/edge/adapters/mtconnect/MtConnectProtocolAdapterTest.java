@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -46,8 +47,12 @@ import com.hivemq.edge.adapters.mtconnect.config.MtConnectAdapterHttpHeader;
 import com.hivemq.edge.adapters.mtconnect.config.tag.MtConnectAdapterTag;
 import com.hivemq.edge.adapters.mtconnect.config.tag.MtConnectAdapterTagDefinition;
 import com.hivemq.mtconnect.protocol.schemas.MtConnectSchema;
+import com.sun.net.httpserver.HttpServer;
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
@@ -56,6 +61,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.management.modelmbean.XMLParseException;
 import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NotNull;
@@ -294,4 +300,65 @@ public class MtConnectProtocolAdapterTest {
                 .hasMessage(
                         "XML Parse Exception: Schema urn:nist.gov:NistStreams:1.3 /schemas/NistStreams_1.3.xsd is not support");
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenSampleModeIsEnabled_thenOnlyNewObservationsArePolled() throws Exception {
+        final List<String> requests = new CopyOnWriteArrayList<>();
+        final HttpServer agent = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        agent.createContext("/", exchange -> {
+            final String path = exchange.getRequestURI().getPath();
+            final String query = exchange.getRequestURI().getQuery();
+            requests.add(query == null ? path : path + "?" + query);
+            // the buffer holds older observations which must not be replayed, /current only returns the latest one
+            final String observations = path.equals("/current")
+                    ? "<Samples><Load dataItemId=\"sl\" sequence=\"12\" timestamp=\"t\">42</Load></Samples>"
+                    : "";
+            final byte[] body = ("<MTConnectStreams><Header instanceId=\"7\" nextSequence=\"13\"/><Streams>"
+                            + "<DeviceStream name=\"M\" uuid=\"m-1\"><ComponentStream name=\"s\" componentId=\"s\">"
+                            + observations
+                            + "</ComponentStream></DeviceStream></Streams></MTConnectStreams>")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        agent.start();
+        try {
+            final String url = "http://localhost:" + agent.getAddress().getPort() + "/sample";
+            when(config.getHttpConnectTimeoutSeconds()).thenReturn(5);
+            when(adapterInput.getAdapterId()).thenReturn("streams");
+            when(adapterInput.getProtocolAdapterState()).thenReturn(state);
+            when(adapterInput.getConfig()).thenReturn(config);
+            when(adapterInput.getTags())
+                    .thenReturn(List.of(new MtConnectAdapterTag(
+                            "tagName",
+                            "tagDescription",
+                            new MtConnectAdapterTagDefinition(url, false, false, 5, List.of(), true, 100))));
+            final DataPointBuilder<DataPointListBuilder> dataPointBuilder = mock(DataPointBuilder.class);
+            final DataPointListBuilder dataPointsPublisher = mock(DataPointListBuilder.class);
+            when(pollingOutput.dataPointListPublisher()).thenReturn(dataPointsPublisher);
+            when(dataPointsPublisher.addDataPoint(any())).thenReturn(dataPointBuilder);
+            when(dataPointBuilder.value(any(JsonNode.class))).thenReturn(dataPointBuilder);
+            final MtConnectProtocolAdapter adapter = new MtConnectProtocolAdapter(information, adapterInput);
+            adapter.start(startInput, startOutput);
+
+            adapter.poll(pollingInput, pollingOutput);
+            verify(dataPointsPublisher, timeout(5_000)).publish();
+            adapter.poll(pollingInput, pollingOutput);
+            verify(dataPointsPublisher, timeout(5_000).times(2)).publish();
+
+            assertThat(requests).containsExactly("/current", "/sample?from=13&count=100");
+            final ArgumentCaptor<JsonNode> argumentCaptorJsonNode = ArgumentCaptor.forClass(JsonNode.class);
+            verify(dataPointBuilder).value(argumentCaptorJsonNode.capture());
+            final JsonNode jsonNode = argumentCaptorJsonNode.getValue();
+            assertThat(jsonNode.get("nextSequence").asLong()).isEqualTo(13);
+            assertThat(jsonNode.get("observations")).hasSize(1);
+            assertThat(jsonNode.get("observations").get(0).get("value").asText()).isEqualTo("42");
+        } finally {
+            agent.stop(0);
+        }
+    }
 }
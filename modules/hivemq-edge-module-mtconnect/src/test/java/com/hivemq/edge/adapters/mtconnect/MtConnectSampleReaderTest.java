@@ -0,0 +1,107 @@
+/*
+ * Copyright 2023-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.mtconnect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class MtConnectSampleReaderTest {
+
+    @Test
+    public void whenStreamsDocument_thenAllObservationsAreReadInSequenceOrder() throws Exception {
+        final MtConnectSampleReader.SampleResult result;
+        try (final InputStream inputStream =
+                MtConnectSampleReaderTest.class.getResourceAsStream("/streams/streams-1-3.xml")) {
+            result = MtConnectSampleReader.read(inputStream);
+        }
+
+        assertThat(result.isError()).isFalse();
+        assertThat(result.instanceId()).isEqualTo("1666332811");
+        assertThat(result.nextSequence()).isEqualTo(2869);
+        assertThat(result.observations()).hasSize(110);
+        final JsonNode first = result.observations().get(0);
+        assertThat(first.get("sequence").asLong()).isEqualTo(8);
+        assertThat(first.get("dataItemId").asText()).isEqualTo("cf3");
+        assertThat(first.get("element").asText()).isEqualTo("AngularVelocity");
+        assertThat(first.get("category").asText()).isEqualTo("Samples");
+        assertThat(first.get("deviceUuid").asText()).isEqualTo("000");
+        assertThat(first.get("value").asText()).isEqualTo("UNAVAILABLE");
+    }
+
+    @Test
+    public void whenConditionAndDataSet_thenValuesAreMapped() throws Exception {
+        final String xml = """
+                <MTConnectStreams xmlns="urn:mtconnect.org:MTConnectStreams:1.5">
+                  <Header instanceId="7" nextSequence="13" firstSequence="1" lastSequence="12"/>
+                  <Streams>
+                    <DeviceStream name="M" uuid="m-1">
+                      <ComponentStream component="Path" name="path" componentId="p">
+                        <Events>
+                          <Variables dataItemId="vars" sequence="12" timestamp="t">
+                            <Entry key="a">1</Entry>
+                            <Entry key="b">2</Entry>
+                          </Variables>
+                        </Events>
+                        <Condition>
+                          <Normal dataItemId="cond" sequence="11" timestamp="t" type="SYSTEM"/>
+                        </Condition>
+                      </ComponentStream>
+                    </DeviceStream>
+                  </Streams>
+                </MTConnectStreams>
+                """;
+
+        final MtConnectSampleReader.SampleResult result = read(xml);
+
+        assertThat(result.observations()).hasSize(2);
+        final JsonNode condition = result.observations().get(0);
+        assertThat(condition.get("element").asText()).isEqualTo("Normal");
+        assertThat(condition.get("type").asText()).isEqualTo("SYSTEM");
+        assertThat(condition.get("value").isNull()).isTrue();
+        final JsonNode dataSet = result.observations().get(1);
+        assertThat(dataSet.get("component").asText()).isEqualTo("path");
+        assertThat(dataSet.get("value").get("a").asText()).isEqualTo("1");
+        assertThat(dataSet.get("value").get("b").asText()).isEqualTo("2");
+    }
+
+    @Test
+    public void whenErrorDocument_thenErrorIsReported() throws Exception {
+        final String xml = """
+                <MTConnectError xmlns="urn:mtconnect.org:MTConnectError:1.3">
+                  <Header instanceId="7" version="1.3"/>
+                  <Errors>
+                    <Error errorCode="OUT_OF_RANGE">'from' must be greater than 1</Error>
+                  </Errors>
+                </MTConnectError>
+                """;
+
+        final MtConnectSampleReader.SampleResult result = read(xml);
+
+        assertThat(result.isError()).isTrue();
+        assertThat(result.errorCode()).isEqualTo("OUT_OF_RANGE");
+        assertThat(result.errorMessage()).isEqualTo("'from' must be greater than 1");
+        assertThat(result.observations()).isEmpty();
+    }
+
+    private static MtConnectSampleReader.SampleResult read(final String xml) throws Exception {
+        return MtConnectSampleReader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
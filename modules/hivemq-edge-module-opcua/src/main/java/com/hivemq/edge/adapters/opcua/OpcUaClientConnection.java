@@ -189,9 +189,9 @@ public class OpcUaClientConnection {
         final var subscriptionLifecycleHandler = new OpcUaSubscriptionLifecycleHandler(
                 protocolAdapterMetricsService, tagStreamingService, eventService, adapterId, tags, client, config);
 
-        final var subscriptionOptional = subscriptionLifecycleHandler.subscribe(client);
+        final var subscriptions = subscriptionLifecycleHandler.subscribe(client);
 
-        if (subscriptionOptional.isEmpty()) {
+        if (subscriptions.isEmpty()) {
             log.error("Failed to create or transfer OPC UA subscription. Closing client connection.");
             protocolAdapterState.setConnectionStatus(ProtocolAdapterState.ConnectionStatus.ERROR);
             eventService
@@ -203,11 +203,10 @@ public class OpcUaClientConnection {
             return false;
         }
 
-        final var subscription = subscriptionOptional.get();
-        log.trace("Creating Subscription for OPC UA client");
+        log.trace("Created {} subscriptions for OPC UA client", subscriptions.size());
 
-        context.set(new ConnectionContext(
-                subscription.getClient(), serviceFaultListener, activityListener, subscriptionLifecycleHandler));
+        context.set(
+                new ConnectionContext(client, serviceFaultListener, activityListener, subscriptionLifecycleHandler));
         protocolAdapterState.setConnectionStatus(ProtocolAdapterState.ConnectionStatus.CONNECTED);
 
         log.info("Client created and connected successfully");
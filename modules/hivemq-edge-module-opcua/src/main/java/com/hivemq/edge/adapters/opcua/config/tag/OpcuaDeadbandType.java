@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019-present HiveMQ GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.edge.adapters.opcua.config.tag;
+
+/**
+ * The deadband of the data change filter the OPC UA server applies to a monitored item.
+ */
+public enum OpcuaDeadbandType {
+    /**
+     * Every value change is reported.
+     */
+    NONE,
+    /**
+     * A value change is reported if it exceeds the deadband value.
+     */
+    ABSOLUTE,
+    /**
+     * A value change is reported if it exceeds the deadband value in percent of the EURange of the node.
+     */
+    PERCENT
+}
@@ -16,9 +16,11 @@
 package com.hivemq.edge.adapters.opcua.config.tag;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.hivemq.adapter.sdk.api.annotations.ModuleConfigField;
 import com.hivemq.adapter.sdk.api.tag.TagDefinition;
+import java.util.Objects;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -31,15 +33,83 @@ public class OpcuaTagDefinition implements TagDefinition {
             required = true)
     private final @NotNull String node;
 
+    @JsonProperty("samplingInterval")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ModuleConfigField(
+            title = "OPC UA sampling interval [ms]",
+            description =
+                    "Sampling interval in milliseconds of the node on the server, tags with the same interval share a subscription. Defaults to the publishing interval of the adapter",
+            numberMin = 0)
+    private final @Nullable Integer samplingInterval;
+
+    @JsonProperty("queueSize")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @ModuleConfigField(
+            title = "OPC UA server queue size",
+            description = "Queue size of the node on the server. Defaults to the server queue size of the adapter",
+            numberMin = 1)
+    private final @Nullable Integer queueSize;
+
+    @JsonProperty("deadbandType")
+    @ModuleConfigField(
+            title = "Deadband type",
+            description = "Deadband the server applies before it reports a value change of the node",
+            defaultValue = "NONE")
+    private final @NotNull OpcuaDeadbandType deadbandType;
+
+    @JsonProperty("deadbandValue")
+    @ModuleConfigField(
+            title = "Deadband value",
+            description =
+                    "Absolute value or percentage of the EURange a value has to change by before the server reports it",
+            numberMin = 0,
+            defaultValue = "0")
+    private final double deadbandValue;
+
+    public OpcuaTagDefinition(final @NotNull String node) {
+        this(node, null, null, null, null);
+    }
+
     @JsonCreator
-    public OpcuaTagDefinition(@JsonProperty(value = "node", required = true) final @NotNull String node) {
+    public OpcuaTagDefinition(
+            @JsonProperty(value = "node", required = true) final @NotNull String node,
+            @JsonProperty("samplingInterval") final @Nullable Integer samplingInterval,
+            @JsonProperty("queueSize") final @Nullable Integer queueSize,
+            @JsonProperty("deadbandType") final @Nullable OpcuaDeadbandType deadbandType,
+            @JsonProperty("deadbandValue") final @Nullable Double deadbandValue) {
         this.node = node;
+        this.samplingInterval = samplingInterval;
+        this.queueSize = queueSize;
+        this.deadbandType = Objects.requireNonNullElse(deadbandType, OpcuaDeadbandType.NONE);
+        this.deadbandValue = Objects.requireNonNullElse(deadbandValue, 0.0);
     }
 
     public @NotNull String getNode() {
         return node;
     }
 
+    /**
+     * @return the sampling interval in milliseconds, or <code>null</code> if the adapter default applies
+     */
+    public @Nullable Integer getSamplingInterval() {
+        return samplingInterval;
+    }
+
+    /**
+     * @return the queue size on the server, or <code>null</code> if the adapter default applies
+     */
+    public @Nullable Integer getQueueSize() {
+        return queueSize;
+    }
+
+    public @NotNull OpcuaDeadbandType getDeadbandType() {
+        return deadbandType;
+    }
+
+    public double getDeadbandValue() {
+        return deadbandValue;
+    }
+
     @Override
     public boolean equals(final @Nullable Object o) {
         if (this == o) {
@@ -48,16 +118,31 @@ public class OpcuaTagDefinition implements TagDefinition {
         if (!(o instanceof OpcuaTagDefinition that)) {
             return false;
         }
-        return node.equals(that.node);
+        return node.equals(that.node)
+                && Objects.equals(samplingInterval, that.samplingInterval)
+                && Objects.equals(queueSize, that.queueSize)
+                && deadbandType == that.deadbandType
+                && Double.compare(deadbandValue, that.deadbandValue) == 0;
     }
 
     @Override
     public int hashCode() {
-        return node.hashCode();
+        return Objects.hash(node, samplingInterval, queueSize, deadbandType, deadbandValue);
     }
 
     @Override
     public @NotNull String toString() {
-        return "OpcuaTagDefinition{" + "node='" + node + '\'' + '}';
+        return "OpcuaTagDefinition{" + "node='"
+                + node
+                + '\''
+                + ", samplingInterval="
+                + samplingInterval
+                + ", queueSize="
+                + queueSize
+                + ", deadbandType="
+                + deadbandType
+                + ", deadbandValue="
+                + deadbandValue
+                + '}';
     }
 }
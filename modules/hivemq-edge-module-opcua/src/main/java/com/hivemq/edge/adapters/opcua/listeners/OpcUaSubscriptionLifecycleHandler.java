@@ -26,8 +26,10 @@ import com.hivemq.adapter.sdk.api.streaming.ProtocolAdapterTagStreamingService;
 import com.hivemq.edge.adapters.opcua.Constants;
 import com.hivemq.edge.adapters.opcua.config.OpcUaSpecificAdapterConfig;
 import com.hivemq.edge.adapters.opcua.config.tag.OpcuaTag;
+import com.hivemq.edge.adapters.opcua.config.tag.OpcuaTagDefinition;
 import com.hivemq.edge.adapters.opcua.northbound.OpcUaToJsonConverter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,11 +44,18 @@ import org.eclipse.milo.opcua.sdk.client.subscriptions.MonitoredItemServiceOpera
 import org.eclipse.milo.opcua.sdk.client.subscriptions.MonitoredItemSynchronizationException;
 import org.eclipse.milo.opcua.sdk.client.subscriptions.OpcUaMonitoredItem;
 import org.eclipse.milo.opcua.sdk.client.subscriptions.OpcUaSubscription;
+import org.eclipse.milo.opcua.stack.core.AttributeId;
+import org.eclipse.milo.opcua.stack.core.NodeIds;
 import org.eclipse.milo.opcua.stack.core.UaException;
 import org.eclipse.milo.opcua.stack.core.UaSerializationException;
 import org.eclipse.milo.opcua.stack.core.types.builtin.DataValue;
 import org.eclipse.milo.opcua.stack.core.types.builtin.NodeId;
 import org.eclipse.milo.opcua.stack.core.types.builtin.StatusCode;
+import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UInteger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DataChangeTrigger;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.DeadbandType;
+import org.eclipse.milo.opcua.stack.core.types.enumerated.TimestampsToReturn;
+import org.eclipse.milo.opcua.stack.core.types.structured.DataChangeFilter;
 import org.eclipse.milo.opcua.stack.core.types.structured.ReadValueId;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -61,6 +70,9 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
             TimeUnit.MILLISECONDS.toNanos(TYPE_REGISTRY_RESET_THROTTLE_MS);
     private static final @NotNull Logger log = LoggerFactory.getLogger(OpcUaSubscriptionLifecycleHandler.class);
     private static final int MAX_MONITORED_ITEM_COUNT = 5;
+    // also the upper limit for servers with a higher limit, so a single request stays reasonably small
+    private static final int DEFAULT_MAX_MONITORED_ITEMS_PER_CALL = 1000;
+    private static final long OPERATION_LIMITS_READ_TIMEOUT_SECONDS = 10;
 
     private final @NotNull ProtocolAdapterMetricsService protocolAdapterMetricsService;
     private final @NotNull ProtocolAdapterTagStreamingService tagStreamingService;
@@ -69,6 +81,8 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
     private final @NotNull Map<OpcuaTag, Boolean> tagToFirstSeen;
     private final @NotNull Map<NodeId, OpcuaTag> nodeIdToTag;
     private final @NotNull List<OpcuaTag> tags;
+    private final @NotNull Map<Integer, List<OpcuaTag>> tagsBySamplingInterval;
+    private final @NotNull Map<OpcUaSubscription, Integer> subscriptionSamplingIntervals = new ConcurrentHashMap<>();
     private final @NotNull OpcUaClient client;
     private final @NotNull OpcUaSpecificAdapterConfig config;
 
@@ -110,6 +124,12 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
                                     first.getName());
                             return first;
                         }));
+        this.tagsBySamplingInterval = tags.stream()
+                .collect(Collectors.groupingBy(this::samplingInterval, LinkedHashMap::new, Collectors.toList()));
+        if (tagsBySamplingInterval.isEmpty()) {
+            // a subscription without monitored items still delivers the keep-alives the health check relies on
+            tagsBySamplingInterval.put(config.getOpcuaToMqttConfig().publishingInterval(), List.of());
+        }
     }
 
     /**
@@ -195,20 +215,38 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
 
     /**
      * Subscribes to the OPC UA client.
-     * If a subscription ID is provided, it attempts to transfer the subscription.
-     * If the transfer fails or no ID is provided, it creates a new subscription.
-     * It then synchronizes the tags and monitored items.
+     * The tags are grouped by their sampling interval and every group gets its own subscription, whose publishing
+     * interval is the sampling interval of the group. The monitored items of a subscription are created in chunks
+     * that respect the MaxMonitoredItemsPerCall operation limit of the server.
      *
      * @param client the OPC UA client
-     * @return an Optional containing the created or transferred subscription, or empty if failed
+     * @return the created subscriptions, or an empty list if any of them failed
      */
-    public @NotNull Optional<OpcUaSubscription> subscribe(final @NotNull OpcUaClient client) {
+    public @NotNull List<OpcUaSubscription> subscribe(final @NotNull OpcUaClient client) {
+        final int maxItemsPerCall = readMaxMonitoredItemsPerCall(client);
+        final List<OpcUaSubscription> subscriptions = new ArrayList<>();
+        for (final Map.Entry<Integer, List<OpcuaTag>> group : tagsBySamplingInterval.entrySet()) {
+            final Optional<OpcUaSubscription> subscription = subscribeGroup(client, group.getKey(), maxItemsPerCall);
+            if (subscription.isEmpty()) {
+                return List.of();
+            }
+            subscriptions.add(subscription.get());
+        }
+        log.debug(
+                "Adapter '{}' subscribed {} tags in {} subscriptions", adapterId, tags.size(), subscriptions.size());
+        return subscriptions;
+    }
+
+    private @NotNull Optional<OpcUaSubscription> subscribeGroup(
+            final @NotNull OpcUaClient client, final int samplingInterval, final int maxItemsPerCall) {
         return newSubscription(client)
-                .publishingInterval(config.getOpcuaToMqttConfig().publishingInterval())
+                .publishingInterval(samplingInterval)
                 .create()
                 .map(subscription -> {
                     subscription.setSubscriptionListener(this);
-                    if (syncTagsAndMonitoredItems(subscription, tags, config)) {
+                    subscriptionSamplingIntervals.put(subscription, samplingInterval);
+                    final List<OpcuaTag> groupTags = tagsBySamplingInterval.getOrDefault(samplingInterval, List.of());
+                    if (syncTagsAndMonitoredItems(subscription, groupTags, samplingInterval, maxItemsPerCall)) {
                         return subscription;
                     } else {
                         return null;
@@ -216,20 +254,82 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
                 });
     }
 
+    /**
+     * Reads the maximum number of monitored items the server accepts per call.
+     *
+     * @return the limit of the server, or {@link #DEFAULT_MAX_MONITORED_ITEMS_PER_CALL} if the server has no limit or
+     *         the limit can not be read
+     */
+    private int readMaxMonitoredItemsPerCall(final @NotNull OpcUaClient client) {
+        try {
+            final DataValue[] values = client.readAsync(
+                            0.0,
+                            TimestampsToReturn.Neither,
+                            List.of(new ReadValueId(
+                                    NodeIds.Server_ServerCapabilities_OperationLimits_MaxMonitoredItemsPerCall,
+                                    AttributeId.Value.uid(),
+                                    null,
+                                    null)))
+                    .get(OPERATION_LIMITS_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .getResults();
+            if (values != null
+                    && values.length == 1
+                    && values[0].getValue().getValue() instanceof final UInteger limit
+                    && limit.longValue() > 0) {
+                return (int) Math.min(limit.longValue(), DEFAULT_MAX_MONITORED_ITEMS_PER_CALL);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            log.debug("Adapter '{}': unable to read MaxMonitoredItemsPerCall of the server", adapterId, e);
+        }
+        return DEFAULT_MAX_MONITORED_ITEMS_PER_CALL;
+    }
+
+    private int samplingInterval(final @NotNull OpcuaTag tag) {
+        return Objects.requireNonNullElse(
+                tag.getDefinition().getSamplingInterval(),
+                config.getOpcuaToMqttConfig().publishingInterval());
+    }
+
+    private void configureMonitoredItem(
+            final @NotNull OpcUaMonitoredItem monitoredItem, final @NotNull OpcuaTag tag, final int samplingInterval) {
+        final OpcuaTagDefinition definition = tag.getDefinition();
+        monitoredItem.setQueueSize(uint(Objects.requireNonNullElse(
+                definition.getQueueSize(), config.getOpcuaToMqttConfig().serverQueueSize())));
+        monitoredItem.setSamplingInterval(samplingInterval);
+        monitoredItem.setFilter(
+                switch (definition.getDeadbandType()) {
+                    case NONE -> null;
+                    case ABSOLUTE ->
+                        new DataChangeFilter(
+                                DataChangeTrigger.StatusValue,
+                                uint(DeadbandType.Absolute.getValue()),
+                                definition.getDeadbandValue());
+                    case PERCENT ->
+                        new DataChangeFilter(
+                                DataChangeTrigger.StatusValue,
+                                uint(DeadbandType.Percent.getValue()),
+                                definition.getDeadbandValue());
+                });
+    }
+
     /**
      * Synchronizes the tags and monitored items in the subscription.
      * It removes monitored items that are not in the tags list and adds new monitored items from the tags list.
-     * It also updates existing monitored items with the configured queue size and sampling interval.
+     * It also updates existing monitored items with the queue size, sampling interval and deadband of their tag.
      *
-     * @param subscription the OPC UA subscription
-     * @param tags         the list of tags to synchronize
-     * @param config       the configuration for the OPC UA adapter
+     * @param subscription     the OPC UA subscription
+     * @param tags             the list of tags to synchronize
+     * @param samplingInterval the sampling interval of the tags in milliseconds
+     * @param maxItemsPerCall  the maximum number of monitored items added per synchronization call
      * @return true if synchronization was successful, false otherwise
      */
     private boolean syncTagsAndMonitoredItems(
             final @NotNull OpcUaSubscription subscription,
             final @NotNull List<OpcuaTag> tags,
-            final @NotNull OpcUaSpecificAdapterConfig config) {
+            final int samplingInterval,
+            final int maxItemsPerCall) {
 
         final var nodeIdToTag = tags.stream()
                 .collect(Collectors.toMap(
@@ -260,81 +360,94 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
 
         // update existing monitored items
         subscription.getMonitoredItems().forEach(monitoredItem -> {
-            // TODO: allow to configure these values per TAG!!!!
-            monitoredItem.setQueueSize(uint(config.getOpcuaToMqttConfig().serverQueueSize()));
-            monitoredItem.setSamplingInterval(config.getOpcuaToMqttConfig().publishingInterval());
+            final OpcuaTag tag = nodeIdToTag.get(monitoredItem.getReadValueId().getNodeId());
+            if (tag != null) {
+                configureMonitoredItem(monitoredItem, tag, samplingInterval);
+            }
         });
 
-        // add new monitored items
-        if (!monitoredItemsToAdd.isEmpty()) {
-            monitoredItemsToAdd.forEach(opcuaTag -> {
-                final String nodeId = opcuaTag.getDefinition().getNode();
-                final var monitoredItem = OpcUaMonitoredItem.newDataItem(NodeId.parse(nodeId));
-                monitoredItem.setQueueSize(uint(config.getOpcuaToMqttConfig().serverQueueSize()));
-                monitoredItem.setSamplingInterval(config.getOpcuaToMqttConfig().publishingInterval());
+        // add new monitored items, the first synchronization also applies the removals and updates
+        long successCount = 0;
+        final List<MonitoredItemServiceOperationResult> failedResults = new ArrayList<>();
+        MonitoredItemSynchronizationException lastFailure = null;
+        int offset = 0;
+        do {
+            final List<OpcuaTag> chunk =
+                    monitoredItemsToAdd.subList(offset, Math.min(offset + maxItemsPerCall, monitoredItemsToAdd.size()));
+            offset += chunk.size();
+            chunk.forEach(opcuaTag -> {
+                final var monitoredItem =
+                        OpcUaMonitoredItem.newDataItem(NodeId.parse(opcuaTag.getDefinition().getNode()));
+                configureMonitoredItem(monitoredItem, opcuaTag, samplingInterval);
                 subscription.addMonitoredItem(monitoredItem);
             });
-            log.debug(
-                    "Added monitored items: {}",
-                    monitoredItemsToAdd.stream()
-                            .map(item -> item.getDefinition().getNode())
-                            .toList());
-        }
+            if (!chunk.isEmpty()) {
+                log.debug(
+                        "Added monitored items: {}",
+                        chunk.stream().map(item -> item.getDefinition().getNode()).toList());
+            }
+            try {
+                subscription.synchronizeMonitoredItems();
+                successCount += chunk.size();
+            } catch (final MonitoredItemSynchronizationException e) {
+                lastFailure = e;
+                final List<MonitoredItemServiceOperationResult> results = new ArrayList<>();
+                results.addAll(e.getCreateResults());
+                results.addAll(e.getModifyResults());
+                results.addAll(e.getDeleteResults());
+                for (final MonitoredItemServiceOperationResult result : results) {
+                    if (result.isGood()) {
+                        successCount++;
+                    } else {
+                        failedResults.add(result);
+                    }
+                }
+            }
+        } while (offset < monitoredItemsToAdd.size());
 
-        try {
-            subscription.synchronizeMonitoredItems();
+        if (lastFailure == null) {
             log.info("All monitored items synchronized successfully");
             return true;
-        } catch (final MonitoredItemSynchronizationException e) {
-            final List<MonitoredItemServiceOperationResult> allResults = new ArrayList<>();
-            allResults.addAll(e.getCreateResults());
-            allResults.addAll(e.getModifyResults());
-            allResults.addAll(e.getDeleteResults());
-
-            final long successCount = allResults.stream()
-                    .filter(MonitoredItemServiceOperationResult::isGood)
-                    .count();
-            final long failCount = allResults.stream().filter(r -> !r.isGood()).count();
-
-            final String failedSample = allResults.stream()
-                    .filter(r -> !r.isGood())
-                    .map(MonitoredItemServiceOperationResult::monitoredItem)
-                    .filter(Objects::nonNull)
-                    .map(OpcUaMonitoredItem::getReadValueId)
-                    .filter(Objects::nonNull)
-                    .map(ReadValueId::getNodeId)
-                    .filter(Objects::nonNull)
-                    .map(NodeId::toString)
-                    .limit(MAX_MONITORED_ITEM_COUNT)
-                    .collect(Collectors.joining(", "));
-
-            if (successCount > 0) {
-                // Partial failure — continue with healthy items
-                log.warn(
-                        "Partial monitored item sync for adapter '{}': {} ok, {} failed. Samples: {}",
-                        adapterId,
-                        successCount,
-                        failCount,
-                        failedSample);
-                eventService
-                        .createAdapterEvent(adapterId, PROTOCOL_ID_OPCUA)
-                        .withMessage("Partial subscription: " + successCount + " active, " + failCount
-                                + " failed. Samples: " + failedSample)
-                        .withSeverity(Event.SEVERITY.WARN)
-                        .fire();
-                return true;
-            } else {
-                // Total failure — no items succeeded
-                final String message = "Failed to synchronize monitored items: " + e.getStatusCode() + " "
-                        + e.getMessage() + ". Samples: " + failedSample;
-                log.error(message, e);
-                eventService
-                        .createAdapterEvent(adapterId, PROTOCOL_ID_OPCUA)
-                        .withMessage(message)
-                        .withSeverity(Event.SEVERITY.ERROR)
-                        .fire();
-                return false;
-            }
+        }
+
+        final long failCount = failedResults.size();
+        final String failedSample = failedResults.stream()
+                .map(MonitoredItemServiceOperationResult::monitoredItem)
+                .filter(Objects::nonNull)
+                .map(OpcUaMonitoredItem::getReadValueId)
+                .filter(Objects::nonNull)
+                .map(ReadValueId::getNodeId)
+                .filter(Objects::nonNull)
+                .map(NodeId::toString)
+                .limit(MAX_MONITORED_ITEM_COUNT)
+                .collect(Collectors.joining(", "));
+
+        if (successCount > 0) {
+            // Partial failure — continue with healthy items
+            log.warn(
+                    "Partial monitored item sync for adapter '{}': {} ok, {} failed. Samples: {}",
+                    adapterId,
+                    successCount,
+                    failCount,
+                    failedSample);
+            eventService
+                    .createAdapterEvent(adapterId, PROTOCOL_ID_OPCUA)
+                    .withMessage("Partial subscription: " + successCount + " active, " + failCount
+                            + " failed. Samples: " + failedSample)
+                    .withSeverity(Event.SEVERITY.WARN)
+                    .fire();
+            return true;
+        } else {
+            // Total failure — no items succeeded
+            final String message = "Failed to synchronize monitored items: " + lastFailure.getStatusCode() + " "
+                    + lastFailure.getMessage() + ". Samples: " + failedSample;
+            log.error(message, lastFailure);
+            eventService
+                    .createAdapterEvent(adapterId, PROTOCOL_ID_OPCUA)
+                    .withMessage(message)
+                    .withSeverity(Event.SEVERITY.ERROR)
+                    .fire();
+            return false;
         }
     }
 
@@ -380,15 +493,17 @@ public class OpcUaSubscriptionLifecycleHandler implements OpcUaSubscription.Subs
         protocolAdapterMetricsService.increment(Constants.METRIC_SUBSCRIPTION_TRANSFER_FAILED_COUNT);
 
         log.error("Subscription Transfer failed, recreating subscription for adapter '{}'", adapterId);
-        newSubscription(client)
-                .publishingInterval(config.getOpcuaToMqttConfig().publishingInterval())
-                .create()
+        final Integer samplingInterval = subscriptionSamplingIntervals.remove(brokenSubscription);
+        if (samplingInterval == null) {
+            log.error("Subscription Transfer failed, unknown subscription for adapter '{}'", adapterId);
+            return;
+        }
+        subscribeGroup(client, samplingInterval, readMaxMonitoredItemsPerCall(client))
                 .ifPresentOrElse(
-                        replacementSubscription -> {
-                            // reconnect the listener with the new subscription
-                            replacementSubscription.setSubscriptionListener(this);
-                            syncTagsAndMonitoredItems(replacementSubscription, tags, config);
-                        },
+                        replacementSubscription -> log.debug(
+                                "Recreated subscription with sampling interval {}ms for adapter '{}'",
+                                samplingInterval,
+                                adapterId),
                         () -> log.error(
                                 "Subscription Transfer failed, unable to create new subscription '{}'", adapterId));
     }
@@ -28,12 +28,14 @@ import com.hivemq.edge.adapters.opcua.client.Result;
 import com.hivemq.edge.adapters.opcua.client.Success;
 import com.hivemq.edge.adapters.opcua.config.OpcUaSpecificAdapterConfig;
 import com.hivemq.edge.adapters.opcua.config.opcua2mqtt.OpcUaToMqttConfig;
+import com.hivemq.edge.adapters.opcua.config.tag.OpcuaDeadbandType;
 import com.hivemq.edge.adapters.opcua.config.tag.OpcuaTag;
 import com.hivemq.edge.adapters.opcua.config.tag.OpcuaTagDefinition;
 import com.hivemq.edge.adapters.opcua.listeners.OpcUaServiceFaultListener;
 import com.hivemq.edge.modules.adapters.impl.ProtocolAdapterStateImpl;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import org.eclipse.milo.opcua.sdk.client.OpcUaClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.AfterEach;
@@ -219,6 +221,51 @@ public class OpcUaClientConnectionTest {
         });
     }
 
+    @Test
+    @Timeout(60)
+    void whenTagsHaveDifferentSamplingIntervals_thenOneSubscriptionPerIntervalIsCreated() throws Exception {
+        final OpcUaSpecificAdapterConfig config = new OpcUaSpecificAdapterConfig(
+                opcUaServerExtension.getServerUri(),
+                false,
+                null,
+                null,
+                null,
+                new OpcUaToMqttConfig(1, 1000),
+                null,
+                null);
+
+        final String namespace = "ns=" + opcUaServerExtension.getTestNamespace().getNamespaceIndex();
+        final List<OpcuaTag> tags = List.of(
+                new OpcuaTag("tag1", "Int32 Tag", new OpcuaTagDefinition(namespace + ";i=10")),
+                new OpcuaTag(
+                        "tag2",
+                        "Int64 Tag",
+                        new OpcuaTagDefinition(namespace + ";i=12", 500, 5, OpcuaDeadbandType.ABSOLUTE, 10.0)),
+                new OpcuaTag(
+                        "tag3", "Double Tag", new OpcuaTagDefinition(namespace + ";i=13", 500, null, null, null)));
+
+        opcUaClientConnection = new OpcUaClientConnection(
+                "test-adapter-id",
+                tags,
+                protocolAdapterState,
+                mock(ProtocolAdapterTagStreamingService.class),
+                eventService,
+                metricsService,
+                config,
+                new OpcUaServiceFaultListener(metricsService, eventService, "test-adapter-id", () -> {}, true));
+
+        final Result<ParsedConfig, String> result = ParsedConfig.fromConfig(config);
+        assertThat(result).isInstanceOf(Success.class);
+        final ParsedConfig parsedConfig = ((Success<ParsedConfig, String>) result).result();
+
+        assertThat(opcUaClientConnection.start(parsedConfig)).isTrue();
+
+        final OpcUaClient client = opcUaClientConnection.client().orElseThrow();
+        assertThat(client.getSubscriptions())
+                .extracting(subscription -> subscription.getMonitoredItems().size())
+                .containsExactlyInAnyOrder(1, 2);
+    }
+
     @Test
     @Timeout(30)
     void whenNoSubscriptionCreated_thenIsHealthyReturnsFalse() {